@@ -0,0 +1,108 @@
+package sptech.school.Lodgfy.carga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP mínimo da API, compartilhado por todos os usuários virtuais.
+ * As respostas são lidas como JsonNode para não depender dos DTOs da aplicação.
+ */
+public class ClienteLodgfy {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String url;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+
+    public ClienteLodgfy(String url) {
+        this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    public Resposta get(String caminho, String token) {
+        return enviar(requisicao(caminho, token).GET());
+    }
+
+    public Resposta post(String caminho, Object corpo, String token) {
+        return enviar(requisicao(caminho, token).POST(corpo(corpo)));
+    }
+
+    public Resposta patch(String caminho, String token) {
+        return enviar(requisicao(caminho, token).method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url + caminho))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher corpo(Object corpo) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(json.writeValueAsString(corpo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Corpo não serializável: " + corpo, e);
+        }
+    }
+
+    private Resposta enviar(HttpRequest.Builder builder) {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> resposta = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            long nanos = System.nanoTime() - inicio;
+            return new Resposta(resposta.statusCode(), ler(resposta.body()), nanos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Requisição interrompida", e);
+        }
+    }
+
+    private JsonNode ler(String corpo) {
+        if (corpo == null || corpo.isBlank()) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return json.readTree(corpo);
+        } catch (JsonProcessingException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    /**
+     * @param nanos tempo entre o envio e a leitura completa da resposta
+     */
+    public record Resposta(int status, JsonNode corpo, long nanos) {
+
+        public boolean sucesso() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonNode exigirSucesso(String descricao) {
+            if (!sucesso()) {
+                throw new IllegalStateException(descricao + " falhou com HTTP " + status + ": " + corpo);
+            }
+            return corpo;
+        }
+    }
+}
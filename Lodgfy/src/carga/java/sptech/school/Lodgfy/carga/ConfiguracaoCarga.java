@@ -0,0 +1,85 @@
+package sptech.school.Lodgfy.carga;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos dos argumentos no formato chave=valor
+ * (o prefixo -- é opcional).
+ *
+ * @param url         URL de uma instância já em execução; vazia sobe a aplicação
+ *                    no próprio processo com o perfil h2
+ * @param usuarios    usuários virtuais simultâneos
+ * @param aquecimento segundos iniciais descartados das medições
+ * @param duracao     segundos medidos
+ * @param hospedes    hóspedes cadastrados antes do teste
+ * @param chales      chalés cadastrados antes do teste
+ * @param mix         peso de cada operação no sorteio
+ * @param resultado   arquivo JSON com o resultado
+ * @param threadsVirtuais aplicação local com virtual threads (spring.threads.virtual.enabled)
+ * @param pool        máximo de conexões do pool da aplicação local; 0 mantém o do perfil
+ * @param tamanhoGrupo chalés por reserva nas operações grupo e grupo_sequencial
+ */
+public record ConfiguracaoCarga(
+        String url,
+        int usuarios,
+        int aquecimento,
+        int duracao,
+        int hospedes,
+        int chales,
+        Map<Operacao, Integer> mix,
+        String resultado,
+        boolean threadsVirtuais,
+        int pool,
+        int tamanhoGrupo
+) {
+
+    static final String MIX_PADRAO = "login:2,catalogo:15,busca:35,criar:30,confirmar:12,cancelar:6";
+
+    public static ConfiguracaoCarga ler(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            String opcao = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separador = opcao.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (use chave=valor): " + arg);
+            }
+            valores.put(opcao.substring(0, separador), opcao.substring(separador + 1));
+        }
+        return new ConfiguracaoCarga(
+                valores.getOrDefault("url", ""),
+                inteiro(valores, "usuarios", 32),
+                inteiro(valores, "aquecimento", 10),
+                inteiro(valores, "duracao", 60),
+                inteiro(valores, "hospedes", 64),
+                inteiro(valores, "chales", 20),
+                lerMix(valores.getOrDefault("mix", MIX_PADRAO)),
+                valores.getOrDefault("resultado", "target/carga-resultado.json"),
+                Boolean.parseBoolean(valores.getOrDefault("threadsVirtuais", "false").trim()),
+                inteiro(valores, "pool", 0),
+                inteiro(valores, "tamanhoGrupo", 4)
+        );
+    }
+
+    private static int inteiro(Map<String, String> valores, String chave, int padrao) {
+        String valor = valores.get(chave);
+        return valor == null || valor.isBlank() ? padrao : Integer.parseInt(valor.trim());
+    }
+
+    // Formato: "operacao:peso,operacao:peso"; operações ausentes têm peso zero
+    private static Map<Operacao, Integer> lerMix(String texto) {
+        Map<Operacao, Integer> mix = new EnumMap<>(Operacao.class);
+        for (String item : texto.split(",")) {
+            String[] partes = item.trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Item de mix inválido: " + item);
+            }
+            mix.put(Operacao.valueOf(partes[0].trim().toUpperCase()), Integer.parseInt(partes[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("O mix precisa de ao menos uma operação com peso positivo");
+        }
+        return mix;
+    }
+}
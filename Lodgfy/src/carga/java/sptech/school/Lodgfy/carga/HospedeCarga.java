@@ -0,0 +1,9 @@
+package sptech.school.Lodgfy.carga;
+
+/**
+ * Hóspede cadastrado para o teste, já autenticado.
+ */
+public record HospedeCarga(Long id, String cpf, String token) {
+
+    public static final String SENHA = "Carga@123";
+}
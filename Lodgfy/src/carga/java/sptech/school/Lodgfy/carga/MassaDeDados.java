@@ -0,0 +1,92 @@
+package sptech.school.Lodgfy.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Hóspedes e chalés cadastrados pela própria API antes da carga.
+ *
+ * CPFs, e-mails e números de chalé levam um sufixo da execução, de modo que o
+ * teste pode ser repetido contra a mesma instância (url).
+ */
+public record MassaDeDados(List<HospedeCarga> hospedes, List<Long> chales) {
+
+    private static final String[] LETRAS = {"a", "b", "c", "d", "e", "f", "g", "h", "i", "j"};
+    // Cadastros simultâneos: acima disso só se disputa CPU e conexões (com pool=N pequeno)
+    private static final int CADASTROS_SIMULTANEOS = 8;
+
+    public static MassaDeDados criar(ClienteLodgfy cliente, int quantidadeHospedes, int quantidadeChales)
+            throws Exception {
+        long execucao = System.currentTimeMillis() % 100_000_000L;
+
+        // Cadastro e login fazem hash BCrypt; em paralelo a preparação não domina o teste
+        List<HospedeCarga> hospedes = new ArrayList<>();
+        Semaphore vagas = new Semaphore(CADASTROS_SIMULTANEOS);
+        try (ExecutorService cadastros = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HospedeCarga>> pendentes = new ArrayList<>();
+            for (int i = 0; i < quantidadeHospedes; i++) {
+                int indice = i;
+                pendentes.add(cadastros.submit(() -> {
+                    vagas.acquire();
+                    try {
+                        return cadastrarHospede(cliente, execucao, indice);
+                    } finally {
+                        vagas.release();
+                    }
+                }));
+            }
+            for (Future<HospedeCarga> pendente : pendentes) {
+                hospedes.add(pendente.get());
+            }
+        }
+
+        String token = hospedes.get(0).token();
+        List<Long> chales = new ArrayList<>();
+        for (int i = 0; i < quantidadeChales; i++) {
+            Map<String, Object> chale = new LinkedHashMap<>();
+            chale.put("nome", "Chalé Carga " + (i + 1));
+            chale.put("numero", "CG" + execucao + "-" + (i + 1));
+            chale.put("tipo", i % 4 == 0 ? "Luxo" : "Standard");
+            chale.put("valorDiaria", 200 + 25 * (i % 8));
+            chale.put("capacidade", 2 + i % 7);
+            chale.put("descricao", "Chalé criado pelo teste de carga");
+            chale.put("status", "DISPONIVEL");
+            JsonNode criado = cliente.post("/api/chales", chale, token).exigirSucesso("Cadastro do chalé " + (i + 1));
+            chales.add(criado.path("idChale").asLong());
+        }
+        return new MassaDeDados(hospedes, chales);
+    }
+
+    private static HospedeCarga cadastrarHospede(ClienteLodgfy cliente, long execucao, int indice) {
+        String cpf = String.format("%011d", execucao * 1000 + indice);
+        Map<String, Object> cadastro = new LinkedHashMap<>();
+        cadastro.put("nome", "Hospede Carga " + nome(indice));
+        cadastro.put("email", "carga" + execucao + "." + indice + "@lodgfy.test");
+        cadastro.put("telefone", String.format("(11) 9%04d-%04d", indice / 10_000 % 10_000, indice % 10_000));
+        cadastro.put("senha", HospedeCarga.SENHA);
+        cadastro.put("dataNascimento", "1990-01-01");
+        cadastro.put("cpf", cpf);
+        cliente.post("/api/hospedes/registrar", cadastro, null).exigirSucesso("Cadastro do hóspede " + indice);
+
+        JsonNode login = cliente.post("/api/hospedes/login", Map.of("cpf", cpf, "senha", HospedeCarga.SENHA), null)
+                .exigirSucesso("Login do hóspede " + indice);
+        return new HospedeCarga(login.path("id").asLong(), cpf, login.path("token").asText());
+    }
+
+    // O cadastro só aceita letras no nome: o índice vira uma sequência de letras
+    private static String nome(int indice) {
+        StringBuilder nome = new StringBuilder();
+        for (char digito : String.valueOf(indice).toCharArray()) {
+            nome.append(LETRAS[digito - '0']);
+        }
+        return nome.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package sptech.school.Lodgfy.carga;
+
+import java.util.Arrays;
+
+/**
+ * Latências e resultados de um endpoint durante a janela medida.
+ *
+ * Respostas 2xx contam como sucesso; 4xx como recusa (conflito de datas,
+ * reserva já cancelada etc. são resultados esperados sob concorrência);
+ * 5xx e falhas de conexão como erro.
+ */
+public class MedidorEndpoint {
+
+    private final String endpoint;
+    private long[] latencias = new long[4096];
+    private int total;
+    private long sucessos;
+    private long recusas;
+    private long erros;
+
+    public MedidorEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public synchronized void registrar(int status, long nanos) {
+        if (total == latencias.length) {
+            latencias = Arrays.copyOf(latencias, total * 2);
+        }
+        latencias[total++] = nanos;
+        if (status >= 200 && status < 300) {
+            sucessos++;
+        } else if (status >= 400 && status < 500) {
+            recusas++;
+        } else {
+            erros++;
+        }
+    }
+
+    public synchronized void registrarFalha(long nanos) {
+        registrar(0, nanos);
+    }
+
+    public synchronized Resumo resumir(double segundos) {
+        long[] ordenadas = Arrays.copyOf(latencias, total);
+        Arrays.sort(ordenadas);
+        return new Resumo(
+                endpoint,
+                total,
+                sucessos,
+                recusas,
+                erros,
+                segundos > 0 ? total / segundos : 0,
+                percentil(ordenadas, 50),
+                percentil(ordenadas, 95),
+                percentil(ordenadas, 99),
+                total == 0 ? 0 : ordenadas[total - 1] / 1_000_000.0
+        );
+    }
+
+    // Percentil pelo método do posto mais próximo, em milissegundos
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(posicao, 0)] / 1_000_000.0;
+    }
+
+    public record Resumo(
+            String endpoint,
+            long requisicoes,
+            long sucessos,
+            long recusas,
+            long erros,
+            double porSegundo,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maximoMs
+    ) {
+    }
+}
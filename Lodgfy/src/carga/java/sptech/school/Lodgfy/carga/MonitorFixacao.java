@@ -0,0 +1,71 @@
+package sptech.school.Lodgfy.carga;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registra, via JFR, as virtual threads que ficaram fixadas (pinned) na thread
+ * carregadora: bloqueios dentro de synchronized ou de código nativo. Cada
+ * ocorrência é agrupada pelo primeiro método fora do JDK na pilha, que aponta
+ * o trecho a trocar por um ReentrantLock.
+ *
+ * Só faz sentido com a aplicação no próprio processo.
+ */
+final class MonitorFixacao implements AutoCloseable {
+
+    // Fixações mais curtas que isso não chegam a segurar a carregadora de forma perceptível
+    private static final Duration LIMITE = Duration.ofMillis(1);
+    private static final int MAXIMO_ORIGENS = 10;
+
+    private final RecordingStream gravacao = new RecordingStream();
+    private final Map<String, LongAdder> porOrigem = new ConcurrentHashMap<>();
+
+    MonitorFixacao() {
+        gravacao.enable("jdk.VirtualThreadPinned").withThreshold(LIMITE).withStackTrace();
+        gravacao.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        gravacao.startAsync();
+    }
+
+    /**
+     * @return quantidade de fixações por origem, da mais frequente para a menos
+     */
+    Map<String, Long> resumir() {
+        Map<String, Long> resumo = new LinkedHashMap<>();
+        porOrigem.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(MAXIMO_ORIGENS)
+                .forEach(entrada -> resumo.put(entrada.getKey(), entrada.getValue().sum()));
+        return resumo;
+    }
+
+    @Override
+    public void close() {
+        gravacao.close();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        porOrigem.computeIfAbsent(origem(evento), chave -> new LongAdder()).increment();
+    }
+
+    private static String origem(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "(sem pilha)";
+        }
+        List<RecordedFrame> quadros = evento.getStackTrace().getFrames();
+        for (RecordedFrame quadro : quadros) {
+            String classe = quadro.getMethod().getType().getName();
+            if (!classe.startsWith("java.") && !classe.startsWith("jdk.") && !classe.startsWith("sun.")) {
+                return classe + "." + quadro.getMethod().getName();
+            }
+        }
+        return quadros.isEmpty() ? "(sem pilha)" : quadros.get(0).getMethod().getType().getName();
+    }
+}
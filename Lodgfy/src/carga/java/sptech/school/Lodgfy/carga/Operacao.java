@@ -0,0 +1,26 @@
+package sptech.school.Lodgfy.carga;
+
+/**
+ * Operações sorteadas pelos usuários virtuais, com o endpoint medido em cada uma.
+ */
+public enum Operacao {
+    LOGIN("POST /api/hospedes/login"),
+    CATALOGO("GET /api/chales"),
+    BUSCA("POST /api/chales/disponiveis"),
+    CRIAR("POST /api/reservas"),
+    CONFIRMAR("PATCH /api/reservas/{id}/confirmar"),
+    CANCELAR("PATCH /api/reservas/{id}/cancelar"),
+    // Fora do mix padrão: comparam uma reserva em grupo com as mesmas N reservas feitas uma a uma
+    GRUPO("POST /api/reservas/grupo"),
+    GRUPO_SEQUENCIAL("N x POST /api/reservas");
+
+    private final String endpoint;
+
+    Operacao(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,195 @@
+package sptech.school.Lodgfy.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import sptech.school.Lodgfy.LodgfyApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga de ponta a ponta da API.
+ *
+ * Sem url, sobe a aplicação neste processo com o perfil h2 (e um SMTP local,
+ * para que os e-mails de confirmação sigam o caminho real), cadastra hóspedes
+ * e chalés, executa o mix de operações com usuários virtuais e, ao final,
+ * imprime vazão e latências por endpoint, grava o resultado em JSON e confere
+ * que não há reservas confirmadas sobrepostas.
+ *
+ * Com threadsVirtuais=true a aplicação local atende em virtual threads e o
+ * teste também relata onde elas ficaram fixadas na thread carregadora. Com
+ * pool=N o pool de conexões fica limitado a N, para comparar os dois modos
+ * com o banco como gargalo.
+ *
+ * Executar com:
+ * mvn -P carga test-compile exec:exec -Dcarga.args="usuarios=64 duracao=120"
+ *
+ * Para comparar a reserva em grupo com N reservas avulsas:
+ * mvn -P carga test-compile exec:exec -Dcarga.args="mix=grupo:1,grupo_sequencial:1 tamanhoGrupo=4"
+ *
+ * Termina com código 1 se o invariante de reservas for violado.
+ */
+public final class TesteCarga {
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.ler(args);
+
+        GreenMail smtp = null;
+        ConfigurableApplicationContext contexto = null;
+        MonitorFixacao fixacoes = null;
+        String url = configuracao.url();
+        if (url.isBlank()) {
+            int portaSmtp = portaLivre();
+            smtp = new GreenMail(new ServerSetup(portaSmtp, "127.0.0.1", ServerSetup.PROTOCOL_SMTP))
+                    .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+            smtp.start();
+            contexto = iniciarAplicacao(configuracao, portaSmtp);
+            if (configuracao.threadsVirtuais()) {
+                fixacoes = new MonitorFixacao();
+            }
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+
+        boolean valido;
+        try {
+            valido = executar(configuracao, new ClienteLodgfy(url), fixacoes);
+        } finally {
+            if (fixacoes != null) {
+                fixacoes.close();
+            }
+            if (contexto != null) {
+                contexto.close();
+            }
+            if (smtp != null) {
+                smtp.stop();
+            }
+        }
+        System.exit(valido ? 0 : 1);
+    }
+
+    private static boolean executar(ConfiguracaoCarga configuracao, ClienteLodgfy cliente,
+                                    MonitorFixacao fixacoes) throws Exception {
+        MassaDeDados massa = MassaDeDados.criar(cliente, configuracao.hospedes(), configuracao.chales());
+        System.out.printf("Massa criada: %d hóspedes e %d chalés%n", massa.hospedes().size(), massa.chales().size());
+
+        Map<Operacao, MedidorEndpoint> medidores = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : Operacao.values()) {
+            medidores.put(operacao, new MedidorEndpoint(operacao.getEndpoint()));
+        }
+
+        long inicioMedicao = System.nanoTime() + TimeUnit.SECONDS.toNanos(configuracao.aquecimento());
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(configuracao.duracao());
+        System.out.printf("Executando %d usuários virtuais: %d s de aquecimento + %d s medidos%n",
+                configuracao.usuarios(), configuracao.aquecimento(), configuracao.duracao());
+
+        try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (int i = 0; i < configuracao.usuarios(); i++) {
+                HospedeCarga hospede = massa.hospedes().get(i % massa.hospedes().size());
+                execucoes.add(usuarios.submit(new UsuarioVirtual(cliente, medidores, configuracao.mix(),
+                        hospede, massa.chales(), configuracao.tamanhoGrupo(), inicioMedicao, fim)));
+            }
+            for (Future<?> execucao : execucoes) {
+                execucao.get();
+            }
+        }
+
+        List<MedidorEndpoint.Resumo> resumos = new ArrayList<>();
+        for (MedidorEndpoint medidor : medidores.values()) {
+            resumos.add(medidor.resumir(configuracao.duracao()));
+        }
+        imprimir(resumos, configuracao.duracao());
+
+        VerificadorInvariantes.Resultado invariantes = new VerificadorInvariantes(cliente)
+                .verificar(massa.chales(), massa.hospedes().get(0).token());
+        System.out.printf("%nInvariante: %d chalés, %d reservas confirmadas, %d sobreposições%n",
+                invariantes.chalesVerificados(), invariantes.reservasConfirmadas(), invariantes.violacoes().size());
+        invariantes.violacoes().forEach(violacao -> System.out.println("  " + violacao));
+
+        Map<String, Long> origensFixacao = fixacoes == null ? Map.of() : fixacoes.resumir();
+        if (fixacoes != null) {
+            System.out.printf("%nVirtual threads fixadas (pinned) por mais de 1 ms: %d origens%n", origensFixacao.size());
+            origensFixacao.forEach((origem, quantidade) -> System.out.printf("  %6d  %s%n", quantidade, origem));
+        }
+
+        gravar(configuracao, resumos, invariantes, origensFixacao);
+        return invariantes.valido();
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacao(ConfiguracaoCarga configuracao, int portaSmtp) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2",
+                "--spring.threads.virtual.enabled=" + configuracao.threadsVirtuais(),
+                "--server.port=0",
+                "--spring.h2.console.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.host=127.0.0.1",
+                "--spring.mail.port=" + portaSmtp,
+                "--spring.mail.username=",
+                "--spring.mail.password=",
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                // Log por requisição distorceria as latências medidas
+                "--logging.level.sptech.school.Lodgfy=ERROR",
+                "--logging.level.org.hibernate.SQL=WARN"
+        ));
+        if (configuracao.pool() > 0) {
+            argumentos.add("--spring.datasource.hikari.maximum-pool-size=" + configuracao.pool());
+            argumentos.add("--spring.datasource.hikari.minimum-idle=" + configuracao.pool());
+        }
+        return new SpringApplication(LodgfyApplication.class).run(argumentos.toArray(String[]::new));
+    }
+
+    private static void imprimir(List<MedidorEndpoint.Resumo> resumos, int duracao) {
+        System.out.printf("%n%-36s %11s %8s %8s %6s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requisições", "Sucesso", "Recusa", "Erro", "Req/s", "p50 ms", "p95 ms", "p99 ms", "máx ms");
+        long total = 0;
+        for (MedidorEndpoint.Resumo resumo : resumos) {
+            total += resumo.requisicoes();
+            System.out.printf("%-36s %11d %8d %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    resumo.endpoint(), resumo.requisicoes(), resumo.sucessos(), resumo.recusas(), resumo.erros(),
+                    resumo.porSegundo(), resumo.p50Ms(), resumo.p95Ms(), resumo.p99Ms(), resumo.maximoMs());
+        }
+        System.out.printf("Total: %d requisições, %.1f req/s%n", total, duracao > 0 ? (double) total / duracao : 0);
+    }
+
+    private static void gravar(ConfiguracaoCarga configuracao, List<MedidorEndpoint.Resumo> resumos,
+                               VerificadorInvariantes.Resultado invariantes,
+                               Map<String, Long> origensFixacao) throws IOException {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("configuracao", configuracao);
+        resultado.put("endpoints", resumos);
+        resultado.put("invariantes", invariantes);
+        resultado.put("fixacoesVirtualThreads", origensFixacao);
+        File arquivo = new File(configuracao.resultado());
+        if (arquivo.getParentFile() != null) {
+            arquivo.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo, resultado);
+        System.out.println("Resultado gravado em " + arquivo.getAbsolutePath());
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package sptech.school.Lodgfy.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hóspede simulado: sorteia operações segundo o mix até o fim do teste.
+ *
+ * Confirmações e cancelamentos usam reservas criadas pelo próprio usuário;
+ * sem nenhuma disponível, a operação vira uma nova reserva.
+ *
+ * GRUPO reserva N chalés em uma requisição; GRUPO_SEQUENCIAL faz as mesmas N
+ * reservas uma a uma, parando na primeira recusa, e mede o tempo somado.
+ */
+public class UsuarioVirtual implements Runnable {
+
+    // Janela de datas sorteadas: pequena o bastante para gerar disputa pelos mesmos chalés
+    private static final int HORIZONTE_DIAS = 120;
+    private static final int MAXIMO_DIARIAS = 5;
+
+    private final ClienteLodgfy cliente;
+    private final Map<Operacao, MedidorEndpoint> medidores;
+    private final Operacao[] sorteio;
+    private final HospedeCarga hospede;
+    private final List<Long> chales;
+    private final int tamanhoGrupo;
+    private final long inicioMedicao;
+    private final long fim;
+
+    private final List<Long> pendentes = new ArrayList<>();
+    private final List<Long> confirmadas = new ArrayList<>();
+    private String token;
+
+    public UsuarioVirtual(ClienteLodgfy cliente, Map<Operacao, MedidorEndpoint> medidores, Map<Operacao, Integer> mix,
+                          HospedeCarga hospede, List<Long> chales, int tamanhoGrupo, long inicioMedicao, long fim) {
+        this.cliente = cliente;
+        this.medidores = medidores;
+        this.sorteio = montarSorteio(mix);
+        this.hospede = hospede;
+        this.chales = chales;
+        this.tamanhoGrupo = Math.min(tamanhoGrupo, chales.size());
+        this.inicioMedicao = inicioMedicao;
+        this.fim = fim;
+        this.token = hospede.token();
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        while (System.nanoTime() < fim) {
+            Operacao operacao = sorteio[aleatorio.nextInt(sorteio.length)];
+            if (operacao == Operacao.CONFIRMAR && pendentes.isEmpty()
+                    || operacao == Operacao.CANCELAR && pendentes.isEmpty() && confirmadas.isEmpty()) {
+                operacao = Operacao.CRIAR;
+            }
+            executar(operacao, aleatorio);
+        }
+    }
+
+    private void executar(Operacao operacao, ThreadLocalRandom aleatorio) {
+        long inicio = System.nanoTime();
+        try {
+            ClienteLodgfy.Resposta resposta = switch (operacao) {
+                case LOGIN -> login();
+                case CATALOGO -> cliente.get("/api/chales?pagina=0&tamanho=50", null);
+                case BUSCA -> buscar(aleatorio);
+                case CRIAR -> criar(aleatorio);
+                case CONFIRMAR -> confirmar(aleatorio);
+                case CANCELAR -> cancelar(aleatorio);
+                case GRUPO -> grupo(aleatorio);
+                case GRUPO_SEQUENCIAL -> grupoSequencial(aleatorio);
+            };
+            registrar(operacao, inicio, resposta.status(), resposta.nanos());
+        } catch (UncheckedIOException | IllegalStateException e) {
+            registrar(operacao, inicio, 0, System.nanoTime() - inicio);
+        }
+    }
+
+    private ClienteLodgfy.Resposta login() {
+        ClienteLodgfy.Resposta resposta = cliente.post("/api/hospedes/login",
+                Map.of("cpf", hospede.cpf(), "senha", HospedeCarga.SENHA), null);
+        if (resposta.sucesso()) {
+            token = resposta.corpo().path("token").asText();
+        }
+        return resposta;
+    }
+
+    private ClienteLodgfy.Resposta buscar(ThreadLocalRandom aleatorio) {
+        LocalDate checkIn = sortearCheckIn(aleatorio);
+        return cliente.post("/api/chales/disponiveis", Map.of(
+                "quantidadePessoas", 1 + aleatorio.nextInt(6),
+                "dataCheckIn", checkIn.toString(),
+                "dataCheckOut", checkIn.plusDays(1 + aleatorio.nextInt(MAXIMO_DIARIAS)).toString()
+        ), null);
+    }
+
+    private ClienteLodgfy.Resposta criar(ThreadLocalRandom aleatorio) {
+        LocalDate checkIn = sortearCheckIn(aleatorio);
+        ClienteLodgfy.Resposta resposta = cliente.post("/api/reservas", Map.of(
+                "dataCheckIn", checkIn.toString(),
+                "dataCheckOut", checkIn.plusDays(1 + aleatorio.nextInt(MAXIMO_DIARIAS)).toString(),
+                "hospedeId", hospede.id(),
+                "chaleId", chales.get(aleatorio.nextInt(chales.size()))
+        ), token);
+        JsonNode id = resposta.corpo().path("idReserva");
+        if (resposta.sucesso() && id.canConvertToLong()) {
+            pendentes.add(id.asLong());
+        }
+        return resposta;
+    }
+
+    private ClienteLodgfy.Resposta grupo(ThreadLocalRandom aleatorio) {
+        LocalDate checkIn = sortearCheckIn(aleatorio);
+        ClienteLodgfy.Resposta resposta = cliente.post("/api/reservas/grupo", Map.of(
+                "dataCheckIn", checkIn.toString(),
+                "dataCheckOut", checkIn.plusDays(1 + aleatorio.nextInt(MAXIMO_DIARIAS)).toString(),
+                "hospedeId", hospede.id(),
+                "chaleIds", sortearGrupo(aleatorio)
+        ), token);
+        if (resposta.sucesso()) {
+            resposta.corpo().forEach(reserva -> pendentes.add(reserva.path("idReserva").asLong()));
+        }
+        return resposta;
+    }
+
+    private ClienteLodgfy.Resposta grupoSequencial(ThreadLocalRandom aleatorio) {
+        LocalDate checkIn = sortearCheckIn(aleatorio);
+        LocalDate checkOut = checkIn.plusDays(1 + aleatorio.nextInt(MAXIMO_DIARIAS));
+        long nanos = 0;
+        ClienteLodgfy.Resposta resposta = null;
+        for (Long idChale : sortearGrupo(aleatorio)) {
+            resposta = cliente.post("/api/reservas", Map.of(
+                    "dataCheckIn", checkIn.toString(),
+                    "dataCheckOut", checkOut.toString(),
+                    "hospedeId", hospede.id(),
+                    "chaleId", idChale
+            ), token);
+            nanos += resposta.nanos();
+            if (!resposta.sucesso()) {
+                // As reservas anteriores do grupo ficam gravadas: é o que a operação em grupo evita
+                break;
+            }
+            pendentes.add(resposta.corpo().path("idReserva").asLong());
+        }
+        return new ClienteLodgfy.Resposta(resposta.status(), resposta.corpo(), nanos);
+    }
+
+    private ClienteLodgfy.Resposta confirmar(ThreadLocalRandom aleatorio) {
+        Long id = pendentes.remove(aleatorio.nextInt(pendentes.size()));
+        ClienteLodgfy.Resposta resposta = cliente.patch("/api/reservas/" + id + "/confirmar", token);
+        if (resposta.sucesso()) {
+            confirmadas.add(id);
+        }
+        return resposta;
+    }
+
+    private ClienteLodgfy.Resposta cancelar(ThreadLocalRandom aleatorio) {
+        int indice = aleatorio.nextInt(pendentes.size() + confirmadas.size());
+        Long id = indice < pendentes.size()
+                ? pendentes.remove(indice)
+                : confirmadas.remove(indice - pendentes.size());
+        return cliente.patch("/api/reservas/" + id + "/cancelar", token);
+    }
+
+    private void registrar(Operacao operacao, long inicio, int status, long nanos) {
+        // Operações iniciadas durante o aquecimento não entram nas medições
+        if (inicio >= inicioMedicao && System.nanoTime() <= fim) {
+            medidores.get(operacao).registrar(status, nanos);
+        }
+    }
+
+    private List<Long> sortearGrupo(ThreadLocalRandom aleatorio) {
+        List<Long> grupo = new ArrayList<>(chales);
+        Collections.shuffle(grupo, aleatorio);
+        return grupo.subList(0, tamanhoGrupo);
+    }
+
+    private static LocalDate sortearCheckIn(ThreadLocalRandom aleatorio) {
+        return LocalDate.now().plusDays(1 + aleatorio.nextInt(HORIZONTE_DIAS));
+    }
+
+    // Tabela de sorteio: cada operação aparece tantas vezes quanto o seu peso
+    private static Operacao[] montarSorteio(Map<Operacao, Integer> mix) {
+        List<Operacao> tabela = new ArrayList<>();
+        mix.forEach((operacao, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                tabela.add(operacao);
+            }
+        });
+        return tabela.toArray(Operacao[]::new);
+    }
+}
@@ -0,0 +1,68 @@
+package sptech.school.Lodgfy.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Confere, depois da carga, que nenhum chalé ficou com reservas confirmadas
+ * sobrepostas. Usa a mesma regra de conflito da aplicação: períodos que se
+ * tocam (check-out no dia do check-in seguinte) também contam como conflito.
+ */
+public class VerificadorInvariantes {
+
+    private final ClienteLodgfy cliente;
+
+    public VerificadorInvariantes(ClienteLodgfy cliente) {
+        this.cliente = cliente;
+    }
+
+    public Resultado verificar(List<Long> chales, String token) {
+        long confirmadas = 0;
+        List<String> violacoes = new ArrayList<>();
+        for (Long idChale : chales) {
+            JsonNode reservas = cliente.get("/api/reservas/chale/" + idChale, token)
+                    .exigirSucesso("Consulta das reservas do chalé " + idChale);
+
+            List<Periodo> periodos = new ArrayList<>();
+            for (JsonNode reserva : reservas) {
+                if ("CONFIRMADA".equals(reserva.path("statusReserva").asText())) {
+                    periodos.add(new Periodo(
+                            reserva.path("idReserva").asLong(),
+                            LocalDate.parse(reserva.path("dataCheckIn").asText()),
+                            LocalDate.parse(reserva.path("dataCheckOut").asText())
+                    ));
+                }
+            }
+            confirmadas += periodos.size();
+
+            // Ordenadas por check-in, basta comparar cada período com o que termina mais tarde até ali
+            periodos.sort(Comparator.comparing(Periodo::checkIn));
+            Periodo anterior = null;
+            for (Periodo atual : periodos) {
+                if (anterior != null && !atual.checkIn().isAfter(anterior.checkOut())) {
+                    violacoes.add("Chalé %d: reservas %d (%s a %s) e %d (%s a %s) sobrepostas".formatted(
+                            idChale, anterior.id(), anterior.checkIn(), anterior.checkOut(),
+                            atual.id(), atual.checkIn(), atual.checkOut()));
+                }
+                if (anterior == null || atual.checkOut().isAfter(anterior.checkOut())) {
+                    anterior = atual;
+                }
+            }
+        }
+        return new Resultado(chales.size(), confirmadas, violacoes);
+    }
+
+    private record Periodo(long id, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    public record Resultado(int chalesVerificados, long reservasConfirmadas, List<String> violacoes) {
+
+        public boolean valido() {
+            return violacoes.isEmpty();
+        }
+    }
+}
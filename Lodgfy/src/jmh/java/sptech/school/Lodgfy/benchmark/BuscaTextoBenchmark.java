@@ -0,0 +1,83 @@
+package sptech.school.Lodgfy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sptech.school.Lodgfy.business.busca.BuscaChales.CampoChale;
+import sptech.school.Lodgfy.business.busca.IndiceTexto;
+import sptech.school.Lodgfy.business.busca.NormalizadorTexto;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca no índice de texto dos chalés comparada à varredura com contains,
+ * equivalente em memória do LIKE '%termo%' (o banco ainda soma a leitura das linhas).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuscaTextoBenchmark {
+
+    private static final String[] PALAVRAS = {
+            "Chalé", "Cabana", "Refúgio", "Recanto", "Montanha", "Lago", "Serra", "Cachoeira", "Jabuticabeira",
+            "Ipê", "Araucária", "Família", "Romântico", "Vista", "Pôr", "Sol", "Lua", "Floresta", "Campo", "Vale"
+    };
+
+    @Param({"1000", "50000"})
+    private int chales;
+
+    private IndiceTexto<CampoChale> indice;
+    private String[] nomesNormalizados;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        indice = new IndiceTexto<>(CampoChale.class);
+        nomesNormalizados = new String[chales];
+        for (int i = 0; i < chales; i++) {
+            String nome = PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + PALAVRAS[random.nextInt(PALAVRAS.length)]
+                    + " " + i;
+            Map<CampoChale, String> textos = new EnumMap<>(CampoChale.class);
+            textos.put(CampoChale.NOME, nome);
+            textos.put(CampoChale.NUMERO, "CH-" + i);
+            textos.put(CampoChale.TIPO, random.nextBoolean() ? "Luxo" : "Standard");
+            textos.put(CampoChale.DESCRICAO, "Chalé com vista para a " + PALAVRAS[random.nextInt(PALAVRAS.length)]);
+            indice.indexar(i, textos);
+            nomesNormalizados[i] = NormalizadorTexto.normalizar(nome);
+        }
+    }
+
+    @Benchmark
+    public List<IndiceTexto.Resultado> exato() {
+        return indice.buscar("jabuticabeira 4242", Set.of(), 20);
+    }
+
+    @Benchmark
+    public List<IndiceTexto.Resultado> prefixo() {
+        return indice.buscar("jabut arauc", Set.of(), 20);
+    }
+
+    @Benchmark
+    public List<IndiceTexto.Resultado> trecho() {
+        return indice.buscar("choei", Set.of(), 20);
+    }
+
+    @Benchmark
+    public List<IndiceTexto.Resultado> aproximado() {
+        return indice.buscar("jabuticabera", Set.of(), 20);
+    }
+
+    @Benchmark
+    public List<Integer> varreduraContains() {
+        String termo = NormalizadorTexto.normalizar("choei");
+        List<Integer> encontrados = new ArrayList<>();
+        for (int i = 0; i < nomesNormalizados.length; i++) {
+            if (nomesNormalizados[i].contains(termo)) {
+                encontrados.add(i);
+            }
+        }
+        return encontrados;
+    }
+}
@@ -0,0 +1,67 @@
+package sptech.school.Lodgfy.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import sptech.school.Lodgfy.business.observer.ChaleManager;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Custo de ChaleManager.notificar para o chamador, com N observers, na entrega
+ * síncrona e na assíncrona (cópia do chalé e enfileiramento por observer).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChaleManagerBenchmark {
+
+    @Param({"SINCRONO", "ASSINCRONO"})
+    private ChaleManager.ModoDespacho modo;
+
+    @Param({"1", "4", "16"})
+    private int observers;
+
+    private ChaleManager manager;
+    private ChaleEntity chale;
+    private final LongAdder recebidos = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        manager = new ChaleManager(modo, 10_000, 50, ChaleManager.PoliticaFilaCheia.BLOQUEAR, 10_000,
+                new SimpleMeterRegistry());
+        for (int i = 0; i < observers; i++) {
+            manager.registrar(new ObserverContador(recebidos));
+        }
+        chale = new ChaleEntity();
+        chale.setIdChale(1L);
+        chale.setNome("Chalé das Montanhas");
+        chale.setNumero("C01");
+        chale.setValorDiaria(new BigDecimal("300.00"));
+        chale.setStatus(ChaleEntity.StatusChale.DISPONIVEL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.encerrar();
+    }
+
+    @Benchmark
+    public void notificar() {
+        manager.notificar(chale, ChaleObserver.ChaleEventType.ATUALIZADO);
+    }
+
+    private record ObserverContador(LongAdder recebidos) implements ChaleObserver {
+
+        @Override
+        public void onChaleChanged(ChaleEntity chale, ChaleEventType tipoEvento) {
+            recebidos.increment();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package sptech.school.Lodgfy.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compara dois resultados JSON do JMH (ex.: o da main e o do branch atual) e
+ * lista a variação de cada benchmark. Termina com código 1 se algum piorou
+ * além do limite, para poder ser usado como verificação em CI.
+ *
+ * Uso: ComparadorResultados base.json atual.json [limite-percentual]
+ */
+public final class ComparadorResultados {
+
+    private static final double LIMITE_PADRAO = 10.0;
+
+    private ComparadorResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ComparadorResultados <base.json> <atual.json> [limite-percentual]");
+            System.exit(2);
+        }
+        double limite = args.length > 2 ? Double.parseDouble(args[2]) : LIMITE_PADRAO;
+
+        Map<String, Resultado> base = ler(new File(args[0]));
+        Map<String, Resultado> atual = ler(new File(args[1]));
+
+        int regressoes = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Base", "Atual", "Variação");
+        for (Map.Entry<String, Resultado> entrada : atual.entrySet()) {
+            Resultado novo = entrada.getValue();
+            Resultado antigo = base.get(entrada.getKey());
+            if (antigo == null) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entrada.getKey(), "-", novo.score(), "novo");
+                continue;
+            }
+            double variacao = (novo.score() - antigo.score()) / antigo.score() * 100.0;
+            // Em throughput, maior é melhor; nos demais modos (tempo), menor é melhor
+            double piora = novo.maiorEhMelhor() ? -variacao : variacao;
+            boolean regressao = piora > limite;
+            if (regressao) {
+                regressoes++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%% %s%s%n", entrada.getKey(), antigo.score(),
+                    novo.score(), variacao, novo.unidade(), regressao ? "  <-- REGRESSÃO" : "");
+        }
+
+        if (regressoes > 0) {
+            System.out.printf("%d benchmark(s) pioraram mais de %.1f%%%n", regressoes, limite);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Resultado> ler(File arquivo) throws IOException {
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        for (JsonNode item : new ObjectMapper().readTree(arquivo)) {
+            String modo = item.path("mode").asText();
+            JsonNode metrica = item.path("primaryMetric");
+            resultados.put(chave(item), new Resultado(
+                    metrica.path("score").asDouble(),
+                    metrica.path("scoreUnit").asText(),
+                    "thrpt".equals(modo)
+            ));
+        }
+        return resultados;
+    }
+
+    private static String chave(JsonNode item) {
+        String nome = item.path("benchmark").asText();
+        nome = nome.substring(nome.lastIndexOf('.', nome.lastIndexOf('.') - 1) + 1);
+        StringJoiner parametros = new StringJoiner(",", "(", ")").setEmptyValue("");
+        Iterator<Map.Entry<String, JsonNode>> campos = item.path("params").fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            parametros.add(campo.getKey() + "=" + campo.getValue().asText());
+        }
+        return nome + parametros + " [" + item.path("mode").asText() + "]";
+    }
+
+    private record Resultado(double score, String unidade, boolean maiorEhMelhor) {
+    }
+}
@@ -0,0 +1,79 @@
+package sptech.school.Lodgfy.benchmark;
+
+import sptech.school.Lodgfy.business.dto.OrcamentoEventoDTO;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Montagem dos e-mails de orçamento anterior aos templates compilados
+ * (concatenação de literais), mantida apenas como referência nos benchmarks.
+ */
+class EmailLegado {
+
+    String construirHtmlEquipe(OrcamentoEventoDTO o) {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        return "<!DOCTYPE html>" +
+                "<html lang=\"pt-BR\">" +
+                "<head><meta charset=\"utf-8\"><meta name=\"viewport\" content=\"width=device-width,initial-scale=1\"></head>" +
+                "<body style=\"font-family:Arial,Helvetica,sans-serif;color:#333;margin:0;padding:0;background:#f4f4f6;\">" +
+                "<div style=\"max-width:680px;margin:32px auto;background:#ffffff;border-radius:8px;overflow:hidden;box-shadow:0 4px 18px rgba(0,0,0,0.06);\">" +
+                "<div style=\"background:#111827;color:#ffd54a;padding:18px 24px;\">" +
+                "<h2 style=\"margin:0;font-size:18px;\">Novo orçamento de evento</h2>" +
+                "</div>" +
+                "<div style=\"padding:20px 24px;\">" +
+                "<p style=\"margin:0 0 12px 0;\"><strong>Tipo:</strong> " + escapeHtml(o.getTipoEvento()) + "</p>" +
+                "<p style=\"margin:0 0 12px 0;\"><strong>Nome:</strong> " + escapeHtml(o.getNome()) + "</p>" +
+                "<p style=\"margin:0 0 12px 0;\"><strong>Data:</strong> " + o.getData().format(f) + "</p>" +
+                "<p style=\"margin:0 0 12px 0;\"><strong>E-mail:</strong> " + escapeHtml(o.getEmail()) + "</p>" +
+                "<p style=\"margin:0 0 12px 0;\"><strong>Convidados:</strong> " + o.getConvidados() + "</p>" +
+                "<hr style=\"border:none;border-top:1px solid #eee;margin:18px 0;\">" +
+                "<p style=\"margin:0 0 8px 0;\"><strong>Ações sugeridas:</strong></p>" +
+                "<ul style=\"margin:0 0 16px 20px;color:#444;\">" +
+                "<li>Verificar disponibilidade do espaço na data solicitada</li>" +
+                "<li>Preparar opções de pacotes e custos</li>" +
+                "<li>Entrar em contato com o cliente em até 24 horas</li>" +
+                "</ul>" +
+                "</div>" +
+                "<div style=\"background:#f7f7f8;padding:12px 24px;color:#666;font-size:13px;\">" +
+                "Equipe Lodgfy - Sistema de Orçamentos" +
+                "</div>" +
+                "</div>" +
+                "</body></html>";
+    }
+
+    String construirHtmlCliente(OrcamentoEventoDTO o) {
+        DateTimeFormatter f = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        return "<!DOCTYPE html>" +
+                "<html lang=\"pt-BR\">" +
+                "<head><meta charset=\"utf-8\"><meta name=\"viewport\" content=\"width=device-width,initial-scale=1\"></head>" +
+                "<body style=\"font-family:Arial,Helvetica,sans-serif;color:#333;margin:0;padding:0;background:#f4f4f6;\">" +
+                "<div style=\"max-width:680px;margin:32px auto;background:#ffffff;border-radius:8px;overflow:hidden;box-shadow:0 4px 18px rgba(0,0,0,0.06);\">" +
+                "<div style=\"background:#111827;color:#ffd54a;padding:22px 24px;\">" +
+                "<h1 style=\"margin:0;font-size:20px;\">Solicitação de Orçamento Recebida</h1>" +
+                "</div>" +
+                "<div style=\"padding:22px 24px;line-height:1.6;\">" +
+                "<p>Olá <strong>" + escapeHtml(o.getNome()) + "</strong>,</p>" +
+                "<p>Obrigado por solicitar um orçamento com a <strong>Lodgfy</strong>. Recebemos sua solicitação e estamos preparando uma proposta personalizada.</p>" +
+                "<div style=\"background:#f9fafb;border-left:4px solid #111827;padding:12px 14px;margin:16px 0;border-radius:4px;\">" +
+                "<p style=\"margin:0 0 8px 0;\"><strong>Resumo da solicitação</strong></p>" +
+                "<p style=\"margin:0;\"><strong>Tipo de evento:</strong> " + escapeHtml(o.getTipoEvento()) + "</p>" +
+                "<p style=\"margin:0;\"><strong>Data:</strong> " + o.getData().format(f) + "</p>" +
+                "<p style=\"margin:0;\"><strong>Convidados:</strong> " + o.getConvidados() + "</p>" +
+                "</div>" +
+                "<p>Nossa equipe entrará em contato em até <strong>24 horas</strong> com as opções disponíveis e valores.</p>" +
+                "<p>Enquanto isso, se desejar, responda este e-mail com informações adicionais (ex.: preferências de buffet, necessidade de hospedagem, itens extras).</p>" +
+                "<p>Atenciosamente,<br><strong>Equipe Lodgfy</strong></p>" +
+                "</div>" +
+                "<div style=\"background:#f7f7f8;padding:12px 24px;color:#666;font-size:13px;\">" +
+                "&copy; 2025 Lodgfy. Todos os direitos reservados." +
+                "</div>" +
+                "</div>" +
+                "</body></html>";
+    }
+
+    // Pequena função para escapar caracteres que podem quebrar HTML simples
+    String escapeHtml(String s) {
+        if (s == null) return "";
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;").replace("'", "&#39;");
+    }
+}
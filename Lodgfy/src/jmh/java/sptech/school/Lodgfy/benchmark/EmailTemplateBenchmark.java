@@ -0,0 +1,71 @@
+package sptech.school.Lodgfy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sptech.school.Lodgfy.business.dto.OrcamentoEventoDTO;
+import sptech.school.Lodgfy.business.email.template.EscapadorHtml;
+import sptech.school.Lodgfy.business.email.template.ModeloEmail;
+import sptech.school.Lodgfy.business.email.template.MotorTemplates;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a montagem dos e-mails de orçamento por concatenação (EmailLegado)
+ * com os templates compilados do MotorTemplates, e o escape em cinco
+ * String.replace com o escape em uma única passada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    // Texto com e sem caracteres especiais, como em nomes e tipos de evento reais
+    @Param({"Casamento de Maria Souza", "Festa \"Anos 80\" & <Karaokê> d'Ouro"})
+    private String texto;
+
+    private EmailLegado legado;
+    private MotorTemplates motor;
+    private OrcamentoEventoDTO orcamento;
+
+    @Setup
+    public void setUp() {
+        legado = new EmailLegado();
+        motor = new MotorTemplates();
+        motor.carregar();
+        orcamento = new OrcamentoEventoDTO(texto, texto, LocalDate.of(2030, 12, 31), "cliente@test.com", 80);
+    }
+
+    @Benchmark
+    public void orcamentoLegado(Blackhole blackhole) {
+        blackhole.consume(legado.construirHtmlEquipe(orcamento));
+        blackhole.consume(legado.construirHtmlCliente(orcamento));
+    }
+
+    @Benchmark
+    public void orcamentoTemplateCompilado(Blackhole blackhole) {
+        Map<String, Object> valores = Map.of(
+                "tipoEvento", orcamento.getTipoEvento(),
+                "nome", orcamento.getNome(),
+                "data", orcamento.getData(),
+                "email", orcamento.getEmail(),
+                "convidados", orcamento.getConvidados()
+        );
+        blackhole.consume(motor.renderizar(ModeloEmail.ORCAMENTO_EQUIPE, valores));
+        blackhole.consume(motor.renderizar(ModeloEmail.ORCAMENTO_CLIENTE, valores));
+    }
+
+    @Benchmark
+    public String escapeLegado() {
+        return legado.escapeHtml(texto);
+    }
+
+    @Benchmark
+    public String escapeUmaPassada() {
+        return EscapadorHtml.escapar(texto);
+    }
+}
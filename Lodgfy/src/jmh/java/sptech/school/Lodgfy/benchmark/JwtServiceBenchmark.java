@@ -0,0 +1,68 @@
+package sptech.school.Lodgfy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import sptech.school.Lodgfy.security.enums.Role;
+import sptech.school.Lodgfy.security.jwt.JwtService;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e validação de tokens JWT. A validação é medida com o token no cache
+ * (caso comum, várias requisições do mesmo usuário) e sem cache, alternando
+ * entre tokens distintos com um cache de uma única entrada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SEGREDO = "chave-de-benchmark-com-pelo-menos-256-bits-para-hs256-lodgfy";
+    private static final int TOKENS_DISTINTOS = 1024;
+
+    private JwtService comCache;
+    private JwtService semCache;
+    private String token;
+    private String[] tokens;
+    private int proximo;
+
+    @Setup
+    public void setUp() {
+        comCache = criarServico(10_000);
+        semCache = criarServico(1);
+        token = comCache.generateToken("12345678900", Role.HOSPEDE, 1L);
+        tokens = new String[TOKENS_DISTINTOS];
+        for (int i = 0; i < TOKENS_DISTINTOS; i++) {
+            tokens[i] = semCache.generateToken(String.format("%011d", i), Role.HOSPEDE, (long) i);
+        }
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return comCache.generateToken("12345678900", Role.HOSPEDE, 1L);
+    }
+
+    @Benchmark
+    public Optional<JwtService.JwtClaims> validarTokenEmCache() {
+        return comCache.parseToken(token);
+    }
+
+    @Benchmark
+    public Optional<JwtService.JwtClaims> validarTokenSemCache() {
+        proximo = (proximo + 1) % TOKENS_DISTINTOS;
+        return semCache.parseToken(tokens[proximo]);
+    }
+
+    private static JwtService criarServico(int maxEntradasCache) {
+        JwtService servico = new JwtService();
+        ReflectionTestUtils.setField(servico, "jwtSecret", SEGREDO);
+        ReflectionTestUtils.setField(servico, "jwtExpiration", 86_400_000);
+        ReflectionTestUtils.setField(servico, "maxEntradasCache", maxEntradasCache);
+        ReflectionTestUtils.invokeMethod(servico, "init");
+        return servico;
+    }
+}
@@ -0,0 +1,82 @@
+package sptech.school.Lodgfy.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.dto.ReservaResponseDTO;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.business.mapsstruct.ChaleMapper;
+import sptech.school.Lodgfy.business.mapsstruct.ReservaMapper;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.entities.HospedeEntity;
+import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de listas de entidades em DTOs pelos mappers gerados pelo MapStruct.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int tamanho;
+
+    private ChaleMapper chaleMapper;
+    private ReservaMapper reservaMapper;
+    private List<ChaleEntity> chales;
+    private List<ReservaEntity> reservas;
+
+    @Setup
+    public void setUp() {
+        chaleMapper = Mappers.getMapper(ChaleMapper.class);
+        reservaMapper = Mappers.getMapper(ReservaMapper.class);
+        chales = new ArrayList<>(tamanho);
+        reservas = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            ChaleEntity chale = new ChaleEntity();
+            chale.setIdChale((long) i);
+            chale.setNome("Chalé " + i);
+            chale.setNumero("C" + i);
+            chale.setTipo("Standard");
+            chale.setValorDiaria(new BigDecimal("300.00"));
+            chale.setCapacidade(4);
+            chale.setDescricao("Chalé com vista para as montanhas");
+            chale.setStatus(ChaleEntity.StatusChale.DISPONIVEL);
+            chales.add(chale);
+
+            HospedeEntity hospede = new HospedeEntity();
+            hospede.setId((long) i);
+            hospede.setNome("Hóspede " + i);
+
+            ReservaEntity reserva = new ReservaEntity();
+            reserva.setIdReserva((long) i);
+            reserva.setDataCheckIn(LocalDate.of(2030, 1, 10));
+            reserva.setDataCheckOut(LocalDate.of(2030, 1, 12));
+            reserva.setValorTotal(new BigDecimal("600.00"));
+            reserva.setStatusReserva(StatusReserva.CONFIRMADA);
+            reserva.setHospede(hospede);
+            reserva.setChale(chale);
+            reservas.add(reserva);
+        }
+    }
+
+    @Benchmark
+    public List<ChaleResponseDTO> listaDeChales() {
+        return chaleMapper.paraListaChaleResponseDTO(chales);
+    }
+
+    @Benchmark
+    public List<ReservaResponseDTO> listaDeReservas() {
+        return reservaMapper.paraListaReservaResponseDTO(reservas);
+    }
+}
@@ -0,0 +1,87 @@
+package sptech.school.Lodgfy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soma do rollup de ocupação sobre dois anos de reservas (cerca de 70% das
+ * noites ocupadas), o caminho dos relatórios por chalé e por tipo. O período
+ * começa e termina no meio do mês, para incluir a soma dia a dia das pontas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RollupOcupacaoBenchmark {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final int DIAS = 730;
+
+    @Param({"50", "500"})
+    private int chales;
+
+    private RollupOcupacao rollup;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<ReservaRepository.ReservaFaturada> reservas = new ArrayList<>();
+        long id = 0;
+        for (long chale = 1; chale <= chales; chale++) {
+            LocalDate noite = INICIO;
+            while (noite.isBefore(INICIO.plusDays(DIAS))) {
+                int noites = 2 + random.nextInt(4);
+                if (random.nextInt(10) < 7) {
+                    reservas.add(faturada(++id, chale, noite, noite.plusDays(noites),
+                            BigDecimal.valueOf(250L * noites)));
+                }
+                noite = noite.plusDays(noites);
+            }
+        }
+
+        // Só buscarFaturadas é usado pela reconstrução
+        ReservaRepository repositorio = (ReservaRepository) Proxy.newProxyInstance(
+                ReservaRepository.class.getClassLoader(), new Class<?>[]{ReservaRepository.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("buscarFaturadas")) {
+                        return reservas;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+        rollup = new RollupOcupacao(repositorio, true);
+        rollup.reconstruir();
+    }
+
+    @Benchmark
+    public Map<Long, RollupOcupacao.Totais> doisAnos() {
+        return rollup.somarPorChale(INICIO.plusDays(14), INICIO.plusDays(DIAS - 14)).orElseThrow();
+    }
+
+    @Benchmark
+    public Map<Long, RollupOcupacao.Totais> umMes() {
+        return rollup.somarPorChale(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1)).orElseThrow();
+    }
+
+    private static ReservaRepository.ReservaFaturada faturada(Long id, Long chale, LocalDate checkIn,
+                                                              LocalDate checkOut, BigDecimal valor) {
+        return new ReservaRepository.ReservaFaturada() {
+            public Long getIdReserva() { return id; }
+            public Long getChaleId() { return chale; }
+            public LocalDate getDataCheckIn() { return checkIn; }
+            public LocalDate getDataCheckOut() { return checkOut; }
+            public BigDecimal getValorTotal() { return valor; }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package sptech.school.Lodgfy.business;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de datas e cálculo do valor total executados a cada reserva criada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReservaServiceBenchmark {
+
+    @Param({"2", "30"})
+    private int diarias;
+
+    private BigDecimal valorDiaria;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        valorDiaria = new BigDecimal("350.00");
+        checkIn = LocalDate.now().plusDays(10);
+        checkOut = checkIn.plusDays(diarias);
+    }
+
+    @Benchmark
+    public BigDecimal calcularValorTotal() {
+        return ReservaService.calcularValorTotal(valorDiaria, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public LocalDate validarDatas() {
+        ReservaService.validarDatas(checkIn, checkOut);
+        return checkIn;
+    }
+}
@@ -2,8 +2,10 @@ package sptech.school.Lodgfy;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LodgfyApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,30 @@
+package sptech.school.Lodgfy.business;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import sptech.school.Lodgfy.business.dto.AuditoriaResponseDTO;
+import sptech.school.Lodgfy.business.mapsstruct.AuditoriaMapper;
+import sptech.school.Lodgfy.business.observer.impl.AuditoriaChaleObserver;
+import sptech.school.Lodgfy.business.paginacao.Paginacao;
+import sptech.school.Lodgfy.infrastructure.repository.AuditoriaRepository;
+
+@Service
+@RequiredArgsConstructor
+public class AuditoriaService {
+
+    private final AuditoriaRepository repository;
+    private final AuditoriaMapper mapper;
+    private final Paginacao paginacao;
+
+    /**
+     * Histórico de auditoria de um chalé, do evento mais recente para o mais antigo.
+     */
+    public Page<AuditoriaResponseDTO> listarHistoricoChale(Long idChale, int pagina, Integer tamanho) {
+        return repository.findByEntidadeAndEntidadeId(AuditoriaChaleObserver.ENTIDADE, idChale,
+                        paginacao.pagina(pagina, tamanho,
+                                Sort.by(Sort.Order.desc("dataHora"), Sort.Order.desc("idAuditoria"))))
+                .map(mapper::paraAuditoriaResponseDTO);
+    }
+}
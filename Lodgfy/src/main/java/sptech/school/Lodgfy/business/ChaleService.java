@@ -1,29 +1,55 @@
 package sptech.school.Lodgfy.business;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sptech.school.Lodgfy.business.busca.BuscaChales;
+import sptech.school.Lodgfy.business.config.MetricasConfig;
+import sptech.school.Lodgfy.business.cache.CacheCatalogoChales;
 import sptech.school.Lodgfy.business.dto.ChaleDisponibilidadeRequestDTO;
 import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
 import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.dto.PaginaCursorDTO;
+import sptech.school.Lodgfy.business.disponibilidade.ConsultaDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
 import sptech.school.Lodgfy.business.exceptions.ChaleJaExisteException;
 import sptech.school.Lodgfy.business.exceptions.DataReservaInvalidaException;
 import sptech.school.Lodgfy.business.mapsstruct.ChaleMapper;
 import sptech.school.Lodgfy.business.observer.ChaleManager;
 import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.business.paginacao.ExportadorNdjson;
+import sptech.school.Lodgfy.business.paginacao.Paginacao;
 import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
 import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricasConfig.METRICA_SERVICOS)
 @RequiredArgsConstructor
 public class ChaleService {
 
+    static final int LIMITE_MAXIMO_PESQUISA = 100;
+
     private final ChaleRepository repository;
     private final ChaleMapper mapper;
     private final ChaleManager chaleManager; // Observer pattern
+    private final IndiceDisponibilidade indiceDisponibilidade;
+    private final ConsultaDisponibilidade consultaDisponibilidade;
+    private final BuscaChales buscaChales;
+    private final Paginacao paginacao;
+    private final ExportadorNdjson exportadorNdjson;
 
     public ChaleResponseDTO salvarChale(ChaleRequestDTO request) {
         if (repository.existsByNumero(request.getNumero())) {
@@ -38,17 +64,52 @@ public class ChaleService {
         return mapper.paraChaleResponseDTO(chaleSalvo);
     }
 
+    // Leituras do catálogo ficam em cache; a invalidação é feita pelo CacheCatalogoChales
+    @Cacheable(CacheCatalogoChales.LISTAGEM)
+    public Page<ChaleResponseDTO> listarChales(int pagina, Integer tamanho) {
+        return repository.findAll(paginacao.pagina(pagina, tamanho, Sort.by("idChale")))
+                .map(mapper::paraChaleResponseDTO);
+    }
 
-    public List<ChaleResponseDTO> listarChales() {
-        return mapper.paraListaChaleResponseDTO(
-                repository.findAll());
+    public PaginaCursorDTO<ChaleResponseDTO> listarChalesPorCursor(String cursor, Integer tamanho) {
+        List<ChaleEntity> chales = repository.buscarAposId(Paginacao.cursorId(cursor), paginacao.paginaCursor(tamanho));
+        return paginacao.montarPaginaCursor(chales, tamanho, mapper::paraChaleResponseDTO,
+                chale -> chale.getIdChale().toString());
     }
 
+    /**
+     * Exporta todos os chalés como NDJSON, lendo do banco em fluxo.
+     */
+    @Transactional(readOnly = true)
+    public long exportarChales(OutputStream saida) {
+        return exportadorNdjson.exportar(repository.streamTodos(), mapper::paraChaleResponseDTO, saida);
+    }
+
+    @Cacheable(CacheCatalogoChales.CHALES)
     public Optional<ChaleResponseDTO> buscarPorId(Long id) {
         return repository.findById(id)
                 .map(mapper::paraChaleResponseDTO);
     }
 
+    // Versões para os ETags: respondem If-None-Match sem carregar os chalés
+
+    public Optional<Long> buscarVersao(Long id) {
+        return repository.buscarVersao(id);
+    }
+
+    /**
+     * Id e versão de cada chalé da página, na mesma ordem de {@link #listarChales(int, Integer)},
+     * no formato de {@link #versaoNaListagem(Long, Long)}.
+     */
+    public Page<String> buscarVersoes(int pagina, Integer tamanho) {
+        return repository.buscarVersoes(paginacao.pagina(pagina, tamanho, Sort.by("idChale")))
+                .map(versao -> versaoNaListagem(versao.getIdChale(), versao.getVersao()));
+    }
+
+    public static String versaoNaListagem(Long idChale, Long versao) {
+        return idChale + ":" + versao;
+    }
+
     public void deletarChalePorId(Long id) {
         if (!repository.existsById(id)) {
             throw new RuntimeException("Chalé não encontrado");
@@ -74,7 +135,7 @@ public class ChaleService {
                     }
 
                     // Salva estado anterior para comparação
-                    ChaleEntity chaleAnterior = copiarChale(chale);
+                    ChaleEntity chaleAnterior = chale.copiar();
 
                     // Atualiza campos
                     chale.setNome(chaleAtualizado.getNome());
@@ -97,14 +158,46 @@ public class ChaleService {
                 });
     }
 
+    @Cacheable(CacheCatalogoChales.POR_PRECO)
     public List<ChaleResponseDTO> buscarPorPrecoMaximo(BigDecimal precoMaximo) {
         return mapper.paraListaChaleResponseDTO(
                 repository.findByValorDiariaLessThanEqual(precoMaximo));
     }
 
+    // Responde pelo índice de texto; o LIKE no banco só enquanto o índice não está pronto
+    @Cacheable(CacheCatalogoChales.BUSCA)
     public List<ChaleResponseDTO> buscarPorNomeOuNumero(String nome, String numero) {
-        return mapper.paraListaChaleResponseDTO(
-                repository.findByNomeContainsIgnoreCaseOrNumeroContainsIgnoreCase(nome, numero));
+        return buscaChales.buscarPorNomeOuNumero(nome, numero)
+                .map(this::carregarNaOrdem)
+                .orElseGet(() -> mapper.paraListaChaleResponseDTO(
+                        repository.findByNomeContainsIgnoreCaseOrNumeroContainsIgnoreCase(nome, numero)));
+    }
+
+    /**
+     * Pesquisa livre em nome, número, tipo e descrição, ordenada pela relevância.
+     */
+    public List<ChaleResponseDTO> pesquisar(String consulta, int limite) {
+        int limiteEfetivo = Math.clamp(limite, 1, LIMITE_MAXIMO_PESQUISA);
+        return buscaChales.pesquisar(consulta, limiteEfetivo)
+                .map(this::carregarNaOrdem)
+                .orElseGet(() -> repository.findByNomeContainsIgnoreCaseOrNumeroContainsIgnoreCase(consulta, consulta)
+                        .stream()
+                        .limit(limiteEfetivo)
+                        .map(mapper::paraChaleResponseDTO)
+                        .toList());
+    }
+
+    private List<ChaleResponseDTO> carregarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ChaleEntity> porId = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ChaleEntity::getIdChale, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(mapper::paraChaleResponseDTO)
+                .toList();
     }
 
     public List<ChaleResponseDTO> buscarChalesDisponiveis(ChaleDisponibilidadeRequestDTO request) {
@@ -113,13 +206,17 @@ public class ChaleService {
             throw new DataReservaInvalidaException("Data de check-out deve ser posterior à data de check-in");
         }
 
-        List<ChaleEntity> chalesDisponiveis = repository.buscarChalesDisponiveis(
+        // Responde pelo índice em memória; o banco só é consultado quando o índice não cobre o período,
+        // e buscas idênticas simultâneas compartilham a mesma consulta
+        return indiceDisponibilidade.buscarDisponiveis(
                 request.getQuantidadePessoas(),
                 request.getDataCheckIn(),
                 request.getDataCheckOut()
-        );
-
-        return mapper.paraListaChaleResponseDTO(chalesDisponiveis);
+        ).orElseGet(() -> consultaDisponibilidade.buscarDisponiveis(
+                request.getQuantidadePessoas(),
+                request.getDataCheckIn(),
+                request.getDataCheckOut()
+        ));
     }
 
 
@@ -147,20 +244,4 @@ public class ChaleService {
         }
         return ChaleObserver.ChaleEventType.ATUALIZADO;
     }
-
-    /**
-     * Cria uma cópia do chalé para preservar estado anterior
-     */
-    private ChaleEntity copiarChale(ChaleEntity chale) {
-        ChaleEntity copia = new ChaleEntity();
-        copia.setIdChale(chale.getIdChale());
-        copia.setNome(chale.getNome());
-        copia.setNumero(chale.getNumero());
-        copia.setTipo(chale.getTipo());
-        copia.setValorDiaria(chale.getValorDiaria());
-        copia.setCapacidade(chale.getCapacidade());
-        copia.setDescricao(chale.getDescricao());
-        copia.setStatus(chale.getStatus());
-        return copia;
-    }
 }
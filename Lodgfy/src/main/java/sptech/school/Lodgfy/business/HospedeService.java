@@ -1,60 +1,81 @@
 package sptech.school.Lodgfy.business;
 
 import jakarta.validation.Valid;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import sptech.school.Lodgfy.business.busca.BuscaHospedes;
+import sptech.school.Lodgfy.business.cadastro.FiltroCadastros;
+import sptech.school.Lodgfy.business.config.MetricasConfig;
 import sptech.school.Lodgfy.business.dto.HospedeRequestDTO;
 import sptech.school.Lodgfy.business.dto.HospedeResponseDTO;
 import sptech.school.Lodgfy.business.dto.HospedeSignUpRequestDTO;
 import sptech.school.Lodgfy.business.dto.LoginRequestDTO;
 import sptech.school.Lodgfy.business.dto.LoginResponseDTO;
+import sptech.school.Lodgfy.business.dto.PaginaCursorDTO;
 import sptech.school.Lodgfy.business.mapsstruct.HospedeMapper;
+import sptech.school.Lodgfy.business.paginacao.ExportadorNdjson;
+import sptech.school.Lodgfy.business.paginacao.Paginacao;
 import sptech.school.Lodgfy.infrastructure.entities.HospedeEntity;
 import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository;
 import sptech.school.Lodgfy.security.enums.Role;
 import sptech.school.Lodgfy.security.jwt.JwtService;
+import sptech.school.Lodgfy.security.senha.HashSenhas;
 import sptech.school.Lodgfy.business.exceptions.EmailJaExisteException;
 import sptech.school.Lodgfy.business.exceptions.CpfJaExisteException;
 import sptech.school.Lodgfy.business.exceptions.SenhaIncorretaException;
 import sptech.school.Lodgfy.business.exceptions.CpfNaoEncontradoException;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricasConfig.METRICA_SERVICOS)
 @RequiredArgsConstructor
 @Slf4j
 public class HospedeService {
 
     private final HospedeRepository repository;
     private final HospedeMapper mapper;
-    private final PasswordEncoder passwordEncoder;
+    private final HashSenhas hashSenhas;
+    private final FiltroCadastros filtroCadastros;
+    private final BuscaHospedes buscaHospedes;
     private final JwtService jwtService;
+    private final Paginacao paginacao;
+    private final ExportadorNdjson exportadorNdjson;
 
     public HospedeResponseDTO salvarHospede(HospedeRequestDTO request) {
         String cpfNormalizado = request.getCpf().replaceAll("\\D", "");
         request.setCpf(cpfNormalizado);
 
-        if (repository.existsByEmail(request.getEmail())) {
+        if (filtroCadastros.talvezEmailCadastrado(request.getEmail()) && repository.existsByEmail(request.getEmail())) {
             throw new EmailJaExisteException();
         }
 
-        if (repository.existsByCpf(request.getCpf())) {
+        if (filtroCadastros.talvezCpfCadastrado(request.getCpf()) && repository.existsByCpf(request.getCpf())) {
             throw new CpfJaExisteException();
         }
 
         // Hash da senha antes de salvar
-        request.setSenha(passwordEncoder.encode(request.getSenha()));
+        request.setSenha(hashSenhas.codificar(request.getSenha()));
 
-        return mapper.paraHospedeResponseDTO(
-                repository.save(
-                        mapper.paraHospedeEntity(request)));
+        HospedeEntity salvo = gravar(mapper.paraHospedeEntity(request));
+        return mapper.paraHospedeResponseDTO(salvo);
     }
 
     /**
@@ -100,12 +121,12 @@ public class HospedeService {
         // Garante que a senha no banco está em BCrypt (migração on-the-fly se necessário)
         if (!isBcryptHash(hospede.getSenha())) {
             log.warn("Senha no banco não está em BCrypt para CPF: {}. Migrando...", cpfNormalizado);
-            hospede.setSenha(passwordEncoder.encode(hospede.getSenha()));
+            hospede.setSenha(hashSenhas.codificar(hospede.getSenha()));
             repository.save(hospede);
         }
 
         // Verifica a senha (raw password vs encoded hash)
-        boolean senhaCorreta = passwordEncoder.matches(loginRequest.getSenha(), hospede.getSenha());
+        boolean senhaCorreta = hashSenhas.confere(loginRequest.getSenha(), hospede.getSenha());
         log.info("Resultado da verificação de senha: {}", senhaCorreta);
 
         if (!senhaCorreta) {
@@ -115,6 +136,13 @@ public class HospedeService {
 
         log.info("Senha validada com sucesso para CPF: {}", cpfNormalizado);
 
+        // Hash gravado com outro custo do BCrypt: refaz com o custo atual enquanto a senha está em mãos
+        if (hashSenhas.precisaRecodificar(hospede.getSenha())) {
+            log.info("Recodificando senha com o custo atual do BCrypt para CPF: {}", cpfNormalizado);
+            hospede.setSenha(hashSenhas.codificar(loginRequest.getSenha()));
+            repository.save(hospede);
+        }
+
         // Gera o token JWT
         try {
             String token = jwtService.generateToken(
@@ -142,9 +170,23 @@ public class HospedeService {
         }
     }
 
-    public List<HospedeResponseDTO> listarHospedes() {
-        return mapper.paraListaHospedeResponseDTO(
-                repository.findAll());
+    public Page<HospedeResponseDTO> listarHospedes(int pagina, Integer tamanho) {
+        return repository.findAll(paginacao.pagina(pagina, tamanho, Sort.by("id")))
+                .map(mapper::paraHospedeResponseDTO);
+    }
+
+    public PaginaCursorDTO<HospedeResponseDTO> listarHospedesPorCursor(String cursor, Integer tamanho) {
+        List<HospedeEntity> hospedes = repository.buscarAposId(Paginacao.cursorId(cursor), paginacao.paginaCursor(tamanho));
+        return paginacao.montarPaginaCursor(hospedes, tamanho, mapper::paraHospedeResponseDTO,
+                hospede -> hospede.getId().toString());
+    }
+
+    /**
+     * Exporta todos os hóspedes como NDJSON, lendo do banco em fluxo.
+     */
+    @Transactional(readOnly = true)
+    public long exportarHospedes(OutputStream saida) {
+        return exportadorNdjson.exportar(repository.streamTodos(), mapper::paraHospedeResponseDTO, saida);
     }
 
     public Optional<HospedeResponseDTO> buscarPorCpf(String cpf) {
@@ -157,6 +199,7 @@ public class HospedeService {
             throw new RuntimeException("Hóspede não encontrado");
         }
         repository.deleteById(id);
+        buscaHospedes.remover(id);
     }
 
     public Optional<HospedeResponseDTO> atualizarHospede(Long id, HospedeRequestDTO hospedeAtualizado) {
@@ -167,11 +210,13 @@ public class HospedeService {
                     hospedeAtualizado.setCpf(cpfNormalizado);
 
                     if (!hospede.getEmail().equals(hospedeAtualizado.getEmail()) &&
+                            filtroCadastros.talvezEmailCadastrado(hospedeAtualizado.getEmail()) &&
                             repository.existsByEmail(hospedeAtualizado.getEmail())) {
                         throw new EmailJaExisteException();
                     }
 
                     if (!hospede.getCpf().equals(hospedeAtualizado.getCpf()) &&
+                            filtroCadastros.talvezCpfCadastrado(hospedeAtualizado.getCpf()) &&
                             repository.existsByCpf(hospedeAtualizado.getCpf())) {
                         throw new CpfJaExisteException();
                     }
@@ -183,23 +228,41 @@ public class HospedeService {
                     hospede.setDataNascimento(hospedeAtualizado.getDataNascimento());
 
                     if (hospedeAtualizado.getSenha() != null && !hospedeAtualizado.getSenha().isEmpty()) {
-                        hospede.setSenha(passwordEncoder.encode(hospedeAtualizado.getSenha()));
+                        hospede.setSenha(hashSenhas.codificar(hospedeAtualizado.getSenha()));
                     }
 
-                    return mapper.paraHospedeResponseDTO(repository.save(hospede));
+                    return mapper.paraHospedeResponseDTO(gravar(hospede));
                 });
     }
 
+    // Responde pelo índice de texto; o LIKE no banco só enquanto o índice não está pronto
     public List<HospedeResponseDTO> buscarPorNome(String nome) {
-        return mapper.paraListaHospedeResponseDTO(
-                repository.findByNomeContainingIgnoreCase(nome));
+        return buscaHospedes.buscarPorNome(nome)
+                .map(this::carregarNaOrdem)
+                .orElseGet(() -> mapper.paraListaHospedeResponseDTO(
+                        repository.findByNomeContainingIgnoreCase(nome)));
+    }
+
+    private List<HospedeResponseDTO> carregarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, HospedeEntity> porId = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(HospedeEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(mapper::paraHospedeResponseDTO)
+                .toList();
     }
 
     /**
      * Autocadastro público de hóspede (endpoint sem JWT).
      * Sempre atribui Role.HOSPEDE, ignora qualquer role enviada no payload.
+     *
+     * Sem transação própria: o único comando é o INSERT, e o hash da senha
+     * não prende uma conexão do pool.
      */
-    @Transactional
     public HospedeResponseDTO autocadastrar(HospedeSignUpRequestDTO dto) {
         log.info("Iniciando autocadastro para email: {}", dto.getEmail());
 
@@ -207,14 +270,13 @@ public class HospedeService {
         String cpfNormalizado = dto.getCpf().replaceAll("\\D", "");
         log.debug("CPF normalizado: {}", cpfNormalizado);
 
-        // Verifica duplicidade de CPF
-        if (repository.existsByCpf(cpfNormalizado)) {
+        // Duplicatas óbvias (segundo o filtro) são recusadas antes do hash; as demais, pelo INSERT
+        if (filtroCadastros.talvezCpfCadastrado(cpfNormalizado) && repository.existsByCpf(cpfNormalizado)) {
             log.warn("Tentativa de cadastro com CPF já existente: {}", cpfNormalizado);
             throw new CpfJaExisteException();
         }
 
-        // Verifica duplicidade de email
-        if (repository.existsByEmail(dto.getEmail())) {
+        if (filtroCadastros.talvezEmailCadastrado(dto.getEmail()) && repository.existsByEmail(dto.getEmail())) {
             log.warn("Tentativa de cadastro com email já existente: {}", dto.getEmail());
             throw new EmailJaExisteException();
         }
@@ -228,15 +290,55 @@ public class HospedeService {
         entity.setDataNascimento(dto.getDataNascimento());
 
         // Criptografa senha
-        entity.setSenha(passwordEncoder.encode(dto.getSenha()));
+        entity.setSenha(hashSenhas.codificar(dto.getSenha()));
 
         // Define role padrão (ignora qualquer role enviada)
         entity.setRole(Role.HOSPEDE);
 
-        HospedeEntity salvo = repository.save(entity);
+        HospedeEntity salvo = gravar(entity);
         log.info("Hóspede cadastrado com sucesso - ID: {}, Nome: {}", salvo.getId(), salvo.getNome());
 
         return mapper.paraHospedeResponseDTO(salvo);
     }
 
+    /**
+     * Grava o hóspede confiando nas restrições únicas da tabela, que resolvem
+     * também cadastros simultâneos com o mesmo CPF ou e-mail.
+     */
+    private HospedeEntity gravar(HospedeEntity hospede) {
+        HospedeEntity salvo;
+        try {
+            salvo = repository.save(hospede);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirDuplicidade(e, hospede);
+        }
+        filtroCadastros.registrar(salvo.getCpf(), salvo.getEmail());
+        buscaHospedes.indexar(salvo.getId(), salvo.getNome());
+        return salvo;
+    }
+
+    private RuntimeException traduzirDuplicidade(DataIntegrityViolationException e, HospedeEntity hospede) {
+        String restricao = e.getCause() instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                ? violacao.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+        restricao = restricao.toLowerCase(Locale.ROOT);
+        if (restricao.contains(HospedeEntity.UK_CPF)) {
+            return new CpfJaExisteException();
+        }
+        if (restricao.contains(HospedeEntity.UK_EMAIL)) {
+            return new EmailJaExisteException();
+        }
+        // Restrição com outro nome (esquema criado antes dos nomes explícitos): num cadastro novo,
+        // qualquer registro com o mesmo CPF ou e-mail é o que colidiu
+        if (hospede.getId() != null) {
+            return e;
+        }
+        if (repository.existsByCpf(hospede.getCpf())) {
+            return new CpfJaExisteException();
+        }
+        if (repository.existsByEmail(hospede.getEmail())) {
+            return new EmailJaExisteException();
+        }
+        return e;
+    }
 }
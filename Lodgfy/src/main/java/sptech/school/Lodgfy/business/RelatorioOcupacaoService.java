@@ -0,0 +1,182 @@
+package sptech.school.Lodgfy.business;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import sptech.school.Lodgfy.business.analise.AgrupamentoOcupacao;
+import sptech.school.Lodgfy.business.analise.FonteRelatorio;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao.Totais;
+import sptech.school.Lodgfy.business.config.MetricasConfig;
+import sptech.school.Lodgfy.business.dto.IndicadoresOcupacaoDTO;
+import sptech.school.Lodgfy.business.dto.RelatorioOcupacaoDTO;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository.ChaleResumo;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Relatórios de ocupação, diária média (ADR) e receita por chalé, tipo ou mês.
+ *
+ * Considera as reservas confirmadas e concluídas, com a receita rateada pelas
+ * noites; reservas que atravessam os limites do período entram só com as noites
+ * dentro dele. As noites disponíveis são os chalés cadastrados hoje vezes os
+ * dias do período.
+ *
+ * Por padrão os números vêm do RollupOcupacao; com fonte=BANCO, ou enquanto o
+ * rollup é reconstruído, vêm de agregações SQL (uma consulta por período, ou
+ * por mês no agrupamento MES).
+ */
+@Service
+@Timed(MetricasConfig.METRICA_SERVICOS)
+@RequiredArgsConstructor
+@Slf4j
+public class RelatorioOcupacaoService {
+
+    private static final String SEM_TIPO = "Sem tipo";
+
+    private final ChaleRepository chaleRepository;
+    private final ReservaRepository reservaRepository;
+    private final RollupOcupacao rollupOcupacao;
+
+    /**
+     * @param inicio primeiro dia do período
+     * @param fim    último dia do período (inclusive)
+     */
+    public RelatorioOcupacaoDTO gerarRelatorio(LocalDate inicio, LocalDate fim,
+                                               AgrupamentoOcupacao agrupamento, FonteRelatorio fonte) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final do relatório não pode ser anterior à inicial");
+        }
+        LocalDate fimExclusivo = fim.plusDays(1);
+        List<ChaleResumo> chales = chaleRepository.buscarResumos();
+
+        FonteRelatorio fonteUsada = fonte;
+        List<IndicadoresOcupacaoDTO> linhas;
+        if (agrupamento == AgrupamentoOcupacao.MES) {
+            linhas = new ArrayList<>();
+            for (YearMonth mes = YearMonth.from(inicio); !mes.isAfter(YearMonth.from(fim)); mes = mes.plusMonths(1)) {
+                LocalDate inicioMes = max(inicio, mes.atDay(1));
+                LocalDate fimMes = min(fimExclusivo, mes.plusMonths(1).atDay(1));
+                Resultado resultado = somarPorChale(inicioMes, fimMes, fonteUsada);
+                fonteUsada = resultado.fonte();
+                Totais totais = somar(resultado.totais().values());
+                linhas.add(indicadores(mes.toString(), null, (long) chales.size() * dias(inicioMes, fimMes), totais));
+            }
+        } else {
+            Resultado resultado = somarPorChale(inicio, fimExclusivo, fonte);
+            fonteUsada = resultado.fonte();
+            long dias = dias(inicio, fimExclusivo);
+            linhas = agrupamento == AgrupamentoOcupacao.TIPO
+                    ? porTipo(chales, resultado.totais(), dias)
+                    : porChale(chales, resultado.totais(), dias);
+        }
+
+        long noitesDisponiveis = (long) chales.size() * dias(inicio, fimExclusivo);
+        Totais total = new Totais(
+                linhas.stream().mapToLong(IndicadoresOcupacaoDTO::getNoitesOcupadas).sum(),
+                linhas.stream().mapToLong(linha -> linha.getReceita().movePointRight(2).longValueExact()).sum());
+
+        return new RelatorioOcupacaoDTO(inicio, fim, agrupamento, fonteUsada, linhas,
+                indicadores("TOTAL", null, noitesDisponiveis, total));
+    }
+
+    /**
+     * Compara o rollup com as agregações SQL no período (fim inclusive).
+     */
+    public boolean verificarConsistencia(LocalDate inicio, LocalDate fim) {
+        return rollupOcupacao.verificarConsistencia(inicio, fim.plusDays(1));
+    }
+
+    private Resultado somarPorChale(LocalDate inicio, LocalDate fim, FonteRelatorio fonte) {
+        if (fonte == FonteRelatorio.MEMORIA) {
+            Optional<Map<Long, Totais>> doRollup = rollupOcupacao.somarPorChale(inicio, fim);
+            if (doRollup.isPresent()) {
+                return new Resultado(doRollup.get(), FonteRelatorio.MEMORIA);
+            }
+            log.info("Rollup de ocupação indisponível, relatório calculado no banco");
+        }
+        Map<Long, Totais> doBanco = new HashMap<>();
+        for (ReservaRepository.AgregadoChale agregado
+                : reservaRepository.agregarPorChale(inicio, fim, RollupOcupacao.STATUS_FATURADOS)) {
+            doBanco.put(agregado.getChaleId(), Totais.doBanco(agregado));
+        }
+        return new Resultado(doBanco, FonteRelatorio.BANCO);
+    }
+
+    private List<IndicadoresOcupacaoDTO> porChale(List<ChaleResumo> chales, Map<Long, Totais> totais, long dias) {
+        List<IndicadoresOcupacaoDTO> linhas = new ArrayList<>(chales.size());
+        for (ChaleResumo chale : chales) {
+            linhas.add(indicadores(chale.getIdChale().toString(), chale.getNome(), dias,
+                    totais.getOrDefault(chale.getIdChale(), new Totais(0, 0))));
+        }
+        return linhas;
+    }
+
+    private List<IndicadoresOcupacaoDTO> porTipo(List<ChaleResumo> chales, Map<Long, Totais> totais, long dias) {
+        Map<String, List<ChaleResumo>> porTipo = new TreeMap<>();
+        for (ChaleResumo chale : chales) {
+            String tipo = chale.getTipo() == null || chale.getTipo().isBlank() ? SEM_TIPO : chale.getTipo();
+            porTipo.computeIfAbsent(tipo, chave -> new ArrayList<>()).add(chale);
+        }
+        List<IndicadoresOcupacaoDTO> linhas = new ArrayList<>(porTipo.size());
+        porTipo.forEach((tipo, chalesDoTipo) -> linhas.add(indicadores(tipo, null, chalesDoTipo.size() * dias,
+                somar(chalesDoTipo.stream()
+                        .map(chale -> totais.getOrDefault(chale.getIdChale(), new Totais(0, 0)))
+                        .toList()))));
+        return linhas;
+    }
+
+    private static IndicadoresOcupacaoDTO indicadores(String chave, String descricao, long noitesDisponiveis,
+                                                      Totais totais) {
+        BigDecimal receita = BigDecimal.valueOf(totais.centavos(), 2);
+        return new IndicadoresOcupacaoDTO(
+                chave,
+                descricao,
+                noitesDisponiveis,
+                totais.noites(),
+                noitesDisponiveis == 0 ? 0 : (double) totais.noites() / noitesDisponiveis,
+                receita,
+                dividir(receita, totais.noites()),
+                dividir(receita, noitesDisponiveis)
+        );
+    }
+
+    private static BigDecimal dividir(BigDecimal receita, long noites) {
+        return noites == 0
+                ? BigDecimal.ZERO.setScale(2)
+                : receita.divide(BigDecimal.valueOf(noites), 2, RoundingMode.HALF_UP);
+    }
+
+    private static Totais somar(Collection<Totais> totais) {
+        long noites = 0;
+        long centavos = 0;
+        for (Totais parcial : totais) {
+            noites += parcial.noites();
+            centavos += parcial.centavos();
+        }
+        return new Totais(noites, centavos);
+    }
+
+    private static long dias(LocalDate inicio, LocalDate fimExclusivo) {
+        return ChronoUnit.DAYS.between(inicio, fimExclusivo);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record Resultado(Map<Long, Totais> totais, FonteRelatorio fonte) {
+    }
+}
@@ -1,14 +1,34 @@
 package sptech.school.Lodgfy.business;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao;
+import sptech.school.Lodgfy.business.config.MetricasConfig;
+import sptech.school.Lodgfy.business.cache.CacheCatalogoChales;
+import sptech.school.Lodgfy.business.concorrencia.BloqueioPorChale;
+import sptech.school.Lodgfy.business.disponibilidade.ConsultaDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.NoitesReservadas;
+import sptech.school.Lodgfy.business.dto.PaginaCursorDTO;
+import sptech.school.Lodgfy.business.dto.RelatorioImportacaoDTO;
+import sptech.school.Lodgfy.business.dto.ReservaGrupoRequestDTO;
 import sptech.school.Lodgfy.business.dto.ReservaRequestDTO;
 import sptech.school.Lodgfy.business.dto.ReservaResponseDTO;
 import sptech.school.Lodgfy.business.dto.StatusReserva;
 import sptech.school.Lodgfy.business.exceptions.*;
 import sptech.school.Lodgfy.business.mapsstruct.ReservaMapper;
+import sptech.school.Lodgfy.business.importacao.FormatoImportacao;
+import sptech.school.Lodgfy.business.importacao.ImportadorReservas;
+import sptech.school.Lodgfy.business.paginacao.ExportadorCsv;
+import sptech.school.Lodgfy.business.paginacao.ExportadorNdjson;
+import sptech.school.Lodgfy.business.paginacao.OrdenacaoReserva;
+import sptech.school.Lodgfy.business.paginacao.Paginacao;
 import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
 import sptech.school.Lodgfy.infrastructure.entities.HospedeEntity;
 import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
@@ -16,21 +36,45 @@ import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
 import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository;
 import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricasConfig.METRICA_SERVICOS)
 @RequiredArgsConstructor
 @Slf4j
 public class ReservaService {
 
+    // Os nomes do ReservaResponseDTO, que a importação também reconhece
+    private static final List<String> COLUNAS_CSV = List.of("idReserva", "hospedeId", "hospedeNome", "chaleId",
+            "chaleNumero", "chaleNome", "dataCheckIn", "dataCheckOut", "valorTotal", "statusReserva");
+
     private final ReservaRepository reservaRepository;
     private final HospedeRepository hospedeRepository;
     private final ChaleRepository chaleRepository;
     private final ReservaMapper mapper;
+    private final IndiceDisponibilidade indiceDisponibilidade;
+    private final CacheCatalogoChales cacheCatalogoChales;
+    private final BloqueioPorChale bloqueioPorChale;
+    private final Paginacao paginacao;
+    private final ExportadorNdjson exportadorNdjson;
+    private final ExportadorCsv exportadorCsv;
+    private final ImportadorReservas importadorReservas;
+    private final RollupOcupacao rollupOcupacao;
+    private final NoitesReservadas noitesReservadas;
+    private final ConsultaDisponibilidade consultaDisponibilidade;
 
     @Transactional
     public ReservaResponseDTO criarReserva(ReservaRequestDTO request) {
@@ -40,6 +84,16 @@ public class ReservaService {
         // Validações de data
         validarDatas(request.getDataCheckIn(), request.getDataCheckOut());
 
+        // Serializa reservas do mesmo chalé (em memória e no banco) até o fim da transação.
+        // O SELECT ... FOR UPDATE vem antes de qualquer outra leitura para que a verificação
+        // de conflitos enxergue reservas confirmadas por quem liberou o bloqueio.
+        bloqueioPorChale.bloquearAteFimDaTransacao(request.getChaleId());
+        ChaleEntity chale = chaleRepository.findByIdComBloqueio(request.getChaleId())
+                .orElseThrow(() -> {
+                    log.error("Chalé não encontrado: {}", request.getChaleId());
+                    return new RuntimeException("Chalé não encontrado");
+                });
+
         // Buscar hóspede
         HospedeEntity hospede = hospedeRepository.findById(request.getHospedeId())
                 .orElseThrow(() -> {
@@ -47,13 +101,6 @@ public class ReservaService {
                     return new RuntimeException("Hóspede não encontrado");
                 });
 
-        // Buscar chalé
-        ChaleEntity chale = chaleRepository.findById(request.getChaleId())
-                .orElseThrow(() -> {
-                    log.error("Chalé não encontrado: {}", request.getChaleId());
-                    return new RuntimeException("Chalé não encontrado");
-                });
-
         // Validar disponibilidade do chalé
         if (chale.getStatus() != ChaleEntity.StatusChale.DISPONIVEL) {
             log.warn("Chalé indisponível: {} - Status: {}", chale.getIdChale(), chale.getStatus());
@@ -89,41 +136,162 @@ public class ReservaService {
         reserva.setStatusReserva(StatusReserva.PENDENTE);
 
         ReservaEntity reservaSalva = reservaRepository.save(reserva);
+        noitesReservadas.ocupar(reservaSalva);
+        indiceDisponibilidade.registrarReserva(reservaSalva);
         log.info("Reserva criada com sucesso - ID: {}, Valor: {}", reservaSalva.getIdReserva(), valorTotal);
 
         return mapper.paraReservaResponseDTO(reservaSalva);
     }
 
-    public List<ReservaResponseDTO> listarReservas() {
-        log.info("Listando todas as reservas");
-        return mapper.paraListaReservaResponseDTO(reservaRepository.findAll());
+    /**
+     * Reserva vários chalés para o mesmo hóspede e período em uma única transação:
+     * ou todas as reservas são criadas, ou nenhuma.
+     *
+     * Os chalés são bloqueados em ordem crescente (faixas em memória e SELECT ... FOR UPDATE),
+     * para que dois grupos com chalés em comum não esperem um pelo outro em ciclo, e os
+     * conflitos de todos eles são verificados em uma única consulta.
+     */
+    @Transactional
+    public List<ReservaResponseDTO> criarReservasEmGrupo(ReservaGrupoRequestDTO request) {
+        log.info("Criando reservas em grupo - Hóspede: {}, Chalés: {}, Check-in: {}, Check-out: {}",
+                request.getHospedeId(), request.getChaleIds(), request.getDataCheckIn(), request.getDataCheckOut());
+
+        validarDatas(request.getDataCheckIn(), request.getDataCheckOut());
+        Set<Long> idsChales = new TreeSet<>(request.getChaleIds());
+        if (idsChales.size() != request.getChaleIds().size()) {
+            throw new IllegalArgumentException("A reserva em grupo não pode repetir chalés");
+        }
+
+        bloqueioPorChale.bloquearTodosAteFimDaTransacao(idsChales);
+        List<ChaleEntity> chales = chaleRepository.findAllByIdComBloqueio(idsChales);
+        if (chales.size() != idsChales.size()) {
+            Set<Long> encontrados = chales.stream().map(ChaleEntity::getIdChale).collect(Collectors.toSet());
+            log.error("Chalés não encontrados: {}", idsChales.stream().filter(id -> !encontrados.contains(id)).toList());
+            throw new RuntimeException("Chalé não encontrado");
+        }
+
+        HospedeEntity hospede = hospedeRepository.findById(request.getHospedeId())
+                .orElseThrow(() -> {
+                    log.error("Hóspede não encontrado: {}", request.getHospedeId());
+                    return new RuntimeException("Hóspede não encontrado");
+                });
+
+        for (ChaleEntity chale : chales) {
+            if (chale.getStatus() != ChaleEntity.StatusChale.DISPONIVEL) {
+                log.warn("Chalé indisponível: {} - Status: {}", chale.getIdChale(), chale.getStatus());
+                throw new ChaleIndisponivelException();
+            }
+        }
+
+        List<Long> chalesComConflito = reservaRepository.buscarChalesComConflito(
+                idsChales, request.getDataCheckIn(), request.getDataCheckOut());
+        if (!chalesComConflito.isEmpty()) {
+            log.warn("Reserva conflitante encontrada para chalés: {}", chalesComConflito);
+            throw new ReservaConflitanteException();
+        }
+
+        List<ReservaEntity> reservas = new ArrayList<>(chales.size());
+        for (ChaleEntity chale : chales) {
+            ReservaEntity reserva = new ReservaEntity();
+            reserva.setHospede(hospede);
+            reserva.setChale(chale);
+            reserva.setDataCheckIn(request.getDataCheckIn());
+            reserva.setDataCheckOut(request.getDataCheckOut());
+            reserva.setValorTotal(calcularValorTotal(chale.getValorDiaria(),
+                    request.getDataCheckIn(), request.getDataCheckOut()));
+            reserva.setStatusReserva(StatusReserva.PENDENTE);
+            reservas.add(reserva);
+        }
+
+        List<ReservaEntity> reservasSalvas = reservaRepository.saveAll(reservas);
+        noitesReservadas.ocupar(reservasSalvas);
+        reservasSalvas.forEach(indiceDisponibilidade::registrarReserva);
+        log.info("Reservas em grupo criadas com sucesso - Quantidade: {}", reservasSalvas.size());
+
+        return reservasSalvas.stream().map(mapper::paraReservaResponseDTO).toList();
+    }
+
+    public Page<ReservaResponseDTO> listarReservas(int pagina, Integer tamanho) {
+        return reservaRepository.buscarPaginaResponse(paginacao.pagina(pagina, tamanho, Sort.by("idReserva")));
+    }
+
+    /**
+     * Listagem por cursor (keyset). Para DATA_CHECK_IN o cursor tem o formato "data_id",
+     * pois várias reservas podem começar no mesmo dia.
+     */
+    public PaginaCursorDTO<ReservaResponseDTO> listarReservasPorCursor(OrdenacaoReserva ordenacao, String cursor, Integer tamanho) {
+        Pageable pageable = paginacao.paginaCursor(tamanho);
+
+        if (ordenacao == OrdenacaoReserva.ID) {
+            List<ReservaResponseDTO> reservas = reservaRepository.buscarAposId(Paginacao.cursorId(cursor), pageable);
+            return paginacao.montarPaginaCursor(reservas, tamanho, Function.identity(),
+                    reserva -> reserva.getIdReserva().toString());
+        }
+
+        List<ReservaResponseDTO> reservas;
+        if (cursor == null || cursor.isBlank()) {
+            reservas = reservaRepository.buscarPrimeirasPorDataCheckIn(pageable);
+        } else {
+            int separador = cursor.lastIndexOf('_');
+            try {
+                reservas = reservaRepository.buscarAposDataCheckIn(
+                        LocalDate.parse(cursor.substring(0, Math.max(separador, 0))),
+                        Paginacao.cursorId(cursor.substring(separador + 1)),
+                        pageable
+                );
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+        }
+        return paginacao.montarPaginaCursor(reservas, tamanho, Function.identity(),
+                reserva -> reserva.getDataCheckIn() + "_" + reserva.getIdReserva());
+    }
+
+    /**
+     * Exporta todas as reservas como NDJSON, lendo do banco em fluxo.
+     */
+    @Transactional(readOnly = true)
+    public long exportarReservas(OutputStream saida) {
+        return exportadorNdjson.exportar(reservaRepository.streamTodas(), Function.identity(), saida);
+    }
+
+    /**
+     * Exporta todas as reservas como CSV, no formato aceito pela importação.
+     */
+    @Transactional(readOnly = true)
+    public long exportarReservasCsv(OutputStream saida) {
+        return exportadorCsv.exportar(reservaRepository.streamTodas(), COLUNAS_CSV, reserva -> Arrays.asList(
+                reserva.getIdReserva(), reserva.getHospedeId(), reserva.getHospedeNome(), reserva.getChaleId(),
+                reserva.getChaleNumero(), reserva.getChaleNome(), reserva.getDataCheckIn(), reserva.getDataCheckOut(),
+                reserva.getValorTotal(), reserva.getStatusReserva()), saida);
+    }
+
+    /**
+     * Importa reservas em massa (CSV ou NDJSON). Sem transação própria: cada lote
+     * do arquivo é gravado em uma transação.
+     */
+    public RelatorioImportacaoDTO importarReservas(InputStream entrada, FormatoImportacao formato) {
+        return importadorReservas.importar(entrada, formato);
     }
 
     public Optional<ReservaResponseDTO> buscarPorId(Long id) {
         log.info("Buscando reserva por ID: {}", id);
-        return reservaRepository.findById(id)
-                .map(mapper::paraReservaResponseDTO);
+        return reservaRepository.buscarResponsePorId(id);
     }
 
     public List<ReservaResponseDTO> buscarPorHospede(Long hospedeId) {
         log.info("Buscando reservas do hóspede: {}", hospedeId);
-        return mapper.paraListaReservaResponseDTO(
-                reservaRepository.findHistoricoByHospede(hospedeId)
-        );
+        return reservaRepository.buscarResponsePorHospede(hospedeId);
     }
 
     public List<ReservaResponseDTO> buscarPorChale(Long chaleId) {
         log.info("Buscando reservas do chalé: {}", chaleId);
-        return mapper.paraListaReservaResponseDTO(
-                reservaRepository.findByChaleIdChale(chaleId)
-        );
+        return reservaRepository.buscarResponsePorChale(chaleId);
     }
 
     public List<ReservaResponseDTO> buscarPorStatus(StatusReserva status) {
         log.info("Buscando reservas com status: {}", status);
-        return mapper.paraListaReservaResponseDTO(
-                reservaRepository.findByStatusReserva(status)
-        );
+        return reservaRepository.buscarResponsePorStatus(status);
     }
 
     @Transactional
@@ -143,8 +311,12 @@ public class ReservaService {
         ChaleEntity chale = reserva.getChale();
         chale.setStatus(ChaleEntity.StatusChale.OCUPADO);
         chaleRepository.save(chale);
+        indiceDisponibilidade.atualizarChale(chale);
+        cacheCatalogoChales.invalidarChale(chale.getIdChale());
+        consultaDisponibilidade.invalidar();
 
         ReservaEntity reservaAtualizada = reservaRepository.save(reserva);
+        rollupOcupacao.registrarReserva(reservaAtualizada);
         log.info("Reserva confirmada e chalé marcado como OCUPADO: {}", id);
 
         return mapper.paraReservaResponseDTO(reservaAtualizada);
@@ -166,13 +338,20 @@ public class ReservaService {
             throw new IllegalStateException("Não é possível cancelar reserva já concluída");
         }
 
+        StatusReserva statusAnterior = reserva.getStatusReserva();
         reserva.setStatusReserva(StatusReserva.CANCELADA);
+        noitesReservadas.liberar(reserva.getIdReserva());
+        indiceDisponibilidade.removerReserva(reserva.getIdReserva());
+        rollupOcupacao.removerReserva(reserva.getIdReserva());
 
         // Se a reserva estava confirmada, liberar o chalé
-        if (reserva.getStatusReserva() == StatusReserva.CONFIRMADA) {
+        if (statusAnterior == StatusReserva.CONFIRMADA) {
             ChaleEntity chale = reserva.getChale();
             chale.setStatus(ChaleEntity.StatusChale.DISPONIVEL);
             chaleRepository.save(chale);
+            indiceDisponibilidade.atualizarChale(chale);
+            cacheCatalogoChales.invalidarChale(chale.getIdChale());
+            consultaDisponibilidade.invalidar();
         }
 
         ReservaEntity reservaAtualizada = reservaRepository.save(reserva);
@@ -192,12 +371,18 @@ public class ReservaService {
             throw new IllegalStateException("Apenas reservas confirmadas podem ser concluídas");
         }
 
+        // Concluída continua faturada: o rollup de ocupação não muda
         reserva.setStatusReserva(StatusReserva.CONCLUIDA);
+        noitesReservadas.liberar(reserva.getIdReserva());
+        indiceDisponibilidade.removerReserva(reserva.getIdReserva());
 
         // Atualizar status do chalé para LIMPEZA
         ChaleEntity chale = reserva.getChale();
         chale.setStatus(ChaleEntity.StatusChale.LIMPEZA);
         chaleRepository.save(chale);
+        indiceDisponibilidade.atualizarChale(chale);
+        cacheCatalogoChales.invalidarChale(chale.getIdChale());
+        consultaDisponibilidade.invalidar();
 
         ReservaEntity reservaAtualizada = reservaRepository.save(reserva);
         log.info("Reserva concluída e chalé marcado como LIMPEZA: {}", id);
@@ -212,13 +397,18 @@ public class ReservaService {
             log.error("Tentativa de deletar reserva inexistente: {}", id);
             throw new ReservaNaoEncontradaException();
         }
+        // As noites reservadas saem junto, pela chave estrangeira (on delete cascade)
         reservaRepository.deleteById(id);
+        indiceDisponibilidade.removerReserva(id);
+        consultaDisponibilidade.invalidar();
+        rollupOcupacao.removerReserva(id);
         log.info("Reserva deletada: {}", id);
     }
 
     // ======================== MÉTODOS AUXILIARES ========================
+    // Sem estado e visíveis no pacote para os benchmarks (src/jmh)
 
-    private void validarDatas(LocalDate checkIn, LocalDate checkOut) {
+    static void validarDatas(LocalDate checkIn, LocalDate checkOut) {
         if (checkIn.isAfter(checkOut)) {
             throw new DataReservaInvalidaException("Data de check-in não pode ser posterior à data de check-out");
         }
@@ -232,7 +422,7 @@ public class ReservaService {
         }
     }
 
-    private BigDecimal calcularValorTotal(BigDecimal valorDiaria, LocalDate checkIn, LocalDate checkOut) {
+    static BigDecimal calcularValorTotal(BigDecimal valorDiaria, LocalDate checkIn, LocalDate checkOut) {
         long numeroDiarias = ChronoUnit.DAYS.between(checkIn, checkOut);
         return valorDiaria.multiply(BigDecimal.valueOf(numeroDiarias));
     }
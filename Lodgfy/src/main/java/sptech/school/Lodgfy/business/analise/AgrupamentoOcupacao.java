@@ -0,0 +1,10 @@
+package sptech.school.Lodgfy.business.analise;
+
+/**
+ * Como as linhas do relatório de ocupação são agrupadas.
+ */
+public enum AgrupamentoOcupacao {
+    CHALE,
+    TIPO,
+    MES
+}
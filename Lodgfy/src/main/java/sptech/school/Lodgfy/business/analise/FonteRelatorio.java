@@ -0,0 +1,9 @@
+package sptech.school.Lodgfy.business.analise;
+
+/**
+ * Origem dos números do relatório: o rollup em memória ou as agregações SQL.
+ */
+public enum FonteRelatorio {
+    MEMORIA,
+    BANCO
+}
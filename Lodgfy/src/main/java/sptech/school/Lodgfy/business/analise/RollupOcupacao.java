@@ -0,0 +1,384 @@
+package sptech.school.Lodgfy.business.analise;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rollup em memória da ocupação e da receita de cada chalé, dia a dia.
+ *
+ * Cada reserva confirmada ou concluída ocupa as noites do check-in (inclusive)
+ * ao check-out (exclusive), com o valor total rateado em centavos entre elas.
+ * As noites são somadas por reserva, como no SQL (noites vendidas).
+ * Os dias ficam agrupados por mês com os totais do mês já somados: um relatório
+ * de dois anos lê 24 totais por chalé e só desce aos dias nos meses das pontas.
+ *
+ * Como o IndiceDisponibilidade, é atualizado pelo ReservaService nas mudanças de
+ * status, desfaz as alterações se a transação sofrer rollback e é reconstruído a
+ * partir do banco ao iniciar ou depois de uma verificação divergente. Enquanto
+ * não está pronto, os relatórios são respondidos pelas agregações SQL.
+ */
+@Slf4j
+@Component
+public class RollupOcupacao {
+
+    public static final List<StatusReserva> STATUS_FATURADOS =
+            List.of(StatusReserva.CONFIRMADA, StatusReserva.CONCLUIDA);
+
+    private final ReservaRepository reservaRepository;
+    private final boolean habilitado;
+
+    // Bloqueio de leitura para consultas/alterações, de escrita para reconstrução
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Map<YearMonth, MesChale>> chales = new ConcurrentHashMap<>();
+    private final Map<Long, Lancamento> lancamentos = new ConcurrentHashMap<>();
+    private volatile boolean pronto = false;
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong divergencias = new AtomicLong();
+    private final AtomicLong reconstrucoes = new AtomicLong();
+
+    public RollupOcupacao(ReservaRepository reservaRepository,
+                          @Value("${lodgfy.analise.rollup.habilitado:true}") boolean habilitado) {
+        this.reservaRepository = reservaRepository;
+        this.habilitado = habilitado;
+    }
+
+    // ======================== CONSULTA ========================
+
+    /**
+     * Soma noites reservadas e receita de cada chalé em [inicio, fim).
+     *
+     * @return totais por chalé (só chalés com alguma noite reservada), ou vazio quando
+     * o rollup não pode responder
+     */
+    public Optional<Map<Long, Totais>> somarPorChale(LocalDate inicio, LocalDate fim) {
+        if (!pronto || !lock.readLock().tryLock()) {
+            falhas.incrementAndGet();
+            return Optional.empty();
+        }
+        try {
+            if (!pronto) {
+                falhas.incrementAndGet();
+                return Optional.empty();
+            }
+            Map<Long, Totais> totais = somar(inicio, fim);
+            acertos.incrementAndGet();
+            return Optional.of(totais);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compara o rollup com as agregações SQL no período. Noites precisam ser iguais;
+     * a receita pode diferir em até um centavo por noite, pelo arredondamento do rateio.
+     *
+     * @return true se rollup e banco concordam; false agenda a reconstrução
+     */
+    public boolean verificarConsistencia(LocalDate inicio, LocalDate fim) {
+        if (!pronto) {
+            return true;
+        }
+        Map<Long, Totais> doRollup;
+        lock.readLock().lock();
+        try {
+            doRollup = somar(inicio, fim);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, Totais> doBanco = new HashMap<>();
+        reservaRepository.agregarPorChale(inicio, fim, STATUS_FATURADOS)
+                .forEach(agregado -> doBanco.put(agregado.getChaleId(), Totais.doBanco(agregado)));
+
+        boolean consistente = doRollup.keySet().equals(doBanco.keySet())
+                && doRollup.entrySet().stream().allMatch(entrada -> {
+                    Totais rollup = entrada.getValue();
+                    Totais banco = doBanco.get(entrada.getKey());
+                    return rollup.noites() == banco.noites()
+                            && Math.abs(rollup.centavos() - banco.centavos()) <= rollup.noites();
+                });
+        if (!consistente) {
+            divergencias.incrementAndGet();
+            log.warn("Rollup de ocupação divergente do banco ({} a {}) - rollup: {}, banco: {}. Agendando reconstrução.",
+                    inicio, fim, doRollup, doBanco);
+            pronto = false;
+        }
+        return consistente;
+    }
+
+    private Map<Long, Totais> somar(LocalDate inicio, LocalDate fim) {
+        Map<Long, Totais> totais = new HashMap<>();
+        if (!inicio.isBefore(fim)) {
+            return totais;
+        }
+        LocalDate ultimaNoite = fim.minusDays(1);
+        YearMonth primeiroMes = YearMonth.from(inicio);
+        YearMonth ultimoMes = YearMonth.from(ultimaNoite);
+
+        long[] acumulador = new long[2];
+        chales.forEach((idChale, meses) -> {
+            acumulador[0] = 0;
+            acumulador[1] = 0;
+            for (YearMonth mes = primeiroMes; !mes.isAfter(ultimoMes); mes = mes.plusMonths(1)) {
+                MesChale mesChale = meses.get(mes);
+                if (mesChale != null) {
+                    int primeiroDia = mes.equals(primeiroMes) ? inicio.getDayOfMonth() - 1 : 0;
+                    int ultimoDia = mes.equals(ultimoMes) ? ultimaNoite.getDayOfMonth() - 1 : mes.lengthOfMonth() - 1;
+                    mesChale.somar(primeiroDia, ultimoDia, acumulador);
+                }
+            }
+            if (acumulador[0] > 0) {
+                totais.put(idChale, new Totais(acumulador[0], acumulador[1]));
+            }
+        });
+        return totais;
+    }
+
+    // ======================== ATUALIZAÇÃO ========================
+
+    /**
+     * Registra as noites e a receita de uma reserva confirmada ou concluída.
+     */
+    public void registrarReserva(ReservaEntity reserva) {
+        registrarReserva(reserva.getIdReserva(), reserva.getChale().getIdChale(), reserva.getStatusReserva(),
+                reserva.getDataCheckIn(), reserva.getDataCheckOut(), reserva.getValorTotal());
+    }
+
+    /**
+     * Registra uma reserva gravada sem passar pelo Hibernate (importação em lote).
+     * Reservas de outros status, ou já registradas, são ignoradas.
+     */
+    public void registrarReserva(Long idReserva, Long idChale, StatusReserva status,
+                                 LocalDate checkIn, LocalDate checkOut, BigDecimal valorTotal) {
+        if (!STATUS_FATURADOS.contains(status)) {
+            return;
+        }
+        Lancamento lancamento = new Lancamento(idChale, checkIn, checkOut, centavos(valorTotal));
+
+        lock.readLock().lock();
+        try {
+            if (adicionar(idReserva, lancamento)) {
+                aoDesfazer(() -> remover(idReserva));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retira uma reserva cancelada ou removida; sem efeito se ela não estava registrada.
+     */
+    public void removerReserva(Long idReserva) {
+        lock.readLock().lock();
+        try {
+            Lancamento removido = remover(idReserva);
+            if (removido != null) {
+                aoDesfazer(() -> adicionar(idReserva, removido));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean adicionar(Long idReserva, Lancamento lancamento) {
+        if (lancamentos.putIfAbsent(idReserva, lancamento) != null) {
+            return false;
+        }
+        aplicar(lancamento, 1);
+        return true;
+    }
+
+    private Lancamento remover(Long idReserva) {
+        Lancamento lancamento = lancamentos.remove(idReserva);
+        if (lancamento != null) {
+            aplicar(lancamento, -1);
+        }
+        return lancamento;
+    }
+
+    // Rateio: cada noite recebe a divisão inteira e as primeiras noites, um centavo do resto
+    private void aplicar(Lancamento lancamento, int sinal) {
+        long noites = ChronoUnit.DAYS.between(lancamento.checkIn(), lancamento.checkOut());
+        if (noites <= 0) {
+            return;
+        }
+        long porNoite = lancamento.centavos() / noites;
+        long resto = lancamento.centavos() % noites;
+
+        Map<YearMonth, MesChale> meses = chales.computeIfAbsent(lancamento.idChale(), id -> new ConcurrentHashMap<>());
+        LocalDate noite = lancamento.checkIn();
+        for (long i = 0; i < noites; i++, noite = noite.plusDays(1)) {
+            MesChale mes = meses.computeIfAbsent(YearMonth.from(noite), MesChale::new);
+            mes.aplicar(noite.getDayOfMonth() - 1, sinal, sinal * (porNoite + (i < resto ? 1 : 0)));
+        }
+    }
+
+    /**
+     * Registra uma ação de compensação executada se a transação corrente não for confirmada.
+     */
+    private void aoDesfazer(Runnable desfazer) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    lock.readLock().lock();
+                    try {
+                        desfazer.run();
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // ======================== RECONSTRUÇÃO ========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lodgfy.analise.rollup.intervalo-verificacao-ms:60000}")
+    public void manter() {
+        if (habilitado && !pronto) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Recarrega do banco as reservas confirmadas e concluídas e substitui o conteúdo do rollup.
+     */
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            chales.clear();
+            lancamentos.clear();
+            for (ReservaRepository.ReservaFaturada reserva : reservaRepository.buscarFaturadas(STATUS_FATURADOS)) {
+                adicionar(reserva.getIdReserva(), new Lancamento(reserva.getChaleId(), reserva.getDataCheckIn(),
+                        reserva.getDataCheckOut(), centavos(reserva.getValorTotal())));
+            }
+            pronto = true;
+            reconstrucoes.incrementAndGet();
+            log.info("Rollup de ocupação reconstruído: {} reservas de {} chalés em {} ms",
+                    lancamentos.size(), chales.size(), System.currentTimeMillis() - inicio);
+        } catch (RuntimeException e) {
+            pronto = false;
+            log.error("Falha ao reconstruir rollup de ocupação: {}", e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ======================== MÉTRICAS ========================
+
+    public EstatisticasRollup getEstatisticas() {
+        return new EstatisticasRollup(
+                pronto,
+                chales.size(),
+                lancamentos.size(),
+                chales.values().stream().mapToInt(Map::size).sum(),
+                acertos.get(),
+                falhas.get(),
+                divergencias.get(),
+                reconstrucoes.get()
+        );
+    }
+
+    public record EstatisticasRollup(
+            boolean pronto,
+            int chales,
+            int reservas,
+            int meses,
+            long acertos,
+            long falhas,
+            long divergencias,
+            long reconstrucoes
+    ) {
+    }
+
+    /**
+     * Noites reservadas e receita (em centavos) de um chalé no período.
+     */
+    public record Totais(long noites, long centavos) {
+
+        public static Totais doBanco(ReservaRepository.AgregadoChale agregado) {
+            return new Totais(agregado.getNoites(), RollupOcupacao.centavos(agregado.getReceita()));
+        }
+    }
+
+    record Lancamento(Long idChale, LocalDate checkIn, LocalDate checkOut, long centavos) {
+    }
+
+    /**
+     * Um mês de um chalé: noites reservadas e centavos por dia, mais os totais do mês.
+     */
+    static final class MesChale {
+
+        private final int[] noites;
+        private final long[] centavos;
+        private long totalNoites;
+        private long totalCentavos;
+
+        MesChale(YearMonth mes) {
+            this.noites = new int[mes.lengthOfMonth()];
+            this.centavos = new long[mes.lengthOfMonth()];
+        }
+
+        synchronized void aplicar(int dia, int noitesDelta, long centavosDelta) {
+            noites[dia] += noitesDelta;
+            centavos[dia] += centavosDelta;
+            totalNoites += noitesDelta;
+            totalCentavos += centavosDelta;
+        }
+
+        /**
+         * Soma os dias [primeiroDia, ultimoDia] (base zero) em acumulador[0] (noites) e acumulador[1] (centavos).
+         */
+        synchronized void somar(int primeiroDia, int ultimoDia, long[] acumulador) {
+            if (primeiroDia == 0 && ultimoDia == noites.length - 1) {
+                acumulador[0] += totalNoites;
+                acumulador[1] += totalCentavos;
+                return;
+            }
+            for (int dia = primeiroDia; dia <= ultimoDia; dia++) {
+                acumulador[0] += noites[dia];
+                acumulador[1] += centavos[dia];
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package sptech.school.Lodgfy.business.auditoria;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sptech.school.Lodgfy.infrastructure.entities.AuditoriaEntity;
+import sptech.school.Lodgfy.infrastructure.repository.AuditoriaRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Grava registros de auditoria em lote, fora do caminho da requisição.
+ *
+ * Os registros ficam em um buffer limitado e são gravados por uma thread própria
+ * a cada intervalo ou assim que o buffer acumula um lote completo. Cada gravação é
+ * uma transação com saveAll, que o Hibernate converte em inserts JDBC em lote
+ * (hibernate.jdbc.batch_size). No encerramento da aplicação o buffer é esvaziado.
+ */
+@Slf4j
+@Component
+public class GravadorAuditoria {
+
+    private final AuditoriaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditoriaEntity> buffer;
+    private final int tamanhoLote;
+    private final long intervaloMs;
+    private final long timeoutEncerramentoMs;
+
+    // Garante que um registro esteja sempre no buffer ou em uma gravação em andamento
+    private final ReentrantLock lockGravacao = new ReentrantLock();
+    private final AtomicBoolean gravacaoAgendada = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+
+    public GravadorAuditoria(AuditoriaRepository repository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${lodgfy.auditoria.capacidade-buffer:10000}") int capacidadeBuffer,
+                             @Value("${lodgfy.auditoria.tamanho-lote:50}") int tamanhoLote,
+                             @Value("${lodgfy.auditoria.intervalo-ms:2000}") long intervaloMs,
+                             @Value("${lodgfy.auditoria.timeout-encerramento-ms:10000}") long timeoutEncerramentoMs) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new LinkedBlockingQueue<>(capacidadeBuffer);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloMs = intervaloMs;
+        this.timeoutEncerramentoMs = timeoutEncerramentoMs;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "auditoria-gravador");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::gravarPendentesComSeguranca, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Enfileira registros para gravação. Não bloqueia: se o buffer estiver cheio
+     * (banco indisponível por muito tempo), o excedente é descartado e contabilizado.
+     */
+    public void registrar(Collection<AuditoriaEntity> registros) {
+        for (AuditoriaEntity registro : registros) {
+            if (!buffer.offer(registro)) {
+                descartados.incrementAndGet();
+                log.warn("Buffer de auditoria cheio, registro descartado: {} {} {}",
+                        registro.getEntidade(), registro.getEntidadeId(), registro.getTipoEvento());
+            }
+        }
+
+        if (buffer.size() >= tamanhoLote && executor != null && gravacaoAgendada.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                gravacaoAgendada.set(false);
+                gravarPendentesComSeguranca();
+            });
+        }
+    }
+
+    /**
+     * Grava imediatamente, na thread chamadora, todos os registros pendentes.
+     *
+     * @return quantidade de registros gravados
+     */
+    public int gravarPendentes() {
+        lockGravacao.lock();
+        try {
+            int total = 0;
+            List<AuditoriaEntity> lote = new ArrayList<>(tamanhoLote);
+            while (buffer.drainTo(lote, tamanhoLote) > 0) {
+                if (!gravar(lote)) {
+                    break;
+                }
+                total += lote.size();
+                lote.clear();
+            }
+            return total;
+        } finally {
+            lockGravacao.unlock();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutEncerramentoMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Gravador de auditoria não terminou em {} ms", timeoutEncerramentoMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int gravadosNoEncerramento = gravarPendentes();
+        if (!buffer.isEmpty()) {
+            log.error("{} registros de auditoria não puderam ser gravados no encerramento", buffer.size());
+        } else if (gravadosNoEncerramento > 0) {
+            log.info("{} registros de auditoria gravados no encerramento", gravadosNoEncerramento);
+        }
+    }
+
+    /**
+     * Estatísticas do buffer e das gravações em lote.
+     */
+    public EstatisticasAuditoria getEstatisticas() {
+        return new EstatisticasAuditoria(buffer.size(), gravados.get(), lotes.get(), descartados.get(), falhas.get());
+    }
+
+    public record EstatisticasAuditoria(
+            int pendentes,
+            long gravados,
+            long lotes,
+            long descartados,
+            long falhas
+    ) {
+    }
+
+    private void gravarPendentesComSeguranca() {
+        try {
+            gravarPendentes();
+        } catch (Exception e) {
+            // Exceções não tratadas cancelariam o agendamento
+            log.error("Erro inesperado na gravação da auditoria: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return false se a gravação falhou; o lote volta para o buffer para a próxima tentativa
+     */
+    private boolean gravar(List<AuditoriaEntity> lote) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAll(lote));
+            gravados.addAndGet(lote.size());
+            lotes.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            falhas.incrementAndGet();
+            log.error("Falha ao gravar lote de {} registros de auditoria: {}", lote.size(), e.getMessage());
+            for (AuditoriaEntity registro : lote) {
+                // Ids atribuídos pela transação desfeita seriam tratados como registros existentes
+                registro.setIdAuditoria(null);
+                if (!buffer.offer(registro)) {
+                    descartados.incrementAndGet();
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package sptech.school.Lodgfy.business.busca;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Alterações de um índice de busca feitas dentro de uma transação, aplicadas
+ * só após o commit (um rollback não deixa termos no índice).
+ *
+ * Até lá, a própria transação não enxergaria no índice o que acabou de gravar;
+ * por isso ela fica marcada e suas buscas devem ir ao banco.
+ */
+final class AlteracoesPendentes {
+
+    private AlteracoesPendentes() {
+    }
+
+    static void aposCommit(Object indice, Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(indice)) {
+            TransactionSynchronizationManager.bindResource(indice, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(indice);
+                }
+            });
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+
+    /**
+     * Indica se a transação corrente alterou o índice sem ter confirmado ainda.
+     */
+    static boolean existem(Object indice) {
+        return TransactionSynchronizationManager.hasResource(indice);
+    }
+}
@@ -0,0 +1,155 @@
+package sptech.school.Lodgfy.business.busca;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Índice de texto do catálogo de chalés (nome, número, tipo e descrição).
+ *
+ * Substitui o LIKE '%termo%' nas buscas por nome/número: aceita prefixos,
+ * ignora acentos e tolera erros de digitação, ordenando pela relevância. O
+ * índice guarda só os ids; os chalés encontrados são lidos pela chave primária.
+ *
+ * Carregado ao iniciar e mantido pelos eventos do ChaleManager. Enquanto não
+ * está pronto (ou desabilitado), as buscas retornam vazio e o ChaleService
+ * consulta o banco.
+ */
+@Slf4j
+@Component
+public class BuscaChales implements ChaleObserver {
+
+    public enum CampoChale implements CampoBusca {
+        NOME(4), NUMERO(4), TIPO(2), DESCRICAO(1);
+
+        private final int peso;
+
+        CampoChale(int peso) {
+            this.peso = peso;
+        }
+
+        @Override
+        public int peso() {
+            return peso;
+        }
+    }
+
+    private final ChaleRepository repository;
+    private final boolean habilitado;
+
+    private final IndiceTexto<CampoChale> indice = new IndiceTexto<>(CampoChale.class);
+    private volatile boolean pronto = false;
+
+    public BuscaChales(ChaleRepository repository,
+                       @Value("${lodgfy.busca.habilitado:true}") boolean habilitado) {
+        this.repository = repository;
+        this.habilitado = habilitado;
+    }
+
+    // ======================== CONSULTA ========================
+
+    /**
+     * Chalés cujo nome casa com {@code nome} ou cujo número casa com {@code numero},
+     * do mais relevante ao menos relevante.
+     *
+     * @return ids dos chalés, ou vazio quando o índice não pode responder
+     */
+    public Optional<List<Long>> buscarPorNomeOuNumero(String nome, String numero) {
+        if (!pronto || AlteracoesPendentes.existem(this)) {
+            return Optional.empty();
+        }
+        Map<Long, Double> pontuacoes = new HashMap<>();
+        for (IndiceTexto.Resultado resultado : indice.buscar(nome, EnumSet.of(CampoChale.NOME), Integer.MAX_VALUE)) {
+            pontuacoes.merge(resultado.id(), resultado.pontuacao(), Double::sum);
+        }
+        for (IndiceTexto.Resultado resultado : indice.buscar(numero, EnumSet.of(CampoChale.NUMERO), Integer.MAX_VALUE)) {
+            pontuacoes.merge(resultado.id(), resultado.pontuacao(), Double::sum);
+        }
+        return Optional.of(pontuacoes.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList());
+    }
+
+    /**
+     * Pesquisa livre em todos os campos do chalé.
+     *
+     * @return ids dos chalés mais relevantes, ou vazio quando o índice não pode responder
+     */
+    public Optional<List<Long>> pesquisar(String consulta, int limite) {
+        if (!pronto || AlteracoesPendentes.existem(this)) {
+            return Optional.empty();
+        }
+        return Optional.of(indice.buscar(consulta, EnumSet.noneOf(CampoChale.class), limite).stream()
+                .map(IndiceTexto.Resultado::id)
+                .toList());
+    }
+
+    // ======================== ATUALIZAÇÃO ========================
+
+    /**
+     * Entregue na thread de quem alterou o chalé: a busca é cacheada pelo
+     * CacheCatalogoChales, e uma nova leitura logo após a invalidação não pode
+     * encontrar o índice ainda com os textos antigos.
+     */
+    @Override
+    public boolean exigeEntregaSincrona() {
+        return true;
+    }
+
+    @Override
+    public void onChaleChanged(ChaleEntity chale, ChaleEventType eventoTipo) {
+        if (!habilitado) {
+            return;
+        }
+        Long idChale = chale.getIdChale();
+        if (eventoTipo == ChaleEventType.REMOVIDO) {
+            AlteracoesPendentes.aposCommit(this, () -> indice.remover(idChale));
+        } else {
+            Map<CampoChale, String> textos = textos(chale);
+            AlteracoesPendentes.aposCommit(this, () -> indice.indexar(idChale, textos));
+        }
+    }
+
+    // ======================== RECONSTRUÇÃO ========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        indice.limpar();
+        try (Stream<ChaleEntity> chales = repository.streamTodos()) {
+            chales.forEach(chale -> indice.indexar(chale.getIdChale(), textos(chale)));
+        }
+        pronto = true;
+        log.info("Índice de busca de chalés carregado: {} chalés, {} termos em {} ms",
+                indice.getDocumentos(), indice.getTermos(), System.currentTimeMillis() - inicio);
+    }
+
+    // ======================== MÉTRICAS ========================
+
+    public EstatisticasBusca getEstatisticas() {
+        return new EstatisticasBusca(pronto, indice.getDocumentos(), indice.getTermos());
+    }
+
+    private static Map<CampoChale, String> textos(ChaleEntity chale) {
+        Map<CampoChale, String> textos = new EnumMap<>(CampoChale.class);
+        textos.put(CampoChale.NOME, chale.getNome());
+        textos.put(CampoChale.NUMERO, chale.getNumero());
+        textos.put(CampoChale.TIPO, chale.getTipo());
+        textos.put(CampoChale.DESCRICAO, chale.getDescricao());
+        return textos;
+    }
+}
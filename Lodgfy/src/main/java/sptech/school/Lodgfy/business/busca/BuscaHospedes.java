@@ -0,0 +1,96 @@
+package sptech.school.Lodgfy.business.busca;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository;
+import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository.NomeHospede;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Índice de texto dos nomes de hóspedes, no lugar do LIKE '%nome%'.
+ *
+ * Carregado ao iniciar e mantido pelo HospedeService a cada gravação ou
+ * remoção. Enquanto não está pronto (ou desabilitado), as buscas retornam
+ * vazio e o HospedeService consulta o banco.
+ */
+@Slf4j
+@Component
+public class BuscaHospedes {
+
+    public enum CampoHospede implements CampoBusca {
+        NOME;
+
+        @Override
+        public int peso() {
+            return 1;
+        }
+    }
+
+    private final HospedeRepository repository;
+    private final boolean habilitado;
+
+    private final IndiceTexto<CampoHospede> indice = new IndiceTexto<>(CampoHospede.class);
+    private volatile boolean pronto = false;
+
+    public BuscaHospedes(HospedeRepository repository,
+                         @Value("${lodgfy.busca.habilitado:true}") boolean habilitado) {
+        this.repository = repository;
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * @return ids dos hóspedes do mais ao menos relevante, ou vazio quando o índice não pode responder
+     */
+    public Optional<List<Long>> buscarPorNome(String nome) {
+        if (!pronto || AlteracoesPendentes.existem(this)) {
+            return Optional.empty();
+        }
+        return Optional.of(indice.buscar(nome, Set.of(), Integer.MAX_VALUE).stream()
+                .map(IndiceTexto.Resultado::id)
+                .toList());
+    }
+
+    /**
+     * Indexa (ou reindexa) o nome de um hóspede gravado; dentro de uma transação, após o commit.
+     */
+    public void indexar(Long id, String nome) {
+        if (habilitado) {
+            AlteracoesPendentes.aposCommit(this, () -> indice.indexar(id, Collections.singletonMap(CampoHospede.NOME, nome)));
+        }
+    }
+
+    public void remover(Long id) {
+        if (habilitado) {
+            AlteracoesPendentes.aposCommit(this, () -> indice.remover(id));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        indice.limpar();
+        try (Stream<NomeHospede> nomes = repository.streamNomes()) {
+            nomes.forEach(hospede -> indice.indexar(hospede.getId(), Collections.singletonMap(CampoHospede.NOME, hospede.getNome())));
+        }
+        pronto = true;
+        log.info("Índice de busca de hóspedes carregado: {} hóspedes, {} termos em {} ms",
+                indice.getDocumentos(), indice.getTermos(), System.currentTimeMillis() - inicio);
+    }
+
+    public EstatisticasBusca getEstatisticas() {
+        return new EstatisticasBusca(pronto, indice.getDocumentos(), indice.getTermos());
+    }
+}
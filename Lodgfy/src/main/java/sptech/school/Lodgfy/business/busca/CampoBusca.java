@@ -0,0 +1,10 @@
+package sptech.school.Lodgfy.business.busca;
+
+/**
+ * Campo indexado de um documento. O peso multiplica a pontuação de um termo
+ * encontrado nele: um acerto no nome vale mais que o mesmo acerto na descrição.
+ */
+public interface CampoBusca {
+
+    int peso();
+}
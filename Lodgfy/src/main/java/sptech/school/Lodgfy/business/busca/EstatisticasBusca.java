@@ -0,0 +1,7 @@
+package sptech.school.Lodgfy.business.busca;
+
+/**
+ * Estado de um índice de busca, para os endpoints /admin/** e as métricas.
+ */
+public record EstatisticasBusca(boolean pronto, int documentos, int termos) {
+}
@@ -0,0 +1,367 @@
+package sptech.school.Lodgfy.business.busca;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória, com documentos identificados por um id numérico.
+ *
+ * Cada termo normalizado aponta para os documentos que o contêm e, por documento,
+ * para a máscara dos campos em que aparece. O dicionário de termos é ordenado,
+ * então a busca por prefixo é um intervalo do mapa; os trigramas dos termos
+ * ("$chale$" -> $ch, cha, hal, ale, le$) restringem os candidatos das buscas
+ * por trecho e aproximadas sem varrer o dicionário inteiro.
+ *
+ * Cada termo da consulta precisa casar com o documento (E lógico). A pontuação
+ * de um termo é a qualidade do acerto (exato > prefixo > trecho > aproximado)
+ * multiplicada pelo maior peso entre os campos em que ele casou; a do documento
+ * é a soma dos termos. A busca aproximada (distância de edição 1, ou 2 para
+ * termos longos) só entra para o termo que não casou de nenhuma outra forma.
+ *
+ * Leituras concorrentes compartilham o lock; atualizações são exclusivas.
+ */
+public final class IndiceTexto<C extends Enum<C> & CampoBusca> {
+
+    static final double EXATO = 1.0;
+    static final double PREFIXO = 0.75;
+    static final double TRECHO = 0.5;
+    static final double APROXIMADO = 0.4;
+
+    private static final int TAMANHO_MINIMO_TRECHO = 3;
+    private static final int TAMANHO_MINIMO_APROXIMADO = 4;
+    private static final int TAMANHO_DUAS_EDICOES = 8;
+    private static final char BORDA = '$';
+
+    private static final Comparator<Resultado> RELEVANCIA =
+            Comparator.comparingDouble(Resultado::pontuacao).reversed().thenComparingLong(Resultado::id);
+
+    private final C[] campos;
+    // Maior peso entre os campos de cada máscara possível
+    private final int[] pesoPorMascara;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // termo -> (documento -> máscara dos campos em que o termo aparece)
+    private final NavigableMap<String, Map<Long, Integer>> documentosPorTermo = new TreeMap<>();
+    // trigrama (com bordas) -> termos que o contêm
+    private final Map<String, Set<String>> termosPorTrigrama = new HashMap<>();
+    // documento -> termos indexados, para a remoção
+    private final Map<Long, Set<String>> termosPorDocumento = new HashMap<>();
+
+    public IndiceTexto(Class<C> tipoCampos) {
+        this.campos = tipoCampos.getEnumConstants();
+        this.pesoPorMascara = new int[1 << campos.length];
+        for (int mascara = 1; mascara < pesoPorMascara.length; mascara++) {
+            for (C campo : campos) {
+                if ((mascara & (1 << campo.ordinal())) != 0) {
+                    pesoPorMascara[mascara] = Math.max(pesoPorMascara[mascara], campo.peso());
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexa (ou reindexa) um documento com os textos de cada campo.
+     */
+    public void indexar(long id, Map<C, String> textos) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+            Set<String> termosDoDocumento = new HashSet<>();
+            textos.forEach((campo, texto) -> {
+                int mascara = 1 << campo.ordinal();
+                for (String termo : NormalizadorTexto.termos(texto)) {
+                    Map<Long, Integer> documentos = documentosPorTermo.get(termo);
+                    if (documentos == null) {
+                        documentos = new HashMap<>();
+                        documentosPorTermo.put(termo, documentos);
+                        for (String trigrama : trigramas(termo)) {
+                            termosPorTrigrama.computeIfAbsent(trigrama, t -> new HashSet<>()).add(termo);
+                        }
+                    }
+                    documentos.merge(id, mascara, (atual, nova) -> atual | nova);
+                    termosDoDocumento.add(termo);
+                }
+            });
+            if (!termosDoDocumento.isEmpty()) {
+                termosPorDocumento.put(id, termosDoDocumento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            documentosPorTermo.clear();
+            termosPorTrigrama.clear();
+            termosPorDocumento.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca nos campos informados (todos, se vazio), do mais relevante ao menos
+     * relevante; empates saem pelo id. Consulta sem termos não retorna nada.
+     */
+    public List<Resultado> buscar(String consulta, Set<C> camposFiltro, int limite) {
+        List<String> termosConsulta = NormalizadorTexto.termos(consulta).stream().distinct().toList();
+        if (termosConsulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        int mascaraFiltro = 0;
+        for (C campo : camposFiltro.isEmpty() ? Arrays.asList(campos) : camposFiltro) {
+            mascaraFiltro |= 1 << campo.ordinal();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Expansao>> expansoes = new ArrayList<>(termosConsulta.size());
+            for (String termo : termosConsulta) {
+                List<Expansao> doTermo = expandir(termo);
+                if (doTermo.isEmpty()) {
+                    return List.of();
+                }
+                expansoes.add(doTermo);
+            }
+            // O termo mais seletivo primeiro: os seguintes só consultam os documentos que restaram
+            expansoes.sort(Comparator.comparingLong(IndiceTexto::custo));
+
+            Map<Long, Double> pontuacoes = null;
+            for (List<Expansao> doTermo : expansoes) {
+                Map<Long, Double> candidatos = pontuacoes;
+                pontuacoes = pontuar(doTermo, mascaraFiltro, candidatos);
+                if (candidatos != null) {
+                    pontuacoes.replaceAll((id, pontuacao) -> pontuacao + candidatos.get(id));
+                }
+                if (pontuacoes.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return melhores(pontuacoes, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentos() {
+        lock.readLock().lock();
+        try {
+            return termosPorDocumento.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermos() {
+        lock.readLock().lock();
+        try {
+            return documentosPorTermo.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Resultado(long id, double pontuacao) {
+    }
+
+    // Um termo do dicionário que casa com o termo da consulta, e a qualidade do acerto
+    private record Expansao(Map<Long, Integer> documentos, double qualidade) {
+    }
+
+    private List<Expansao> expandir(String termo) {
+        List<Expansao> expansoes = new ArrayList<>();
+
+        // Exato e prefixo: o intervalo [termo, termo + MAX_VALUE) do dicionário ordenado
+        for (Map.Entry<String, Map<Long, Integer>> entrada
+                : documentosPorTermo.subMap(termo, true, termo + Character.MAX_VALUE, false).entrySet()) {
+            double qualidade = entrada.getKey().length() == termo.length() ? EXATO : PREFIXO;
+            expansoes.add(new Expansao(entrada.getValue(), qualidade));
+        }
+
+        // Trecho no meio do termo: candidatos que têm todos os trigramas internos da consulta
+        if (termo.length() >= TAMANHO_MINIMO_TRECHO) {
+            for (String candidato : termosComTodos(trigramasInternos(termo))) {
+                if (!candidato.startsWith(termo) && candidato.contains(termo)) {
+                    expansoes.add(new Expansao(documentosPorTermo.get(candidato), TRECHO));
+                }
+            }
+        }
+
+        if (expansoes.isEmpty() && termo.length() >= TAMANHO_MINIMO_APROXIMADO) {
+            expandirAproximados(termo, expansoes);
+        }
+        return expansoes;
+    }
+
+    // Cada edição altera no máximo 3 trigramas com bordas: um termo a d edições da
+    // consulta ainda divide com ela pelo menos (trigramas - 3d) deles
+    private void expandirAproximados(String termo, List<Expansao> expansoes) {
+        int maximoEdicoes = termo.length() >= TAMANHO_DUAS_EDICOES ? 2 : 1;
+        List<String> trigramasTermo = trigramas(termo);
+        int minimoComuns = Math.max(1, trigramasTermo.size() - 3 * maximoEdicoes);
+
+        Map<String, Integer> comuns = new HashMap<>();
+        for (String trigrama : trigramasTermo) {
+            for (String candidato : termosPorTrigrama.getOrDefault(trigrama, Set.of())) {
+                comuns.merge(candidato, 1, Integer::sum);
+            }
+        }
+        comuns.forEach((candidato, quantidade) -> {
+            if (quantidade >= minimoComuns && Math.abs(candidato.length() - termo.length()) <= maximoEdicoes) {
+                int distancia = distanciaEdicao(termo, candidato, maximoEdicoes);
+                if (distancia <= maximoEdicoes) {
+                    expansoes.add(new Expansao(documentosPorTermo.get(candidato), APROXIMADO / distancia));
+                }
+            }
+        });
+    }
+
+    private static long custo(List<Expansao> expansoes) {
+        long custo = 0;
+        for (Expansao expansao : expansoes) {
+            custo += expansao.documentos().size();
+        }
+        return custo;
+    }
+
+    /**
+     * Pontua os documentos de um termo da consulta (a melhor expansão de cada um).
+     * Com candidatos, só eles entram: percorre a lista menor e consulta a maior.
+     */
+    private Map<Long, Double> pontuar(List<Expansao> expansoes, int mascaraFiltro, Map<Long, Double> candidatos) {
+        Map<Long, Double> pontuacoes = new HashMap<>();
+        for (Expansao expansao : expansoes) {
+            Map<Long, Integer> documentos = expansao.documentos();
+            if (candidatos != null && candidatos.size() < documentos.size()) {
+                for (Long id : candidatos.keySet()) {
+                    Integer mascaraCampos = documentos.get(id);
+                    if (mascaraCampos != null) {
+                        acumular(pontuacoes, id, mascaraCampos & mascaraFiltro, expansao.qualidade());
+                    }
+                }
+            } else {
+                documentos.forEach((id, mascaraCampos) -> {
+                    if (candidatos == null || candidatos.containsKey(id)) {
+                        acumular(pontuacoes, id, mascaraCampos & mascaraFiltro, expansao.qualidade());
+                    }
+                });
+            }
+        }
+        return pontuacoes;
+    }
+
+    private void acumular(Map<Long, Double> pontuacoes, Long id, int mascara, double qualidade) {
+        if (mascara != 0) {
+            pontuacoes.merge(id, qualidade * pesoPorMascara[mascara], Math::max);
+        }
+    }
+
+    // Só os "limite" melhores passam pela ordenação: um heap com o pior deles no topo
+    private static List<Resultado> melhores(Map<Long, Double> pontuacoes, int limite) {
+        if (pontuacoes.size() <= limite) {
+            List<Resultado> todos = new ArrayList<>(pontuacoes.size());
+            pontuacoes.forEach((id, pontuacao) -> todos.add(new Resultado(id, pontuacao)));
+            todos.sort(RELEVANCIA);
+            return todos;
+        }
+        PriorityQueue<Resultado> heap = new PriorityQueue<>(limite + 1, RELEVANCIA.reversed());
+        pontuacoes.forEach((id, pontuacao) -> {
+            heap.add(new Resultado(id, pontuacao));
+            if (heap.size() > limite) {
+                heap.poll();
+            }
+        });
+        List<Resultado> melhores = new ArrayList<>(heap);
+        melhores.sort(RELEVANCIA);
+        return melhores;
+    }
+
+    private Set<String> termosComTodos(List<String> trigramas) {
+        List<Set<String>> conjuntos = new ArrayList<>(trigramas.size());
+        for (String trigrama : trigramas) {
+            Set<String> termos = termosPorTrigrama.get(trigrama);
+            if (termos == null) {
+                return Set.of();
+            }
+            conjuntos.add(termos);
+        }
+        conjuntos.sort(Comparator.comparingInt(Set::size));
+        Set<String> resultado = new HashSet<>(conjuntos.get(0));
+        for (int i = 1; i < conjuntos.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(conjuntos.get(i));
+        }
+        return resultado;
+    }
+
+    private void removerDocumento(long id) {
+        Set<String> termos = termosPorDocumento.remove(id);
+        if (termos == null) {
+            return;
+        }
+        for (String termo : termos) {
+            Map<Long, Integer> documentos = documentosPorTermo.get(termo);
+            documentos.remove(id);
+            if (documentos.isEmpty()) {
+                documentosPorTermo.remove(termo);
+                for (String trigrama : trigramas(termo)) {
+                    Set<String> comTrigrama = termosPorTrigrama.get(trigrama);
+                    comTrigrama.remove(termo);
+                    if (comTrigrama.isEmpty()) {
+                        termosPorTrigrama.remove(trigrama);
+                    }
+                }
+            }
+        }
+    }
+
+    static List<String> trigramas(String termo) {
+        return trigramasInternos(BORDA + termo + BORDA);
+    }
+
+    private static List<String> trigramasInternos(String texto) {
+        List<String> trigramas = new ArrayList<>(Math.max(0, texto.length() - 2));
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    /**
+     * Distância de Levenshtein, interrompida assim que passa do máximo
+     * (nesse caso devolve máximo + 1).
+     */
+    static int distanciaEdicao(String a, String b, int maximo) {
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                atual[j] = Math.min(Math.min(atual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + custo);
+                menorDaLinha = Math.min(menorDaLinha, atual[j]);
+            }
+            if (menorDaLinha > maximo) {
+                return maximo + 1;
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+        return Math.min(anterior[b.length()], maximo + 1);
+    }
+}
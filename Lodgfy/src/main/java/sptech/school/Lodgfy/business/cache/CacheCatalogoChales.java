@@ -0,0 +1,174 @@
+package sptech.school.Lodgfy.business.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em memória das leituras do catálogo de chalés.
+ *
+ * Os métodos de leitura do ChaleService são anotados com @Cacheable; este
+ * componente remove as entradas afetadas a cada alteração de chalé, seja pelos
+ * eventos do ChaleManager, seja pelas mudanças de status feitas pelo
+ * ReservaService. Um chalé alterado sai do cache por id e todas as listagens
+ * são descartadas, pois qualquer alteração pode mudar seus resultados.
+ *
+ * Dentro de uma transação a remoção é repetida ao final dela (commit ou
+ * rollback), para que uma leitura concorrente não deixe no cache o estado
+ * anterior ao commit, nem um estado que sofreu rollback.
+ */
+@Slf4j
+@Component
+public class CacheCatalogoChales implements ChaleObserver {
+
+    public static final String CHALES = "chales";
+    public static final String LISTAGEM = "chalesListagem";
+    public static final String POR_PRECO = "chalesPorPreco";
+    public static final String BUSCA = "chalesBusca";
+
+    public static final List<String> CACHES = List.of(CHALES, LISTAGEM, POR_PRECO, BUSCA);
+
+    private static final List<String> LISTAGENS = List.of(LISTAGEM, POR_PRECO, BUSCA);
+
+    private final CacheManager cacheManager;
+    private final CanalInvalidacaoCache canal;
+
+    // Identifica esta instância para ignorar as próprias invalidações ao recebê-las de volta
+    private final String idInstancia = UUID.randomUUID().toString();
+
+    private final AtomicLong invalidacoesLocais = new AtomicLong();
+    private final AtomicLong invalidacoesRemotas = new AtomicLong();
+
+    public CacheCatalogoChales(CacheManager cacheManager, CanalInvalidacaoCache canal) {
+        this.cacheManager = cacheManager;
+        this.canal = canal;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        canal.aoReceber(this::aoReceberInvalidacao);
+    }
+
+    // ======================== OBSERVER ========================
+
+    @Override
+    public void onChaleChanged(ChaleEntity chale, ChaleEventType tipoEvento) {
+        invalidarChale(chale.getIdChale());
+    }
+
+    /**
+     * A remoção precisa acontecer antes de o ChaleService retornar; caso contrário
+     * a próxima leitura ainda encontraria o valor antigo.
+     */
+    @Override
+    public boolean exigeEntregaSincrona() {
+        return true;
+    }
+
+    // ======================== INVALIDAÇÃO ========================
+
+    /**
+     * Remove o chalé e todas as listagens do cache, local e das demais instâncias.
+     */
+    public void invalidarChale(Long idChale) {
+        invalidacoesLocais.incrementAndGet();
+        removerLocalmente(idChale);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            canal.publicar(new CanalInvalidacaoCache.InvalidacaoCache(idInstancia, idChale));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                removerLocalmente(idChale);
+                if (status == STATUS_COMMITTED) {
+                    canal.publicar(new CanalInvalidacaoCache.InvalidacaoCache(idInstancia, idChale));
+                }
+            }
+        });
+    }
+
+    /**
+     * Esvazia todos os caches do catálogo.
+     */
+    public void invalidarTudo() {
+        invalidarChale(null);
+    }
+
+    private void aoReceberInvalidacao(CanalInvalidacaoCache.InvalidacaoCache invalidacao) {
+        if (idInstancia.equals(invalidacao.origem())) {
+            return;
+        }
+        invalidacoesRemotas.incrementAndGet();
+        removerLocalmente(invalidacao.idChale());
+    }
+
+    private void removerLocalmente(Long idChale) {
+        Cache porId = cacheManager.getCache(CHALES);
+        if (porId != null) {
+            if (idChale == null) {
+                porId.clear();
+            } else {
+                porId.evict(idChale);
+            }
+        }
+        for (String nome : LISTAGENS) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    // ======================== ESTATÍSTICAS ========================
+
+    public EstatisticasCatalogo getEstatisticas() {
+        List<EstatisticasCache> caches = new ArrayList<>();
+        for (String nome : CACHES) {
+            if (cacheManager.getCache(nome) instanceof CaffeineCache caffeine) {
+                CacheStats stats = caffeine.getNativeCache().stats();
+                caches.add(new EstatisticasCache(
+                        nome,
+                        caffeine.getNativeCache().estimatedSize(),
+                        stats.hitCount(),
+                        stats.missCount(),
+                        stats.hitRate(),
+                        stats.evictionCount()
+                ));
+            }
+        }
+        return new EstatisticasCatalogo(caches, invalidacoesLocais.get(), invalidacoesRemotas.get());
+    }
+
+    public record EstatisticasCache(
+            String nome,
+            long tamanho,
+            long acertos,
+            long falhas,
+            double taxaAcerto,
+            long expulsoes
+    ) {
+    }
+
+    public record EstatisticasCatalogo(
+            List<EstatisticasCache> caches,
+            long invalidacoesLocais,
+            long invalidacoesRemotas
+    ) {
+    }
+}
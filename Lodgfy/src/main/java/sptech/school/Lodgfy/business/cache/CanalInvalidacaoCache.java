@@ -0,0 +1,34 @@
+package sptech.school.Lodgfy.business.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por onde as invalidações do cache do catálogo são propagadas entre
+ * instâncias da aplicação.
+ *
+ * A implementação padrão ({@link CanalInvalidacaoLocal}) não propaga nada:
+ * cada instância invalida apenas o próprio cache. Para várias instâncias,
+ * basta registrar outro bean (Redis pub/sub, JMS...) e definir
+ * {@code lodgfy.cache.invalidacao} com um valor diferente de {@code local}.
+ */
+public interface CanalInvalidacaoCache {
+
+    /**
+     * Publica a invalidação para as demais instâncias.
+     */
+    void publicar(InvalidacaoCache invalidacao);
+
+    /**
+     * Registra quem deve ser chamado quando chegar uma invalidação de outra instância.
+     */
+    void aoReceber(Consumer<InvalidacaoCache> ouvinte);
+
+    /**
+     * Invalidação de um chalé.
+     *
+     * @param origem  identificador da instância que publicou
+     * @param idChale chalé alterado, ou null para invalidar o catálogo inteiro
+     */
+    record InvalidacaoCache(String origem, Long idChale) {
+    }
+}
@@ -0,0 +1,24 @@
+package sptech.school.Lodgfy.business.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal padrão: instância única, nenhuma invalidação sai ou chega de fora.
+ */
+@Component
+@ConditionalOnProperty(name = "lodgfy.cache.invalidacao", havingValue = "local", matchIfMissing = true)
+public class CanalInvalidacaoLocal implements CanalInvalidacaoCache {
+
+    @Override
+    public void publicar(InvalidacaoCache invalidacao) {
+        // Nada a propagar
+    }
+
+    @Override
+    public void aoReceber(Consumer<InvalidacaoCache> ouvinte) {
+        // Nenhuma outra instância publica neste canal
+    }
+}
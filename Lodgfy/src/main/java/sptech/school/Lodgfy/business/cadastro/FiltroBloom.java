@@ -0,0 +1,73 @@
+package sptech.school.Lodgfy.business.cadastro;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para textos, seguro para uso concorrente.
+ *
+ * Responde "ausente" com certeza e "talvez presente" com uma taxa de falsos
+ * positivos que cresce quando o número de chaves passa da capacidade. Chaves
+ * não podem ser removidas.
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long quantidadeBits;
+    private final int funcoes;
+
+    FiltroBloom(int capacidade, double taxaFalsosPositivos) {
+        // m = -n ln(p) / ln(2)^2 bits e k = (m / n) ln(2) funções de hash
+        double ln2 = Math.log(2);
+        long bits = Math.max(64, (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (ln2 * ln2)));
+        this.palavras = new AtomicLongArray((int) ((bits + 63) / 64));
+        this.quantidadeBits = palavras.length() * 64L;
+        this.funcoes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * ln2));
+    }
+
+    void adicionar(String chave) {
+        long hash = hash(chave);
+        long h1 = hash >>> 32;
+        long h2 = hash & 0xFFFFFFFFL;
+        for (int i = 1; i <= funcoes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            long mascara = 1L << bit;
+            palavras.getAndAccumulate((int) (bit >>> 6), mascara, (atual, novo) -> atual | novo);
+        }
+    }
+
+    boolean talvezContem(String chave) {
+        long hash = hash(chave);
+        long h1 = hash >>> 32;
+        long h2 = hash & 0xFFFFFFFFL;
+        for (int i = 1; i <= funcoes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getFuncoes() {
+        return funcoes;
+    }
+
+    long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    // FNV-1a de 64 bits seguido da finalização do MurmurHash3, que espalha os bits altos
+    private static long hash(String chave) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < chave.length(); i++) {
+            hash ^= chave.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
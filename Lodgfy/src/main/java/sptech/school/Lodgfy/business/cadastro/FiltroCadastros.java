@@ -0,0 +1,114 @@
+package sptech.school.Lodgfy.business.cadastro;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository;
+import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository.ChavesHospede;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Filtros de Bloom dos CPFs e e-mails já cadastrados.
+ *
+ * Um cadastro com CPF e e-mail que o filtro garante serem novos vai direto
+ * para o INSERT, sem as consultas de duplicidade; só os "talvez" pagam a
+ * consulta, para recusar duplicatas óbvias antes do hash da senha. A decisão
+ * final é sempre das restrições únicas da tabela: chaves gravadas por outra
+ * instância, ainda fora deste filtro, caem na violação da restrição.
+ *
+ * Antes da carga inicial (e com o filtro desabilitado) toda chave é "talvez".
+ */
+@Slf4j
+@Component
+public class FiltroCadastros {
+
+    private final HospedeRepository repository;
+    private final boolean habilitado;
+    private final FiltroBloom cpfs;
+    private final FiltroBloom emails;
+
+    private volatile boolean pronto = false;
+    private final AtomicLong entradas = new AtomicLong();
+    private final AtomicLong ausentes = new AtomicLong();
+    private final AtomicLong talvez = new AtomicLong();
+
+    public FiltroCadastros(HospedeRepository repository,
+                           @Value("${lodgfy.cadastro.filtro.habilitado:true}") boolean habilitado,
+                           @Value("${lodgfy.cadastro.filtro.capacidade:100000}") int capacidade,
+                           @Value("${lodgfy.cadastro.filtro.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+        this.repository = repository;
+        this.habilitado = habilitado;
+        this.cpfs = new FiltroBloom(capacidade, taxaFalsosPositivos);
+        this.emails = new FiltroBloom(capacidade, taxaFalsosPositivos);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        try (Stream<ChavesHospede> chaves = repository.streamChaves()) {
+            chaves.forEach(chave -> adicionar(chave.getCpf(), chave.getEmail()));
+        }
+        pronto = true;
+        log.info("Filtro de cadastros carregado: {} hóspedes em {} ms", entradas.get(), System.currentTimeMillis() - inicio);
+    }
+
+    public boolean talvezCpfCadastrado(String cpf) {
+        return contar(!pronto || cpfs.talvezContem(cpf));
+    }
+
+    public boolean talvezEmailCadastrado(String email) {
+        return contar(!pronto || emails.talvezContem(normalizarEmail(email)));
+    }
+
+    /**
+     * Inclui as chaves de um hóspede gravado. Dentro de uma transação, só após o
+     * commit; incluir uma chave que acabou não gravada custaria apenas um falso positivo.
+     */
+    public void registrar(String cpf, String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adicionar(cpf, email);
+                }
+            });
+        } else {
+            adicionar(cpf, email);
+        }
+    }
+
+    public EstatisticasFiltro getEstatisticas() {
+        return new EstatisticasFiltro(pronto, entradas.get(), ausentes.get(), talvez.get());
+    }
+
+    public record EstatisticasFiltro(boolean pronto, long entradas, long ausentes, long talvez) {
+    }
+
+    private void adicionar(String cpf, String email) {
+        cpfs.adicionar(cpf);
+        emails.adicionar(normalizarEmail(email));
+        entradas.incrementAndGet();
+    }
+
+    private boolean contar(boolean talvezPresente) {
+        (talvezPresente ? talvez : ausentes).incrementAndGet();
+        return talvezPresente;
+    }
+
+    // Minúsculas: no MySQL a restrição única ignora a caixa, então "A@x" e "a@x" colidem
+    private static String normalizarEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
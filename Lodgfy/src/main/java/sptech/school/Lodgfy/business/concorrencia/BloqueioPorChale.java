@@ -0,0 +1,105 @@
+package sptech.school.Lodgfy.business.concorrencia;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sptech.school.Lodgfy.business.exceptions.ChaleBloqueadoException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloqueios em memória por chalé, distribuídos em faixas (lock striping).
+ *
+ * Reservas de chalés diferentes caem, em geral, em faixas diferentes e seguem
+ * em paralelo; reservas do mesmo chalé são serializadas. O bloqueio é mantido
+ * até o fim da transação corrente, para que a próxima verificação de conflito
+ * já enxergue a reserva confirmada no banco.
+ *
+ * Usa ReentrantLock, e não synchronized, porque o bloqueio atravessa o I/O da
+ * transação: com virtual threads, um monitor fixaria a thread carregadora
+ * durante toda a espera pelo banco.
+ */
+@Slf4j
+@Component
+public class BloqueioPorChale {
+
+    private final ReentrantLock[] faixas;
+    private final long timeoutMs;
+
+    public BloqueioPorChale(@Value("${lodgfy.reservas.bloqueio.faixas:64}") int quantidadeFaixas,
+                            @Value("${lodgfy.reservas.bloqueio.timeout-ms:5000}") long timeoutMs) {
+        this.faixas = new ReentrantLock[quantidadeFaixas];
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            faixas[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Bloqueia o chalé até o commit ou rollback da transação corrente.
+     *
+     * @param idChale chalé a ser bloqueado
+     * @throws ChaleBloqueadoException se o bloqueio não for obtido dentro do timeout
+     */
+    public void bloquearAteFimDaTransacao(Long idChale) {
+        exigirTransacao();
+        bloquear(faixaDo(idChale), idChale);
+    }
+
+    /**
+     * Bloqueia vários chalés até o fim da transação corrente.
+     *
+     * As faixas são obtidas em ordem crescente e cada uma uma única vez: duas
+     * transações com chalés em comum nunca esperam uma pela outra em ciclo.
+     *
+     * @throws ChaleBloqueadoException se algum bloqueio não for obtido dentro do timeout;
+     *                                 os já obtidos são liberados com o rollback
+     */
+    public void bloquearTodosAteFimDaTransacao(Collection<Long> idsChales) {
+        exigirTransacao();
+        Map<Integer, Long> chalePorFaixa = new TreeMap<>();
+        for (Long idChale : idsChales) {
+            chalePorFaixa.putIfAbsent(indiceFaixa(idChale), idChale);
+        }
+        chalePorFaixa.forEach((indice, idChale) -> bloquear(faixas[indice], idChale));
+    }
+
+    private void exigirTransacao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Bloqueio por chalé exige uma transação ativa");
+        }
+    }
+
+    private void bloquear(ReentrantLock faixa, Long idChale) {
+        try {
+            if (!faixa.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Timeout aguardando bloqueio do chalé: {}", idChale);
+                throw new ChaleBloqueadoException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChaleBloqueadoException();
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                faixa.unlock();
+            }
+        });
+    }
+
+    private ReentrantLock faixaDo(Long idChale) {
+        return faixas[indiceFaixa(idChale)];
+    }
+
+    private int indiceFaixa(Long idChale) {
+        return Math.floorMod(Long.hashCode(idChale), faixas.length);
+    }
+}
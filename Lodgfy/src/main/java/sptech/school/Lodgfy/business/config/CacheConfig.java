@@ -0,0 +1,40 @@
+package sptech.school.Lodgfy.business.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sptech.school.Lodgfy.business.cache.CacheCatalogoChales;
+
+/**
+ * Configuração dos caches em memória (Caffeine).
+ *
+ * Cada cache tem sua própria especificação no formato do Caffeine, por exemplo
+ * {@code maximumSize=1000,expireAfterWrite=10m}. As estatísticas são sempre
+ * registradas e ficam disponíveis em /admin/cache/estatisticas.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${lodgfy.cache.chales.spec:maximumSize=2000,expireAfterWrite=30m}") String chales,
+            @Value("${lodgfy.cache.chales-listagem.spec:maximumSize=200,expireAfterWrite=5m}") String listagem,
+            @Value("${lodgfy.cache.chales-por-preco.spec:maximumSize=200,expireAfterWrite=5m}") String porPreco,
+            @Value("${lodgfy.cache.chales-busca.spec:maximumSize=500,expireAfterWrite=2m}") String busca) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        registrar(manager, CacheCatalogoChales.CHALES, chales);
+        registrar(manager, CacheCatalogoChales.LISTAGEM, listagem);
+        registrar(manager, CacheCatalogoChales.POR_PRECO, porPreco);
+        registrar(manager, CacheCatalogoChales.BUSCA, busca);
+        return manager;
+    }
+
+    private void registrar(CaffeineCacheManager manager, String nome, String spec) {
+        manager.registerCustomCache(nome, Caffeine.from(spec).recordStats().build());
+    }
+}
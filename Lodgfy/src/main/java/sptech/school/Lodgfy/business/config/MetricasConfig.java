@@ -0,0 +1,65 @@
+package sptech.school.Lodgfy.business.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das métricas (Micrometer), expostas em /actuator/prometheus.
+ *
+ * Os endpoints HTTP e os repositórios já são medidos pelo Spring Boot
+ * (http.server.requests e spring.data.repository.invocations); os services
+ * anotados com @Timed(METRICA_SERVICOS) geram lodgfy.servico. Os buckets de SLO de cada métrica
+ * ficam nas propriedades management.metrics.distribution.slo.*.
+ *
+ * Com lodgfy.metricas.modo=ECONOMICO sobram apenas as métricas baratas: os
+ * services e repositórios deixam de ser medidos e nenhum timer gera histograma.
+ */
+@Configuration
+public class MetricasConfig {
+
+    public enum ModoMetricas {
+        COMPLETO,
+        ECONOMICO
+    }
+
+    // Nome do timer dos services anotados com @Timed (tags class e method)
+    public static final String METRICA_SERVICOS = "lodgfy.servico";
+
+    private static final String METRICA_REPOSITORIOS = "spring.data.repository.invocations";
+
+    @Bean
+    @ConditionalOnProperty(name = "lodgfy.metricas.modo", havingValue = "COMPLETO", matchIfMissing = true)
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "lodgfy.metricas.modo", havingValue = "ECONOMICO")
+    public MeterFilter filtroMetricasEconomicas() {
+        return new MeterFilter() {
+            @Override
+            public MeterFilterReply accept(Meter.Id id) {
+                return id.getName().equals(METRICA_REPOSITORIOS) ? MeterFilterReply.DENY : MeterFilterReply.NEUTRAL;
+            }
+
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                // Sobrepõe os buckets configurados nas propriedades: só contagem, soma e máximo
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(false)
+                        .percentiles()
+                        .serviceLevelObjectives()
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
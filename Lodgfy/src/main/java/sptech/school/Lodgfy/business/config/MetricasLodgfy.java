@@ -0,0 +1,140 @@
+package sptech.school.Lodgfy.business.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao;
+import sptech.school.Lodgfy.business.auditoria.GravadorAuditoria;
+import sptech.school.Lodgfy.business.busca.BuscaChales;
+import sptech.school.Lodgfy.business.busca.BuscaHospedes;
+import sptech.school.Lodgfy.business.cadastro.FiltroCadastros;
+import sptech.school.Lodgfy.business.disponibilidade.ConsultaDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.NoitesReservadas;
+import sptech.school.Lodgfy.business.idempotencia.Idempotencia;
+import sptech.school.Lodgfy.security.jwt.JwtService;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica como métricas as estatísticas que os componentes já mantinham para
+ * os endpoints /admin/**: cache de tokens JWT, índice e consultas de disponibilidade,
+ * gravação da auditoria, filtro de cadastros, índices de busca, rollup de
+ * ocupação, reconciliação das noites reservadas e chaves de idempotência. Os
+ * valores são lidos só no momento da coleta.
+ *
+ * O DespachanteEmail publica as próprias métricas, sem passar pelas
+ * estatísticas, que consultam o banco.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricasLodgfy implements MeterBinder {
+
+    private final JwtService jwtService;
+    private final IndiceDisponibilidade indiceDisponibilidade;
+    private final ConsultaDisponibilidade consultaDisponibilidade;
+    private final GravadorAuditoria gravadorAuditoria;
+    private final FiltroCadastros filtroCadastros;
+    private final BuscaChales buscaChales;
+    private final BuscaHospedes buscaHospedes;
+    private final RollupOcupacao rollupOcupacao;
+    private final NoitesReservadas noitesReservadas;
+    private final Idempotencia idempotencia;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        contador(registry, "lodgfy.jwt.cache", "resultado", "acerto", jwtService,
+                servico -> servico.getEstatisticas().cacheHits());
+        contador(registry, "lodgfy.jwt.cache", "resultado", "falha", jwtService,
+                servico -> servico.getEstatisticas().cacheMisses());
+        Gauge.builder("lodgfy.jwt.cache.entradas", jwtService, servico -> servico.getEstatisticas().entradasCache())
+                .description("Tokens validados mantidos em cache")
+                .register(registry);
+
+        contador(registry, "lodgfy.disponibilidade.consultas", "resultado", "acerto", indiceDisponibilidade,
+                indice -> indice.getEstatisticas().acertos());
+        contador(registry, "lodgfy.disponibilidade.consultas", "resultado", "falha", indiceDisponibilidade,
+                indice -> indice.getEstatisticas().falhas());
+        contador(registry, "lodgfy.disponibilidade.divergencias", null, null, indiceDisponibilidade,
+                indice -> indice.getEstatisticas().divergencias());
+        Gauge.builder("lodgfy.disponibilidade.reservas.ativas", indiceDisponibilidade,
+                        indice -> indice.getEstatisticas().reservasAtivas())
+                .description("Reservas ativas no índice de disponibilidade em memória")
+                .register(registry);
+        contador(registry, "lodgfy.disponibilidade.banco.buscas", "resultado", "executada", consultaDisponibilidade,
+                consultas -> consultas.getEstatisticas().executadas());
+        contador(registry, "lodgfy.disponibilidade.banco.buscas", "resultado", "coalescida", consultaDisponibilidade,
+                consultas -> consultas.getEstatisticas().coalescidas());
+        contador(registry, "lodgfy.disponibilidade.banco.buscas", "resultado", "cache", consultaDisponibilidade,
+                consultas -> consultas.getEstatisticas().acertosCache());
+
+        Gauge.builder("lodgfy.auditoria.pendentes", gravadorAuditoria,
+                        gravador -> gravador.getEstatisticas().pendentes())
+                .description("Eventos de auditoria aguardando gravação")
+                .register(registry);
+        contador(registry, "lodgfy.auditoria.eventos", "resultado", "gravado", gravadorAuditoria,
+                gravador -> gravador.getEstatisticas().gravados());
+        contador(registry, "lodgfy.auditoria.eventos", "resultado", "descartado", gravadorAuditoria,
+                gravador -> gravador.getEstatisticas().descartados());
+
+        contador(registry, "lodgfy.cadastro.filtro", "resultado", "ausente", filtroCadastros,
+                filtro -> filtro.getEstatisticas().ausentes());
+        contador(registry, "lodgfy.cadastro.filtro", "resultado", "talvez", filtroCadastros,
+                filtro -> filtro.getEstatisticas().talvez());
+        Gauge.builder("lodgfy.cadastro.filtro.entradas", filtroCadastros,
+                        filtro -> filtro.getEstatisticas().entradas())
+                .description("Hóspedes incluídos no filtro de Bloom de CPFs e e-mails")
+                .register(registry);
+
+        Gauge.builder("lodgfy.busca.documentos", buscaChales, busca -> busca.getEstatisticas().documentos())
+                .tag("indice", "chales")
+                .description("Documentos no índice de busca em memória")
+                .register(registry);
+        Gauge.builder("lodgfy.busca.documentos", buscaHospedes, busca -> busca.getEstatisticas().documentos())
+                .tag("indice", "hospedes")
+                .description("Documentos no índice de busca em memória")
+                .register(registry);
+        Gauge.builder("lodgfy.busca.termos", buscaChales, busca -> busca.getEstatisticas().termos())
+                .tag("indice", "chales")
+                .description("Termos distintos no índice de busca em memória")
+                .register(registry);
+        Gauge.builder("lodgfy.busca.termos", buscaHospedes, busca -> busca.getEstatisticas().termos())
+                .tag("indice", "hospedes")
+                .description("Termos distintos no índice de busca em memória")
+                .register(registry);
+
+        contador(registry, "lodgfy.analise.consultas", "resultado", "acerto", rollupOcupacao,
+                rollup -> rollup.getEstatisticas().acertos());
+        contador(registry, "lodgfy.analise.consultas", "resultado", "falha", rollupOcupacao,
+                rollup -> rollup.getEstatisticas().falhas());
+        Gauge.builder("lodgfy.analise.reservas", rollupOcupacao, rollup -> rollup.getEstatisticas().reservas())
+                .description("Reservas faturadas no rollup de ocupação em memória")
+                .register(registry);
+
+        contador(registry, "lodgfy.disponibilidade.noites.reconciliacao", "resultado", "corrigida", noitesReservadas,
+                noites -> noites.getEstatisticas().reservasCorrigidas());
+        contador(registry, "lodgfy.disponibilidade.noites.reconciliacao", "resultado", "conflito", noitesReservadas,
+                noites -> noites.getEstatisticas().conflitos());
+
+        contador(registry, "lodgfy.idempotencia.requisicoes", "resultado", "executada", idempotencia,
+                chaves -> chaves.getEstatisticas().executadas());
+        contador(registry, "lodgfy.idempotencia.requisicoes", "resultado", "repetida", idempotencia,
+                chaves -> chaves.getEstatisticas().repetidas());
+        contador(registry, "lodgfy.idempotencia.requisicoes", "resultado", "coalescida", idempotencia,
+                chaves -> chaves.getEstatisticas().coalescidas());
+        contador(registry, "lodgfy.idempotencia.requisicoes", "resultado", "recusada", idempotencia,
+                chaves -> chaves.getEstatisticas().recusadas());
+    }
+
+    private static <T> void contador(MeterRegistry registry, String nome, String tag, String valorTag,
+                                     T origem, ToDoubleFunction<T> valor) {
+        FunctionCounter.Builder<T> builder = FunctionCounter.builder(nome, origem, valor);
+        if (tag != null) {
+            builder.tag(tag, valorTag);
+        }
+        builder.register(registry);
+    }
+}
@@ -1,9 +1,14 @@
 package sptech.school.Lodgfy.business.config;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import sptech.school.Lodgfy.business.busca.BuscaChales;
+import sptech.school.Lodgfy.business.cache.CacheCatalogoChales;
+import sptech.school.Lodgfy.business.disponibilidade.ConsultaDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
 import sptech.school.Lodgfy.business.observer.ChaleManager;
 import sptech.school.Lodgfy.business.observer.impl.AuditoriaChaleObserver;
 import sptech.school.Lodgfy.business.observer.impl.LogChaleObserver;
@@ -22,6 +27,10 @@ public class ObserverConfig {
     private final LogChaleObserver logChaleObserver;
     private final NotificacaoChaleObserver notificacaoChaleObserver;
     private final AuditoriaChaleObserver auditoriaChaleObserver;
+    private final IndiceDisponibilidade indiceDisponibilidade;
+    private final ConsultaDisponibilidade consultaDisponibilidade;
+    private final BuscaChales buscaChales;
+    private final CacheCatalogoChales cacheCatalogoChales;
 
     /**
      * Registra todos os observers automaticamente após a construção do bean.
@@ -33,7 +42,20 @@ public class ObserverConfig {
         chaleManager.registrar(logChaleObserver);
         chaleManager.registrar(notificacaoChaleObserver);
         chaleManager.registrar(auditoriaChaleObserver);
+        chaleManager.registrar(indiceDisponibilidade);
+        chaleManager.registrar(consultaDisponibilidade);
+        // Antes do cache: a busca invalidada já deve encontrar o índice atualizado
+        chaleManager.registrar(buscaChales);
+        chaleManager.registrar(cacheCatalogoChales);
 
         log.info("Total de observers registrados: {}", chaleManager.getObserverCount());
     }
+
+    /**
+     * Entrega os eventos pendentes antes que os observers sejam destruídos.
+     */
+    @PreDestroy
+    public void encerrarObservers() {
+        chaleManager.encerrar();
+    }
 }
@@ -0,0 +1,214 @@
+package sptech.school.Lodgfy.business.disponibilidade;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.mapsstruct.ChaleMapper;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consulta de disponibilidade no banco, usada quando o índice em memória não
+ * responde (período fora da janela, reconstrução ou índice desabilitado).
+ *
+ * Buscas idênticas (pessoas, check-in, check-out) simultâneas compartilham uma
+ * única execução da consulta, e o resultado fica em cache por poucos segundos.
+ * Qualquer alteração de reserva ou de chalé avança a geração das consultas:
+ * resultados de gerações anteriores não são mais devolvidos e as buscas
+ * seguintes não se juntam a consultas iniciadas antes da alteração.
+ *
+ * As alterações chegam pelas NoitesReservadas (noites ocupadas e liberadas),
+ * pelos eventos do ChaleManager e pelas mudanças de status feitas pelo
+ * ReservaService. Dentro de uma transação a invalidação é repetida ao final
+ * dela, para que uma consulta concorrente não guarde o estado anterior ao
+ * commit. Alterações feitas em outras instâncias só são vistas depois que o
+ * cache expira.
+ */
+@Component
+public class ConsultaDisponibilidade implements ChaleObserver {
+
+    private final ChaleRepository chaleRepository;
+    private final ChaleMapper chaleMapper;
+    private final boolean habilitado;
+
+    private final Cache<Chave, Resultado> resultados;
+    private final Map<Chave, Consulta> emAndamento = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final AtomicLong executadas = new AtomicLong();
+    private final AtomicLong coalescidas = new AtomicLong();
+    private final AtomicLong acertosCache = new AtomicLong();
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    public ConsultaDisponibilidade(ChaleRepository chaleRepository,
+                                   ChaleMapper chaleMapper,
+                                   @Value("${lodgfy.disponibilidade.consultas.habilitado:true}") boolean habilitado,
+                                   @Value("${lodgfy.disponibilidade.consultas.validade-ms:5000}") long validadeMs,
+                                   @Value("${lodgfy.disponibilidade.consultas.maximo-entradas:10000}") long maximoEntradas) {
+        this.chaleRepository = chaleRepository;
+        this.chaleMapper = chaleMapper;
+        this.habilitado = habilitado;
+        this.resultados = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(validadeMs))
+                .maximumSize(maximoEntradas)
+                .build();
+    }
+
+    // ======================== CONSULTA ========================
+
+    /**
+     * Busca os chalés disponíveis no banco, reaproveitando o resultado em cache ou a
+     * consulta idêntica em andamento.
+     */
+    public List<ChaleResponseDTO> buscarDisponiveis(Integer quantidadePessoas, LocalDate checkIn, LocalDate checkOut) {
+        if (!habilitado) {
+            executadas.incrementAndGet();
+            return consultar(quantidadePessoas, checkIn, checkOut);
+        }
+
+        Chave chave = new Chave(quantidadePessoas, checkIn, checkOut);
+        Consulta consulta = new Consulta(geracao.get(), new CompletableFuture<>());
+
+        Resultado emCache = resultados.getIfPresent(chave);
+        if (emCache != null && emCache.geracao() == consulta.geracao()) {
+            acertosCache.incrementAndGet();
+            return emCache.chales();
+        }
+
+        while (true) {
+            Consulta anterior = emAndamento.putIfAbsent(chave, consulta);
+            if (anterior == null) {
+                break;
+            }
+            if (anterior.geracao() == consulta.geracao()) {
+                coalescidas.incrementAndGet();
+                return aguardar(anterior);
+            }
+            // Consulta iniciada antes de uma alteração: esta busca executa a sua
+            if (emAndamento.replace(chave, anterior, consulta)) {
+                break;
+            }
+        }
+
+        try {
+            List<ChaleResponseDTO> chales = consultar(quantidadePessoas, checkIn, checkOut);
+            executadas.incrementAndGet();
+            resultados.put(chave, new Resultado(consulta.geracao(), chales));
+            consulta.chales().complete(chales);
+            return chales;
+        } catch (RuntimeException e) {
+            consulta.chales().completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, consulta);
+        }
+    }
+
+    private List<ChaleResponseDTO> consultar(Integer quantidadePessoas, LocalDate checkIn, LocalDate checkOut) {
+        // Compartilhada entre as buscas: imutável
+        return List.copyOf(chaleMapper.paraListaChaleResponseDTO(
+                chaleRepository.buscarChalesDisponiveis(quantidadePessoas, checkIn, checkOut)));
+    }
+
+    private static List<ChaleResponseDTO> aguardar(Consulta consulta) {
+        try {
+            return consulta.chales().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca de disponibilidade interrompida", e);
+        }
+    }
+
+    // ======================== INVALIDAÇÃO ========================
+
+    /**
+     * Descarta os resultados em cache após uma alteração de reserva ou de chalé.
+     */
+    public void invalidar() {
+        invalidacoes.incrementAndGet();
+        avancarGeracao();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    avancarGeracao();
+                }
+            });
+        }
+    }
+
+    private void avancarGeracao() {
+        geracao.incrementAndGet();
+        resultados.invalidateAll();
+    }
+
+    @Override
+    public void onChaleChanged(ChaleEntity chale, ChaleEventType eventoTipo) {
+        invalidar();
+    }
+
+    /**
+     * A invalidação precisa acontecer antes de o ChaleService retornar, como no cache do catálogo.
+     */
+    @Override
+    public boolean exigeEntregaSincrona() {
+        return true;
+    }
+
+    // ======================== MÉTRICAS ========================
+
+    public EstatisticasConsultas getEstatisticas() {
+        return new EstatisticasConsultas(
+                habilitado,
+                executadas.get(),
+                coalescidas.get(),
+                acertosCache.get(),
+                invalidacoes.get(),
+                resultados.estimatedSize()
+        );
+    }
+
+    /**
+     * @param executadas   consultas executadas no banco
+     * @param coalescidas  buscas que esperaram uma consulta idêntica em andamento
+     * @param acertosCache buscas respondidas pelo cache, sem consulta
+     */
+    public record EstatisticasConsultas(
+            boolean habilitado,
+            long executadas,
+            long coalescidas,
+            long acertosCache,
+            long invalidacoes,
+            long resultadosEmCache
+    ) {
+    }
+
+    private record Chave(Integer quantidadePessoas, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private record Resultado(long geracao, List<ChaleResponseDTO> chales) {
+    }
+
+    private record Consulta(long geracao, CompletableFuture<List<ChaleResponseDTO>> chales) {
+    }
+}
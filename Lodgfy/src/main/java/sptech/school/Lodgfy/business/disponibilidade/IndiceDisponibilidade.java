@@ -0,0 +1,475 @@
+package sptech.school.Lodgfy.business.disponibilidade;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.business.mapsstruct.ChaleMapper;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Índice em memória da disponibilidade dos chalés.
+ *
+ * Mantém, para cada chalé, um contador de ocupação por noite dentro de uma
+ * janela móvel (hoje + horizonte), alimentado pelo ReservaService e pelos
+ * eventos do ChaleManager. Buscas fora da janela, ou durante uma reconstrução,
+ * são respondidas pelo banco (miss).
+ *
+ * As alterações são aplicadas imediatamente e desfeitas caso a transação
+ * corrente sofra rollback.
+ */
+@Slf4j
+@Component
+public class IndiceDisponibilidade implements ChaleObserver {
+
+    private static final List<StatusReserva> STATUS_OCUPANTES =
+            List.of(StatusReserva.PENDENTE, StatusReserva.CONFIRMADA);
+
+    private final ChaleRepository chaleRepository;
+    private final ReservaRepository reservaRepository;
+    private final ChaleMapper chaleMapper;
+
+    private final boolean habilitado;
+    private final int horizonteDias;
+    private final double taxaVerificacao;
+
+    // Bloqueio de leitura para buscas/alterações, de escrita para reconstrução
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, OcupacaoChale> chales = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> chalePorReserva = new ConcurrentHashMap<>();
+    private volatile LocalDate dataBase;
+    private volatile boolean pronto = false;
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong divergencias = new AtomicLong();
+    private final AtomicLong reconstrucoes = new AtomicLong();
+
+    public IndiceDisponibilidade(ChaleRepository chaleRepository,
+                                 ReservaRepository reservaRepository,
+                                 ChaleMapper chaleMapper,
+                                 @Value("${lodgfy.disponibilidade.indice.habilitado:true}") boolean habilitado,
+                                 @Value("${lodgfy.disponibilidade.indice.horizonte-dias:730}") int horizonteDias,
+                                 @Value("${lodgfy.disponibilidade.indice.taxa-verificacao:0.01}") double taxaVerificacao) {
+        this.chaleRepository = chaleRepository;
+        this.reservaRepository = reservaRepository;
+        this.chaleMapper = chaleMapper;
+        this.habilitado = habilitado;
+        this.horizonteDias = horizonteDias;
+        this.taxaVerificacao = taxaVerificacao;
+    }
+
+    // ======================== CONSULTA ========================
+
+    /**
+     * Busca chalés disponíveis no índice.
+     *
+     * @return lista de chalés disponíveis, ou vazio quando o índice não pode responder
+     */
+    public Optional<List<ChaleResponseDTO>> buscarDisponiveis(Integer quantidadePessoas,
+                                                               LocalDate checkIn,
+                                                               LocalDate checkOut) {
+        if (!habilitado || !lock.readLock().tryLock()) {
+            falhas.incrementAndGet();
+            return Optional.empty();
+        }
+
+        List<ChaleResponseDTO> disponiveis;
+        try {
+            // A janela só é conferida sob o bloqueio: a reconstrução pode avançar a data base
+            LocalDate base = dataBase;
+            if (!podeResponder(base, checkIn, checkOut)) {
+                falhas.incrementAndGet();
+                return Optional.empty();
+            }
+            disponiveis = filtrar(base, quantidadePessoas, checkIn, checkOut);
+        } finally {
+            lock.readLock().unlock();
+        }
+        acertos.incrementAndGet();
+
+        if (taxaVerificacao > 0 && ThreadLocalRandom.current().nextDouble() < taxaVerificacao) {
+            compararComBanco(quantidadePessoas, checkIn, checkOut, disponiveis);
+        }
+        return Optional.of(disponiveis);
+    }
+
+    /**
+     * Compara o resultado do índice com a consulta SQL original.
+     *
+     * @return true se índice e banco retornam os mesmos chalés
+     */
+    public boolean verificarConsistencia(Integer quantidadePessoas, LocalDate checkIn, LocalDate checkOut) {
+        lock.readLock().lock();
+        List<ChaleResponseDTO> doIndice;
+        try {
+            LocalDate base = dataBase;
+            if (!podeResponder(base, checkIn, checkOut)) {
+                return true;
+            }
+            doIndice = filtrar(base, quantidadePessoas, checkIn, checkOut);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return compararComBanco(quantidadePessoas, checkIn, checkOut, doIndice);
+    }
+
+    private List<ChaleResponseDTO> filtrar(LocalDate base, Integer quantidadePessoas,
+                                           LocalDate checkIn, LocalDate checkOut) {
+        int inicio = offset(base, checkIn);
+        int fim = offset(base, checkOut);
+        return chales.values().stream()
+                .filter(ocupacao -> ocupacao.disponivel(quantidadePessoas, inicio, fim))
+                .map(OcupacaoChale::getChale)
+                .collect(Collectors.toList());
+    }
+
+    private boolean compararComBanco(Integer quantidadePessoas, LocalDate checkIn, LocalDate checkOut,
+                                     List<ChaleResponseDTO> doIndice) {
+        Set<Long> idsIndice = doIndice.stream()
+                .map(ChaleResponseDTO::getIdChale)
+                .collect(Collectors.toSet());
+        Set<Long> idsBanco = chaleRepository.buscarChalesDisponiveis(quantidadePessoas, checkIn, checkOut).stream()
+                .map(ChaleEntity::getIdChale)
+                .collect(Collectors.toSet());
+
+        if (idsIndice.equals(idsBanco)) {
+            return true;
+        }
+
+        divergencias.incrementAndGet();
+        log.warn("Índice de disponibilidade divergente do banco ({} a {}, {} pessoas) - índice: {}, banco: {}. " +
+                "Agendando reconstrução.", checkIn, checkOut, quantidadePessoas, idsIndice, idsBanco);
+        pronto = false;
+        return false;
+    }
+
+    private boolean podeResponder(LocalDate base, LocalDate checkIn, LocalDate checkOut) {
+        return habilitado && pronto && base != null
+                && !checkIn.isBefore(base)
+                && !checkOut.isAfter(base.plusDays(horizonteDias));
+    }
+
+    // ======================== ATUALIZAÇÃO ========================
+
+    /**
+     * Registra as noites de uma reserva pendente ou confirmada.
+     */
+    public void registrarReserva(ReservaEntity reserva) {
+        registrarReserva(reserva.getIdReserva(), reserva.getChale().getIdChale(), reserva.getStatusReserva(),
+                reserva.getDataCheckIn(), reserva.getDataCheckOut());
+    }
+
+    /**
+     * Registra uma reserva gravada sem passar pelo Hibernate (importação em lote).
+     */
+    public void registrarReserva(Long idReserva, Long idChale, StatusReserva status,
+                                 LocalDate checkIn, LocalDate checkOut) {
+        if (!STATUS_OCUPANTES.contains(status)) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (adicionar(idReserva, idChale, checkIn, checkOut)) {
+                aoDesfazer(() -> remover(idReserva));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Libera as noites de uma reserva cancelada, concluída ou removida.
+     */
+    public void removerReserva(Long idReserva) {
+        lock.readLock().lock();
+        try {
+            Periodo removido = remover(idReserva);
+            if (removido != null) {
+                aoDesfazer(() -> adicionar(idReserva, removido.idChale(), removido.checkIn(), removido.checkOut()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza os dados do chalé usados na busca (capacidade, status e resposta).
+     */
+    public void atualizarChale(ChaleEntity chale) {
+        ChaleResponseDTO novo = chaleMapper.paraChaleResponseDTO(chale);
+
+        lock.readLock().lock();
+        try {
+            OcupacaoChale ocupacao = chales.computeIfAbsent(chale.getIdChale(), id -> new OcupacaoChale(horizonteDias));
+            ChaleResponseDTO anterior = ocupacao.substituirChale(novo);
+            aoDesfazer(() -> {
+                if (anterior != null) {
+                    ocupacao.substituirChale(anterior);
+                } else {
+                    chales.remove(chale.getIdChale(), ocupacao);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove o chalé do índice.
+     */
+    public void removerChale(Long idChale) {
+        lock.readLock().lock();
+        try {
+            OcupacaoChale removida = chales.remove(idChale);
+            if (removida != null) {
+                aoDesfazer(() -> chales.putIfAbsent(idChale, removida));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * O índice participa da transação de quem alterou o chalé (desfaz no rollback),
+     * então não pode ser notificado por outra thread.
+     */
+    @Override
+    public boolean exigeEntregaSincrona() {
+        return true;
+    }
+
+    @Override
+    public void onChaleChanged(ChaleEntity chale, ChaleEventType eventoTipo) {
+        if (eventoTipo == ChaleEventType.REMOVIDO) {
+            removerChale(chale.getIdChale());
+        } else {
+            atualizarChale(chale);
+        }
+    }
+
+    private boolean adicionar(Long idReserva, Long idChale, LocalDate checkIn, LocalDate checkOut) {
+        LocalDate base = dataBase;
+        if (base == null || !checkOut.isAfter(base)) {
+            return false;
+        }
+        OcupacaoChale ocupacao = chales.computeIfAbsent(idChale, id -> new OcupacaoChale(horizonteDias));
+        if (!ocupacao.ocupar(idReserva, new Periodo(idChale, checkIn, checkOut),
+                offset(base, checkIn), offset(base, checkOut))) {
+            return false;
+        }
+        chalePorReserva.put(idReserva, idChale);
+        return true;
+    }
+
+    private Periodo remover(Long idReserva) {
+        Long idChale = chalePorReserva.remove(idReserva);
+        if (idChale == null) {
+            return null;
+        }
+        OcupacaoChale ocupacao = chales.get(idChale);
+        if (ocupacao == null) {
+            return null;
+        }
+        return ocupacao.liberar(idReserva, dataBase);
+    }
+
+    /**
+     * Registra uma ação de compensação executada se a transação corrente não for confirmada.
+     */
+    private void aoDesfazer(Runnable desfazer) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    lock.readLock().lock();
+                    try {
+                        desfazer.run();
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    // ======================== RECONSTRUÇÃO ========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Reconstrói o índice quando invalidado ou quando a janela precisa avançar (virada do dia).
+     */
+    @Scheduled(fixedDelayString = "${lodgfy.disponibilidade.indice.intervalo-verificacao-ms:60000}")
+    public void manterJanela() {
+        if (habilitado && (!pronto || !LocalDate.now().equals(dataBase))) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Recarrega chalés e reservas ativas do banco e substitui o conteúdo do índice.
+     */
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            LocalDate hoje = LocalDate.now();
+            dataBase = hoje;
+            chales.clear();
+            chalePorReserva.clear();
+
+            for (ChaleEntity chale : chaleRepository.findAll()) {
+                OcupacaoChale ocupacao = new OcupacaoChale(horizonteDias);
+                ocupacao.substituirChale(chaleMapper.paraChaleResponseDTO(chale));
+                chales.put(chale.getIdChale(), ocupacao);
+            }
+
+            List<ReservaEntity> ativas = reservaRepository.findReservasAtivasAPartirDe(hoje, STATUS_OCUPANTES);
+            for (ReservaEntity reserva : ativas) {
+                adicionar(reserva.getIdReserva(), reserva.getChale().getIdChale(),
+                        reserva.getDataCheckIn(), reserva.getDataCheckOut());
+            }
+
+            pronto = true;
+            reconstrucoes.incrementAndGet();
+            log.info("Índice de disponibilidade reconstruído: {} chalés, {} reservas ativas em {} ms",
+                    chales.size(), chalePorReserva.size(), System.currentTimeMillis() - inicio);
+        } catch (RuntimeException e) {
+            pronto = false;
+            log.error("Falha ao reconstruir índice de disponibilidade: {}", e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ======================== MÉTRICAS ========================
+
+    public EstatisticasIndice getEstatisticas() {
+        return new EstatisticasIndice(
+                pronto,
+                dataBase,
+                horizonteDias,
+                chales.size(),
+                chalePorReserva.size(),
+                acertos.get(),
+                falhas.get(),
+                divergencias.get(),
+                reconstrucoes.get()
+        );
+    }
+
+    public record EstatisticasIndice(
+            boolean pronto,
+            LocalDate dataBase,
+            int horizonteDias,
+            int chales,
+            int reservasAtivas,
+            long acertos,
+            long falhas,
+            long divergencias,
+            long reconstrucoes
+    ) {
+    }
+
+    private static int offset(LocalDate base, LocalDate data) {
+        return (int) ChronoUnit.DAYS.between(base, data);
+    }
+
+    record Periodo(Long idChale, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    /**
+     * Ocupação de um chalé: contador de reservas por noite a partir da data base.
+     */
+    static final class OcupacaoChale {
+
+        private final short[] noites;
+        private final Map<Long, Periodo> reservas = new HashMap<>();
+        private volatile ChaleResponseDTO chale;
+
+        OcupacaoChale(int horizonteDias) {
+            this.noites = new short[horizonteDias];
+        }
+
+        ChaleResponseDTO getChale() {
+            return chale;
+        }
+
+        ChaleResponseDTO substituirChale(ChaleResponseDTO novo) {
+            ChaleResponseDTO anterior = chale;
+            chale = novo;
+            return anterior;
+        }
+
+        // synchronized só protege laços curtos em memória, sem I/O nem espera: não
+        // segura a carregadora de uma virtual thread por tempo perceptível
+        synchronized boolean ocupar(Long idReserva, Periodo periodo, int inicio, int fim) {
+            if (reservas.putIfAbsent(idReserva, periodo) != null) {
+                return false;
+            }
+            for (int i = Math.max(inicio, 0); i < Math.min(fim, noites.length); i++) {
+                noites[i]++;
+            }
+            return true;
+        }
+
+        synchronized Periodo liberar(Long idReserva, LocalDate dataBase) {
+            Periodo periodo = reservas.remove(idReserva);
+            if (periodo != null) {
+                int inicio = (int) ChronoUnit.DAYS.between(dataBase, periodo.checkIn());
+                int fim = (int) ChronoUnit.DAYS.between(dataBase, periodo.checkOut());
+                for (int i = Math.max(inicio, 0); i < Math.min(fim, noites.length); i++) {
+                    noites[i]--;
+                }
+            }
+            return periodo;
+        }
+
+        synchronized boolean disponivel(Integer quantidadePessoas, int inicio, int fim) {
+            ChaleResponseDTO atual = chale;
+            if (atual == null
+                    || atual.getStatus() != ChaleEntity.StatusChale.DISPONIVEL
+                    || atual.getCapacidade() == null
+                    || atual.getCapacidade() < quantidadePessoas) {
+                return false;
+            }
+            for (int i = Math.max(inicio, 0); i < Math.min(fim, noites.length); i++) {
+                if (noites[i] > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package sptech.school.Lodgfy.business.disponibilidade;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.business.exceptions.ReservaConflitanteException;
+import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaNoiteRepository;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tabela reservas_noites: uma linha por chalé e noite ocupada por uma reserva
+ * pendente ou confirmada.
+ *
+ * As noites são gravadas e removidas com JDBC na transação que cria ou encerra
+ * a reserva (rollback desfaz as duas coisas), e a chave primária (chale_id, noite)
+ * recusa uma segunda reserva para a mesma noite mesmo que a verificação de
+ * conflitos não a tenha visto.
+ *
+ * Cada alteração invalida as consultas de disponibilidade em cache.
+ *
+ * A reconciliação compara a tabela com as reservas ativas, ao iniciar (carga das
+ * reservas gravadas sem passar por aqui) e periodicamente, e regrava as noites
+ * das reservas divergentes.
+ */
+@Slf4j
+@Component
+public class NoitesReservadas {
+
+    public static final List<StatusReserva> STATUS_OCUPANTES =
+            List.of(StatusReserva.PENDENTE, StatusReserva.CONFIRMADA);
+
+    private static final String INSERT_NOITE =
+            "INSERT INTO reservas_noites (chale_id, noite, reserva_id) VALUES (?, ?, ?)";
+    private static final String DELETE_NOITES = "DELETE FROM reservas_noites WHERE reserva_id = ?";
+
+    private final ReservaNoiteRepository reservaNoiteRepository;
+    private final ReservaRepository reservaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConsultaDisponibilidade consultaDisponibilidade;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean reconciliacaoHabilitada;
+
+    private final AtomicLong reconciliacoes = new AtomicLong();
+    private final AtomicLong reservasCorrigidas = new AtomicLong();
+    private final AtomicLong conflitos = new AtomicLong();
+    private final AtomicReference<Reconciliacao> ultimaReconciliacao = new AtomicReference<>();
+
+    public NoitesReservadas(ReservaNoiteRepository reservaNoiteRepository,
+                            ReservaRepository reservaRepository,
+                            JdbcTemplate jdbcTemplate,
+                            ConsultaDisponibilidade consultaDisponibilidade,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${lodgfy.disponibilidade.noites.reconciliacao-habilitada:true}") boolean reconciliacaoHabilitada) {
+        this.reservaNoiteRepository = reservaNoiteRepository;
+        this.reservaRepository = reservaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.consultaDisponibilidade = consultaDisponibilidade;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconciliacaoHabilitada = reconciliacaoHabilitada;
+    }
+
+    // ======================== ATUALIZAÇÃO ========================
+
+    /**
+     * Ocupa as noites de uma reserva pendente ou confirmada.
+     *
+     * @throws ReservaConflitanteException se alguma noite já pertence a outra reserva
+     */
+    public void ocupar(ReservaEntity reserva) {
+        ocupar(List.of(reserva));
+    }
+
+    /**
+     * Ocupa as noites de várias reservas com um único batch.
+     */
+    public void ocupar(Collection<ReservaEntity> reservas) {
+        ocuparEstadias(reservas.stream()
+                .filter(reserva -> STATUS_OCUPANTES.contains(reserva.getStatusReserva()))
+                .map(reserva -> new Estadia(reserva.getIdReserva(), reserva.getChale().getIdChale(),
+                        reserva.getDataCheckIn(), reserva.getDataCheckOut()))
+                .toList());
+    }
+
+    /**
+     * Ocupa as noites de reservas gravadas sem passar pelo Hibernate (importação em lote).
+     * Quem chama filtra as reservas ocupantes.
+     */
+    public void ocuparEstadias(List<Estadia> estadias) {
+        List<Object[]> noites = new ArrayList<>();
+        for (Estadia estadia : estadias) {
+            for (LocalDate noite = estadia.checkIn(); noite.isBefore(estadia.checkOut()); noite = noite.plusDays(1)) {
+                noites.add(new Object[]{estadia.idChale(), noite, estadia.idReserva()});
+            }
+        }
+        if (noites.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_NOITE, noites);
+        } catch (DuplicateKeyException e) {
+            log.warn("Noite já ocupada ao gravar reservas {}: {}",
+                    estadias.stream().map(Estadia::idReserva).toList(), e.getMostSpecificCause().getMessage());
+            throw new ReservaConflitanteException();
+        }
+        consultaDisponibilidade.invalidar();
+    }
+
+    /**
+     * Libera as noites de uma reserva cancelada, concluída ou removida.
+     */
+    public void liberar(Long idReserva) {
+        jdbcTemplate.update(DELETE_NOITES, idReserva);
+        consultaDisponibilidade.invalidar();
+    }
+
+    // ======================== RECONCILIAÇÃO ========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (reconciliacaoHabilitada) {
+            reconciliar();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lodgfy.disponibilidade.noites.intervalo-reconciliacao-ms:3600000}",
+            initialDelayString = "${lodgfy.disponibilidade.noites.intervalo-reconciliacao-ms:3600000}")
+    public void reconciliarPeriodicamente() {
+        if (reconciliacaoHabilitada) {
+            reconciliar();
+        }
+    }
+
+    /**
+     * Procura reservas ativas sem todas as noites gravadas e noites que não
+     * correspondem a uma reserva ativa, e regrava as noites de cada uma delas.
+     *
+     * Cada reserva é corrigida em sua própria transação, com a linha da reserva
+     * bloqueada e o status relido; noites que já pertencem a outra reserva
+     * (reservas sobrepostas gravadas antes da tabela) ficam como conflito.
+     */
+    public Reconciliacao reconciliar() {
+        long inicio = System.currentTimeMillis();
+        Set<Long> divergentes = new TreeSet<>(reservaNoiteRepository.buscarReservasComNoitesFaltando(STATUS_OCUPANTES));
+        divergentes.addAll(reservaNoiteRepository.buscarReservasComNoitesSobrando(STATUS_OCUPANTES));
+
+        int corrigidas = 0;
+        List<Long> comConflito = new ArrayList<>();
+        for (Long idReserva : divergentes) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> regravar(idReserva));
+                corrigidas++;
+            } catch (ReservaConflitanteException e) {
+                comConflito.add(idReserva);
+            } catch (RuntimeException e) {
+                log.error("Falha ao reconciliar as noites da reserva {}: {}", idReserva, e.getMessage(), e);
+            }
+        }
+
+        Reconciliacao resultado = new Reconciliacao(LocalDateTime.now(), divergentes.size(), corrigidas,
+                comConflito, System.currentTimeMillis() - inicio);
+        reconciliacoes.incrementAndGet();
+        reservasCorrigidas.addAndGet(corrigidas);
+        conflitos.addAndGet(comConflito.size());
+        ultimaReconciliacao.set(resultado);
+
+        if (divergentes.isEmpty()) {
+            log.debug("Noites reservadas consistentes com as reservas ({} ms)", resultado.duracaoMs());
+        } else {
+            log.warn("Noites reservadas divergentes: {} reservas, {} corrigidas, em conflito: {} ({} ms)",
+                    divergentes.size(), corrigidas, comConflito, resultado.duracaoMs());
+        }
+        return resultado;
+    }
+
+    private void regravar(Long idReserva) {
+        Optional<ReservaEntity> reserva = reservaRepository.findByIdComBloqueio(idReserva);
+        liberar(idReserva);
+        reserva.filter(ativa -> STATUS_OCUPANTES.contains(ativa.getStatusReserva()))
+                .ifPresent(this::ocupar);
+    }
+
+    // ======================== MÉTRICAS ========================
+
+    public EstatisticasNoites getEstatisticas() {
+        return new EstatisticasNoites(
+                reconciliacoes.get(),
+                reservasCorrigidas.get(),
+                conflitos.get(),
+                ultimaReconciliacao.get()
+        );
+    }
+
+    public record Estadia(Long idReserva, Long idChale, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    public record Reconciliacao(
+            LocalDateTime dataHora,
+            int reservasDivergentes,
+            int reservasCorrigidas,
+            List<Long> reservasEmConflito,
+            long duracaoMs
+    ) {
+    }
+
+    public record EstatisticasNoites(
+            long reconciliacoes,
+            long reservasCorrigidas,
+            long conflitos,
+            Reconciliacao ultimaReconciliacao
+    ) {
+    }
+}
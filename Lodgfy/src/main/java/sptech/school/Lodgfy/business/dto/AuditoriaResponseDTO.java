@@ -0,0 +1,35 @@
+package sptech.school.Lodgfy.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "AuditoriaResponseDTO", description = "DTO de retorno de um registro de auditoria")
+public class AuditoriaResponseDTO {
+
+    @Schema(example = "1", description = "ID do registro de auditoria")
+    private Long idAuditoria;
+
+    @Schema(example = "CHALE", description = "Tipo da entidade auditada")
+    private String entidade;
+
+    @Schema(example = "1", description = "ID da entidade auditada")
+    private Long entidadeId;
+
+    @Schema(example = "PRECO_ALTERADO", description = "Tipo do evento")
+    private String tipoEvento;
+
+    @Schema(example = "2024-05-10T14:30:00", description = "Data e hora do evento")
+    private LocalDateTime dataHora;
+
+    @Schema(example = "Preço alterado - Chalé ID: 1 ('Chalé das Montanhas') -> Novo valor: R$ 400.00", description = "Detalhes do evento")
+    private String detalhes;
+}
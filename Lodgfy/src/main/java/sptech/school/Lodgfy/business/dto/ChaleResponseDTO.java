@@ -1,5 +1,6 @@
 package sptech.school.Lodgfy.business.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -38,4 +39,9 @@ public class ChaleResponseDTO {
 
     @Schema(example = "DISPONIVEL", description = "Status do chalé (DISPONIVEL, OCUPADO, LIMPEZA)")
     private StatusChale status;
+
+    // Versão do chalé lido, usada no ETag; fora do JSON
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long versao;
 }
\ No newline at end of file
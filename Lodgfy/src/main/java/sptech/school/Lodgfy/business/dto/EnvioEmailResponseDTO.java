@@ -0,0 +1,34 @@
+package sptech.school.Lodgfy.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity.StatusEnvio;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity.TipoEmail;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "EnvioEmailResponseDTO", description = "Situação do envio de um e-mail")
+public class EnvioEmailResponseDTO {
+
+    @Schema(example = "ORCAMENTO_CLIENTE", description = "Tipo do e-mail")
+    private TipoEmail tipo;
+
+    @Schema(example = "ENVIADO", description = "Situação do envio")
+    private StatusEnvio status;
+
+    @Schema(example = "1", description = "Tentativas de envio realizadas")
+    private int tentativas;
+
+    @Schema(example = "2024-05-10T14:30:00", description = "Data e hora da solicitação")
+    private LocalDateTime criadoEm;
+
+    @Schema(example = "2024-05-10T14:30:02", description = "Data e hora do envio, quando concluído")
+    private LocalDateTime enviadoEm;
+}
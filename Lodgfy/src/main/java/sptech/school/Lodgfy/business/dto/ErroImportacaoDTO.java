@@ -0,0 +1,21 @@
+package sptech.school.Lodgfy.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ErroImportacaoDTO", description = "Linha rejeitada na importação")
+public class ErroImportacaoDTO {
+
+    @Schema(example = "42", description = "Número da linha no arquivo")
+    private long linha;
+
+    @Schema(example = "Hóspede não encontrado: 7", description = "Motivo da rejeição")
+    private String mensagem;
+}
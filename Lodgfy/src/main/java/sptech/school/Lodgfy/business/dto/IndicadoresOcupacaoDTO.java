@@ -0,0 +1,41 @@
+package sptech.school.Lodgfy.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "IndicadoresOcupacaoDTO", description = "Ocupação e receita de um grupo (chalé, tipo ou mês) no período")
+public class IndicadoresOcupacaoDTO {
+
+    @Schema(example = "Luxo", description = "Id do chalé, tipo ou mês (aaaa-mm), conforme o agrupamento")
+    private String chave;
+
+    @Schema(example = "Chalé das Montanhas", description = "Nome do chalé (só no agrupamento por chalé)")
+    private String descricao;
+
+    @Schema(example = "365", description = "Noites disponíveis: chalés x dias do período")
+    private long noitesDisponiveis;
+
+    @Schema(example = "219", description = "Noites ocupadas por reservas confirmadas ou concluídas")
+    private long noitesOcupadas;
+
+    @Schema(example = "0.6", description = "Taxa de ocupação (noites ocupadas / noites disponíveis)")
+    private double taxaOcupacao;
+
+    @Schema(example = "76650.00", description = "Receita das noites ocupadas")
+    private BigDecimal receita;
+
+    @Schema(example = "350.00", description = "Diária média, ADR (receita / noites ocupadas)")
+    private BigDecimal diariaMedia;
+
+    @Schema(example = "210.00", description = "Receita por noite disponível, RevPAR (receita / noites disponíveis)")
+    private BigDecimal receitaPorNoiteDisponivel;
+}
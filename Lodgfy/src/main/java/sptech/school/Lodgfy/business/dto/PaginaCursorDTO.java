@@ -0,0 +1,23 @@
+package sptech.school.Lodgfy.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "PaginaCursorDTO", description = "Página de uma listagem por cursor (keyset)")
+public class PaginaCursorDTO<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> itens;
+
+    @Schema(example = "42", description = "Cursor para a próxima página; nulo quando não há mais itens")
+    private String proximoCursor;
+}
@@ -0,0 +1,29 @@
+package sptech.school.Lodgfy.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "RelatorioImportacaoDTO", description = "Resultado de uma importação de reservas")
+public class RelatorioImportacaoDTO {
+
+    @Schema(example = "1200", description = "Linhas de dados lidas do arquivo")
+    private long linhas;
+
+    @Schema(example = "1195", description = "Reservas gravadas")
+    private long importadas;
+
+    @Schema(example = "5", description = "Linhas rejeitadas")
+    private long rejeitadas;
+
+    @Schema(description = "Motivo de cada linha rejeitada, limitado às primeiras do arquivo")
+    private List<ErroImportacaoDTO> erros;
+}
@@ -0,0 +1,36 @@
+package sptech.school.Lodgfy.business.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import sptech.school.Lodgfy.business.analise.AgrupamentoOcupacao;
+import sptech.school.Lodgfy.business.analise.FonteRelatorio;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "RelatorioOcupacaoDTO", description = "Ocupação, diária média e receita por chalé, tipo ou mês")
+public class RelatorioOcupacaoDTO {
+
+    @Schema(example = "2025-01-01", description = "Primeiro dia do período")
+    private LocalDate inicio;
+
+    @Schema(example = "2025-12-31", description = "Último dia do período (inclusive)")
+    private LocalDate fim;
+
+    private AgrupamentoOcupacao agrupamento;
+
+    @Schema(description = "MEMORIA quando respondido pelo rollup; BANCO quando pelas agregações SQL")
+    private FonteRelatorio fonte;
+
+    private List<IndicadoresOcupacaoDTO> linhas;
+
+    @Schema(description = "Indicadores do período inteiro, somando todas as linhas")
+    private IndicadoresOcupacaoDTO total;
+}
@@ -0,0 +1,38 @@
+package sptech.school.Lodgfy.business.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reserva de vários chalés para o mesmo hóspede e o mesmo período (eventos e grupos).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservaGrupoRequestDTO {
+
+    @NotNull(message = "Data de check-in é obrigatória")
+    @FutureOrPresent(message = "Data de check-in deve ser presente ou futura")
+    private LocalDate dataCheckIn;
+
+    @NotNull(message = "Data de check-out é obrigatória")
+    @FutureOrPresent(message = "Data de check-out deve ser presente ou futura")
+    private LocalDate dataCheckOut;
+
+    @NotNull(message = "ID do hóspede é obrigatório")
+    private Long hospedeId;
+
+    @NotEmpty(message = "Informe ao menos um chalé")
+    @Size(max = 50, message = "No máximo 50 chalés por reserva em grupo")
+    private List<@NotNull(message = "ID do chalé é obrigatório") Long> chaleIds;
+}
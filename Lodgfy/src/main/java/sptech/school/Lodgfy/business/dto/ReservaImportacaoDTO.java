@@ -0,0 +1,32 @@
+package sptech.school.Lodgfy.business.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha de um arquivo de importação de reservas (CSV ou NDJSON).
+ *
+ * Os nomes seguem o ReservaResponseDTO, de modo que o arquivo da exportação pode
+ * ser importado de volta; as demais colunas são ignoradas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReservaImportacaoDTO {
+
+    private Long hospedeId;
+    private Long chaleId;
+    private LocalDate dataCheckIn;
+    private LocalDate dataCheckOut;
+    // Opcionais: PENDENTE e o valor calculado pela diária atual do chalé
+    private StatusReserva statusReserva;
+    private BigDecimal valorTotal;
+}
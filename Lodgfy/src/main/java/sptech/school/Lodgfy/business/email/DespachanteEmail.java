@@ -0,0 +1,290 @@
+package sptech.school.Lodgfy.business.email;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity.StatusEnvio;
+import sptech.school.Lodgfy.infrastructure.repository.EmailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia os e-mails da outbox (tabela email_outbox) fora do caminho da requisição.
+ *
+ * Uma thread própria busca os e-mails prontos a cada intervalo, ou logo após um
+ * novo registro ser confirmado, e os entrega a um pool limitado de envios. Cada
+ * e-mail é reservado no banco antes do envio, de modo que várias instâncias da
+ * aplicação podem despachar a mesma tabela sem enviar o mesmo e-mail duas vezes.
+ *
+ * Falhas são tentadas novamente com espera exponencial (com variação aleatória)
+ * até o limite de tentativas, quando o e-mail é marcado como FALHOU.
+ *
+ * Os envios ficam em threads do sistema mesmo com spring.threads.virtual.enabled:
+ * o SMTPTransport do Angus Mail lê o socket dentro de synchronized, o que fixaria
+ * a carregadora de uma virtual thread durante todo o diálogo com o servidor.
+ */
+@Slf4j
+@Component
+public class DespachanteEmail implements MeterBinder {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private final EmailOutboxRepository repository;
+    private final JavaMailSender mailSender;
+    private final int concorrencia;
+    private final long intervaloMs;
+    private final long reservaMs;
+    private final int maxTentativas;
+    private final long esperaInicialMs;
+    private final long esperaMaximaMs;
+    private final long timeoutEncerramentoMs;
+
+    // Limita os envios simultâneos ao servidor SMTP
+    private final Semaphore vagas;
+    private final AtomicBoolean buscaAgendada = new AtomicBoolean();
+    private ScheduledExecutorService agendador;
+    private ExecutorService envios;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong falhasTemporarias = new AtomicLong();
+    private final AtomicLong falhasDefinitivas = new AtomicLong();
+
+    public DespachanteEmail(EmailOutboxRepository repository,
+                            JavaMailSender mailSender,
+                            @Value("${lodgfy.email.despacho.concorrencia:4}") int concorrencia,
+                            @Value("${lodgfy.email.despacho.intervalo-ms:5000}") long intervaloMs,
+                            @Value("${lodgfy.email.despacho.reserva-ms:120000}") long reservaMs,
+                            @Value("${lodgfy.email.despacho.max-tentativas:8}") int maxTentativas,
+                            @Value("${lodgfy.email.despacho.espera-inicial-ms:5000}") long esperaInicialMs,
+                            @Value("${lodgfy.email.despacho.espera-maxima-ms:3600000}") long esperaMaximaMs,
+                            @Value("${lodgfy.email.despacho.timeout-encerramento-ms:10000}") long timeoutEncerramentoMs) {
+        this.repository = repository;
+        this.mailSender = mailSender;
+        this.concorrencia = concorrencia;
+        this.intervaloMs = intervaloMs;
+        this.reservaMs = reservaMs;
+        this.maxTentativas = maxTentativas;
+        this.esperaInicialMs = esperaInicialMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.timeoutEncerramentoMs = timeoutEncerramentoMs;
+        this.vagas = new Semaphore(concorrencia);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "email-despachante");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger contador = new AtomicInteger();
+        envios = Executors.newFixedThreadPool(concorrencia, r -> {
+            Thread thread = new Thread(r, "email-envio-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::despacharComSeguranca, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Antecipa a próxima busca, sem esperar o intervalo. Chamado após a
+     * confirmação de novos e-mails na outbox.
+     */
+    public void acordar() {
+        if (agendador != null && !agendador.isShutdown() && buscaAgendada.compareAndSet(false, true)) {
+            agendador.execute(() -> {
+                buscaAgendada.set(false);
+                despacharComSeguranca();
+            });
+        }
+    }
+
+    /**
+     * Reserva os e-mails prontos, até o número de vagas livres, e os entrega ao pool de envio.
+     *
+     * @return quantidade de e-mails entregues ao pool
+     */
+    public int despacharProntos() {
+        int livres = vagas.availablePermits();
+        if (livres == 0) {
+            return 0;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<EmailOutboxEntity> prontos = repository.buscarProntos(agora, PageRequest.of(0, livres));
+        int despachados = 0;
+        for (EmailOutboxEntity email : prontos) {
+            if (!vagas.tryAcquire()) {
+                break;
+            }
+            if (repository.reservar(email.getIdEmail(), agora, agora.plusNanos(reservaMs * 1_000_000), StatusEnvio.ENVIANDO) == 0) {
+                vagas.release();
+                continue;
+            }
+            emAndamento.incrementAndGet();
+            envios.execute(() -> {
+                try {
+                    enviar(email);
+                } finally {
+                    emAndamento.decrementAndGet();
+                    vagas.release();
+                }
+            });
+            despachados++;
+        }
+
+        // Havia mais e-mails prontos do que vagas: busca de novo assim que possível
+        if (despachados > 0 && despachados == livres) {
+            acordar();
+        }
+        return despachados;
+    }
+
+    /**
+     * Envia um e-mail já reservado e registra o resultado na outbox.
+     */
+    void enviar(EmailOutboxEntity email) {
+        email.setTentativas(email.getTentativas() + 1);
+        try {
+            MimeMessage mensagem = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mensagem, true, "UTF-8");
+            helper.setTo(email.getDestinatario());
+            helper.setSubject(email.getAssunto());
+            helper.setText(email.getCorpo(), true);
+            mailSender.send(mensagem);
+
+            email.setStatus(StatusEnvio.ENVIADO);
+            email.setEnviadoEm(LocalDateTime.now());
+            email.setUltimoErro(null);
+            enviados.incrementAndGet();
+        } catch (Exception e) {
+            registrarFalha(email, e);
+        }
+
+        try {
+            repository.save(email);
+        } catch (Exception e) {
+            // A reserva expira e o e-mail volta a ser elegível; pode haver um reenvio
+            log.error("Falha ao registrar o resultado do e-mail {}: {}", email.getIdEmail(), e.getMessage());
+        }
+    }
+
+    /**
+     * Espera antes da tentativa seguinte: dobra a cada falha, limitada à espera
+     * máxima, com variação de até 20% para não sincronizar novas tentativas.
+     */
+    long calcularEspera(int tentativas) {
+        int expoente = Math.min(Math.max(tentativas - 1, 0), 30);
+        long espera = Math.min(esperaMaximaMs, esperaInicialMs * (1L << expoente));
+        long variacao = espera / 5;
+        return variacao > 0 ? espera - ThreadLocalRandom.current().nextLong(variacao + 1) : espera;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdown();
+        envios.shutdown();
+        try {
+            if (!envios.awaitTermination(timeoutEncerramentoMs, TimeUnit.MILLISECONDS)) {
+                log.warn("{} envios de e-mail não terminaram em {} ms; serão retomados após a reserva expirar",
+                        emAndamento.get(), timeoutEncerramentoMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Estatísticas do despacho. Pendentes e falhas definitivas vêm do banco e
+     * incluem e-mails de todas as instâncias.
+     */
+    public EstatisticasEmail getEstatisticas() {
+        return new EstatisticasEmail(
+                repository.countByStatus(StatusEnvio.PENDENTE),
+                emAndamento.get(),
+                enviados.get(),
+                falhasTemporarias.get(),
+                falhasDefinitivas.get()
+        );
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("lodgfy.email.pendentes", repository, r -> r.countByStatus(StatusEnvio.PENDENTE))
+                .description("E-mails aguardando envio na outbox (todas as instâncias)")
+                .register(registry);
+        Gauge.builder("lodgfy.email.em.andamento", emAndamento, AtomicInteger::get)
+                .description("E-mails sendo enviados por esta instância")
+                .register(registry);
+        contador(registry, "enviado", enviados);
+        contador(registry, "falha_temporaria", falhasTemporarias);
+        contador(registry, "falha_definitiva", falhasDefinitivas);
+    }
+
+    private static void contador(MeterRegistry registry, String resultado, AtomicLong valor) {
+        FunctionCounter.builder("lodgfy.email.envios", valor, AtomicLong::get)
+                .description("Tentativas de envio de e-mail, por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    public record EstatisticasEmail(
+            long pendentes,
+            int emAndamento,
+            long enviados,
+            long falhasTemporarias,
+            long falhasDefinitivas
+    ) {
+    }
+
+    private void registrarFalha(EmailOutboxEntity email, Exception erro) {
+        String mensagem = erro.getMessage() == null ? erro.getClass().getSimpleName() : erro.getMessage();
+        email.setUltimoErro(mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem);
+
+        if (email.getTentativas() >= maxTentativas) {
+            email.setStatus(StatusEnvio.FALHOU);
+            falhasDefinitivas.incrementAndGet();
+            log.error("E-mail {} ({}) descartado após {} tentativas: {}",
+                    email.getIdEmail(), email.getTipo(), email.getTentativas(), mensagem);
+            return;
+        }
+
+        long espera = calcularEspera(email.getTentativas());
+        email.setStatus(StatusEnvio.PENDENTE);
+        email.setProximaTentativa(LocalDateTime.now().plusNanos(espera * 1_000_000));
+        falhasTemporarias.incrementAndGet();
+        log.warn("Falha ao enviar e-mail {} (tentativa {}), nova tentativa em {} ms: {}",
+                email.getIdEmail(), email.getTentativas(), espera, mensagem);
+    }
+
+    private void despacharComSeguranca() {
+        try {
+            despacharProntos();
+        } catch (Exception e) {
+            // Exceções não tratadas cancelariam o agendamento
+            log.error("Erro inesperado no despacho de e-mails: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package sptech.school.Lodgfy.business.email.template;
+
+/**
+ * Escapa texto para HTML em uma única passada, escrevendo direto no destino.
+ *
+ * Trechos sem caracteres especiais são copiados em bloco; só os caracteres
+ * & < > " ' são substituídos pelas respectivas entidades.
+ */
+public final class EscapadorHtml {
+
+    private EscapadorHtml() {
+    }
+
+    public static void escapar(CharSequence texto, StringBuilder destino) {
+        escapar(texto, primeiroEspecial(texto), destino);
+    }
+
+    public static String escapar(CharSequence texto) {
+        if (texto == null) {
+            return "";
+        }
+        int primeiro = primeiroEspecial(texto);
+        if (primeiro < 0) {
+            // Caso mais comum: nada a escapar, nenhuma cópia
+            return texto.toString();
+        }
+        StringBuilder destino = new StringBuilder(texto.length() + 16);
+        escapar(texto, primeiro, destino);
+        return destino.toString();
+    }
+
+    private static void escapar(CharSequence texto, int primeiro, StringBuilder destino) {
+        int tamanho = texto.length();
+        if (primeiro < 0) {
+            destino.append(texto);
+            return;
+        }
+        int inicioTrecho = 0;
+        for (int i = primeiro; i < tamanho; i++) {
+            String entidade = entidade(texto.charAt(i));
+            if (entidade != null) {
+                destino.append(texto, inicioTrecho, i).append(entidade);
+                inicioTrecho = i + 1;
+            }
+        }
+        destino.append(texto, inicioTrecho, tamanho);
+    }
+
+    private static int primeiroEspecial(CharSequence texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (entidade(texto.charAt(i)) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String entidade(char c) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            case '\'' -> "&#39;";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package sptech.school.Lodgfy.business.email.template;
+
+/**
+ * Modelos de e-mail disponíveis. O corpo fica em templates/email/{arquivo}
+ * no classpath; o assunto é um template de texto puro.
+ */
+public enum ModeloEmail {
+
+    ORCAMENTO_EQUIPE("orcamento-equipe.html", "[Lodgfy] Novo orçamento: {{{tipoEvento}}}"),
+    ORCAMENTO_CLIENTE("orcamento-cliente.html", "Recebemos sua solicitação de orçamento - Lodgfy"),
+    RESERVA_CONFIRMADA("reserva-confirmada.html", "Reserva confirmada - {{{chale}}} - Lodgfy"),
+    RESERVA_CANCELADA("reserva-cancelada.html", "Reserva cancelada - {{{chale}}} - Lodgfy");
+
+    private final String arquivo;
+    private final String assunto;
+
+    ModeloEmail(String arquivo, String assunto) {
+        this.arquivo = arquivo;
+        this.assunto = assunto;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+}
@@ -0,0 +1,83 @@
+package sptech.school.Lodgfy.business.email.template;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Carrega e compila os templates de e-mail uma única vez, na inicialização.
+ *
+ * A renderização reaproveita um StringBuilder por thread; buffers que crescem
+ * além do limite são descartados para não reter memória. Virtual threads não
+ * são reaproveitadas, então nelas o buffer é criado a cada renderização.
+ */
+@Slf4j
+@Component
+public class MotorTemplates {
+
+    static final String DIRETORIO = "templates/email/";
+
+    private static final int CAPACIDADE_INICIAL = 8 * 1024;
+    private static final int CAPACIDADE_MAXIMA_REUTILIZADA = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(CAPACIDADE_INICIAL));
+
+    private final Map<ModeloEmail, TemplateCompilado> corpos = new EnumMap<>(ModeloEmail.class);
+    private final Map<ModeloEmail, TemplateCompilado> assuntos = new EnumMap<>(ModeloEmail.class);
+
+    /**
+     * Compila todos os modelos; um template ausente ou inválido impede a inicialização.
+     */
+    @PostConstruct
+    public void carregar() {
+        for (ModeloEmail modelo : ModeloEmail.values()) {
+            corpos.put(modelo, TemplateCompilado.compilar(modelo.getArquivo(), lerArquivo(modelo.getArquivo())));
+            assuntos.put(modelo, TemplateCompilado.compilar(modelo.name() + " (assunto)", modelo.getAssunto()));
+        }
+        log.info("{} templates de e-mail compilados", corpos.size());
+    }
+
+    public EmailRenderizado renderizar(ModeloEmail modelo, Map<String, ?> valores) {
+        return new EmailRenderizado(
+                renderizar(assuntos.get(modelo), valores),
+                renderizar(corpos.get(modelo), valores)
+        );
+    }
+
+    public record EmailRenderizado(String assunto, String corpo) {
+    }
+
+    private String renderizar(TemplateCompilado template, Map<String, ?> valores) {
+        if (Thread.currentThread().isVirtual()) {
+            StringBuilder buffer = new StringBuilder(CAPACIDADE_INICIAL);
+            template.renderizar(valores, buffer);
+            return buffer.toString();
+        }
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderizar(valores, buffer);
+        String resultado = buffer.toString();
+        if (buffer.capacity() > CAPACIDADE_MAXIMA_REUTILIZADA) {
+            BUFFER.remove();
+        }
+        return resultado;
+    }
+
+    private static String lerArquivo(String arquivo) {
+        ClassPathResource recurso = new ClassPathResource(DIRETORIO + arquivo);
+        try (InputStream entrada = recurso.getInputStream()) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Template de e-mail não encontrado: " + DIRETORIO + arquivo, e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package sptech.school.Lodgfy.business.email.template;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template já dividido em segmentos: trechos literais e variáveis.
+ *
+ * Sintaxe: {@code {{nome}}} insere o valor escapado para HTML e
+ * {@code {{{nome}}}} insere o valor sem escape (usado em assuntos, que são
+ * texto puro). Datas são formatadas como dd/MM/yyyy.
+ */
+public final class TemplateCompilado {
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final String nome;
+    private final Segmento[] segmentos;
+    private final int tamanhoLiterais;
+
+    private TemplateCompilado(String nome, Segmento[] segmentos) {
+        this.nome = nome;
+        this.segmentos = segmentos;
+        int tamanho = 0;
+        for (Segmento segmento : segmentos) {
+            if (segmento instanceof Literal literal) {
+                tamanho += literal.texto().length();
+            }
+        }
+        this.tamanhoLiterais = tamanho;
+    }
+
+    /**
+     * @throws IllegalArgumentException se houver uma variável sem fechamento ou sem nome
+     */
+    public static TemplateCompilado compilar(String nome, String fonte) {
+        List<Segmento> segmentos = new ArrayList<>();
+        int posicao = 0;
+        while (posicao < fonte.length()) {
+            int abertura = fonte.indexOf("{{", posicao);
+            if (abertura < 0) {
+                segmentos.add(new Literal(fonte.substring(posicao)));
+                break;
+            }
+            if (abertura > posicao) {
+                segmentos.add(new Literal(fonte.substring(posicao, abertura)));
+            }
+
+            boolean semEscape = fonte.startsWith("{{{", abertura);
+            String fechamento = semEscape ? "}}}" : "}}";
+            int inicioNome = abertura + (semEscape ? 3 : 2);
+            int fim = fonte.indexOf(fechamento, inicioNome);
+            if (fim < 0) {
+                throw new IllegalArgumentException("Variável sem fechamento no template " + nome + ", posição " + abertura);
+            }
+            String variavel = fonte.substring(inicioNome, fim).trim();
+            if (variavel.isEmpty()) {
+                throw new IllegalArgumentException("Variável sem nome no template " + nome + ", posição " + abertura);
+            }
+            segmentos.add(new Variavel(variavel, !semEscape));
+            posicao = fim + fechamento.length();
+        }
+        return new TemplateCompilado(nome, segmentos.toArray(Segmento[]::new));
+    }
+
+    /**
+     * Escreve o template no destino, substituindo as variáveis pelos valores informados.
+     * Valores nulos geram texto vazio.
+     *
+     * @throws IllegalArgumentException se uma variável do template não estiver entre os valores
+     */
+    public void renderizar(Map<String, ?> valores, StringBuilder destino) {
+        destino.ensureCapacity(destino.length() + tamanhoLiterais + 256);
+        for (Segmento segmento : segmentos) {
+            if (segmento instanceof Literal literal) {
+                destino.append(literal.texto());
+            } else {
+                Variavel variavel = (Variavel) segmento;
+                if (!valores.containsKey(variavel.nome())) {
+                    throw new IllegalArgumentException("Valor não informado para " + variavel.nome() + " no template " + nome);
+                }
+                escrever(valores.get(variavel.nome()), variavel.escapar(), destino);
+            }
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    private static void escrever(Object valor, boolean escapar, StringBuilder destino) {
+        if (valor == null) {
+            return;
+        }
+        if (valor instanceof LocalDate data) {
+            FORMATO_DATA.formatTo(data, destino);
+        } else if (valor instanceof Integer || valor instanceof Long) {
+            destino.append(valor);
+        } else {
+            CharSequence texto = valor instanceof CharSequence sequencia ? sequencia : valor.toString();
+            if (escapar) {
+                EscapadorHtml.escapar(texto, destino);
+            } else {
+                destino.append(texto);
+            }
+        }
+    }
+
+    private sealed interface Segmento permits Literal, Variavel {
+    }
+
+    private record Literal(String texto) implements Segmento {
+    }
+
+    private record Variavel(String nome, boolean escapar) implements Segmento {
+    }
+}
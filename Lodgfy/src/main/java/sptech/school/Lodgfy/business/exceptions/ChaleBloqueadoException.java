@@ -0,0 +1,7 @@
+package sptech.school.Lodgfy.business.exceptions;
+
+public class ChaleBloqueadoException extends RuntimeException {
+    public ChaleBloqueadoException() {
+        super("Outra reserva para este chalé está em processamento. Tente novamente em instantes");
+    }
+}
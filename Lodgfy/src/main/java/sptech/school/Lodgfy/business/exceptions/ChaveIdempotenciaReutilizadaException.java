@@ -0,0 +1,7 @@
+package sptech.school.Lodgfy.business.exceptions;
+
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+    public ChaveIdempotenciaReutilizadaException() {
+        super("A chave de idempotência já foi usada com outra requisição");
+    }
+}
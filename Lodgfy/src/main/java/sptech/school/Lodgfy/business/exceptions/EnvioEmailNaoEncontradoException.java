@@ -0,0 +1,7 @@
+package sptech.school.Lodgfy.business.exceptions;
+
+public class EnvioEmailNaoEncontradoException extends RuntimeException {
+    public EnvioEmailNaoEncontradoException() {
+        super("Envio de e-mail não encontrado");
+    }
+}
@@ -1,8 +1,10 @@
 package sptech.school.Lodgfy.business.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -44,6 +46,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND));
     }
 
+    @ExceptionHandler(EnvioEmailNaoEncontradoException.class)
+    public ResponseEntity<Map<String, Object>> handleEnvioEmailNaoEncontrado(EnvioEmailNaoEncontradoException ex) {
+        log.warn("Envio de e-mail não encontrado: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND));
+    }
+
     @ExceptionHandler(ChaleIndisponivelException.class)
     public ResponseEntity<Map<String, Object>> handleChaleIndisponivel(ChaleIndisponivelException ex) {
         log.warn("Chalé indisponível: {}", ex.getMessage());
@@ -68,6 +76,43 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT));
     }
 
+    @ExceptionHandler(ChaleBloqueadoException.class)
+    public ResponseEntity<Map<String, Object>> handleChaleBloqueado(ChaleBloqueadoException ex) {
+        log.warn("Chalé bloqueado: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT));
+    }
+
+    // Versão do chalé (@Version) alterada por outra requisição entre a leitura e a gravação
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleAlteracaoConcorrente(ObjectOptimisticLockingFailureException ex) {
+        log.warn("Alteração concorrente: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(createErrorResponse("O registro foi alterado por outra requisição; tente novamente", HttpStatus.CONFLICT));
+    }
+
+    @ExceptionHandler(ChaveIdempotenciaReutilizadaException.class)
+    public ResponseEntity<Map<String, Object>> handleChaveIdempotenciaReutilizada(ChaveIdempotenciaReutilizadaException ex) {
+        log.warn("Chave de idempotência reutilizada: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(createErrorResponse(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @ExceptionHandler(RequisicaoEmAndamentoException.class)
+    public ResponseEntity<Map<String, Object>> handleRequisicaoEmAndamento(RequisicaoEmAndamentoException ex) {
+        log.warn("Requisição idempotente em andamento: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT));
+    }
+
+    @ExceptionHandler(SenhasSobrecarregadasException.class)
+    public ResponseEntity<Map<String, Object>> handleSenhasSobrecarregadas(SenhasSobrecarregadasException ex) {
+        log.warn("Fila de hash de senhas cheia: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
         log.error("Argumento inválido: {}", ex.getMessage());
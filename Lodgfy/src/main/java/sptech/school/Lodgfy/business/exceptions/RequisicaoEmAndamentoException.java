@@ -0,0 +1,7 @@
+package sptech.school.Lodgfy.business.exceptions;
+
+public class RequisicaoEmAndamentoException extends RuntimeException {
+    public RequisicaoEmAndamentoException() {
+        super("Uma requisição com a mesma chave de idempotência ainda está em processamento. Tente novamente em instantes");
+    }
+}
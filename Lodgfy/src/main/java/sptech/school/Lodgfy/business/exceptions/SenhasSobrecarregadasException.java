@@ -0,0 +1,7 @@
+package sptech.school.Lodgfy.business.exceptions;
+
+public class SenhasSobrecarregadasException extends RuntimeException {
+    public SenhasSobrecarregadasException() {
+        super("Muitos logins e cadastros em andamento. Tente novamente em instantes");
+    }
+}
@@ -0,0 +1,51 @@
+package sptech.school.Lodgfy.business.idempotencia;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Onde ficam as chaves de idempotência e as respostas já enviadas.
+ *
+ * A implementação padrão ({@link ArmazemIdempotenciaMemoria}) vale só para a
+ * instância e se perde ao reiniciar. Com {@code lodgfy.idempotencia.armazenamento=banco}
+ * ({@link ArmazemIdempotenciaBanco}) as chaves são compartilhadas entre instâncias.
+ */
+public interface ArmazemIdempotencia {
+
+    /**
+     * Registra a chave como em andamento até {@code expiraEm}, o prazo da execução:
+     * se a instância cair antes de concluir, a chave volta a poder ser reservada.
+     *
+     * @return false se a chave já existe (em andamento ou concluída) e ainda não expirou
+     */
+    boolean reservar(String chave, String impressao, LocalDateTime expiraEm);
+
+    /**
+     * Registro da chave, se existir e não tiver expirado.
+     */
+    Optional<Registro> buscar(String chave);
+
+    /**
+     * Guarda a resposta da execução, que passa a ser devolvida às repetições até {@code expiraEm}.
+     */
+    void concluir(String chave, Resposta resposta, LocalDateTime expiraEm);
+
+    /**
+     * Remove a chave de uma execução que falhou, para que a próxima tentativa execute de novo.
+     */
+    void liberar(String chave);
+
+    /**
+     * @param impressao hash da operação e do corpo da requisição original
+     * @param resposta  null enquanto a execução está em andamento
+     */
+    record Registro(String impressao, Resposta resposta, LocalDateTime expiraEm) {
+    }
+
+    /**
+     * Resposta HTTP serializada: status, cabeçalhos e corpo em JSON.
+     */
+    record Resposta(int status, Map<String, String> cabecalhos, String corpo) {
+    }
+}
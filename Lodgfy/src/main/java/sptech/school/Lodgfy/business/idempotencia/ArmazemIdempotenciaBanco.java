@@ -0,0 +1,103 @@
+package sptech.school.Lodgfy.business.idempotencia;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Armazenamento na tabela idempotencia_respostas, compartilhado entre as
+ * instâncias da aplicação. A chave primária decide qual instância executa
+ * uma requisição repetida; as demais esperam a resposta gravada.
+ *
+ * Cada comando é confirmado sozinho (JDBC fora de transação): a reserva da
+ * chave fica visível para as outras instâncias antes da execução começar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "lodgfy.idempotencia.armazenamento", havingValue = "banco")
+public class ArmazemIdempotenciaBanco implements ArmazemIdempotencia {
+
+    private static final TypeReference<Map<String, String>> TIPO_CABECALHOS = new TypeReference<>() {
+    };
+
+    private static final String APAGAR_EXPIRADA =
+            "DELETE FROM idempotencia_respostas WHERE chave = ? AND expira_em <= ?";
+    private static final String INSERIR =
+            "INSERT INTO idempotencia_respostas (chave, impressao, criada_em, expira_em) VALUES (?, ?, ?, ?)";
+    private static final String BUSCAR = "SELECT impressao, status_http, cabecalhos, corpo, expira_em " +
+            "FROM idempotencia_respostas WHERE chave = ? AND expira_em > ?";
+    private static final String CONCLUIR =
+            "UPDATE idempotencia_respostas SET status_http = ?, cabecalhos = ?, corpo = ?, expira_em = ? WHERE chave = ?";
+    private static final String APAGAR = "DELETE FROM idempotencia_respostas WHERE chave = ?";
+    private static final String APAGAR_EXPIRADAS = "DELETE FROM idempotencia_respostas WHERE expira_em <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean reservar(String chave, String impressao, LocalDateTime expiraEm) {
+        LocalDateTime agora = LocalDateTime.now();
+        jdbcTemplate.update(APAGAR_EXPIRADA, chave, agora);
+        try {
+            jdbcTemplate.update(INSERIR, chave, impressao, agora, expiraEm);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<Registro> buscar(String chave) {
+        return jdbcTemplate.query(BUSCAR, (linha, numero) -> {
+            String corpo = linha.getString("corpo");
+            Resposta resposta = linha.getObject("status_http") == null ? null : new Resposta(
+                    linha.getInt("status_http"), lerCabecalhos(linha.getString("cabecalhos")), corpo);
+            return new Registro(linha.getString("impressao"), resposta,
+                    linha.getObject("expira_em", LocalDateTime.class));
+        }, chave, LocalDateTime.now()).stream().findFirst();
+    }
+
+    @Override
+    public void concluir(String chave, Resposta resposta, LocalDateTime expiraEm) {
+        try {
+            jdbcTemplate.update(CONCLUIR, resposta.status(),
+                    objectMapper.writeValueAsString(resposta.cabecalhos()), resposta.corpo(), expiraEm, chave);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void liberar(String chave) {
+        jdbcTemplate.update(APAGAR, chave);
+    }
+
+    @Scheduled(fixedDelayString = "${lodgfy.idempotencia.banco.intervalo-limpeza-ms:600000}")
+    public void limparExpiradas() {
+        int apagadas = jdbcTemplate.update(APAGAR_EXPIRADAS, LocalDateTime.now());
+        if (apagadas > 0) {
+            log.debug("Chaves de idempotência expiradas removidas: {}", apagadas);
+        }
+    }
+
+    private Map<String, String> lerCabecalhos(String json) {
+        try {
+            return json == null ? Map.of() : objectMapper.readValue(json, TIPO_CABECALHOS);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
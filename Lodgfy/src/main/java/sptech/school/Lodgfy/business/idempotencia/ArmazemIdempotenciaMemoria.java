@@ -0,0 +1,71 @@
+package sptech.school.Lodgfy.business.idempotencia;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Armazenamento padrão: cache Caffeine em que cada chave expira no horário do
+ * próprio registro. Acima do limite de entradas as mais antigas são descartadas,
+ * e uma repetição delas volta a executar.
+ */
+@Component
+@ConditionalOnProperty(name = "lodgfy.idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+public class ArmazemIdempotenciaMemoria implements ArmazemIdempotencia {
+
+    private final Cache<String, Registro> registros;
+
+    public ArmazemIdempotenciaMemoria(@Value("${lodgfy.idempotencia.memoria.maximo-entradas:100000}") long maximoEntradas) {
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfter(new Expiry<String, Registro>() {
+                    @Override
+                    public long expireAfterCreate(String chave, Registro registro, long agora) {
+                        return restante(registro);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, Registro registro, long agora, long duracaoAtual) {
+                        return restante(registro);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, Registro registro, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean reservar(String chave, String impressao, LocalDateTime expiraEm) {
+        return registros.asMap().putIfAbsent(chave, new Registro(impressao, null, expiraEm)) == null;
+    }
+
+    @Override
+    public Optional<Registro> buscar(String chave) {
+        return Optional.ofNullable(registros.getIfPresent(chave));
+    }
+
+    @Override
+    public void concluir(String chave, Resposta resposta, LocalDateTime expiraEm) {
+        registros.asMap().computeIfPresent(chave,
+                (id, registro) -> new Registro(registro.impressao(), resposta, expiraEm));
+    }
+
+    @Override
+    public void liberar(String chave) {
+        registros.invalidate(chave);
+    }
+
+    private static long restante(Registro registro) {
+        return Math.max(0, Duration.between(LocalDateTime.now(), registro.expiraEm()).toNanos());
+    }
+}
@@ -0,0 +1,287 @@
+package sptech.school.Lodgfy.business.idempotencia;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import sptech.school.Lodgfy.business.exceptions.ChaveIdempotenciaReutilizadaException;
+import sptech.school.Lodgfy.business.exceptions.RequisicaoEmAndamentoException;
+import sptech.school.Lodgfy.business.idempotencia.ArmazemIdempotencia.Registro;
+import sptech.school.Lodgfy.business.idempotencia.ArmazemIdempotencia.Resposta;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Chaves de idempotência (cabeçalho Idempotency-Key) para os POSTs que os
+ * clientes repetem quando a resposta não chega.
+ *
+ * A primeira requisição com a chave executa e tem a resposta guardada; as
+ * repetições com o mesmo corpo recebem essa resposta sem executar de novo, e
+ * com outro corpo são recusadas. Repetições simultâneas na mesma instância
+ * esperam a execução em andamento; em outra instância (armazenamento no banco)
+ * consultam o armazenamento até a resposta aparecer.
+ *
+ * A chave em andamento vale só pelo prazo da execução (prazo-execucao-ms): se a
+ * instância cair no meio dela, a próxima tentativa depois do prazo executa de
+ * novo, em vez de esperar a validade da resposta (validade-ms) terminar.
+ *
+ * Só respostas de sucesso são guardadas: se a execução lança exceção, a chave
+ * é liberada, quem estava esperando recebe a mesma exceção e a próxima
+ * tentativa executa de novo. Se a resposta não puder ser guardada, a chave
+ * também é liberada, em vez de ficar em andamento até expirar. As chaves valem
+ * por usuário.
+ */
+@Slf4j
+@Component
+public class Idempotencia {
+
+    public static final String CABECALHO_CHAVE = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final long INTERVALO_CONSULTA_MS = 100;
+
+    private final ArmazemIdempotencia armazem;
+    private final ObjectMapper objectMapper;
+    private final long validadeMs;
+    private final long esperaMs;
+    private final long prazoExecucaoMs;
+
+    // Execuções em andamento nesta instância, para que as repetições simultâneas esperem por elas
+    private final Map<String, Execucao> emAndamento = new ConcurrentHashMap<>();
+
+    private final AtomicLong executadas = new AtomicLong();
+    private final AtomicLong repetidas = new AtomicLong();
+    private final AtomicLong coalescidas = new AtomicLong();
+    private final AtomicLong recusadas = new AtomicLong();
+
+    public Idempotencia(ArmazemIdempotencia armazem,
+                        ObjectMapper objectMapper,
+                        @Value("${lodgfy.idempotencia.validade-ms:86400000}") long validadeMs,
+                        @Value("${lodgfy.idempotencia.espera-ms:30000}") long esperaMs,
+                        @Value("${lodgfy.idempotencia.prazo-execucao-ms:120000}") long prazoExecucaoMs) {
+        this.armazem = armazem;
+        this.objectMapper = objectMapper;
+        this.validadeMs = validadeMs;
+        this.esperaMs = esperaMs;
+        this.prazoExecucaoMs = prazoExecucaoMs;
+    }
+
+    /**
+     * Executa a ação uma única vez por chave, ou devolve a resposta da execução anterior.
+     *
+     * @param operacao   nome da operação, separa as chaves de endpoints diferentes
+     * @param chave      valor do cabeçalho Idempotency-Key; sem ele a ação é executada normalmente
+     * @param requisicao corpo da requisição, comparado entre as repetições
+     * @param tipoCorpo  tipo do corpo da resposta, para ler a resposta guardada
+     */
+    public <T> ResponseEntity<T> executar(String operacao, String chave, Object requisicao,
+                                          TypeReference<T> tipoCorpo, Supplier<ResponseEntity<T>> acao) {
+        if (chave == null) {
+            return acao.get();
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                    "O cabeçalho " + CABECALHO_CHAVE + " deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+        String chaveArmazenada = sha256(operacao + "\n" + usuarioAtual() + "\n" + chave);
+        String impressao = sha256(operacao + "\n" + json(requisicao));
+
+        Execucao execucao = new Execucao(impressao, new CompletableFuture<>());
+        Execucao anterior = emAndamento.putIfAbsent(chaveArmazenada, execucao);
+        if (anterior != null) {
+            verificarImpressao(anterior.impressao(), impressao);
+            coalescidas.incrementAndGet();
+            return repetir(aguardar(anterior.resposta()), tipoCorpo);
+        }
+
+        try {
+            long limite = System.currentTimeMillis() + esperaMs;
+            while (!armazem.reservar(chaveArmazenada, impressao, LocalDateTime.now().plus(Duration.ofMillis(prazoExecucaoMs)))) {
+                // Sem registro, a chave expirou ou a execução em outra instância falhou: tenta reservar de novo
+                Optional<Registro> registro = armazem.buscar(chaveArmazenada);
+                if (registro.isPresent()) {
+                    verificarImpressao(registro.get().impressao(), impressao);
+                    if (registro.get().resposta() != null) {
+                        execucao.resposta().complete(registro.get().resposta());
+                        repetidas.incrementAndGet();
+                        return repetir(registro.get().resposta(), tipoCorpo);
+                    }
+                }
+                if (System.currentTimeMillis() > limite) {
+                    throw new RequisicaoEmAndamentoException();
+                }
+                esperar();
+            }
+
+            ResponseEntity<T> resposta;
+            try {
+                resposta = acao.get();
+            } catch (RuntimeException e) {
+                armazem.liberar(chaveArmazenada);
+                throw e;
+            }
+            Resposta guardada = guardar(resposta);
+            if (resposta.getStatusCode().is2xxSuccessful()) {
+                concluir(chaveArmazenada, guardada);
+            } else {
+                armazem.liberar(chaveArmazenada);
+            }
+            execucao.resposta().complete(guardada);
+            executadas.incrementAndGet();
+            return resposta;
+        } catch (RuntimeException e) {
+            execucao.resposta().completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chaveArmazenada, execucao);
+        }
+    }
+
+    /**
+     * Guarda a resposta de uma execução que já aconteceu. Se o armazenamento
+     * falhar, a resposta segue para o cliente e a chave é liberada: sem isso ela
+     * ficaria em andamento até expirar e toda repetição terminaria em 409.
+     */
+    private void concluir(String chave, Resposta resposta) {
+        try {
+            armazem.concluir(chave, resposta, LocalDateTime.now().plus(Duration.ofMillis(validadeMs)));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível guardar a resposta da chave de idempotência; a chave foi liberada", e);
+            try {
+                armazem.liberar(chave);
+            } catch (RuntimeException erroAoLiberar) {
+                log.error("Não foi possível liberar a chave de idempotência; ela vale até expirar", erroAoLiberar);
+            }
+        }
+    }
+
+    private void verificarImpressao(String original, String impressao) {
+        if (!original.equals(impressao)) {
+            recusadas.incrementAndGet();
+            throw new ChaveIdempotenciaReutilizadaException();
+        }
+    }
+
+    private Resposta aguardar(CompletableFuture<Resposta> resposta) {
+        try {
+            return resposta.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RequisicaoEmAndamentoException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequisicaoEmAndamentoException();
+        }
+    }
+
+    private void esperar() {
+        try {
+            Thread.sleep(INTERVALO_CONSULTA_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequisicaoEmAndamentoException();
+        }
+    }
+
+    private Resposta guardar(ResponseEntity<?> resposta) {
+        Map<String, String> cabecalhos = new LinkedHashMap<>();
+        resposta.getHeaders().forEach((nome, valores) -> {
+            if (!valores.isEmpty()) {
+                cabecalhos.put(nome, valores.get(0));
+            }
+        });
+        return new Resposta(resposta.getStatusCode().value(), cabecalhos,
+                resposta.hasBody() ? json(resposta.getBody()) : null);
+    }
+
+    private <T> ResponseEntity<T> repetir(Resposta resposta, TypeReference<T> tipoCorpo) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        resposta.cabecalhos().forEach(cabecalhos::set);
+        cabecalhos.set(CABECALHO_REPETIDA, "true");
+        try {
+            T corpo = resposta.corpo() == null ? null : objectMapper.readValue(resposta.corpo(), tipoCorpo);
+            return ResponseEntity.status(resposta.status()).headers(cabecalhos).body(corpo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String usuarioAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || !autenticacao.isAuthenticated()
+                || autenticacao instanceof AnonymousAuthenticationToken) {
+            return "";
+        }
+        return autenticacao.getName();
+    }
+
+    private static String sha256(String valor) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(valor.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ======================== MÉTRICAS ========================
+
+    public EstatisticasIdempotencia getEstatisticas() {
+        return new EstatisticasIdempotencia(
+                executadas.get(),
+                repetidas.get(),
+                coalescidas.get(),
+                recusadas.get(),
+                emAndamento.size()
+        );
+    }
+
+    private record Execucao(String impressao, CompletableFuture<Resposta> resposta) {
+    }
+
+    /**
+     * @param repetidas   respostas devolvidas do armazenamento
+     * @param coalescidas repetições que esperaram uma execução em andamento nesta instância
+     * @param recusadas   chaves reutilizadas com outro corpo
+     */
+    public record EstatisticasIdempotencia(
+            long executadas,
+            long repetidas,
+            long coalescidas,
+            long recusadas,
+            int emAndamento
+    ) {
+    }
+}
@@ -0,0 +1,45 @@
+package sptech.school.Lodgfy.business.importacao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divisão de uma linha CSV (RFC 4180, sem campos com quebra de linha):
+ * separador vírgula, aspas duplas em volta de campos e "" para aspas dentro deles.
+ */
+final class FormatoCsv {
+
+    private FormatoCsv() {
+    }
+
+    static List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+}
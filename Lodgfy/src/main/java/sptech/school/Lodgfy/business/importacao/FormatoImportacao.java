@@ -0,0 +1,24 @@
+package sptech.school.Lodgfy.business.importacao;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceitos pela importação de reservas, ambos lidos linha a linha.
+ */
+public enum FormatoImportacao {
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static FormatoImportacao doTipo(String contentType) {
+        MediaType tipo = MediaType.parseMediaType(contentType);
+        if (tipo.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        if (tipo.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Formato de importação não suportado: " + contentType);
+    }
+}
@@ -0,0 +1,353 @@
+package sptech.school.Lodgfy.business.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao;
+import sptech.school.Lodgfy.business.concorrencia.BloqueioPorChale;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.NoitesReservadas;
+import sptech.school.Lodgfy.business.dto.ErroImportacaoDTO;
+import sptech.school.Lodgfy.business.dto.RelatorioImportacaoDTO;
+import sptech.school.Lodgfy.business.dto.ReservaImportacaoDTO;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.business.exceptions.ChaleBloqueadoException;
+import sptech.school.Lodgfy.business.exceptions.ReservaConflitanteException;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository.PeriodoReserva;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de reservas (por exemplo, o histórico de uma nova propriedade).
+ *
+ * O arquivo é lido em fluxo e processado em lotes, cada um em sua própria
+ * transação: os hóspedes e chalés referenciados são buscados de uma vez, os
+ * chalés do lote são bloqueados em ordem (em memória e no banco), os conflitos
+ * são verificados em memória contra as reservas do banco e as linhas anteriores
+ * do arquivo, e as reservas aceitas são gravadas com um único batch JDBC.
+ *
+ * Reservas históricas são aceitas: não se aplicam a regra de check-in no passado
+ * nem a exigência de chalé DISPONIVEL da criação de reservas pela API.
+ */
+@Slf4j
+@Component
+public class ImportadorReservas {
+
+    private static final Set<StatusReserva> STATUS_OCUPANTES = EnumSet.of(StatusReserva.PENDENTE, StatusReserva.CONFIRMADA);
+
+    private static final String INSERT_RESERVA = "INSERT INTO reservas " +
+            "(data_check_in, data_check_out, valor_total, status_reserva, hospede_id, chale_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final ReservaRepository reservaRepository;
+    private final HospedeRepository hospedeRepository;
+    private final ChaleRepository chaleRepository;
+    private final BloqueioPorChale bloqueioPorChale;
+    private final IndiceDisponibilidade indiceDisponibilidade;
+    private final RollupOcupacao rollupOcupacao;
+    private final NoitesReservadas noitesReservadas;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int tamanhoLote;
+    private final int maximoErros;
+
+    public ImportadorReservas(ReservaRepository reservaRepository,
+                              HospedeRepository hospedeRepository,
+                              ChaleRepository chaleRepository,
+                              BloqueioPorChale bloqueioPorChale,
+                              IndiceDisponibilidade indiceDisponibilidade,
+                              RollupOcupacao rollupOcupacao,
+                              NoitesReservadas noitesReservadas,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${lodgfy.reservas.importacao.tamanho-lote:500}") int tamanhoLote,
+                              @Value("${lodgfy.reservas.importacao.maximo-erros:1000}") int maximoErros) {
+        this.reservaRepository = reservaRepository;
+        this.hospedeRepository = hospedeRepository;
+        this.chaleRepository = chaleRepository;
+        this.bloqueioPorChale = bloqueioPorChale;
+        this.indiceDisponibilidade = indiceDisponibilidade;
+        this.rollupOcupacao = rollupOcupacao;
+        this.noitesReservadas = noitesReservadas;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoErros = maximoErros;
+    }
+
+    /**
+     * Importa as reservas do arquivo. Lotes já gravados permanecem mesmo que um
+     * lote posterior falhe; as linhas de um lote que falhou constam nos erros. Um
+     * lote que encontra uma noite já ocupada é gravado de novo linha a linha.
+     *
+     * @throws IllegalArgumentException se o cabeçalho do CSV não tiver as colunas obrigatórias
+     */
+    public RelatorioImportacaoDTO importar(InputStream entrada, FormatoImportacao formato) {
+        long inicio = System.currentTimeMillis();
+        Relatorio relatorio = new Relatorio(maximoErros);
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            LeitorReservas leitorReservas = new LeitorReservas(leitor, formato, objectMapper);
+            List<LeitorReservas.Linha> lote = new ArrayList<>(tamanhoLote);
+            LeitorReservas.Linha linha;
+            while ((linha = leitorReservas.proxima()) != null) {
+                relatorio.linhas++;
+                if (linha.erro() != null) {
+                    relatorio.rejeitar(linha.numero(), linha.erro());
+                    continue;
+                }
+                lote.add(linha);
+                if (lote.size() == tamanhoLote) {
+                    importarLote(lote, relatorio);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                importarLote(lote, relatorio);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Importação de reservas ({}): {} linhas, {} importadas, {} rejeitadas em {} ms", formato,
+                relatorio.linhas, relatorio.importadas, relatorio.rejeitadas, System.currentTimeMillis() - inicio);
+        return relatorio.paraDTO();
+    }
+
+    private void importarLote(List<LeitorReservas.Linha> lote, Relatorio relatorio) {
+        Map<Long, String> errosLote = new LinkedHashMap<>();
+        int gravadas;
+        try {
+            gravadas = transactionTemplate.execute(status -> gravarLote(lote, errosLote));
+        } catch (ReservaConflitanteException e) {
+            // Noite ocupada por uma reserva que a verificação do lote não viu (gravada em paralelo):
+            // o lote volta atrás e as linhas são gravadas uma a uma, rejeitando só as que conflitam
+            if (lote.size() == 1) {
+                relatorio.rejeitar(lote.get(0).numero(),
+                        "Conflito com outra reserva do chalé " + lote.get(0).reserva().getChaleId() + " no período");
+                return;
+            }
+            log.warn("Lote de importação com noite já ocupada (linhas {} a {}): gravando linha a linha",
+                    lote.get(0).numero(), lote.get(lote.size() - 1).numero());
+            lote.forEach(linha -> importarLote(List.of(linha), relatorio));
+            return;
+        } catch (DataAccessException | ChaleBloqueadoException e) {
+            log.error("Lote de importação não gravado (linhas {} a {}): {}",
+                    lote.get(0).numero(), lote.get(lote.size() - 1).numero(), e.getMessage());
+            lote.forEach(linha -> relatorio.rejeitar(linha.numero(), "Lote não gravado: " + e.getMessage()));
+            return;
+        }
+        relatorio.importadas += gravadas;
+        errosLote.forEach(relatorio::rejeitar);
+    }
+
+    private int gravarLote(List<LeitorReservas.Linha> lote, Map<Long, String> erros) {
+        List<LeitorReservas.Linha> validas = new ArrayList<>(lote.size());
+        for (LeitorReservas.Linha linha : lote) {
+            String erro = validar(linha.reserva());
+            if (erro != null) {
+                erros.put(linha.numero(), erro);
+            } else {
+                validas.add(linha);
+            }
+        }
+        if (validas.isEmpty()) {
+            return 0;
+        }
+
+        // Chalés em ordem: em memória por faixa e no banco por id (SELECT ... FOR UPDATE ORDER BY)
+        Set<Long> idsChales = new TreeSet<>();
+        Set<Long> idsHospedes = new HashSet<>();
+        for (LeitorReservas.Linha linha : validas) {
+            idsChales.add(linha.reserva().getChaleId());
+            idsHospedes.add(linha.reserva().getHospedeId());
+        }
+        bloqueioPorChale.bloquearTodosAteFimDaTransacao(idsChales);
+        Map<Long, ChaleEntity> chales = chaleRepository.findAllByIdComBloqueio(idsChales).stream()
+                .collect(Collectors.toMap(ChaleEntity::getIdChale, Function.identity()));
+        Set<Long> hospedes = hospedeRepository.buscarIdsExistentes(idsHospedes);
+        Map<Long, PeriodosOcupados> ocupacao = carregarOcupacao(validas, chales.keySet());
+
+        List<ReservaImportacaoDTO> aceitas = new ArrayList<>(validas.size());
+        for (LeitorReservas.Linha linha : validas) {
+            ReservaImportacaoDTO reserva = linha.reserva();
+            ChaleEntity chale = chales.get(reserva.getChaleId());
+            if (chale == null) {
+                erros.put(linha.numero(), "Chalé não encontrado: " + reserva.getChaleId());
+                continue;
+            }
+            if (!hospedes.contains(reserva.getHospedeId())) {
+                erros.put(linha.numero(), "Hóspede não encontrado: " + reserva.getHospedeId());
+                continue;
+            }
+            if (reserva.getValorTotal() == null && chale.getValorDiaria() == null) {
+                erros.put(linha.numero(), "Chalé " + chale.getIdChale() + " sem valor de diária: informe o valorTotal");
+                continue;
+            }
+            if (reserva.getStatusReserva() == null) {
+                reserva.setStatusReserva(StatusReserva.PENDENTE);
+            }
+            if (STATUS_OCUPANTES.contains(reserva.getStatusReserva())) {
+                PeriodosOcupados periodos = ocupacao.computeIfAbsent(chale.getIdChale(), id -> new PeriodosOcupados());
+                if (periodos.conflita(reserva.getDataCheckIn(), reserva.getDataCheckOut())) {
+                    erros.put(linha.numero(), "Conflito com outra reserva do chalé " + chale.getIdChale() + " no período");
+                    continue;
+                }
+                periodos.adicionar(reserva.getDataCheckIn(), reserva.getDataCheckOut());
+            }
+            if (reserva.getValorTotal() == null) {
+                reserva.setValorTotal(chale.getValorDiaria().multiply(BigDecimal.valueOf(
+                        ChronoUnit.DAYS.between(reserva.getDataCheckIn(), reserva.getDataCheckOut()))));
+            }
+            aceitas.add(reserva);
+        }
+        if (aceitas.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = inserir(aceitas);
+        List<NoitesReservadas.Estadia> ocupantes = new ArrayList<>();
+        for (int i = 0; i < aceitas.size(); i++) {
+            ReservaImportacaoDTO reserva = aceitas.get(i);
+            if (STATUS_OCUPANTES.contains(reserva.getStatusReserva())) {
+                ocupantes.add(new NoitesReservadas.Estadia(ids.get(i), reserva.getChaleId(),
+                        reserva.getDataCheckIn(), reserva.getDataCheckOut()));
+            }
+        }
+        // Antes dos índices em memória: uma noite já ocupada desfaz o lote sem deixá-lo registrado neles
+        noitesReservadas.ocuparEstadias(ocupantes);
+        for (int i = 0; i < aceitas.size(); i++) {
+            ReservaImportacaoDTO reserva = aceitas.get(i);
+            indiceDisponibilidade.registrarReserva(ids.get(i), reserva.getChaleId(), reserva.getStatusReserva(),
+                    reserva.getDataCheckIn(), reserva.getDataCheckOut());
+            rollupOcupacao.registrarReserva(ids.get(i), reserva.getChaleId(), reserva.getStatusReserva(),
+                    reserva.getDataCheckIn(), reserva.getDataCheckOut(), reserva.getValorTotal());
+        }
+        return aceitas.size();
+    }
+
+    private static String validar(ReservaImportacaoDTO reserva) {
+        if (reserva.getHospedeId() == null || reserva.getChaleId() == null
+                || reserva.getDataCheckIn() == null || reserva.getDataCheckOut() == null) {
+            return "Campos obrigatórios: hospedeId, chaleId, dataCheckIn e dataCheckOut";
+        }
+        if (!reserva.getDataCheckIn().isBefore(reserva.getDataCheckOut())) {
+            return "Data de check-in deve ser anterior à data de check-out";
+        }
+        if (reserva.getValorTotal() != null && reserva.getValorTotal().signum() < 0) {
+            return "Valor total não pode ser negativo";
+        }
+        return null;
+    }
+
+    /**
+     * Reservas pendentes e confirmadas dos chalés do lote, numa única consulta
+     * que cobre do primeiro check-in ao último check-out das linhas.
+     */
+    private Map<Long, PeriodosOcupados> carregarOcupacao(List<LeitorReservas.Linha> linhas, Set<Long> idsChales) {
+        Map<Long, PeriodosOcupados> ocupacao = new HashMap<>();
+        LocalDate inicio = null;
+        LocalDate fim = null;
+        for (LeitorReservas.Linha linha : linhas) {
+            ReservaImportacaoDTO reserva = linha.reserva();
+            if (reserva.getStatusReserva() != null && !STATUS_OCUPANTES.contains(reserva.getStatusReserva())) {
+                continue;
+            }
+            inicio = inicio == null || reserva.getDataCheckIn().isBefore(inicio) ? reserva.getDataCheckIn() : inicio;
+            fim = fim == null || reserva.getDataCheckOut().isAfter(fim) ? reserva.getDataCheckOut() : fim;
+        }
+        if (inicio == null || idsChales.isEmpty()) {
+            return ocupacao;
+        }
+
+        for (PeriodoReserva periodo : reservaRepository.buscarPeriodosOcupados(idsChales, inicio, fim)) {
+            ocupacao.computeIfAbsent(periodo.getChaleId(), id -> new PeriodosOcupados())
+                    .adicionar(periodo.getDataCheckIn(), periodo.getDataCheckOut());
+        }
+        return ocupacao;
+    }
+
+    /**
+     * Grava as reservas com um batch JDBC na conexão da transação corrente. O
+     * Hibernate não agrupa inserts com id IDENTITY; aqui as chaves geradas vêm
+     * todas ao final do batch.
+     */
+    private List<Long> inserir(List<ReservaImportacaoDTO> reservas) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) conexao -> {
+            try (PreparedStatement insert = conexao.prepareStatement(INSERT_RESERVA, new String[]{"id_reserva"})) {
+                for (ReservaImportacaoDTO reserva : reservas) {
+                    insert.setObject(1, reserva.getDataCheckIn());
+                    insert.setObject(2, reserva.getDataCheckOut());
+                    insert.setBigDecimal(3, reserva.getValorTotal());
+                    insert.setString(4, reserva.getStatusReserva().name());
+                    insert.setLong(5, reserva.getHospedeId());
+                    insert.setLong(6, reserva.getChaleId());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+
+                List<Long> ids = new ArrayList<>(reservas.size());
+                try (ResultSet chaves = insert.getGeneratedKeys()) {
+                    while (chaves.next()) {
+                        ids.add(chaves.getLong(1));
+                    }
+                }
+                if (ids.size() != reservas.size()) {
+                    throw new IllegalStateException("O banco retornou " + ids.size() + " chaves para "
+                            + reservas.size() + " reservas inseridas");
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static final class Relatorio {
+
+        private final int maximoErros;
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private long linhas;
+        private long importadas;
+        private long rejeitadas;
+
+        private Relatorio(int maximoErros) {
+            this.maximoErros = maximoErros;
+        }
+
+        private void rejeitar(long linha, String mensagem) {
+            rejeitadas++;
+            if (erros.size() < maximoErros) {
+                erros.add(new ErroImportacaoDTO(linha, mensagem));
+            }
+        }
+
+        private RelatorioImportacaoDTO paraDTO() {
+            erros.sort(Comparator.comparingLong(ErroImportacaoDTO::getLinha));
+            return new RelatorioImportacaoDTO(linhas, importadas, rejeitadas, erros);
+        }
+    }
+}
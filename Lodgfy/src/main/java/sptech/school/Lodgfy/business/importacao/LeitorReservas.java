@@ -0,0 +1,141 @@
+package sptech.school.Lodgfy.business.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import sptech.school.Lodgfy.business.dto.ReservaImportacaoDTO;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Lê um arquivo de reservas uma linha por vez, sem carregá-lo inteiro.
+ *
+ * No CSV a primeira linha é o cabeçalho, com as colunas em qualquer ordem; no
+ * NDJSON cada linha é um objeto. Linhas em branco são ignoradas e uma linha
+ * ilegível, ou no NDJSON que não seja um objeto, vira um erro daquela linha,
+ * sem interromper a leitura.
+ */
+class LeitorReservas {
+
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("hospedeId", "chaleId", "dataCheckIn", "dataCheckOut");
+
+    record Linha(long numero, ReservaImportacaoDTO reserva, String erro) {
+    }
+
+    private final BufferedReader leitor;
+    private final FormatoImportacao formato;
+    private final ObjectReader leitorJson;
+
+    private Map<String, Integer> colunas;
+    private int quantidadeColunas;
+    private long numero;
+
+    LeitorReservas(BufferedReader leitor, FormatoImportacao formato, ObjectMapper objectMapper) {
+        this.leitor = leitor;
+        this.formato = formato;
+        this.leitorJson = objectMapper.readerFor(ReservaImportacaoDTO.class);
+    }
+
+    /**
+     * @return a próxima linha de dados, ou null no fim do arquivo
+     * @throws IllegalArgumentException se o cabeçalho do CSV não tiver as colunas obrigatórias
+     */
+    Linha proxima() throws IOException {
+        String texto;
+        while ((texto = leitor.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            if (formato == FormatoImportacao.NDJSON) {
+                return lerJson(texto);
+            }
+            if (colunas == null) {
+                lerCabecalho(texto);
+                continue;
+            }
+            return lerCsv(texto);
+        }
+        return null;
+    }
+
+    private Linha lerJson(String texto) {
+        // null, listas e valores soltos são JSON válido, mas não uma reserva
+        String conteudo = texto.strip();
+        if (conteudo.equals("null")) {
+            return new Linha(numero, null, "Linha nula: esperado um objeto de reserva");
+        }
+        if (!conteudo.startsWith("{")) {
+            return new Linha(numero, null, "JSON inválido: esperado um objeto de reserva");
+        }
+        try {
+            return new Linha(numero, leitorJson.readValue(conteudo), null);
+        } catch (JsonProcessingException e) {
+            return new Linha(numero, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private void lerCabecalho(String texto) {
+        colunas = new HashMap<>();
+        List<String> nomes = FormatoCsv.dividir(texto.replace("\uFEFF", ""));
+        quantidadeColunas = nomes.size();
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i), i);
+        }
+        List<String> ausentes = COLUNAS_OBRIGATORIAS.stream().filter(nome -> !colunas.containsKey(nome)).toList();
+        if (!ausentes.isEmpty()) {
+            throw new IllegalArgumentException("Colunas obrigatórias ausentes no cabeçalho do CSV: " + ausentes);
+        }
+    }
+
+    private Linha lerCsv(String texto) {
+        List<String> campos;
+        try {
+            campos = FormatoCsv.dividir(texto);
+        } catch (IllegalArgumentException e) {
+            return new Linha(numero, null, "CSV inválido: " + e.getMessage());
+        }
+        if (campos.size() != quantidadeColunas) {
+            return new Linha(numero, null,
+                    "CSV inválido: " + campos.size() + " colunas, o cabeçalho tem " + quantidadeColunas);
+        }
+
+        ReservaImportacaoDTO reserva = new ReservaImportacaoDTO();
+        try {
+            reserva.setHospedeId(valor(campos, "hospedeId", Long::valueOf));
+            reserva.setChaleId(valor(campos, "chaleId", Long::valueOf));
+            reserva.setDataCheckIn(valor(campos, "dataCheckIn", LocalDate::parse));
+            reserva.setDataCheckOut(valor(campos, "dataCheckOut", LocalDate::parse));
+            reserva.setStatusReserva(valor(campos, "statusReserva", StatusReserva::valueOf));
+            reserva.setValorTotal(valor(campos, "valorTotal", BigDecimal::new));
+        } catch (ValorInvalidoException e) {
+            return new Linha(numero, null, e.getMessage());
+        }
+        return new Linha(numero, reserva, null);
+    }
+
+    private <T> T valor(List<String> campos, String coluna, Function<String, T> conversor) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || campos.get(indice).isEmpty()) {
+            return null;
+        }
+        String texto = campos.get(indice);
+        try {
+            return conversor.apply(texto);
+        } catch (RuntimeException e) {
+            throw new ValorInvalidoException("Valor inválido na coluna " + coluna + ": '" + texto + "'");
+        }
+    }
+
+    private static class ValorInvalidoException extends RuntimeException {
+        ValorInvalidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
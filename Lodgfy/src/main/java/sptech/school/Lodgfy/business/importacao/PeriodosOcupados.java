@@ -0,0 +1,44 @@
+package sptech.school.Lodgfy.business.importacao;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Períodos ocupados de um chalé durante a importação, com a mesma regra de
+ * conflito do ReservaRepository.findReservasConflitantes (datas inclusivas).
+ *
+ * Períodos que se sobrepõem são unidos ao entrar, de modo que o mapa fica
+ * ordenado e sem sobreposição: basta olhar o período que começa por último
+ * até o check-out consultado.
+ */
+class PeriodosOcupados {
+
+    // Check-in -> check-out
+    private final TreeMap<LocalDate, LocalDate> periodos = new TreeMap<>();
+
+    boolean conflita(LocalDate checkIn, LocalDate checkOut) {
+        Map.Entry<LocalDate, LocalDate> anterior = periodos.floorEntry(checkOut);
+        return anterior != null && !anterior.getValue().isBefore(checkIn);
+    }
+
+    void adicionar(LocalDate checkIn, LocalDate checkOut) {
+        LocalDate inicio = checkIn;
+        LocalDate fim = checkOut;
+        Map.Entry<LocalDate, LocalDate> sobreposto;
+        while ((sobreposto = periodos.floorEntry(fim)) != null && !sobreposto.getValue().isBefore(inicio)) {
+            periodos.remove(sobreposto.getKey());
+            inicio = min(inicio, sobreposto.getKey());
+            fim = max(fim, sobreposto.getValue());
+        }
+        periodos.put(inicio, fim);
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
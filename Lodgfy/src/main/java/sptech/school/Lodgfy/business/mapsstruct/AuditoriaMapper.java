@@ -0,0 +1,11 @@
+package sptech.school.Lodgfy.business.mapsstruct;
+
+import org.mapstruct.Mapper;
+import sptech.school.Lodgfy.business.dto.AuditoriaResponseDTO;
+import sptech.school.Lodgfy.infrastructure.entities.AuditoriaEntity;
+
+@Mapper(componentModel = "spring")
+public interface AuditoriaMapper {
+
+    AuditoriaResponseDTO paraAuditoriaResponseDTO(AuditoriaEntity entity);
+}
@@ -1,6 +1,7 @@
 package sptech.school.Lodgfy.business.mapsstruct;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
 import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
 import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
@@ -10,6 +11,8 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface ChaleMapper {
 
+    @Mapping(target = "idChale", ignore = true)
+    @Mapping(target = "versao", ignore = true)
     ChaleEntity paraChaleEntity(ChaleRequestDTO dto);
 
     ChaleResponseDTO paraChaleResponseDTO(ChaleEntity entity);
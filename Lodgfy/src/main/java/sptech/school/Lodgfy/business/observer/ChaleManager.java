@@ -1,23 +1,90 @@
 package sptech.school.Lodgfy.business.observer;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * ChaleManager (Subject) - Gerencia observers e notifica mudanças nos chalés.
  * Utiliza CopyOnWriteArrayList para thread-safety.
+ *
+ * No modo ASSINCRONO cada observer recebe os eventos por uma fila limitada própria,
+ * consumida por uma virtual thread dedicada, em lotes e na ordem de publicação
+ * (o que garante a ordem por chalé). Observers que exigem entrega síncrona
+ * continuam sendo notificados na thread de quem publicou.
+ *
+ * O tempo de cada entrega é medido por observer (lodgfy.observer.entrega), e as
+ * filas assíncronas expõem tamanho e contadores de eventos como métricas.
  */
 @Slf4j
 @Component
 public class ChaleManager {
 
+    public enum ModoDespacho {
+        SINCRONO,
+        ASSINCRONO
+    }
+
+    /**
+     * O que fazer quando a fila de um observer está cheia.
+     */
+    public enum PoliticaFilaCheia {
+        BLOQUEAR,
+        DESCARTAR,
+        EXECUTAR_NO_CHAMADOR
+    }
+
     // Lista thread-safe de observers
     private final List<ChaleObserver> observers = new CopyOnWriteArrayList<>();
 
+    // Despachantes dos observers assíncronos
+    private final Map<ChaleObserver, DespachoObserver> despachos = new ConcurrentHashMap<>();
+
+    // Tempo das entregas feitas na thread de quem publicou
+    private final Map<ChaleObserver, Timer> temposSincronos = new ConcurrentHashMap<>();
+
+    private final ModoDespacho modo;
+    private final int capacidadeFila;
+    private final int tamanhoLote;
+    private final PoliticaFilaCheia politicaFilaCheia;
+    private final long timeoutEncerramentoMs;
+    private final MeterRegistry meterRegistry;
+
+    public ChaleManager(@Value("${lodgfy.observers.modo:ASSINCRONO}") ModoDespacho modo,
+                        @Value("${lodgfy.observers.capacidade-fila:1000}") int capacidadeFila,
+                        @Value("${lodgfy.observers.tamanho-lote:50}") int tamanhoLote,
+                        @Value("${lodgfy.observers.politica-fila-cheia:BLOQUEAR}") PoliticaFilaCheia politicaFilaCheia,
+                        @Value("${lodgfy.observers.timeout-encerramento-ms:10000}") long timeoutEncerramentoMs,
+                        MeterRegistry meterRegistry) {
+        this.modo = modo;
+        this.capacidadeFila = capacidadeFila;
+        this.tamanhoLote = tamanhoLote;
+        this.politicaFilaCheia = politicaFilaCheia;
+        this.timeoutEncerramentoMs = timeoutEncerramentoMs;
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Registra um observer para receber notificações de mudanças.
      *
@@ -25,18 +92,31 @@ public class ChaleManager {
      */
     public void registrar(ChaleObserver observer) {
         if (observer != null && !observers.contains(observer)) {
+            if (modo == ModoDespacho.ASSINCRONO && !observer.exigeEntregaSincrona()) {
+                DespachoObserver despacho = new DespachoObserver(observer);
+                despachos.put(observer, despacho);
+                despacho.iniciar();
+            }
+            temposSincronos.put(observer, tempoEntrega(observer.getClass().getSimpleName(), "sincrono"));
             observers.add(observer);
-            log.info("Observer registrado: {}", observer.getClass().getSimpleName());
+            log.info("Observer registrado: {} ({})", observer.getClass().getSimpleName(),
+                    despachos.containsKey(observer) ? "assíncrono" : "síncrono");
         }
     }
 
     /**
      * Remove um observer da lista de notificações.
+     * Eventos já enfileirados para ele são entregues antes da remoção.
      *
      * @param observer O observer a ser removido
      */
     public void remover(ChaleObserver observer) {
         if (observers.remove(observer)) {
+            temposSincronos.remove(observer);
+            DespachoObserver despacho = despachos.remove(observer);
+            if (despacho != null) {
+                despacho.encerrar();
+            }
             log.info("Observer removido: {}", observer.getClass().getSimpleName());
         }
     }
@@ -51,16 +131,44 @@ public class ChaleManager {
         log.debug("Notificando {} observers sobre evento {} para chalé ID: {}",
                   observers.size(), eventoTipo, chale.getIdChale());
 
+        EventoChale evento = null;
         for (ChaleObserver observer : observers) {
-            try {
-                observer.onChaleChanged(chale, eventoTipo);
-            } catch (Exception e) {
-                log.error("Erro ao notificar observer {}: {}",
-                         observer.getClass().getSimpleName(), e.getMessage(), e);
+            DespachoObserver despacho = despachos.get(observer);
+            if (despacho != null) {
+                // Observers assíncronos recebem uma cópia: a entidade pode mudar depois da notificação
+                if (evento == null) {
+                    evento = new EventoChale(chale.copiar(), eventoTipo, LocalDateTime.now());
+                }
+                if (despacho.publicar(evento)) {
+                    continue;
+                }
+            }
+            entregarSincrono(observer, chale, eventoTipo);
+        }
+    }
+
+    private void entregarSincrono(ChaleObserver observer, ChaleEntity chale, ChaleObserver.ChaleEventType eventoTipo) {
+        long inicio = System.nanoTime();
+        try {
+            observer.onChaleChanged(chale, eventoTipo);
+        } catch (Exception e) {
+            log.error("Erro ao notificar observer {}: {}",
+                     observer.getClass().getSimpleName(), e.getMessage(), e);
+        } finally {
+            Timer tempo = temposSincronos.get(observer);
+            if (tempo != null) {
+                tempo.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
             }
         }
     }
 
+    private Timer tempoEntrega(String observer, String tipoEntrega) {
+        return Timer.builder("lodgfy.observer.entrega")
+                .description("Tempo de entrega de eventos de chalé a um observer")
+                .tags("observer", observer, "entrega", tipoEntrega)
+                .register(meterRegistry);
+    }
+
     /**
      * Retorna o número de observers registrados.
      *
@@ -74,8 +182,248 @@ public class ChaleManager {
      * Remove todos os observers.
      */
     public void limparObservers() {
-        observers.clear();
+        for (ChaleObserver observer : observers) {
+            remover(observer);
+        }
         log.info("Todos os observers foram removidos");
     }
-}
 
+    /**
+     * Entrega os eventos pendentes e encerra as threads de despacho.
+     * Notificações posteriores são entregues de forma síncrona.
+     */
+    @PreDestroy
+    public void encerrar() {
+        for (DespachoObserver despacho : despachos.values()) {
+            despacho.encerrar();
+        }
+        despachos.clear();
+    }
+
+    public ModoDespacho getModo() {
+        return modo;
+    }
+
+    /**
+     * Estatísticas das filas dos observers assíncronos.
+     */
+    public List<EstatisticasDespacho> getEstatisticas() {
+        List<EstatisticasDespacho> estatisticas = new ArrayList<>();
+        despachos.values().forEach(despacho -> estatisticas.add(despacho.estatisticas()));
+        return estatisticas;
+    }
+
+    public record EstatisticasDespacho(
+            String observer,
+            int pendentes,
+            long entregues,
+            long descartados,
+            long executadosNoChamador
+    ) {
+    }
+
+    /**
+     * Fila limitada e consumidor dedicado de um observer.
+     *
+     * Toda retirada da fila acontece sob lockEntrega e a entrega termina antes de
+     * liberá-lo, tanto no consumidor quanto na política EXECUTAR_NO_CHAMADOR;
+     * assim os eventos chegam ao observer na ordem em que foram enfileirados.
+     */
+    private final class DespachoObserver {
+
+        private final ChaleObserver observer;
+        private final String nome;
+        private final ArrayDeque<EventoChale> fila = new ArrayDeque<>();
+        private final ReentrantLock lockFila = new ReentrantLock();
+        private final Condition naoVazia = lockFila.newCondition();
+        private final Condition naoCheia = lockFila.newCondition();
+        private final ReentrantLock lockEntrega = new ReentrantLock();
+        private final Thread consumidor;
+        private volatile boolean ativo = true;
+
+        private final AtomicLong entregues = new AtomicLong();
+        private final AtomicLong descartados = new AtomicLong();
+        private final AtomicLong executadosNoChamador = new AtomicLong();
+
+        private final Timer tempoLote;
+        private final List<Meter> metricas = new ArrayList<>();
+
+        DespachoObserver(ChaleObserver observer) {
+            this.observer = observer;
+            this.nome = observer.getClass().getSimpleName();
+            this.consumidor = Thread.ofVirtual().name("chale-observer-" + nome).unstarted(this::consumir);
+            this.tempoLote = tempoEntrega(nome, "assincrono");
+            registrarMetricas();
+        }
+
+        private void registrarMetricas() {
+            Tags tags = Tags.of("observer", nome);
+            metricas.add(Gauge.builder("lodgfy.observer.fila", this, despacho -> despacho.estatisticas().pendentes())
+                    .description("Eventos aguardando entrega ao observer")
+                    .tags(tags)
+                    .register(meterRegistry));
+            metricas.add(contador(tags.and("resultado", "entregue"), entregues));
+            metricas.add(contador(tags.and("resultado", "descartado"), descartados));
+            metricas.add(contador(tags.and("resultado", "executado_no_chamador"), executadosNoChamador));
+        }
+
+        private FunctionCounter contador(Tags tags, AtomicLong valor) {
+            return FunctionCounter.builder("lodgfy.observer.eventos", valor, AtomicLong::get)
+                    .description("Eventos publicados para o observer assíncrono, por resultado")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+
+        void iniciar() {
+            consumidor.start();
+        }
+
+        /**
+         * @return false se o despacho já foi encerrado e o evento deve ser entregue pelo chamador
+         */
+        boolean publicar(EventoChale evento) {
+            lockFila.lock();
+            try {
+                if (!ativo) {
+                    return false;
+                }
+                if (fila.size() >= capacidadeFila) {
+                    if (politicaFilaCheia == PoliticaFilaCheia.DESCARTAR) {
+                        descartados.incrementAndGet();
+                        log.warn("Fila do observer {} cheia, evento {} do chalé {} descartado",
+                                nome, evento.tipo(), evento.chale().getIdChale());
+                        return true;
+                    }
+                    if (politicaFilaCheia == PoliticaFilaCheia.BLOQUEAR) {
+                        while (fila.size() >= capacidadeFila && ativo) {
+                            naoCheia.awaitUninterruptibly();
+                        }
+                        if (!ativo) {
+                            return false;
+                        }
+                    }
+                }
+                if (fila.size() < capacidadeFila) {
+                    fila.addLast(evento);
+                    naoVazia.signal();
+                    return true;
+                }
+            } finally {
+                lockFila.unlock();
+            }
+
+            // EXECUTAR_NO_CHAMADOR: entrega o que está na fila e o próprio evento. Com os dois
+            // locks (na mesma ordem do consumidor) a fila é conferida de novo: se abriu vaga
+            // enquanto lockFila esteve livre, o evento entra na fila atrás dos que chegaram antes;
+            // senão a fila é retirada e o evento vai no fim do lote sem soltar lockFila, de modo
+            // que nenhum evento publicado depois seja entregue antes dele
+            lockEntrega.lock();
+            try {
+                List<EventoChale> lote;
+                lockFila.lock();
+                try {
+                    if (!ativo) {
+                        return false;
+                    }
+                    if (fila.size() < capacidadeFila) {
+                        fila.addLast(evento);
+                        naoVazia.signal();
+                        return true;
+                    }
+                    lote = retirar(Integer.MAX_VALUE);
+                    lote.add(evento);
+                } finally {
+                    lockFila.unlock();
+                }
+                executadosNoChamador.incrementAndGet();
+                entregar(lote);
+            } finally {
+                lockEntrega.unlock();
+            }
+            return true;
+        }
+
+        private void consumir() {
+            while (true) {
+                lockFila.lock();
+                try {
+                    while (fila.isEmpty() && ativo) {
+                        naoVazia.awaitUninterruptibly();
+                    }
+                    if (fila.isEmpty()) {
+                        return;
+                    }
+                } finally {
+                    lockFila.unlock();
+                }
+
+                lockEntrega.lock();
+                try {
+                    List<EventoChale> lote = retirar(tamanhoLote);
+                    if (!lote.isEmpty()) {
+                        entregar(lote);
+                    }
+                } finally {
+                    lockEntrega.unlock();
+                }
+            }
+        }
+
+        private List<EventoChale> retirar(int maximo) {
+            lockFila.lock();
+            try {
+                List<EventoChale> lote = new ArrayList<>(Math.min(fila.size() + 1, tamanhoLote + 1));
+                while (!fila.isEmpty() && lote.size() < maximo) {
+                    lote.add(fila.pollFirst());
+                }
+                naoCheia.signalAll();
+                return lote;
+            } finally {
+                lockFila.unlock();
+            }
+        }
+
+        private void entregar(List<EventoChale> lote) {
+            long inicio = System.nanoTime();
+            try {
+                observer.onChalesChanged(lote);
+            } catch (Exception e) {
+                log.error("Erro ao notificar observer {} ({} eventos): {}",
+                        nome, lote.size(), e.getMessage(), e);
+            }
+            tempoLote.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            entregues.addAndGet(lote.size());
+        }
+
+        void encerrar() {
+            lockFila.lock();
+            try {
+                ativo = false;
+                naoVazia.signalAll();
+                naoCheia.signalAll();
+            } finally {
+                lockFila.unlock();
+            }
+
+            try {
+                if (!consumidor.join(Duration.ofMillis(timeoutEncerramentoMs))) {
+                    log.warn("Observer {} não terminou de processar a fila em {} ms ({} eventos pendentes)",
+                            nome, timeoutEncerramentoMs, fila.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            metricas.forEach(meterRegistry::remove);
+        }
+
+        EstatisticasDespacho estatisticas() {
+            lockFila.lock();
+            try {
+                return new EstatisticasDespacho(nome, fila.size(), entregues.get(),
+                        descartados.get(), executadosNoChamador.get());
+            } finally {
+                lockFila.unlock();
+            }
+        }
+    }
+}
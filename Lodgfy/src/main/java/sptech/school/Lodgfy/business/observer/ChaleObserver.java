@@ -1,11 +1,32 @@
+
 package sptech.school.Lodgfy.business.observer;
 
 import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
 
+import java.util.List;
+
 public interface ChaleObserver {
     
     void onChaleChanged(ChaleEntity chale, ChaleEventType eventoTipo);
 
+    /**
+     * Recebe um lote de eventos no modo assíncrono, na ordem em que foram publicados.
+     * Observers que se beneficiam de processamento em lote podem sobrescrever.
+     */
+    default void onChalesChanged(List<EventoChale> eventos) {
+        for (EventoChale evento : eventos) {
+            onChaleChanged(evento.chale(), evento.tipo());
+        }
+    }
+
+    /**
+     * Indica que o observer deve ser notificado na thread (e transação) de quem publicou o evento,
+     * mesmo quando o ChaleManager está em modo assíncrono.
+     */
+    default boolean exigeEntregaSincrona() {
+        return false;
+    }
+
     enum ChaleEventType {
         STATUS_ALTERADO,
         PRECO_ALTERADO,
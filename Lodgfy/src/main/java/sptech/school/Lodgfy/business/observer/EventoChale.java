@@ -0,0 +1,11 @@
+package sptech.school.Lodgfy.business.observer;
+
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de mudança em um chalé, com uma cópia do estado no momento da notificação.
+ */
+public record EventoChale(ChaleEntity chale, ChaleObserver.ChaleEventType tipo, LocalDateTime ocorridoEm) {
+}
@@ -1,41 +1,60 @@
 package sptech.school.Lodgfy.business.observer.impl;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import sptech.school.Lodgfy.business.auditoria.GravadorAuditoria;
 import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.business.observer.EventoChale;
+import sptech.school.Lodgfy.infrastructure.entities.AuditoriaEntity;
 import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Observer que mantém histórico de mudanças em chalés.
- * Exemplo de implementação que poderia salvar em banco de dados
- * ou enviar para sistema de auditoria externo.
+ * Os registros são entregues ao GravadorAuditoria, que os persiste em lote
+ * na tabela de auditoria sem bloquear quem publicou o evento.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class AuditoriaChaleObserver implements ChaleObserver {
 
+    public static final String ENTIDADE = "CHALE";
+
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
 
+    private final GravadorAuditoria gravadorAuditoria;
+
     @Override
     public void onChaleChanged(ChaleEntity chale, ChaleObserver.ChaleEventType eventoTipo) {
-        String timestamp = LocalDateTime.now().format(FORMATTER);
+        gravadorAuditoria.registrar(List.of(criarRegistro(chale, eventoTipo, LocalDateTime.now())));
+    }
 
-        String mensagemAuditoria = construirMensagemAuditoria(chale, eventoTipo, timestamp);
+    @Override
+    public void onChalesChanged(List<EventoChale> eventos) {
+        List<AuditoriaEntity> registros = new ArrayList<>(eventos.size());
+        for (EventoChale evento : eventos) {
+            registros.add(criarRegistro(evento.chale(), evento.tipo(), evento.ocorridoEm()));
+        }
+        gravadorAuditoria.registrar(registros);
+    }
 
-        // Em produção, salvaria no banco de dados ou enviaria para sistema de auditoria
-        log.info("📝 [AUDITORIA] {}", mensagemAuditoria);
+    private AuditoriaEntity criarRegistro(ChaleEntity chale, ChaleObserver.ChaleEventType eventoTipo, LocalDateTime dataHora) {
+        String mensagemAuditoria = construirMensagemAuditoria(chale, eventoTipo, dataHora.format(FORMATTER));
+        log.debug("📝 [AUDITORIA] {}", mensagemAuditoria);
 
-        // Exemplo de estrutura que poderia ser salva:
-        // AuditoriaEntity auditoria = new AuditoriaEntity();
-        // auditoria.setEntidade("CHALE");
-        // auditoria.setEntidadeId(chale.getIdChale());
-        // auditoria.setTipoEvento(eventoTipo.name());
-        // auditoria.setDataHora(LocalDateTime.now());
-        // auditoria.setDetalhes(mensagemAuditoria);
-        // auditoriaRepository.save(auditoria);
+        AuditoriaEntity auditoria = new AuditoriaEntity();
+        auditoria.setEntidade(ENTIDADE);
+        auditoria.setEntidadeId(chale.getIdChale());
+        auditoria.setTipoEvento(eventoTipo.name());
+        auditoria.setDataHora(dataHora);
+        auditoria.setDetalhes(mensagemAuditoria);
+        return auditoria;
     }
 
     private String construirMensagemAuditoria(ChaleEntity chale, ChaleObserver.ChaleEventType tipo, String timestamp) {
@@ -0,0 +1,78 @@
+package sptech.school.Lodgfy.business.paginacao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Escreve um Stream do repositório como CSV (RFC 4180), com cabeçalho.
+ *
+ * Mesmas regras do ExportadorNdjson: chamado dentro da transação que abriu o
+ * Stream, com o contexto de persistência limpo a cada bloco de linhas.
+ */
+@Component
+public class ExportadorCsv {
+
+    private static final int LINHAS_POR_BLOCO = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <E> long exportar(Stream<E> entidades, List<String> cabecalho, Function<E, List<?>> colunas,
+                             OutputStream saida) {
+        long linhas = 0;
+        // Não fecha o writer: fecharia a resposta HTTP, que pertence ao container
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        try (entidades) {
+            escreverLinha(escritor, cabecalho);
+
+            Iterator<E> iterator = entidades.iterator();
+            while (iterator.hasNext()) {
+                escreverLinha(escritor, colunas.apply(iterator.next()));
+                linhas++;
+
+                if (linhas % LINHAS_POR_BLOCO == 0) {
+                    escritor.flush();
+                    entityManager.clear();
+                }
+            }
+            escritor.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return linhas;
+    }
+
+    private static void escreverLinha(Writer escritor, List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(campo(valores.get(i)));
+        }
+        escritor.write("\r\n");
+    }
+
+    static String campo(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,63 @@
+package sptech.school.Lodgfy.business.paginacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Escreve um Stream do repositório como NDJSON (um objeto JSON por linha).
+ *
+ * Deve ser chamado dentro da transação que abriu o Stream. O contexto de
+ * persistência é limpo a cada bloco de linhas, de modo que a memória usada
+ * não cresce com o tamanho da tabela.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportadorNdjson {
+
+    private static final int LINHAS_POR_BLOCO = 500;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <E, D> long exportar(Stream<E> entidades, Function<E, D> conversor, OutputStream saida) {
+        // Flush só a cada bloco, e não após cada objeto
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long linhas = 0;
+        try (entidades; JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            // Não fecha a resposta HTTP ao final: quem a abriu é o container
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null);
+
+            Iterator<E> iterator = entidades.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(gerador, conversor.apply(iterator.next()));
+                gerador.writeRaw('\n');
+                linhas++;
+
+                if (linhas % LINHAS_POR_BLOCO == 0) {
+                    gerador.flush();
+                    entityManager.clear();
+                }
+            }
+            gerador.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return linhas;
+    }
+}
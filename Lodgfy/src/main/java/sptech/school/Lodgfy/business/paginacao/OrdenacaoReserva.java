@@ -0,0 +1,9 @@
+package sptech.school.Lodgfy.business.paginacao;
+
+/**
+ * Chave de ordenação da listagem de reservas por cursor.
+ */
+public enum OrdenacaoReserva {
+    ID,
+    DATA_CHECK_IN
+}
@@ -0,0 +1,74 @@
+package sptech.school.Lodgfy.business.paginacao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import sptech.school.Lodgfy.business.dto.PaginaCursorDTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Limites de tamanho de página e montagem de páginas por cursor (keyset).
+ *
+ * A listagem por cursor busca um item a mais que o tamanho pedido: se ele
+ * existir, há próxima página e o cursor aponta para o último item devolvido.
+ */
+@Component
+public class Paginacao {
+
+    private final int tamanhoPadrao;
+    private final int tamanhoMaximo;
+
+    public Paginacao(@Value("${lodgfy.listagem.tamanho-padrao:100}") int tamanhoPadrao,
+                     @Value("${lodgfy.listagem.tamanho-maximo:500}") int tamanhoMaximo) {
+        this.tamanhoPadrao = tamanhoPadrao;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Tamanho de página efetivo: o padrão quando não informado, limitado ao máximo configurado.
+     */
+    public int tamanho(Integer tamanhoPedido) {
+        if (tamanhoPedido == null) {
+            return tamanhoPadrao;
+        }
+        return Math.min(Math.max(tamanhoPedido, 1), tamanhoMaximo);
+    }
+
+    public PageRequest pagina(int pagina, Integer tamanho, Sort sort) {
+        return PageRequest.of(Math.max(pagina, 0), tamanho(tamanho), sort);
+    }
+
+    /**
+     * Requisição para buscar uma página por cursor, com um item extra para detectar se há próxima página.
+     */
+    public Pageable paginaCursor(Integer tamanho) {
+        return PageRequest.ofSize(tamanho(tamanho) + 1);
+    }
+
+    public <E, D> PaginaCursorDTO<D> montarPaginaCursor(List<E> resultado, Integer tamanho,
+                                                       Function<E, D> conversor, Function<E, String> cursor) {
+        int limite = tamanho(tamanho);
+        boolean temMais = resultado.size() > limite;
+        List<E> itens = temMais ? resultado.subList(0, limite) : resultado;
+
+        return new PaginaCursorDTO<>(
+                itens.stream().map(conversor).toList(),
+                temMais ? cursor.apply(itens.get(itens.size() - 1)) : null
+        );
+    }
+
+    public static Long cursorId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package sptech.school.Lodgfy.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sptech.school.Lodgfy.business.AuditoriaService;
+import sptech.school.Lodgfy.business.auditoria.GravadorAuditoria;
+import sptech.school.Lodgfy.business.dto.AuditoriaResponseDTO;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/auditoria")
+@Tag(name = "Auditoria", description = "Histórico de alterações de chalés")
+public class AuditoriaController {
+
+    private final AuditoriaService service;
+    private final GravadorAuditoria gravadorAuditoria;
+
+    @Operation(summary = "Histórico de um chalé", description = "Retorna os eventos de auditoria do chalé, do mais recente para o mais antigo (100 por padrão, máximo de 500); o total vem no cabeçalho X-Total-Count")
+    @ApiResponse(responseCode = "200", description = "Histórico retornado com sucesso")
+    @GetMapping("/chales/{idChale}")
+    public ResponseEntity<List<AuditoriaResponseDTO>> getHistoricoChale(@PathVariable Long idChale,
+                                                                        @RequestParam(defaultValue = "0") int pagina,
+                                                                        @RequestParam(required = false) Integer tamanho) {
+        Page<AuditoriaResponseDTO> historico = service.listarHistoricoChale(idChale, pagina, tamanho);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(historico.getTotalElements()))
+                .body(historico.getContent());
+    }
+
+    @Operation(summary = "Estatísticas da gravação", description = "Retorna registros pendentes, gravados, lotes, descartes e falhas da gravação em lote")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/estatisticas")
+    public ResponseEntity<GravadorAuditoria.EstatisticasAuditoria> getEstatisticas() {
+        return ResponseEntity.ok(gravadorAuditoria.getEstatisticas());
+    }
+}
@@ -0,0 +1,33 @@
+package sptech.school.Lodgfy.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sptech.school.Lodgfy.business.cache.CacheCatalogoChales;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/cache")
+@Tag(name = "Cache", description = "Monitoramento do cache do catálogo de chalés")
+public class CacheController {
+
+    private final CacheCatalogoChales cacheCatalogoChales;
+
+    @Operation(summary = "Estatísticas do cache", description = "Retorna tamanho, acertos, falhas e expulsões de cada cache, além das invalidações locais e remotas")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/estatisticas")
+    public ResponseEntity<CacheCatalogoChales.EstatisticasCatalogo> getEstatisticas() {
+        return ResponseEntity.ok(cacheCatalogoChales.getEstatisticas());
+    }
+
+    @Operation(summary = "Esvazia o cache", description = "Remove todas as entradas do catálogo, nesta e nas demais instâncias")
+    @ApiResponse(responseCode = "204", description = "Cache esvaziado")
+    @DeleteMapping
+    public ResponseEntity<Void> limpar() {
+        cacheCatalogoChales.invalidarTudo();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -5,30 +5,86 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sptech.school.Lodgfy.business.ChaleService;
 import sptech.school.Lodgfy.business.dto.ChaleDisponibilidadeRequestDTO;
 import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
 import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.dto.PaginaCursorDTO;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 
-@RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/chales")
 @Tag(name = "Chalés", description = "Gerenciamento de chalés")
 public class ChaleController {
 
     private final ChaleService service;
+    private final String cacheControlListagem;
+    private final String cacheControlChale;
 
-    @Operation(summary = "Lista todos os chalés", description = "Retorna uma lista com todos os chalés cadastrados")
-    @ApiResponse(responseCode = "200", description = "Lista de chalés encontrada com sucesso")
+    public ChaleController(ChaleService service,
+                           @Value("${lodgfy.catalogo.cache-control.listagem:no-cache}") String cacheControlListagem,
+                           @Value("${lodgfy.catalogo.cache-control.chale:no-cache}") String cacheControlChale) {
+        this.service = service;
+        this.cacheControlListagem = cacheControlListagem;
+        this.cacheControlChale = cacheControlChale;
+    }
+
+    // O If-None-Match é comparado com o id e a versão dos chalés da página no banco, sem carregá-los;
+    // o ETag da resposta vem da página entregue, que pode ser anterior e estar ainda em cache
+    @Operation(summary = "Lista os chalés", description = "Retorna uma página de chalés cadastrados (100 por padrão, máximo de 500); o total vem no cabeçalho X-Total-Count. Aceita If-None-Match com o ETag da resposta anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de chalés encontrada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Catálogo não mudou desde o ETag informado")
+    })
     @GetMapping
-    public ResponseEntity<List<ChaleResponseDTO>> getAllChales() {
-        return ResponseEntity.ok(service.listarChales());
+    public ResponseEntity<List<ChaleResponseDTO>> getAllChales(@RequestParam(defaultValue = "0") int pagina,
+                                                               @RequestParam(required = false) Integer tamanho,
+                                                               WebRequest requisicao) {
+        String etagAtual = etagListagem(service.buscarVersoes(pagina, tamanho));
+        if (naoModificado(requisicao, etagAtual)) {
+            return naoModificado(etagAtual, cacheControlListagem);
+        }
+
+        Page<ChaleResponseDTO> chales = service.listarChales(pagina, tamanho);
+        return ResponseEntity.ok()
+                .eTag(etagListagem(chales.map(chale -> ChaleService.versaoNaListagem(chale.getIdChale(), chale.getVersao()))))
+                .header(HttpHeaders.CACHE_CONTROL, cacheControlListagem)
+                .header("X-Total-Count", String.valueOf(chales.getTotalElements()))
+                .body(chales.getContent());
+    }
+
+    @Operation(summary = "Lista os chalés por cursor", description = "Paginação por cursor (id): use o proximoCursor da resposta para buscar a página seguinte")
+    @ApiResponse(responseCode = "200", description = "Página de chalés retornada com sucesso")
+    @GetMapping("/cursor")
+    public ResponseEntity<PaginaCursorDTO<ChaleResponseDTO>> getChalesPorCursor(@RequestParam(required = false) String cursor,
+                                                                                @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.listarChalesPorCursor(cursor, tamanho));
+    }
+
+    @Operation(summary = "Exporta os chalés", description = "Retorna todos os chalés em NDJSON (um JSON por linha), transmitidos à medida que são lidos do banco")
+    @ApiResponse(responseCode = "200", description = "Exportação iniciada")
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarChales() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(service::exportarChales);
     }
 
     @Operation(summary = "Cadastra novo chalé", description = "Cria um novo registro de chalé")
@@ -43,15 +99,30 @@ public class ChaleController {
                 : ResponseEntity.status(400).build();
     }
 
-    @Operation(summary = "Busca chalé por ID", description = "Retorna um chalé baseado no ID informado")
+    // O If-None-Match é comparado com a versão do chalé, sem carregá-lo; o ETag da resposta
+    // vem do chalé entregue, que pode ser de uma versão anterior ainda em cache
+    @Operation(summary = "Busca chalé por ID", description = "Retorna um chalé baseado no ID informado. Aceita If-None-Match com o ETag da resposta anterior")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Chalé encontrado"),
+            @ApiResponse(responseCode = "304", description = "Chalé não mudou desde o ETag informado"),
             @ApiResponse(responseCode = "404", description = "Chalé não encontrado")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ChaleResponseDTO> getById(@PathVariable Long id) {
+    public ResponseEntity<ChaleResponseDTO> getById(@PathVariable Long id, WebRequest requisicao) {
+        Optional<Long> versao = service.buscarVersao(id);
+        if (versao.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etagAtual = etagChale(id, versao.get());
+        if (naoModificado(requisicao, etagAtual)) {
+            return naoModificado(etagAtual, cacheControlChale);
+        }
+
         return service.buscarPorId(id)
-                .map(ResponseEntity::ok)
+                .map(chale -> ResponseEntity.ok()
+                        .eTag(etagChale(id, chale.getVersao()))
+                        .header(HttpHeaders.CACHE_CONTROL, cacheControlChale)
+                        .body(chale))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -98,6 +169,18 @@ public class ChaleController {
                 : ResponseEntity.ok(chales);
     }
 
+    @Operation(summary = "Pesquisa chalés por texto", description = "Pesquisa em nome, número, tipo e descrição, ignorando acentos e aceitando prefixos e pequenos erros de digitação. Resultados do mais ao menos relevante")
+    @ApiResponse(responseCode = "200", description = "Pesquisa realizada com sucesso")
+    @ApiResponse(responseCode = "204", description = "Pesquisa realizada com sucesso, porém sem conteúdo")
+    @GetMapping("/pesquisa")
+    public ResponseEntity<List<ChaleResponseDTO>> pesquisar(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "20") int limite) {
+        List<ChaleResponseDTO> chales = service.pesquisar(q, limite);
+
+        return chales.isEmpty() ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(chales);
+    }
+
     @Operation(summary = "Busca chalés disponíveis", description = "Retorna uma lista de chalés disponíveis para o período e quantidade de pessoas informados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
@@ -112,4 +195,39 @@ public class ChaleController {
         return chalesDisponiveis.isEmpty() ? ResponseEntity.noContent().build()
                 : ResponseEntity.ok(chalesDisponiveis);
     }
-}
\ No newline at end of file
+
+    private static String etagChale(Long id, Long versao) {
+        return "\"chale-" + id + "-" + versao + "\"";
+    }
+
+    // Total de chalés (vai no X-Total-Count) e hash dos ids e versões da página
+    private static String etagListagem(Page<String> versoes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join(",", versoes.getContent()).getBytes(StandardCharsets.UTF_8));
+            return "\"catalogo-" + versoes.getTotalElements() + "-"
+                    + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Comparação fraca do If-None-Match, sem o WebRequest.checkNotModified: ele grava o ETag
+    // comparado na resposta mesmo quando ela segue com 200, duplicando o ETag do conteúdo entregue
+    private static boolean naoModificado(WebRequest requisicao, String etagAtual) {
+        String ifNoneMatch = requisicao.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag atual = ETag.create(etagAtual);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(etag -> etag.isWildcard() || etag.compare(atual, false));
+    }
+
+    private static <T> ResponseEntity<T> naoModificado(String etag, String cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .build();
+    }
+}
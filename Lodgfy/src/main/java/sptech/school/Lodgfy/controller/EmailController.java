@@ -0,0 +1,25 @@
+package sptech.school.Lodgfy.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sptech.school.Lodgfy.business.email.DespachanteEmail;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/emails")
+@Tag(name = "E-mails", description = "Monitoramento do envio de e-mails em segundo plano")
+public class EmailController {
+
+    private final DespachanteEmail despachanteEmail;
+
+    @Operation(summary = "Estatísticas do envio", description = "Retorna e-mails pendentes, em andamento, enviados e falhas temporárias e definitivas")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/estatisticas")
+    public ResponseEntity<DespachanteEmail.EstatisticasEmail> getEstatisticas() {
+        return ResponseEntity.ok(despachanteEmail.getEstatisticas());
+    }
+}
@@ -5,16 +5,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import sptech.school.Lodgfy.business.HospedeService;
 import sptech.school.Lodgfy.business.dto.HospedeRequestDTO;
 import sptech.school.Lodgfy.business.dto.HospedeResponseDTO;
 import sptech.school.Lodgfy.business.dto.HospedeSignUpRequestDTO;
 import sptech.school.Lodgfy.business.dto.LoginRequestDTO;
 import sptech.school.Lodgfy.business.dto.LoginResponseDTO;
+import sptech.school.Lodgfy.business.dto.PaginaCursorDTO;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sptech.school.Lodgfy.security.enums.Role;
 
 import java.util.List;
@@ -29,11 +33,32 @@ public class HospedeController {
     private final HospedeService service;
 
 
-    @Operation(summary = "Lista todos os hóspedes", description = "Retorna uma lista com todos os hóspedes cadastrados")
+    @Operation(summary = "Lista os hóspedes", description = "Retorna uma página de hóspedes cadastrados (100 por padrão, máximo de 500); o total vem no cabeçalho X-Total-Count")
     @ApiResponse(responseCode = "200", description = "Lista de hóspedes encontrada com sucesso")
     @GetMapping
-    public ResponseEntity<List<HospedeResponseDTO>> getAllHospedes() {
-        return ResponseEntity.ok(service.listarHospedes());
+    public ResponseEntity<List<HospedeResponseDTO>> getAllHospedes(@RequestParam(defaultValue = "0") int pagina,
+                                                                   @RequestParam(required = false) Integer tamanho) {
+        Page<HospedeResponseDTO> hospedes = service.listarHospedes(pagina, tamanho);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(hospedes.getTotalElements()))
+                .body(hospedes.getContent());
+    }
+
+    @Operation(summary = "Lista os hóspedes por cursor", description = "Paginação por cursor (id): use o proximoCursor da resposta para buscar a página seguinte")
+    @ApiResponse(responseCode = "200", description = "Página de hóspedes retornada com sucesso")
+    @GetMapping("/cursor")
+    public ResponseEntity<PaginaCursorDTO<HospedeResponseDTO>> getHospedesPorCursor(@RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.listarHospedesPorCursor(cursor, tamanho));
+    }
+
+    @Operation(summary = "Exporta os hóspedes", description = "Retorna todos os hóspedes em NDJSON (um JSON por linha), transmitidos à medida que são lidos do banco")
+    @ApiResponse(responseCode = "200", description = "Exportação iniciada")
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarHospedes() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(service::exportarHospedes);
     }
 
     @Operation(summary = "Busca hóspede por CPF", description = "Retorna um hóspede baseado no CPF informado")
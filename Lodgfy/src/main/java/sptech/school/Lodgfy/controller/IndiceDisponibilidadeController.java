@@ -0,0 +1,74 @@
+package sptech.school.Lodgfy.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sptech.school.Lodgfy.business.disponibilidade.ConsultaDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.NoitesReservadas;
+import sptech.school.Lodgfy.business.dto.ChaleDisponibilidadeRequestDTO;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/disponibilidade")
+@Tag(name = "Índice de disponibilidade", description = "Monitoramento do índice em memória de disponibilidade de chalés e das noites reservadas")
+public class IndiceDisponibilidadeController {
+
+    private final IndiceDisponibilidade indice;
+    private final NoitesReservadas noitesReservadas;
+    private final ConsultaDisponibilidade consultaDisponibilidade;
+
+    @Operation(summary = "Estatísticas do índice", description = "Retorna acertos, falhas (consultas ao banco), divergências e tamanho do índice")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/estatisticas")
+    public ResponseEntity<IndiceDisponibilidade.EstatisticasIndice> getEstatisticas() {
+        return ResponseEntity.ok(indice.getEstatisticas());
+    }
+
+    @Operation(summary = "Verifica consistência", description = "Compara o resultado do índice com a consulta SQL para o período informado")
+    @ApiResponse(responseCode = "200", description = "Verificação realizada")
+    @PostMapping("/verificar")
+    public ResponseEntity<Map<String, Boolean>> verificar(@Valid @RequestBody ChaleDisponibilidadeRequestDTO request) {
+        boolean consistente = indice.verificarConsistencia(
+                request.getQuantidadePessoas(),
+                request.getDataCheckIn(),
+                request.getDataCheckOut()
+        );
+        return ResponseEntity.ok(Map.of("consistente", consistente));
+    }
+
+    @Operation(summary = "Reconstrói o índice", description = "Recarrega chalés e reservas ativas do banco")
+    @ApiResponse(responseCode = "204", description = "Índice reconstruído")
+    @PostMapping("/reconstruir")
+    public ResponseEntity<Void> reconstruir() {
+        indice.reconstruir();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Estatísticas das consultas ao banco", description = "Retorna as buscas executadas no banco, as coalescidas com uma busca idêntica em andamento e as respondidas pelo cache")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/consultas/estatisticas")
+    public ResponseEntity<ConsultaDisponibilidade.EstatisticasConsultas> getEstatisticasConsultas() {
+        return ResponseEntity.ok(consultaDisponibilidade.getEstatisticas());
+    }
+
+    @Operation(summary = "Estatísticas das noites reservadas", description = "Retorna reconciliações executadas, reservas corrigidas, conflitos e o resultado da última reconciliação")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/noites/estatisticas")
+    public ResponseEntity<NoitesReservadas.EstatisticasNoites> getEstatisticasNoites() {
+        return ResponseEntity.ok(noitesReservadas.getEstatisticas());
+    }
+
+    @Operation(summary = "Reconcilia as noites reservadas", description = "Compara a tabela de noites com as reservas ativas e regrava as noites das reservas divergentes")
+    @ApiResponse(responseCode = "200", description = "Reconciliação realizada")
+    @PostMapping("/noites/reconciliar")
+    public ResponseEntity<NoitesReservadas.Reconciliacao> reconciliarNoites() {
+        return ResponseEntity.ok(noitesReservadas.reconciliar());
+    }
+}
@@ -0,0 +1,27 @@
+package sptech.school.Lodgfy.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sptech.school.Lodgfy.security.jwt.JwtService;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/jwt")
+@Tag(name = "JWT", description = "Monitoramento da verificação de tokens JWT")
+public class JwtEstatisticasController {
+
+    private final JwtService jwtService;
+
+    @Operation(summary = "Estatísticas do cache de tokens", description = "Retorna taxa de acerto do cache e latência média de verificação de assinatura")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/estatisticas")
+    public ResponseEntity<JwtService.EstatisticasJwt> getEstatisticas() {
+        return ResponseEntity.ok(jwtService.getEstatisticas());
+    }
+}
@@ -1,13 +1,18 @@
 // ...existing code...
 package sptech.school.Lodgfy.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sptech.school.Lodgfy.business.EmailService;
+import sptech.school.Lodgfy.business.dto.EnvioEmailResponseDTO;
 import sptech.school.Lodgfy.business.dto.OrcamentoEventoDTO;
+import sptech.school.Lodgfy.business.idempotencia.Idempotencia;
 
+import java.net.URI;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,18 +22,34 @@ import java.util.Map;
 public class OrcamentoController {
 
     private final EmailService emailService;
+    private final Idempotencia idempotencia;
 
 //    public OrcamentoController(EmailService emailService) {
 //        this.emailService = emailService;
 //    }
 
+    // Os e-mails são enviados em segundo plano; a situação pode ser consultada pelo código de rastreio.
+    // Com Idempotency-Key, a repetição da requisição devolve o mesmo código sem enfileirar novos e-mails
     @PostMapping("/eventos")
-    public ResponseEntity<Map<String, String>> solicitarOrcamento(@Valid @RequestBody OrcamentoEventoDTO dto) {
-        emailService.enviarOrcamentoEvento(dto);
-        return ResponseEntity.ok(Map.of(
-                "mensagem", "Orçamento enviado com sucesso",
-                "status", "Entraremos em contato em até 24 horas"
-        ));
+    public ResponseEntity<Map<String, String>> solicitarOrcamento(
+            @Valid @RequestBody OrcamentoEventoDTO dto,
+            @RequestHeader(name = Idempotencia.CABECALHO_CHAVE, required = false) String chaveIdempotencia) {
+        return idempotencia.executar("orcamentos.eventos", chaveIdempotencia, dto,
+                new TypeReference<Map<String, String>>() {}, () -> {
+                    String codigoRastreio = emailService.enviarOrcamentoEvento(dto);
+                    return ResponseEntity.accepted()
+                            .location(URI.create("/api/orcamentos/envios/" + codigoRastreio))
+                            .body(Map.of(
+                                    "mensagem", "Orçamento recebido com sucesso",
+                                    "status", "Entraremos em contato em até 24 horas",
+                                    "codigoRastreio", codigoRastreio
+                            ));
+                });
+    }
+
+    @GetMapping("/envios/{codigoRastreio}")
+    public ResponseEntity<List<EnvioEmailResponseDTO>> consultarEnvio(@PathVariable String codigoRastreio) {
+        return ResponseEntity.ok(emailService.consultarEnvio(codigoRastreio));
     }
 }
 
@@ -0,0 +1,62 @@
+package sptech.school.Lodgfy.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sptech.school.Lodgfy.business.RelatorioOcupacaoService;
+import sptech.school.Lodgfy.business.analise.AgrupamentoOcupacao;
+import sptech.school.Lodgfy.business.analise.FonteRelatorio;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao;
+import sptech.school.Lodgfy.business.dto.RelatorioOcupacaoDTO;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/relatorios")
+@Tag(name = "Relatórios", description = "Ocupação, diária média (ADR) e receita das reservas")
+public class RelatorioController {
+
+    private final RelatorioOcupacaoService service;
+    private final RollupOcupacao rollupOcupacao;
+
+    @Operation(summary = "Relatório de ocupação", description = "Taxa de ocupação, ADR, RevPAR e receita de reservas confirmadas e concluídas, por chalé, tipo ou mês")
+    @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso")
+    @GetMapping("/ocupacao")
+    public ResponseEntity<RelatorioOcupacaoDTO> getOcupacao(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "CHALE") AgrupamentoOcupacao agrupamento,
+            @RequestParam(defaultValue = "MEMORIA") FonteRelatorio fonte) {
+        return ResponseEntity.ok(service.gerarRelatorio(inicio, fim, agrupamento, fonte));
+    }
+
+    @Operation(summary = "Verifica consistência", description = "Compara o rollup em memória com as agregações SQL no período; divergências agendam a reconstrução")
+    @ApiResponse(responseCode = "200", description = "Verificação realizada")
+    @PostMapping("/ocupacao/verificar")
+    public ResponseEntity<Map<String, Boolean>> verificar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(Map.of("consistente", service.verificarConsistencia(inicio, fim)));
+    }
+
+    @Operation(summary = "Reconstrói o rollup", description = "Recarrega do banco as reservas confirmadas e concluídas")
+    @ApiResponse(responseCode = "204", description = "Rollup reconstruído")
+    @PostMapping("/ocupacao/reconstruir")
+    public ResponseEntity<Void> reconstruir() {
+        rollupOcupacao.reconstruir();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Estatísticas do rollup", description = "Retorna reservas e meses mantidos em memória, consultas respondidas, divergências e reconstruções")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    @GetMapping("/ocupacao/estatisticas")
+    public ResponseEntity<RollupOcupacao.EstatisticasRollup> getEstatisticas() {
+        return ResponseEntity.ok(rollupOcupacao.getEstatisticas());
+    }
+}
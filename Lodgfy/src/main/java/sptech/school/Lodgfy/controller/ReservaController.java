@@ -1,15 +1,27 @@
 package sptech.school.Lodgfy.controller;
 
 import jakarta.validation.Valid;
+import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.dto.PaginaCursorDTO;
+import sptech.school.Lodgfy.business.dto.RelatorioImportacaoDTO;
+import sptech.school.Lodgfy.business.dto.ReservaGrupoRequestDTO;
 import sptech.school.Lodgfy.business.dto.ReservaRequestDTO;
 import sptech.school.Lodgfy.business.dto.ReservaResponseDTO;
 import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.business.idempotencia.Idempotencia;
+import sptech.school.Lodgfy.business.importacao.FormatoImportacao;
+import sptech.school.Lodgfy.business.paginacao.OrdenacaoReserva;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,17 +30,59 @@ import java.util.List;
 public class ReservaController {
 
     private final ReservaService reservaService;
+    private final Idempotencia idempotencia;
 
+    // Com Idempotency-Key, a repetição da requisição devolve a reserva já criada
     @PostMapping
-    public ResponseEntity<ReservaResponseDTO> criarReserva(@Valid @RequestBody ReservaRequestDTO request) {
-        ReservaResponseDTO reserva = reservaService.criarReserva(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(reserva);
+    public ResponseEntity<ReservaResponseDTO> criarReserva(
+            @Valid @RequestBody ReservaRequestDTO request,
+            @RequestHeader(name = Idempotencia.CABECALHO_CHAVE, required = false) String chaveIdempotencia) {
+        return idempotencia.executar("reservas.criar", chaveIdempotencia, request,
+                new TypeReference<ReservaResponseDTO>() {},
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(reservaService.criarReserva(request)));
+    }
+
+    @PostMapping("/grupo")
+    public ResponseEntity<List<ReservaResponseDTO>> criarReservasEmGrupo(@Valid @RequestBody ReservaGrupoRequestDTO request) {
+        List<ReservaResponseDTO> reservas = reservaService.criarReservasEmGrupo(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservas);
     }
 
     @GetMapping
-    public ResponseEntity<List<ReservaResponseDTO>> listarReservas() {
-        List<ReservaResponseDTO> reservas = reservaService.listarReservas();
-        return ResponseEntity.ok(reservas);
+    public ResponseEntity<List<ReservaResponseDTO>> listarReservas(@RequestParam(defaultValue = "0") int pagina,
+                                                                   @RequestParam(required = false) Integer tamanho) {
+        Page<ReservaResponseDTO> reservas = reservaService.listarReservas(pagina, tamanho);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(reservas.getTotalElements()))
+                .body(reservas.getContent());
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<PaginaCursorDTO<ReservaResponseDTO>> listarReservasPorCursor(
+            @RequestParam(defaultValue = "ID") OrdenacaoReserva ordenacao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(reservaService.listarReservasPorCursor(ordenacao, cursor, tamanho));
+    }
+
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarReservas() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reservaService::exportarReservas);
+    }
+
+    @GetMapping(value = "/exportar", params = "formato=csv", produces = FormatoImportacao.TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarReservasCsv() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(FormatoImportacao.TEXT_CSV_VALUE))
+                .body(reservaService::exportarReservasCsv);
+    }
+
+    @PostMapping(value = "/importar", consumes = {FormatoImportacao.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<RelatorioImportacaoDTO> importarReservas(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipo,
+                                                                   InputStream corpo) {
+        return ResponseEntity.ok(reservaService.importarReservas(corpo, FormatoImportacao.doTipo(tipo)));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,42 @@
+package sptech.school.Lodgfy.infrastructure.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "auditoria", indexes = {
+        @Index(name = "idx_auditoria_entidade", columnList = "entidade, entidade_id, data_hora")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditoriaEntity {
+
+    // Sequência (emulada por tabela no MySQL) com alocação em blocos: IDENTITY impediria os inserts em lote
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auditoria_seq")
+    @SequenceGenerator(name = "auditoria_seq", sequenceName = "auditoria_seq", allocationSize = 50)
+    @Column(name = "id_auditoria")
+    private Long idAuditoria;
+
+    @Column(name = "entidade", nullable = false, length = 30)
+    private String entidade;
+
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+
+    @Column(name = "tipo_evento", nullable = false, length = 30)
+    private String tipoEvento;
+
+    @Column(name = "data_hora", nullable = false)
+    private LocalDateTime dataHora;
+
+    @Column(name = "detalhes", length = 1000)
+    private String detalhes;
+}
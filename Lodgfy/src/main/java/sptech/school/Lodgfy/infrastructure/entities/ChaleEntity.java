@@ -33,10 +33,32 @@ public class ChaleEntity {
     @Enumerated(EnumType.STRING)
     private StatusChale status;
 
+    // Incrementada a cada alteração; identifica o conteúdo no ETag
+    @Version
+    private Long versao;
+
     public enum StatusChale {
         DISPONIVEL, OCUPADO, LIMPEZA
     }
 
+    /**
+     * Cria uma cópia desanexada do chalé, usada para preservar estado anterior
+     * ou para entregar eventos fora da transação.
+     */
+    public ChaleEntity copiar() {
+        ChaleEntity copia = new ChaleEntity();
+        copia.setIdChale(idChale);
+        copia.setNome(nome);
+        copia.setNumero(numero);
+        copia.setTipo(tipo);
+        copia.setValorDiaria(valorDiaria);
+        copia.setCapacidade(capacidade);
+        copia.setDescricao(descricao);
+        copia.setStatus(status);
+        copia.setVersao(versao);
+        return copia;
+    }
+
     // Getters e Setters
 
 
@@ -103,4 +125,12 @@ public class ChaleEntity {
     public void setStatus(StatusChale status) {
         this.status = status;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
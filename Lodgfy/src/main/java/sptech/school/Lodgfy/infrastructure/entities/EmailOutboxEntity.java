@@ -0,0 +1,81 @@
+package sptech.school.Lodgfy.infrastructure.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * E-mail aguardando envio (outbox). Gravado na transação da requisição e
+ * enviado depois pelo DespachanteEmail.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status", columnList = "status, proxima_tentativa"),
+        @Index(name = "idx_email_outbox_rastreio", columnList = "codigo_rastreio")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_email")
+    private Long idEmail;
+
+    // Agrupa os e-mails de uma mesma solicitação; é o identificador devolvido ao cliente
+    @Column(name = "codigo_rastreio", nullable = false, length = 36)
+    private String codigoRastreio;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 30)
+    private TipoEmail tipo;
+
+    @Column(name = "destinatario", nullable = false)
+    private String destinatario;
+
+    @Column(name = "assunto", nullable = false)
+    private String assunto;
+
+    @Column(name = "corpo", nullable = false, columnDefinition = "mediumtext")
+    private String corpo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusEnvio status;
+
+    @Column(name = "tentativas", nullable = false)
+    private int tentativas;
+
+    // Para PENDENTE: quando pode ser enviado; para ENVIANDO: fim da reserva do despachante
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "enviado_em")
+    private LocalDateTime enviadoEm;
+
+    public enum TipoEmail {
+        ORCAMENTO_EQUIPE,
+        ORCAMENTO_CLIENTE,
+        RESERVA_CONFIRMADA,
+        RESERVA_CANCELADA
+    }
+
+    public enum StatusEnvio {
+        PENDENTE,
+        ENVIANDO,
+        ENVIADO,
+        FALHOU
+    }
+}
@@ -17,11 +17,18 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
-@Table(name = "hospedes")
+@Table(name = "hospedes", uniqueConstraints = {
+        @UniqueConstraint(name = HospedeEntity.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = HospedeEntity.UK_CPF, columnNames = "cpf")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class HospedeEntity {
 
+    // Nomes das restrições únicas: identificam o campo duplicado na violação
+    public static final String UK_EMAIL = "uk_hospedes_email";
+    public static final String UK_CPF = "uk_hospedes_cpf";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @JsonIgnore
@@ -33,7 +40,7 @@ public class HospedeEntity {
     private String nome;
 
     @Schema(example = "joao.silva@email.com", description = "Email do hóspede")
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     @Size(max = 80, message = "Email deve ter no máximo 80 caracteres")
     private String email;
 
@@ -50,7 +57,7 @@ public class HospedeEntity {
     private LocalDate dataNascimento;
 
     @Schema(example = "123.456.789-00", description = "CPF do hóspede")
-    @Column(nullable = false, unique = true, length = 14)
+    @Column(nullable = false, length = 14)
     private String cpf;
 
     @Enumerated(EnumType.STRING)
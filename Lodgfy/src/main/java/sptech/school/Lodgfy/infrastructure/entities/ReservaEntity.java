@@ -14,7 +14,13 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
-@Table(name = "reservas")
+// Os índices são criados pelas migrações (db/migration); aqui ficam para referência
+@Table(name = "reservas", indexes = {
+        @Index(name = "idx_reservas_check_in", columnList = "data_check_in, id_reserva"),
+        @Index(name = "idx_reservas_chale_periodo", columnList = "chale_id, data_check_in, data_check_out"),
+        @Index(name = "idx_reservas_status_check_out", columnList = "status_reserva, data_check_out"),
+        @Index(name = "idx_reservas_hospede_check_in", columnList = "hospede_id, data_check_in")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class ReservaEntity {
@@ -41,12 +47,12 @@ public class ReservaEntity {
     @Column(name = "status_reserva", nullable = false)
     private StatusReserva statusReserva;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hospede_id", nullable = false)
     @NotNull
     private HospedeEntity hospede;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "chale_id", nullable = false)
     @NotNull
     private ChaleEntity chale;
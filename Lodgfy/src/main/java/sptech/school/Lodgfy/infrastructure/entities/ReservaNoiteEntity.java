@@ -0,0 +1,52 @@
+package sptech.school.Lodgfy.infrastructure.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Noite de um chalé ocupada por uma reserva pendente ou confirmada.
+ *
+ * Gravada e removida pelo NoitesReservadas com JDBC, na transação que cria ou
+ * encerra a reserva; a entidade existe para as consultas de conflito e
+ * disponibilidade. Os ids ficam como colunas simples, sem associações.
+ */
+@Getter
+@Setter
+@Entity
+// Os índices são criados pelas migrações (db/migration); aqui ficam para referência
+@Table(name = "reservas_noites", indexes = {
+        @Index(name = "idx_reservas_noites_reserva", columnList = "reserva_id")
+})
+@IdClass(ReservaNoiteEntity.Chave.class)
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservaNoiteEntity {
+
+    @Id
+    @Column(name = "chale_id")
+    private Long chaleId;
+
+    @Id
+    @Column(name = "noite")
+    private LocalDate noite;
+
+    @Column(name = "reserva_id", nullable = false)
+    private Long reservaId;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Chave implements Serializable {
+        private Long chaleId;
+        private LocalDate noite;
+    }
+}
@@ -0,0 +1,13 @@
+package sptech.school.Lodgfy.infrastructure.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sptech.school.Lodgfy.infrastructure.entities.AuditoriaEntity;
+
+@Repository
+public interface AuditoriaRepository extends JpaRepository<AuditoriaEntity, Long> {
+
+    Page<AuditoriaEntity> findByEntidadeAndEntidadeId(String entidade, Long entidadeId, Pageable pageable);
+}
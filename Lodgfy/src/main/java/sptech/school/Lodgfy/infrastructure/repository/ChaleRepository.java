@@ -1,14 +1,24 @@
 package sptech.school.Lodgfy.infrastructure.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChaleRepository extends JpaRepository<ChaleEntity, Long> {
@@ -19,16 +29,60 @@ public interface ChaleRepository extends JpaRepository<ChaleEntity, Long> {
 
     boolean existsByNumero(String numero);
 
+    // Paginação por cursor (keyset): usa a chave primária, sem OFFSET
+    @Query("SELECT c FROM ChaleEntity c WHERE c.idChale > :aposId ORDER BY c.idChale")
+    List<ChaleEntity> buscarAposId(@Param("aposId") Long aposId, Pageable pageable);
+
+    // Só a versão, para responder If-None-Match sem carregar o chalé
+    @Query("SELECT c.versao FROM ChaleEntity c WHERE c.idChale = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+
+    // Id e versão dos chalés de uma página da listagem, para responder If-None-Match sem carregá-los
+    @Query("SELECT c.idChale AS idChale, c.versao AS versao FROM ChaleEntity c")
+    Page<VersaoChale> buscarVersoes(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM ChaleEntity c ORDER BY c.idChale")
+    Stream<ChaleEntity> streamTodos();
+
+    // Chalés considerados nos relatórios de ocupação, sem carregar as entidades
+    @Query("SELECT c.idChale AS idChale, c.nome AS nome, c.tipo AS tipo FROM ChaleEntity c ORDER BY c.idChale")
+    List<ChaleResumo> buscarResumos();
+
+    // SELECT ... FOR UPDATE: serializa reservas do mesmo chalé entre instâncias da aplicação
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ChaleEntity c WHERE c.idChale = :id")
+    Optional<ChaleEntity> findByIdComBloqueio(@Param("id") Long id);
+
+    // Vários chalés de uma vez, sempre na ordem do id, para que duas transações não se bloqueiem mutuamente
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ChaleEntity c WHERE c.idChale IN :ids ORDER BY c.idChale")
+    List<ChaleEntity> findAllByIdComBloqueio(@Param("ids") Collection<Long> ids);
+
+    // Noites de check-in até a véspera do check-out, pela chave (chale_id, noite) de reservas_noites
     @Query("SELECT c FROM ChaleEntity c WHERE c.capacidade >= :quantidadePessoas " +
            "AND c.status = 'DISPONIVEL' " +
-           "AND c.idChale NOT IN (" +
-           "  SELECT r.chale.idChale FROM ReservaEntity r " +
-           "  WHERE r.statusReserva IN ('CONFIRMADA', 'PENDENTE') " +
-           "  AND ((r.dataCheckIn < :checkOut AND r.dataCheckOut > :checkIn))" +
+           "AND NOT EXISTS (" +
+           "  SELECT 1 FROM ReservaNoiteEntity n " +
+           "  WHERE n.chaleId = c.idChale AND n.noite >= :checkIn AND n.noite < :checkOut" +
            ")")
     List<ChaleEntity> buscarChalesDisponiveis(
             @Param("quantidadePessoas") Integer quantidadePessoas,
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
+
+    interface VersaoChale {
+        Long getIdChale();
+
+        Long getVersao();
+    }
+
+    interface ChaleResumo {
+        Long getIdChale();
+
+        String getNome();
+
+        String getTipo();
+    }
 }
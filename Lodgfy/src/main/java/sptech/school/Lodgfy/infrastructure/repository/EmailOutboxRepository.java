@@ -0,0 +1,40 @@
+package sptech.school.Lodgfy.infrastructure.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    List<EmailOutboxEntity> findByCodigoRastreioOrderByIdEmail(String codigoRastreio);
+
+    // Pendentes cuja espera terminou e envios cuja reserva expirou (instância encerrada no meio do envio)
+    @Query("SELECT e FROM EmailOutboxEntity e " +
+            "WHERE e.status IN ('PENDENTE', 'ENVIANDO') AND e.proximaTentativa <= :agora " +
+            "ORDER BY e.proximaTentativa")
+    List<EmailOutboxEntity> buscarProntos(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Reserva o e-mail para envio até {@code reservaAte}. Retorna 0 se outra
+     * instância já o reservou, garantindo um único despachante por e-mail.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutboxEntity e SET e.status = :enviando, e.proximaTentativa = :reservaAte " +
+            "WHERE e.idEmail = :id AND e.status IN ('PENDENTE', 'ENVIANDO') AND e.proximaTentativa <= :agora")
+    int reservar(@Param("id") Long id,
+                 @Param("agora") LocalDateTime agora,
+                 @Param("reservaAte") LocalDateTime reservaAte,
+                 @Param("enviando") EmailOutboxEntity.StatusEnvio enviando);
+
+    long countByStatus(EmailOutboxEntity.StatusEnvio status);
+}
@@ -1,12 +1,21 @@
 package sptech.school.Lodgfy.infrastructure.repository;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import sptech.school.Lodgfy.infrastructure.entities.HospedeEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface HospedeRepository extends JpaRepository<HospedeEntity, Long> {
@@ -19,4 +28,38 @@ public interface HospedeRepository extends JpaRepository<HospedeEntity, Long> {
 
     boolean existsByCpf(String cpf);
 
+    // Paginação por cursor (keyset): usa a chave primária, sem OFFSET
+    @Query("SELECT h FROM HospedeEntity h WHERE h.id > :aposId ORDER BY h.id")
+    List<HospedeEntity> buscarAposId(@Param("aposId") Long aposId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT h FROM HospedeEntity h ORDER BY h.id")
+    Stream<HospedeEntity> streamTodos();
+
+    // Só as chaves únicas, para carregar o filtro de cadastros sem montar as entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT h.cpf AS cpf, h.email AS email FROM HospedeEntity h")
+    Stream<ChavesHospede> streamChaves();
+
+    interface ChavesHospede {
+        String getCpf();
+
+        String getEmail();
+    }
+
+    // Só id e nome, para carregar o índice de busca de hóspedes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT h.id AS id, h.nome AS nome FROM HospedeEntity h")
+    Stream<NomeHospede> streamNomes();
+
+    interface NomeHospede {
+        Long getId();
+
+        String getNome();
+    }
+
+    // Importação de reservas: confere de uma vez quais hóspedes referenciados existem
+    @Query("SELECT h.id FROM HospedeEntity h WHERE h.id IN :ids")
+    Set<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
 }
\ No newline at end of file
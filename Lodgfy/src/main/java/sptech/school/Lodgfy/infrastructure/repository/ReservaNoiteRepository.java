@@ -0,0 +1,28 @@
+package sptech.school.Lodgfy.infrastructure.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.infrastructure.entities.ReservaNoiteEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservaNoiteRepository extends JpaRepository<ReservaNoiteEntity, ReservaNoiteEntity.Chave> {
+
+    // Reservas ativas que não têm exatamente uma noite gravada para cada noite do período
+    @Query("SELECT r.idReserva FROM ReservaEntity r WHERE r.statusReserva IN :status " +
+            "AND (SELECT COUNT(n) FROM ReservaNoiteEntity n WHERE n.reservaId = r.idReserva " +
+            "     AND n.chaleId = r.chale.idChale AND n.noite >= r.dataCheckIn AND n.noite < r.dataCheckOut) " +
+            "<> ((r.dataCheckOut - r.dataCheckIn) BY DAY)")
+    List<Long> buscarReservasComNoitesFaltando(@Param("status") Collection<StatusReserva> status);
+
+    // Noites que a reserva não deveria ocupar: reserva encerrada, outro chalé ou fora do período
+    @Query("SELECT DISTINCT n.reservaId FROM ReservaNoiteEntity n, ReservaEntity r " +
+            "WHERE r.idReserva = n.reservaId AND (r.statusReserva NOT IN :status " +
+            "OR n.chaleId <> r.chale.idChale OR n.noite < r.dataCheckIn OR n.noite >= r.dataCheckOut)")
+    List<Long> buscarReservasComNoitesSobrando(@Param("status") Collection<StatusReserva> status);
+}
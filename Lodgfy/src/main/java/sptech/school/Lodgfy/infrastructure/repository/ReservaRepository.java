@@ -1,35 +1,178 @@
 package sptech.school.Lodgfy.infrastructure.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import sptech.school.Lodgfy.business.dto.ReservaResponseDTO;
 import sptech.school.Lodgfy.business.dto.StatusReserva;
 import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservaRepository extends JpaRepository<ReservaEntity, Long> {
 
+    // Projeção direta para o DTO de resposta: uma única consulta com JOIN, sem carregar
+    // as entidades de hóspede (e o hash da senha) e chalé
+    String PROJECAO_RESPONSE = "SELECT new sptech.school.Lodgfy.business.dto.ReservaResponseDTO(" +
+            "r.idReserva, r.dataCheckIn, r.dataCheckOut, r.valorTotal, r.statusReserva, " +
+            "h.id, h.nome, c.idChale, c.numero, c.nome) " +
+            "FROM ReservaEntity r JOIN r.hospede h JOIN r.chale c ";
+
     List<ReservaEntity> findByHospedeId(Long hospedeId);
 
-    List<ReservaEntity> findByChaleIdChale(Long chaleId);
+    // SELECT ... FOR UPDATE: a reconciliação das noites reservadas não concorre com mudanças de status
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ReservaEntity r WHERE r.idReserva = :id")
+    Optional<ReservaEntity> findByIdComBloqueio(@Param("id") Long id);
 
-    List<ReservaEntity> findByStatusReserva(StatusReserva status);
+    @Query(value = PROJECAO_RESPONSE, countQuery = "SELECT COUNT(r) FROM ReservaEntity r")
+    Page<ReservaResponseDTO> buscarPaginaResponse(Pageable pageable);
 
-    @Query("SELECT r FROM ReservaEntity r WHERE r.chale.idChale = :chaleId " +
-            "AND r.statusReserva IN ('PENDENTE', 'CONFIRMADA') " +
-            "AND ((r.dataCheckIn <= :checkOut AND r.dataCheckOut >= :checkIn))")
-    List<ReservaEntity> findReservasConflitantes(
+    @Query(PROJECAO_RESPONSE + "WHERE r.idReserva = :id")
+    Optional<ReservaResponseDTO> buscarResponsePorId(@Param("id") Long id);
+
+    // Filtro pela chave estrangeira (r.hospede.id, r.chale.idChale) em vez da tabela juntada:
+    // o banco parte de reservas pelos índices idx_reservas_hospede_check_in e idx_reservas_chale_periodo
+    @Query(PROJECAO_RESPONSE + "WHERE r.hospede.id = :hospedeId ORDER BY r.dataCheckIn DESC")
+    List<ReservaResponseDTO> buscarResponsePorHospede(@Param("hospedeId") Long hospedeId);
+
+    @Query(PROJECAO_RESPONSE + "WHERE r.chale.idChale = :chaleId ORDER BY r.idReserva")
+    List<ReservaResponseDTO> buscarResponsePorChale(@Param("chaleId") Long chaleId);
+
+    @Query(PROJECAO_RESPONSE + "WHERE r.statusReserva = :status ORDER BY r.idReserva")
+    List<ReservaResponseDTO> buscarResponsePorStatus(@Param("status") StatusReserva status);
+
+    /**
+     * Reservas pendentes ou confirmadas do chalé que conflitam com o período. As datas são
+     * inclusivas: o dia do check-out de uma reserva não pode ser o check-in de outra, então
+     * são verificadas as noites da véspera do check-in até o dia do check-out.
+     */
+    default List<ReservaEntity> findReservasConflitantes(Long chaleId, LocalDate checkIn, LocalDate checkOut) {
+        return buscarReservasNasNoites(chaleId, checkIn.minusDays(1), checkOut);
+    }
+
+    // Faixa da chave primária (chale_id, noite) de reservas_noites
+    @Query("SELECT r FROM ReservaEntity r WHERE r.idReserva IN (" +
+            "SELECT n.reservaId FROM ReservaNoiteEntity n " +
+            "WHERE n.chaleId = :chaleId AND n.noite BETWEEN :primeiraNoite AND :ultimaNoite)")
+    List<ReservaEntity> buscarReservasNasNoites(
             @Param("chaleId") Long chaleId,
-            @Param("checkIn") LocalDate checkIn,
-            @Param("checkOut") LocalDate checkOut
+            @Param("primeiraNoite") LocalDate primeiraNoite,
+            @Param("ultimaNoite") LocalDate ultimaNoite
     );
 
-    @Query("SELECT r FROM ReservaEntity r WHERE r.hospede.id = :hospedeId " +
-            "ORDER BY r.dataCheckIn DESC")
-    List<ReservaEntity> findHistoricoByHospede(@Param("hospedeId") Long hospedeId);
-}
+    // Mesma regra de findReservasConflitantes, para vários chalés em uma única consulta
+    default List<Long> buscarChalesComConflito(Collection<Long> chaleIds, LocalDate checkIn, LocalDate checkOut) {
+        return buscarChalesNasNoites(chaleIds, checkIn.minusDays(1), checkOut);
+    }
+
+    @Query("SELECT DISTINCT n.chaleId FROM ReservaNoiteEntity n WHERE n.chaleId IN :chaleIds " +
+            "AND n.noite BETWEEN :primeiraNoite AND :ultimaNoite")
+    List<Long> buscarChalesNasNoites(
+            @Param("chaleIds") Collection<Long> chaleIds,
+            @Param("primeiraNoite") LocalDate primeiraNoite,
+            @Param("ultimaNoite") LocalDate ultimaNoite
+    );
+
+    @Query("SELECT r FROM ReservaEntity r JOIN FETCH r.chale " +
+            "WHERE r.statusReserva IN :status AND r.dataCheckOut > :data")
+    List<ReservaEntity> findReservasAtivasAPartirDe(
+            @Param("data") LocalDate data,
+            @Param("status") List<StatusReserva> status
+    );
+
+    // Paginação por cursor (keyset), ordenada pelo id ou pela data de check-in (desempate pelo id)
+    @Query(PROJECAO_RESPONSE + "WHERE r.idReserva > :aposId ORDER BY r.idReserva")
+    List<ReservaResponseDTO> buscarAposId(@Param("aposId") Long aposId, Pageable pageable);
+
+    @Query(PROJECAO_RESPONSE + "ORDER BY r.dataCheckIn, r.idReserva")
+    List<ReservaResponseDTO> buscarPrimeirasPorDataCheckIn(Pageable pageable);
+
+    @Query(PROJECAO_RESPONSE +
+            "WHERE r.dataCheckIn > :data OR (r.dataCheckIn = :data AND r.idReserva > :aposId) " +
+            "ORDER BY r.dataCheckIn, r.idReserva")
+    List<ReservaResponseDTO> buscarAposDataCheckIn(
+            @Param("data") LocalDate data,
+            @Param("aposId") Long aposId,
+            Pageable pageable
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PROJECAO_RESPONSE + "ORDER BY r.idReserva")
+    Stream<ReservaResponseDTO> streamTodas();
 
+    // Períodos ocupados de vários chalés, para a verificação de conflitos em memória da importação
+    @Query("SELECT r.chale.idChale AS chaleId, r.dataCheckIn AS dataCheckIn, r.dataCheckOut AS dataCheckOut " +
+            "FROM ReservaEntity r WHERE r.chale.idChale IN :chaleIds " +
+            "AND r.statusReserva IN ('PENDENTE', 'CONFIRMADA') " +
+            "AND r.dataCheckIn <= :fim AND r.dataCheckOut >= :inicio")
+    List<PeriodoReserva> buscarPeriodosOcupados(
+            @Param("chaleIds") Collection<Long> chaleIds,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim
+    );
+
+    // Noites e receita por chalé em [inicio, fim): reservas que atravessam os limites são recortadas
+    // e a receita é rateada pelas noites dentro do período. A soma é feita no banco.
+    @Query("SELECT r.chale.idChale AS chaleId, " +
+            "SUM((LEAST(r.dataCheckOut, :fim) - GREATEST(r.dataCheckIn, :inicio)) BY DAY) AS noites, " +
+            "SUM(r.valorTotal * ((LEAST(r.dataCheckOut, :fim) - GREATEST(r.dataCheckIn, :inicio)) BY DAY) " +
+            "/ ((r.dataCheckOut - r.dataCheckIn) BY DAY)) AS receita " +
+            "FROM ReservaEntity r WHERE r.statusReserva IN :status " +
+            "AND r.dataCheckIn < :fim AND r.dataCheckOut > :inicio " +
+            "GROUP BY r.chale.idChale")
+    List<AgregadoChale> agregarPorChale(
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim,
+            @Param("status") Collection<StatusReserva> status
+    );
+
+    // Carga do rollup de ocupação: só as colunas usadas, sem entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.idReserva AS idReserva, r.chale.idChale AS chaleId, r.dataCheckIn AS dataCheckIn, " +
+            "r.dataCheckOut AS dataCheckOut, r.valorTotal AS valorTotal " +
+            "FROM ReservaEntity r WHERE r.statusReserva IN :status")
+    List<ReservaFaturada> buscarFaturadas(@Param("status") Collection<StatusReserva> status);
+
+    interface AgregadoChale {
+        Long getChaleId();
+
+        Long getNoites();
+
+        BigDecimal getReceita();
+    }
+
+    interface ReservaFaturada {
+        Long getIdReserva();
+
+        Long getChaleId();
+
+        LocalDate getDataCheckIn();
+
+        LocalDate getDataCheckOut();
+
+        BigDecimal getValorTotal();
+    }
+
+    interface PeriodoReserva {
+        Long getChaleId();
+
+        LocalDate getDataCheckIn();
+
+        LocalDate getDataCheckOut();
+    }
+}
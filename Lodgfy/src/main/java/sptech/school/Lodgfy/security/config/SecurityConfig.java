@@ -1,5 +1,6 @@
 package sptech.school.Lodgfy.security.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +18,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import sptech.school.Lodgfy.security.jwt.JwtAuthenticationFilter;
 import sptech.school.Lodgfy.security.jwt.JwtService;
+import sptech.school.Lodgfy.security.senha.CalibradorBcrypt;
 
 import java.util.Arrays;
 
@@ -40,6 +42,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/orcamentos/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
 
                 // Chalés: apenas GET é público, PUT/PATCH/DELETE requerem autenticação
                 .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/chales/disponiveis").permitAll()
@@ -50,12 +53,15 @@ public class SecurityConfig {
                 .requestMatchers(org.springframework.http.HttpMethod.DELETE, "/api/chales/**").hasAnyRole("HOSPEDE", "ADMIN")
                 .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/chales/**").hasAnyRole("HOSPEDE", "ADMIN")
 
-                // Reservas: operações requerem autenticação
+                // Reservas: operações requerem autenticação; importação em massa só para administradores
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/reservas/importar").hasRole("ADMIN")
                 .requestMatchers("/api/reservas/**").hasAnyRole("HOSPEDE", "ADMIN")
 
                 // Autenticados
                 .requestMatchers("/api/hospedes/**").hasAnyRole("HOSPEDE", "ADMIN")
                 .requestMatchers("/admin/**").hasRole("ADMIN")
+                // Métricas (/actuator/prometheus etc.): o scrape usa um token de administrador
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                 .anyRequest().authenticated()
             )
@@ -96,7 +102,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "Location", "Retry-After", "Idempotent-Replayed", "ETag"));
         configuration.setMaxAge(3600L);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -106,7 +112,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry, CalibradorBcrypt calibrador) {
+        return new SenhaMedida(new BCryptPasswordEncoder(calibrador.getCusto()), meterRegistry);
     }
 }
@@ -0,0 +1,48 @@
+package sptech.school.Lodgfy.security.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder que mede o tempo de cada hash e verificação de senha.
+ *
+ * O BCrypt é proposital e caro (dezenas de milissegundos por operação), então
+ * costuma dominar o tempo de login e cadastro; a métrica lodgfy.senha mostra
+ * quanto.
+ */
+public class SenhaMedida implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final Timer tempoCodificacao;
+    private final Timer tempoVerificacao;
+
+    public SenhaMedida(PasswordEncoder delegado, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.tempoCodificacao = tempo(meterRegistry, "codificar");
+        this.tempoVerificacao = tempo(meterRegistry, "verificar");
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return tempoCodificacao.record(() -> delegado.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String senhaCodificada) {
+        Boolean confere = tempoVerificacao.record(() -> delegado.matches(senha, senhaCodificada));
+        return Boolean.TRUE.equals(confere);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String senhaCodificada) {
+        return delegado.upgradeEncoding(senhaCodificada);
+    }
+
+    private static Timer tempo(MeterRegistry meterRegistry, String operacao) {
+        return Timer.builder("lodgfy.senha")
+                .description("Tempo de hash (codificar) e verificação de senhas")
+                .tag("operacao", operacao)
+                .register(meterRegistry);
+    }
+}
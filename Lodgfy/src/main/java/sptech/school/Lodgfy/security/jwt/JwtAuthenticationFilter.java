@@ -11,7 +11,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import sptech.school.Lodgfy.security.enums.Role;
 
 import java.io.IOException;
 import java.util.List;
@@ -47,36 +46,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String cpf;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
+        final String jwt = authHeader.substring(7);
 
         try {
-            if (jwtService.validateToken(jwt)) {
-                cpf = jwtService.getCpfFromToken(jwt);
-                Role role = jwtService.getRoleFromToken(jwt);
-                Long userId = jwtService.getUserIdFromToken(jwt);
-
-                if (cpf != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Uma única verificação de assinatura por requisição (ou nenhuma, se o token estiver em cache)
+            jwtService.parseToken(jwt).ifPresent(claims -> {
+                if (claims.cpf() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     List<SimpleGrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_" + role.name())
+                        new SimpleGrantedAuthority("ROLE_" + claims.role().name())
                     );
 
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        cpf,
+                        claims.cpf(),
                         null,
                         authorities
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
-            }
+            });
         } catch (Exception e) {
             // Token inválido - continue sem autenticação
         }
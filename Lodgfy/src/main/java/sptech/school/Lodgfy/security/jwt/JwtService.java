@@ -1,16 +1,30 @@
 package sptech.school.Lodgfy.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import sptech.school.Lodgfy.security.enums.Role;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
 
     @Value("${jwt.secret:minha-chave-secreta-muito-segura-para-lodgfy-2024}")
     private String jwtSecret;
@@ -18,8 +32,53 @@ public class JwtService {
     @Value("${jwt.expiration:86400000}")
     private int jwtExpiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.cache.max-entradas:10000}")
+    private int maxEntradasCache;
+
+    // Chave e parser são imutáveis e thread-safe: construídos uma única vez
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Tokens já verificados, indexados pelo hash SHA-256 do token; cada um expira junto com o token
+    private Cache<String, JwtClaims> cache;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong parseCount = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private Timer tempoVerificacao;
+
+    /**
+     * Dados extraídos de um token válido.
+     */
+    public record JwtClaims(String cpf, Role role, Long userId, Date expiration) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntradasCache)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String chave, JwtClaims claims, long agora) {
+                        return restante(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, JwtClaims claims, long agora, long duracaoAtual) {
+                        return restante(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, JwtClaims claims, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String cpf, Role role, Long userId) {
@@ -32,41 +91,121 @@ public class JwtService {
                 .claim("userId", userId)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Valida o token e retorna seus dados em uma única verificação de assinatura.
+     * Tokens já verificados e ainda não expirados são servidos pelo cache.
+     *
+     * @return os claims do token, ou vazio se o token for inválido ou expirado
+     */
+    public Optional<JwtClaims> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String chave = hash(token);
+        JwtClaims cached = cache.getIfPresent(chave);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return Optional.of(cached);
+        }
+        cacheMisses.incrementAndGet();
+
+        long inicio = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            String role = claims.get("role", String.class);
+            if (role == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            JwtClaims jwtClaims = new JwtClaims(
+                    claims.getSubject(),
+                    Role.valueOf(role),
+                    claims.get("userId", Long.class),
+                    claims.getExpiration()
+            );
+            cache.put(chave, jwtClaims);
+            return Optional.of(jwtClaims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            parseCount.incrementAndGet();
+            parseNanos.addAndGet(duracao);
+            if (tempoVerificacao != null) {
+                tempoVerificacao.record(duracao, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
     public String getCpfFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
+        return parseToken(token).map(JwtClaims::cpf).orElseThrow(() -> new JwtException("Token inválido"));
     }
 
     public Role getRoleFromToken(String token) {
-        String role = getClaimsFromToken(token).get("role", String.class);
-        return Role.valueOf(role);
+        return parseToken(token).map(JwtClaims::role).orElseThrow(() -> new JwtException("Token inválido"));
     }
 
     public Long getUserIdFromToken(String token) {
-        return getClaimsFromToken(token).get("userId", Long.class);
+        return parseToken(token).map(JwtClaims::userId).orElseThrow(() -> new JwtException("Token inválido"));
     }
 
     public boolean validateToken(String token) {
-        try {
-            getClaimsFromToken(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseToken(token).isPresent();
     }
 
     public boolean isTokenExpired(String token) {
-        return getClaimsFromToken(token).getExpiration().before(new Date());
+        return parseToken(token).isEmpty();
+    }
+
+    /**
+     * Estatísticas do cache de tokens e do tempo de verificação de assinatura.
+     */
+    public EstatisticasJwt getEstatisticas() {
+        long hits = cacheHits.get();
+        long misses = cacheMisses.get();
+        long parses = parseCount.get();
+        return new EstatisticasJwt(
+                cache.estimatedSize(),
+                hits,
+                misses,
+                hits + misses == 0 ? 0.0 : (double) hits / (hits + misses),
+                parses,
+                parses == 0 ? 0.0 : parseNanos.get() / (parses * 1_000.0)
+        );
     }
 
-    private Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public record EstatisticasJwt(
+            long entradasCache,
+            long cacheHits,
+            long cacheMisses,
+            double taxaAcerto,
+            long verificacoes,
+            double latenciaMediaVerificacaoMicros
+    ) {
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tempoVerificacao = Timer.builder("lodgfy.jwt.verificacao")
+                .description("Tempo de verificação da assinatura de tokens fora do cache")
+                .register(registry);
+    }
+
+    private static long restante(JwtClaims claims) {
+        long millis = claims.expiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
     }
 }
@@ -0,0 +1,90 @@
+package sptech.school.Lodgfy.security.senha;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Define o custo (log2 das rodadas) do BCrypt.
+ *
+ * Com lodgfy.senha.custo=0, mede um hash no custo mínimo durante a
+ * inicialização e escolhe o maior custo cujo tempo estimado (cada ponto de
+ * custo dobra o tempo) fica dentro de lodgfy.senha.alvo-ms. Um custo fixo
+ * dispensa a medição, útil quando várias instâncias rodam em máquinas diferentes,
+ * e precisa estar entre o custo mínimo e 31, o maior aceito pelo BCrypt.
+ */
+@Slf4j
+@Component
+public class CalibradorBcrypt {
+
+    // Abaixo de 10 o hash fica barato demais para ataques offline
+    static final int CUSTO_MINIMO = 10;
+    static final int CUSTO_MAXIMO = 16;
+    private static final int CUSTO_MAXIMO_BCRYPT = 31;
+    private static final int MEDICOES = 3;
+    private static final Pattern PREFIXO_BCRYPT = Pattern.compile("\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final int custo;
+
+    public CalibradorBcrypt(@Value("${lodgfy.senha.custo:0}") int custoConfigurado,
+                            @Value("${lodgfy.senha.alvo-ms:100}") long alvoMs) {
+        if (custoConfigurado > 0) {
+            if (custoConfigurado < CUSTO_MINIMO || custoConfigurado > CUSTO_MAXIMO_BCRYPT) {
+                throw new IllegalArgumentException("lodgfy.senha.custo deve estar entre " + CUSTO_MINIMO
+                        + " e " + CUSTO_MAXIMO_BCRYPT + " (ou 0 para calibrar): " + custoConfigurado);
+            }
+            this.custo = custoConfigurado;
+            log.info("Custo do BCrypt fixo em {}", custo);
+        } else {
+            long nanosMinimo = medir(CUSTO_MINIMO);
+            this.custo = escolherCusto(nanosMinimo, alvoMs);
+            log.info("Custo do BCrypt calibrado em {}: {} ms no custo {}, alvo de {} ms",
+                    custo, nanosMinimo / 1_000_000, CUSTO_MINIMO, alvoMs);
+        }
+    }
+
+    public int getCusto() {
+        return custo;
+    }
+
+    /**
+     * Maior custo cujo tempo estimado cabe no alvo, entre o mínimo e o máximo.
+     */
+    static int escolherCusto(long nanosNoCustoMinimo, long alvoMs) {
+        long alvoNanos = alvoMs * 1_000_000;
+        int escolhido = CUSTO_MINIMO;
+        long estimado = nanosNoCustoMinimo;
+        while (escolhido < CUSTO_MAXIMO && estimado * 2 <= alvoNanos) {
+            estimado *= 2;
+            escolhido++;
+        }
+        return escolhido;
+    }
+
+    /**
+     * Custo gravado em um hash BCrypt ($2a$10$...), ou -1 se não for um hash BCrypt.
+     */
+    public static int custoDe(String hash) {
+        if (hash == null) {
+            return -1;
+        }
+        Matcher prefixo = PREFIXO_BCRYPT.matcher(hash);
+        return prefixo.lookingAt() ? Integer.parseInt(prefixo.group(1)) : -1;
+    }
+
+    // Menor de algumas medições: a primeira inclui aquecimento do JIT
+    private static long medir(int custo) {
+        String sal = BCrypt.gensalt(custo);
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            BCrypt.hashpw("calibracao-lodgfy", sal);
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        return melhor;
+    }
+}
@@ -0,0 +1,126 @@
+package sptech.school.Lodgfy.security.senha;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import sptech.school.Lodgfy.business.exceptions.SenhasSobrecarregadasException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hash e verificação de senhas em um pool próprio e limitado.
+ *
+ * O BCrypt é CPU pura: sem limite, uma rajada de logins ocupa todos os núcleos
+ * e atrasa as demais requisições. Aqui no máximo lodgfy.senha.threads hashes
+ * rodam ao mesmo tempo e até lodgfy.senha.fila aguardam; além disso a
+ * requisição é recusada na hora (HTTP 429) em vez de esperar indefinidamente.
+ */
+@Component
+public class HashSenhas implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int custo;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejeitadas = new AtomicLong();
+    private Timer tempoEspera;
+
+    public HashSenhas(PasswordEncoder passwordEncoder,
+                      CalibradorBcrypt calibrador,
+                      @Value("${lodgfy.senha.threads:0}") int threads,
+                      @Value("${lodgfy.senha.fila:64}") int fila) {
+        this.passwordEncoder = passwordEncoder;
+        this.custo = calibrador.getCusto();
+        // 0 = um hash por núcleo: mais que isso só disputa CPU com as outras requisições
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), r -> {
+                    Thread thread = new Thread(r, "senha-hash-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String codificar(CharSequence senha) {
+        return executar(() -> passwordEncoder.encode(senha));
+    }
+
+    public boolean confere(CharSequence senha, String senhaCodificada) {
+        return executar(() -> passwordEncoder.matches(senha, senhaCodificada));
+    }
+
+    /**
+     * Hash BCrypt gravado com custo menor que o configurado; deve ser refeito
+     * no próximo login, quando a senha em texto puro está disponível. Hashes de
+     * custo maior são mantidos: a calibração pode escolher custos diferentes a
+     * cada inicialização ou instância, e refazê-los só enfraqueceria o hash.
+     */
+    public boolean precisaRecodificar(String senhaCodificada) {
+        int custoGravado = CalibradorBcrypt.custoDe(senhaCodificada);
+        return custoGravado > 0 && custoGravado < custo;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("lodgfy.senha.fila", executor, e -> e.getQueue().size())
+                .description("Hashes de senha aguardando uma thread livre")
+                .register(registry);
+        Gauge.builder("lodgfy.senha.em.andamento", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de senha em execução")
+                .register(registry);
+        FunctionCounter.builder("lodgfy.senha.rejeitadas", rejeitadas, AtomicLong::get)
+                .description("Hashes de senha recusados com a fila cheia (HTTP 429)")
+                .register(registry);
+        tempoEspera = Timer.builder("lodgfy.senha.espera")
+                .description("Tempo na fila antes do hash de senha começar")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        long enfileirado = System.nanoTime();
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(() -> {
+                if (tempoEspera != null) {
+                    tempoEspera.record(System.nanoTime() - enfileirado, TimeUnit.NANOSECONDS);
+                }
+                return tarefa.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejeitadas.incrementAndGet();
+            throw new SenhasSobrecarregadasException();
+        }
+
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+-- Esquema até aqui gerado pelo ddl-auto=update do Hibernate, com os mesmos nomes de restrições.
+-- Bancos criados pelo ddl-auto já têm chale, hospedes e reservas: entram na linha de base antes
+-- desta versão (spring.flyway.baseline-version=0) e o script cria só as tabelas que faltam. O índice
+-- de reservas e os nomes das restrições desses bancos são ajustados na versão 1.1 de cada banco.
+
+create table if not exists chale (
+    id_chale bigint not null auto_increment,
+    nome varchar(255) not null,
+    numero varchar(255) not null,
+    tipo varchar(255),
+    valor_diaria decimal(38,2),
+    capacidade integer not null,
+    descricao varchar(255),
+    status enum ('DISPONIVEL','LIMPEZA','OCUPADO'),
+    primary key (id_chale),
+    constraint uk_chale_numero unique (numero)
+);
+
+create table if not exists hospedes (
+    id bigint not null auto_increment,
+    nome varchar(50) not null,
+    email varchar(80) not null,
+    telefone varchar(20) not null,
+    senha varchar(60) not null,
+    data_nascimento date not null,
+    cpf varchar(14) not null,
+    role enum ('ADMIN','HOSPEDE') not null,
+    primary key (id),
+    constraint uk_hospedes_email unique (email),
+    constraint uk_hospedes_cpf unique (cpf)
+);
+
+create table if not exists reservas (
+    id_reserva bigint not null auto_increment,
+    data_check_in date not null,
+    data_check_out date not null,
+    valor_total decimal(38,2) not null,
+    status_reserva enum ('CANCELADA','CONCLUIDA','CONFIRMADA','PENDENTE') not null,
+    hospede_id bigint not null,
+    chale_id bigint not null,
+    primary key (id_reserva),
+    constraint FKrnvfqbs7qjljsxl9hy0u7nth5 foreign key (hospede_id) references hospedes (id),
+    constraint FKmesoab0bkctdulw4g7ojq0pgm foreign key (chale_id) references chale (id_chale)
+);
+
+create table if not exists auditoria (
+    id_auditoria bigint not null,
+    entidade varchar(30) not null,
+    entidade_id bigint not null,
+    tipo_evento varchar(30) not null,
+    data_hora datetime(6) not null,
+    detalhes varchar(1000),
+    primary key (id_auditoria),
+    index idx_auditoria_entidade (entidade, entidade_id, data_hora)
+);
+
+create table if not exists email_outbox (
+    id_email bigint not null auto_increment,
+    codigo_rastreio varchar(36) not null,
+    tipo enum ('ORCAMENTO_CLIENTE','ORCAMENTO_EQUIPE','RESERVA_CANCELADA','RESERVA_CONFIRMADA') not null,
+    destinatario varchar(255) not null,
+    assunto varchar(255) not null,
+    corpo mediumtext not null,
+    status enum ('ENVIADO','ENVIANDO','FALHOU','PENDENTE') not null,
+    tentativas integer not null,
+    proxima_tentativa datetime(6) not null,
+    ultimo_erro varchar(1000),
+    criado_em datetime(6) not null,
+    enviado_em datetime(6),
+    primary key (id_email),
+    index idx_email_outbox_status (status, proxima_tentativa),
+    index idx_email_outbox_rastreio (codigo_rastreio)
+);
@@ -0,0 +1,15 @@
+-- Índices para as consultas de reservas que percorriam a tabela inteira.
+
+-- Conflitos de período (ReservaRepository.findReservasConflitantes): chalé por igualdade,
+-- check-in por intervalo; o check-out é filtrado no próprio índice
+create index idx_reservas_chale_periodo on reservas (chale_id, data_check_in, data_check_out);
+
+-- Reservas ativas (findReservasAtivasAPartirDe, carga do índice de disponibilidade) e,
+-- pelo prefixo, as buscas por status
+create index idx_reservas_status_check_out on reservas (status_reserva, data_check_out);
+
+-- Histórico do hóspede, do check-in mais recente ao mais antigo (buscarResponsePorHospede)
+create index idx_reservas_hospede_check_in on reservas (hospede_id, data_check_in);
+
+-- O ddl-auto criava o corpo do e-mail como tinytext (255 bytes)
+alter table email_outbox modify corpo mediumtext not null;
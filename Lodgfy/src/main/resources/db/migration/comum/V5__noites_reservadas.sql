@@ -0,0 +1,32 @@
+-- Noites ocupadas por reservas pendentes e confirmadas, uma linha por chalé e noite.
+-- A chave primária (chale_id, noite) impede que duas reservas ocupem a mesma noite e
+-- atende as verificações de conflito e a busca de disponibilidade por igualdade no chalé.
+create table reservas_noites (
+    chale_id bigint not null,
+    noite date not null,
+    reserva_id bigint not null,
+    primary key (chale_id, noite)
+);
+
+-- Liberação das noites no cancelamento, conclusão ou remoção da reserva. Criado antes da
+-- chave estrangeira para que o MySQL o use em vez de criar outro índice
+create index idx_reservas_noites_reserva on reservas_noites (reserva_id);
+
+alter table reservas_noites
+    add constraint fk_reservas_noites_reserva foreign key (reserva_id)
+        references reservas (id_reserva) on delete cascade;
+
+-- Carga inicial a partir das reservas existentes (noites de check-in até a véspera do
+-- check-out). Noites já ocupadas por outra reserva são ignoradas; a reconciliação
+-- (NoitesReservadas) as aponta como conflito.
+insert ignore into reservas_noites (chale_id, noite, reserva_id)
+with recursive noites (reserva_id, chale_id, noite, data_check_out) as (
+    select id_reserva, chale_id, data_check_in, data_check_out
+    from reservas
+    where status_reserva in ('PENDENTE', 'CONFIRMADA') and data_check_out > data_check_in
+    union all
+    select reserva_id, chale_id, timestampadd(day, 1, noite), data_check_out
+    from noites
+    where timestampadd(day, 1, noite) < data_check_out
+)
+select chale_id, noite, reserva_id from noites;
@@ -0,0 +1,16 @@
+-- Chaves de idempotência (cabeçalho Idempotency-Key) e respostas já enviadas, usadas
+-- quando lodgfy.idempotencia.armazenamento=banco. A chave é o SHA-256 da operação, do
+-- usuário e da chave enviada pelo cliente; a chave primária decide qual instância executa.
+create table idempotencia_respostas (
+    chave char(64) not null,
+    impressao char(64) not null,
+    status_http integer,
+    cabecalhos varchar(2000),
+    corpo mediumtext,
+    criada_em datetime(6) not null,
+    expira_em datetime(6) not null,
+    primary key (chave)
+);
+
+-- Limpeza periódica das chaves expiradas
+create index idx_idempotencia_respostas_expira on idempotencia_respostas (expira_em);
@@ -0,0 +1,3 @@
+-- Versão do chalé (@Version em ChaleEntity): controle otimista das alterações e
+-- base do ETag de GET /api/chales/{id}. Os chalés existentes começam na versão 0.
+alter table chale add column versao bigint not null default 0;
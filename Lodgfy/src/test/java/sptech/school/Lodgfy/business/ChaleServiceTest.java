@@ -7,6 +7,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import sptech.school.Lodgfy.business.busca.BuscaChales;
+import sptech.school.Lodgfy.business.paginacao.ExportadorNdjson;
+import sptech.school.Lodgfy.business.paginacao.Paginacao;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
 import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
 import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
 import sptech.school.Lodgfy.business.exceptions.ChaleJaExisteException;
@@ -38,6 +46,18 @@ public class ChaleServiceTest {
     @Mock
     private ChaleManager chaleManager;
 
+    @Mock
+    private IndiceDisponibilidade indiceDisponibilidade;
+
+    @Mock
+    private BuscaChales buscaChales;
+
+    @Mock
+    private Paginacao paginacao;
+
+    @Mock
+    private ExportadorNdjson exportadorNdjson;
+
     @InjectMocks
     private ChaleService service;
 
@@ -154,26 +174,29 @@ public class ChaleServiceTest {
         assertEquals(responseDTO.getValorDiaria(), resultado.getValorDiaria());
     }
 
-    // ======================== TESTES: listarChales() ========================
+    // ======================== TESTES: listarChales(pagina, tamanho) ========================
 
     @Test
-    @DisplayName("Deve retornar lista vazia quando não há chalés")
+    @DisplayName("Deve retornar página vazia quando não há chalés")
     void testListarChalesVazia() {
         // Arrange
-        when(repository.findAll()).thenReturn(new ArrayList<>());
-        when(mapper.paraListaChaleResponseDTO(new ArrayList<>())).thenReturn(new ArrayList<>());
+        PageRequest pageable = PageRequest.of(0, 100, Sort.by("idChale"));
+        when(paginacao.pagina(0, null, Sort.by("idChale"))).thenReturn(pageable);
+        when(repository.findAll(pageable)).thenReturn(Page.empty(pageable));
 
         // Act
-        List<ChaleResponseDTO> resultado = service.listarChales();
+        Page<ChaleResponseDTO> resultado = service.listarChales(0, null);
 
         // Assert
         assertTrue(resultado.isEmpty());
-        verify(repository, times(1)).findAll();
-        verify(mapper, times(1)).paraListaChaleResponseDTO(new ArrayList<>());
+        assertEquals(0, resultado.getTotalElements());
+        verify(repository, times(1)).findAll(pageable);
+        verify(repository, never()).findAll();
+        verify(mapper, never()).paraChaleResponseDTO(any(ChaleEntity.class));
     }
 
     @Test
-    @DisplayName("Deve retornar lista com todos os chalés cadastrados")
+    @DisplayName("Deve retornar a página pedida com os chalés cadastrados")
     void testListarChalesComMultiplosChalés() {
         // Arrange
         ChaleEntity chale2 = new ChaleEntity();
@@ -181,44 +204,44 @@ public class ChaleServiceTest {
         chale2.setNome("Chalé da Praia");
         chale2.setNumero("B202");
 
-        List<ChaleEntity> chales = List.of(chaleMock, chale2);
         ChaleResponseDTO response2 = new ChaleResponseDTO();
         response2.setIdChale(2L);
         response2.setNome("Chalé da Praia");
         response2.setNumero("B202");
 
-        List<ChaleResponseDTO> responses = List.of(responseDTO, response2);
-
-        when(repository.findAll()).thenReturn(chales);
-        when(mapper.paraListaChaleResponseDTO(chales)).thenReturn(responses);
+        PageRequest pageable = PageRequest.of(1, 2, Sort.by("idChale"));
+        when(paginacao.pagina(1, 2, Sort.by("idChale"))).thenReturn(pageable);
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(chaleMock, chale2), pageable, 5));
+        when(mapper.paraChaleResponseDTO(chaleMock)).thenReturn(responseDTO);
+        when(mapper.paraChaleResponseDTO(chale2)).thenReturn(response2);
 
         // Act
-        List<ChaleResponseDTO> resultado = service.listarChales();
+        Page<ChaleResponseDTO> resultado = service.listarChales(1, 2);
 
         // Assert
-        assertEquals(2, resultado.size());
-        assertEquals("Chalé das Montanhas", resultado.get(0).getNome());
-        assertEquals("Chalé da Praia", resultado.get(1).getNome());
-        verify(repository, times(1)).findAll();
+        assertEquals(2, resultado.getNumberOfElements());
+        assertEquals(5, resultado.getTotalElements());
+        assertEquals("Chalé das Montanhas", resultado.getContent().get(0).getNome());
+        assertEquals("Chalé da Praia", resultado.getContent().get(1).getNome());
+        verify(repository, times(1)).findAll(pageable);
     }
 
     @Test
     @DisplayName("Deve mapear corretamente para ChaleResponseDTO ao listar")
     void testListarChalesMapeiaCorretamente() {
         // Arrange
-        List<ChaleEntity> chales = List.of(chaleMock);
-        List<ChaleResponseDTO> responses = List.of(responseDTO);
-
-        when(repository.findAll()).thenReturn(chales);
-        when(mapper.paraListaChaleResponseDTO(chales)).thenReturn(responses);
+        PageRequest pageable = PageRequest.of(0, 100, Sort.by("idChale"));
+        when(paginacao.pagina(0, null, Sort.by("idChale"))).thenReturn(pageable);
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(chaleMock), pageable, 1));
+        when(mapper.paraChaleResponseDTO(chaleMock)).thenReturn(responseDTO);
 
         // Act
-        List<ChaleResponseDTO> resultado = service.listarChales();
+        Page<ChaleResponseDTO> resultado = service.listarChales(0, null);
 
         // Assert
         assertFalse(resultado.isEmpty());
-        assertEquals(responseDTO.getIdChale(), resultado.get(0).getIdChale());
-        assertEquals(responseDTO.getNome(), resultado.get(0).getNome());
+        assertEquals(responseDTO.getIdChale(), resultado.getContent().get(0).getIdChale());
+        assertEquals(responseDTO.getNome(), resultado.getContent().get(0).getNome());
     }
 
     // ======================== TESTES: buscarPorId() ========================
@@ -482,7 +505,7 @@ public class ChaleServiceTest {
         when(repository.findById(999L)).thenReturn(Optional.empty());
 
         // Act
-        Optional<ChaleResponseDTO> resultado = service.atualizarStatus(999L, ChaleEntity.StatusChale.MANUTENCAO);
+        Optional<ChaleResponseDTO> resultado = service.atualizarStatus(999L, ChaleEntity.StatusChale.LIMPEZA);
 
         // Assert
         assertFalse(resultado.isPresent());
@@ -501,22 +524,22 @@ public class ChaleServiceTest {
         chaleAtualizado.setValorDiaria(BigDecimal.valueOf(350.00));
         chaleAtualizado.setCapacidade(4);
         chaleAtualizado.setDescricao("Chalé luxuoso com vista para as montanhas");
-        chaleAtualizado.setStatus(ChaleEntity.StatusChale.MANUTENCAO);
+        chaleAtualizado.setStatus(ChaleEntity.StatusChale.LIMPEZA);
 
         ChaleResponseDTO responseAtualizado = new ChaleResponseDTO();
         responseAtualizado.setIdChale(1L);
-        responseAtualizado.setStatus(ChaleEntity.StatusChale.MANUTENCAO);
+        responseAtualizado.setStatus(ChaleEntity.StatusChale.LIMPEZA);
 
         when(repository.findById(1L)).thenReturn(Optional.of(chaleMock));
         when(repository.save(any(ChaleEntity.class))).thenReturn(chaleAtualizado);
         when(mapper.paraChaleResponseDTO(chaleAtualizado)).thenReturn(responseAtualizado);
 
         // Act
-        Optional<ChaleResponseDTO> resultado = service.atualizarStatus(1L, ChaleEntity.StatusChale.MANUTENCAO);
+        Optional<ChaleResponseDTO> resultado = service.atualizarStatus(1L, ChaleEntity.StatusChale.LIMPEZA);
 
         // Assert
         assertTrue(resultado.isPresent());
-        assertEquals(ChaleEntity.StatusChale.MANUTENCAO, resultado.get().getStatus());
+        assertEquals(ChaleEntity.StatusChale.LIMPEZA, resultado.get().getStatus());
         verify(repository, times(1)).findById(1L);
         verify(repository, times(1)).save(any(ChaleEntity.class));
     }
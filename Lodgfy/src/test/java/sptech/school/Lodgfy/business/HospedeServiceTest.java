@@ -7,7 +7,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import sptech.school.Lodgfy.business.busca.BuscaHospedes;
+import sptech.school.Lodgfy.business.cadastro.FiltroCadastros;
+import sptech.school.Lodgfy.business.paginacao.ExportadorNdjson;
+import sptech.school.Lodgfy.business.paginacao.Paginacao;
 import sptech.school.Lodgfy.business.dto.*;
 import sptech.school.Lodgfy.business.exceptions.*;
 import sptech.school.Lodgfy.business.mapsstruct.HospedeMapper;
@@ -15,7 +23,9 @@ import sptech.school.Lodgfy.infrastructure.entities.HospedeEntity;
 import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository;
 import sptech.school.Lodgfy.security.enums.Role;
 import sptech.school.Lodgfy.security.jwt.JwtService;
+import sptech.school.Lodgfy.security.senha.HashSenhas;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,11 +46,23 @@ public class HospedeServiceTest {
     private HospedeMapper mapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private HashSenhas hashSenhas;
+
+    @Mock
+    private FiltroCadastros filtroCadastros;
+
+    @Mock
+    private BuscaHospedes buscaHospedes;
 
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private Paginacao paginacao;
+
+    @Mock
+    private ExportadorNdjson exportadorNdjson;
+
     @InjectMocks
     private HospedeService service;
 
@@ -52,6 +74,10 @@ public class HospedeServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Filtro sem certeza de ausência: as consultas de duplicidade são sempre feitas
+        lenient().when(filtroCadastros.talvezCpfCadastrado(anyString())).thenReturn(true);
+        lenient().when(filtroCadastros.talvezEmailCadastrado(anyString())).thenReturn(true);
+
         // Inicializar HospedeEntity
         hospedeMock = new HospedeEntity();
         hospedeMock.setId(1L);
@@ -106,7 +132,7 @@ public class HospedeServiceTest {
         // Arrange
         when(repository.existsByEmail(requestDTO.getEmail())).thenReturn(false);
         when(repository.existsByCpf(requestDTO.getCpf())).thenReturn(false);
-        when(passwordEncoder.encode(requestDTO.getSenha())).thenReturn("$2a$10$hashedPassword123");
+        when(hashSenhas.codificar(requestDTO.getSenha())).thenReturn("$2a$10$hashedPassword123");
         when(mapper.paraHospedeEntity(requestDTO)).thenReturn(hospedeMock);
         when(repository.save(any(HospedeEntity.class))).thenReturn(hospedeMock);
         when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
@@ -121,7 +147,7 @@ public class HospedeServiceTest {
         assertEquals("joao@email.com", resultado.getEmail());
         verify(repository, times(1)).existsByEmail(requestDTO.getEmail());
         verify(repository, times(1)).existsByCpf(requestDTO.getCpf());
-        verify(passwordEncoder, times(1)).encode(anyString());
+        verify(hashSenhas, times(1)).codificar(anyString());
         verify(repository, times(1)).save(any(HospedeEntity.class));
     }
 
@@ -159,7 +185,7 @@ public class HospedeServiceTest {
         requestDTO.setCpf("123.456.789-00");
         when(repository.existsByEmail(requestDTO.getEmail())).thenReturn(false);
         when(repository.existsByCpf("12345678900")).thenReturn(false);
-        when(passwordEncoder.encode(requestDTO.getSenha())).thenReturn("$2a$10$hashedPassword123");
+        when(hashSenhas.codificar(requestDTO.getSenha())).thenReturn("$2a$10$hashedPassword123");
         when(mapper.paraHospedeEntity(requestDTO)).thenReturn(hospedeMock);
         when(repository.save(any(HospedeEntity.class))).thenReturn(hospedeMock);
         when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
@@ -172,6 +198,58 @@ public class HospedeServiceTest {
         verify(repository, times(1)).existsByCpf("12345678900");
     }
 
+    @Test
+    @DisplayName("Deve pular as consultas de duplicidade quando o filtro garante CPF e e-mail novos")
+    void testSalvarHospedeSemConsultasQuandoFiltroGaranteAusencia() {
+        // Arrange
+        when(filtroCadastros.talvezCpfCadastrado(anyString())).thenReturn(false);
+        when(filtroCadastros.talvezEmailCadastrado(anyString())).thenReturn(false);
+        when(hashSenhas.codificar(requestDTO.getSenha())).thenReturn("$2a$10$hashedPassword123");
+        when(mapper.paraHospedeEntity(requestDTO)).thenReturn(hospedeMock);
+        when(repository.save(any(HospedeEntity.class))).thenReturn(hospedeMock);
+        when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
+
+        // Act
+        service.salvarHospede(requestDTO);
+
+        // Assert
+        verify(repository, never()).existsByEmail(anyString());
+        verify(repository, never()).existsByCpf(anyString());
+        verify(filtroCadastros, times(1)).registrar(hospedeMock.getCpf(), hospedeMock.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve traduzir violação da restrição única de CPF em CpfJaExisteException")
+    void testSalvarHospedeTraduzViolacaoDeCpf() {
+        // Arrange
+        when(repository.existsByEmail(anyString())).thenReturn(false);
+        when(repository.existsByCpf(anyString())).thenReturn(false);
+        when(hashSenhas.codificar(requestDTO.getSenha())).thenReturn("$2a$10$hashedPassword123");
+        when(mapper.paraHospedeEntity(requestDTO)).thenReturn(new HospedeEntity());
+        when(repository.save(any(HospedeEntity.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry '12345678900' for key 'hospedes.uk_hospedes_cpf'")));
+
+        // Act & Assert
+        assertThrows(CpfJaExisteException.class, () -> service.salvarHospede(requestDTO));
+        verify(filtroCadastros, never()).registrar(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve traduzir violação da restrição única de e-mail em EmailJaExisteException")
+    void testAutocadastrarTraduzViolacaoDeEmail() {
+        // Arrange
+        when(repository.existsByCpf(anyString())).thenReturn(false);
+        when(repository.existsByEmail(anyString())).thenReturn(false);
+        when(hashSenhas.codificar(anyString())).thenReturn("$2a$10$hashedPassword123");
+        when(repository.save(any(HospedeEntity.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry 'joao@email.com' for key 'hospedes.uk_hospedes_email'")));
+
+        // Act & Assert
+        assertThrows(EmailJaExisteException.class, () -> service.autocadastrar(signUpRequestDTO));
+    }
+
     @Test
     @DisplayName("Deve criptografar senha ao salvar hóspede")
     void testSalvarHospedeCriptografaSenha() {
@@ -180,7 +258,7 @@ public class HospedeServiceTest {
         requestDTO.setSenha(senhaOriginal);
         when(repository.existsByEmail(requestDTO.getEmail())).thenReturn(false);
         when(repository.existsByCpf(requestDTO.getCpf())).thenReturn(false);
-        when(passwordEncoder.encode(senhaOriginal)).thenReturn("$2a$10$hashedPassword123");
+        when(hashSenhas.codificar(senhaOriginal)).thenReturn("$2a$10$hashedPassword123");
         when(mapper.paraHospedeEntity(requestDTO)).thenReturn(hospedeMock);
         when(repository.save(any(HospedeEntity.class))).thenReturn(hospedeMock);
         when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
@@ -189,7 +267,7 @@ public class HospedeServiceTest {
         service.salvarHospede(requestDTO);
 
         // Assert
-        verify(passwordEncoder, times(1)).encode(senhaOriginal);
+        verify(hashSenhas, times(1)).codificar(senhaOriginal);
         assertEquals("$2a$10$hashedPassword123", requestDTO.getSenha());
     }
 
@@ -201,7 +279,7 @@ public class HospedeServiceTest {
         // Arrange
         String token = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...";
         when(repository.findByCpf("12345678900")).thenReturn(Optional.of(hospedeMock));
-        when(passwordEncoder.matches("Senha@123", hospedeMock.getSenha())).thenReturn(true);
+        when(hashSenhas.confere("Senha@123", hospedeMock.getSenha())).thenReturn(true);
         when(jwtService.generateToken(
                 hospedeMock.getCpf(),
                 hospedeMock.getRole(),
@@ -218,7 +296,7 @@ public class HospedeServiceTest {
         assertEquals(hospedeMock.getCpf(), resultado.getCpf());
         assertEquals(hospedeMock.getNome(), resultado.getNome());
         verify(repository, times(1)).findByCpf("12345678900");
-        verify(passwordEncoder, times(1)).matches("Senha@123", hospedeMock.getSenha());
+        verify(hashSenhas, times(1)).confere("Senha@123", hospedeMock.getSenha());
     }
 
     @Test
@@ -230,7 +308,25 @@ public class HospedeServiceTest {
         // Act & Assert
         assertThrows(CpfNaoEncontradoException.class, () -> service.login(loginRequestDTO));
         verify(repository, times(1)).findByCpf("12345678900");
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(hashSenhas, never()).confere(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve recodificar a senha no login quando o custo do BCrypt mudou")
+    void testLoginRecodificaSenhaComCustoAntigo() {
+        // Arrange
+        when(repository.findByCpf("12345678900")).thenReturn(Optional.of(hospedeMock));
+        when(hashSenhas.confere("Senha@123", hospedeMock.getSenha())).thenReturn(true);
+        when(hashSenhas.precisaRecodificar(hospedeMock.getSenha())).thenReturn(true);
+        when(hashSenhas.codificar("Senha@123")).thenReturn("$2a$12$novoHash");
+        when(jwtService.generateToken(anyString(), any(), anyLong())).thenReturn("token");
+
+        // Act
+        service.login(loginRequestDTO);
+
+        // Assert
+        assertEquals("$2a$12$novoHash", hospedeMock.getSenha());
+        verify(repository, times(1)).save(hospedeMock);
     }
 
     @Test
@@ -238,12 +334,12 @@ public class HospedeServiceTest {
     void testLoginComSenhaIncorreta() {
         // Arrange
         when(repository.findByCpf("12345678900")).thenReturn(Optional.of(hospedeMock));
-        when(passwordEncoder.matches("Senha@123", hospedeMock.getSenha())).thenReturn(false);
+        when(hashSenhas.confere("Senha@123", hospedeMock.getSenha())).thenReturn(false);
 
         // Act & Assert
         assertThrows(SenhaIncorretaException.class, () -> service.login(loginRequestDTO));
         verify(repository, times(1)).findByCpf("12345678900");
-        verify(passwordEncoder, times(1)).matches("Senha@123", hospedeMock.getSenha());
+        verify(hashSenhas, times(1)).confere("Senha@123", hospedeMock.getSenha());
         verify(jwtService, never()).generateToken(anyString(), any(), anyLong());
     }
 
@@ -287,7 +383,7 @@ public class HospedeServiceTest {
         String token = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...";
         loginRequestDTO.setCpf("123.456.789-00");
         when(repository.findByCpf("12345678900")).thenReturn(Optional.of(hospedeMock));
-        when(passwordEncoder.matches("Senha@123", hospedeMock.getSenha())).thenReturn(true);
+        when(hashSenhas.confere("Senha@123", hospedeMock.getSenha())).thenReturn(true);
         when(jwtService.generateToken(anyString(), any(), anyLong())).thenReturn(token);
 
         // Act
@@ -297,26 +393,28 @@ public class HospedeServiceTest {
         verify(repository, times(1)).findByCpf("12345678900");
     }
 
-    // ======================== TESTES: listarHospedes() ========================
+    // ======================== TESTES: listarHospedes(pagina, tamanho) ========================
 
     @Test
-    @DisplayName("Deve retornar lista vazia quando não há hóspedes")
+    @DisplayName("Deve retornar página vazia quando não há hóspedes")
     void testListarHospedesVazia() {
         // Arrange
-        when(repository.findAll()).thenReturn(new ArrayList<>());
-        when(mapper.paraListaHospedeResponseDTO(new ArrayList<>())).thenReturn(new ArrayList<>());
+        PageRequest pageable = PageRequest.of(0, 100, Sort.by("id"));
+        when(paginacao.pagina(0, null, Sort.by("id"))).thenReturn(pageable);
+        when(repository.findAll(pageable)).thenReturn(Page.empty(pageable));
 
         // Act
-        List<HospedeResponseDTO> resultado = service.listarHospedes();
+        Page<HospedeResponseDTO> resultado = service.listarHospedes(0, null);
 
         // Assert
         assertTrue(resultado.isEmpty());
-        verify(repository, times(1)).findAll();
-        verify(mapper, times(1)).paraListaHospedeResponseDTO(new ArrayList<>());
+        verify(repository, times(1)).findAll(pageable);
+        verify(repository, never()).findAll();
+        verify(mapper, never()).paraHospedeResponseDTO(any(HospedeEntity.class));
     }
 
     @Test
-    @DisplayName("Deve retornar lista com todos os hóspedes cadastrados")
+    @DisplayName("Deve retornar a página pedida com os hóspedes cadastrados")
     void testListarHospedesComMultiplosHospedes() {
         // Arrange
         HospedeEntity hospede2 = new HospedeEntity();
@@ -325,25 +423,26 @@ public class HospedeServiceTest {
         hospede2.setEmail("maria@email.com");
         hospede2.setCpf("98765432100");
 
-        List<HospedeEntity> hospedes = List.of(hospedeMock, hospede2);
         HospedeResponseDTO response2 = new HospedeResponseDTO();
         response2.setId(2L);
         response2.setNome("Maria Silva");
         response2.setEmail("maria@email.com");
 
-        List<HospedeResponseDTO> responses = List.of(responseDTO, response2);
-
-        when(repository.findAll()).thenReturn(hospedes);
-        when(mapper.paraListaHospedeResponseDTO(hospedes)).thenReturn(responses);
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by("id"));
+        when(paginacao.pagina(0, 2, Sort.by("id"))).thenReturn(pageable);
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(hospedeMock, hospede2), pageable, 3));
+        when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
+        when(mapper.paraHospedeResponseDTO(hospede2)).thenReturn(response2);
 
         // Act
-        List<HospedeResponseDTO> resultado = service.listarHospedes();
+        Page<HospedeResponseDTO> resultado = service.listarHospedes(0, 2);
 
         // Assert
-        assertEquals(2, resultado.size());
-        assertEquals("João da Silva", resultado.get(0).getNome());
-        assertEquals("Maria Silva", resultado.get(1).getNome());
-        verify(repository, times(1)).findAll();
+        assertEquals(2, resultado.getNumberOfElements());
+        assertEquals(3, resultado.getTotalElements());
+        assertEquals("João da Silva", resultado.getContent().get(0).getNome());
+        assertEquals("Maria Silva", resultado.getContent().get(1).getNome());
+        verify(repository, times(1)).findAll(pageable);
     }
 
     // ======================== TESTES: buscarPorCpf() ========================
@@ -499,7 +598,7 @@ public class HospedeServiceTest {
         requestAtualizado.setSenha("NovaSenha@123");
 
         when(repository.findById(1L)).thenReturn(Optional.of(hospedeMock));
-        when(passwordEncoder.encode("NovaSenha@123")).thenReturn("$2a$10$newHashedPassword");
+        when(hashSenhas.codificar("NovaSenha@123")).thenReturn("$2a$10$newHashedPassword");
         when(repository.save(hospedeMock)).thenReturn(hospedeMock);
         when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
 
@@ -507,7 +606,7 @@ public class HospedeServiceTest {
         service.atualizarHospede(1L, requestAtualizado);
 
         // Assert
-        verify(passwordEncoder, times(1)).encode("NovaSenha@123");
+        verify(hashSenhas, times(1)).codificar("NovaSenha@123");
     }
 
     // ======================== TESTES: buscarPorNome() ========================
@@ -546,6 +645,28 @@ public class HospedeServiceTest {
         verify(repository, times(1)).findByNomeContainingIgnoreCase("Inexistente");
     }
 
+    @Test
+    @DisplayName("Deve responder pelo índice de busca, na ordem de relevância, sem o LIKE no banco")
+    void testBuscarPorNomePeloIndice() {
+        // Arrange
+        HospedeEntity outro = new HospedeEntity();
+        outro.setId(2L);
+        HospedeResponseDTO outroResponse = new HospedeResponseDTO();
+        outroResponse.setId(2L);
+
+        when(buscaHospedes.buscarPorNome("silv")).thenReturn(Optional.of(List.of(2L, 1L)));
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(hospedeMock, outro));
+        when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
+        when(mapper.paraHospedeResponseDTO(outro)).thenReturn(outroResponse);
+
+        // Act
+        List<HospedeResponseDTO> resultado = service.buscarPorNome("silv");
+
+        // Assert
+        assertEquals(List.of(outroResponse, responseDTO), resultado);
+        verify(repository, never()).findByNomeContainingIgnoreCase(anyString());
+    }
+
     // ======================== TESTES: autocadastrar() ========================
 
     @Test
@@ -554,7 +675,7 @@ public class HospedeServiceTest {
         // Arrange
         when(repository.existsByCpf("12345678900")).thenReturn(false);
         when(repository.existsByEmail("joao@email.com")).thenReturn(false);
-        when(passwordEncoder.encode("Senha@123")).thenReturn("$2a$10$hashedPassword123");
+        when(hashSenhas.codificar("Senha@123")).thenReturn("$2a$10$hashedPassword123");
         when(repository.save(any(HospedeEntity.class))).thenReturn(hospedeMock);
         when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
 
@@ -567,7 +688,7 @@ public class HospedeServiceTest {
         assertEquals(responseDTO.getNome(), resultado.getNome());
         verify(repository, times(1)).existsByCpf("12345678900");
         verify(repository, times(1)).existsByEmail("joao@email.com");
-        verify(passwordEncoder, times(1)).encode("Senha@123");
+        verify(hashSenhas, times(1)).codificar("Senha@123");
         verify(repository, times(1)).save(any(HospedeEntity.class));
     }
 
@@ -604,7 +725,7 @@ public class HospedeServiceTest {
         signUpRequestDTO.setCpf("123.456.789-00");
         when(repository.existsByCpf("12345678900")).thenReturn(false);
         when(repository.existsByEmail("joao@email.com")).thenReturn(false);
-        when(passwordEncoder.encode("Senha@123")).thenReturn("$2a$10$hashedPassword123");
+        when(hashSenhas.codificar("Senha@123")).thenReturn("$2a$10$hashedPassword123");
         when(repository.save(any(HospedeEntity.class))).thenReturn(hospedeMock);
         when(mapper.paraHospedeResponseDTO(hospedeMock)).thenReturn(responseDTO);
 
@@ -621,7 +742,7 @@ public class HospedeServiceTest {
         // Arrange
         when(repository.existsByCpf("12345678900")).thenReturn(false);
         when(repository.existsByEmail("joao@email.com")).thenReturn(false);
-        when(passwordEncoder.encode("Senha@123")).thenReturn("$2a$10$hashedPassword123");
+        when(hashSenhas.codificar("Senha@123")).thenReturn("$2a$10$hashedPassword123");
         when(repository.save(any(HospedeEntity.class))).thenAnswer(invocation -> {
             HospedeEntity entity = invocation.getArgument(0);
             assertEquals(Role.HOSPEDE, entity.getRole());
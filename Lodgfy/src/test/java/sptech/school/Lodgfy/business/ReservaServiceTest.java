@@ -7,6 +7,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao;
+import sptech.school.Lodgfy.business.importacao.ImportadorReservas;
+import sptech.school.Lodgfy.business.paginacao.ExportadorCsv;
+import sptech.school.Lodgfy.business.paginacao.ExportadorNdjson;
+import sptech.school.Lodgfy.business.paginacao.Paginacao;
+import sptech.school.Lodgfy.business.cache.CacheCatalogoChales;
+import sptech.school.Lodgfy.business.concorrencia.BloqueioPorChale;
+import sptech.school.Lodgfy.business.disponibilidade.ConsultaDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.IndiceDisponibilidade;
+import sptech.school.Lodgfy.business.disponibilidade.NoitesReservadas;
+import sptech.school.Lodgfy.business.dto.ReservaGrupoRequestDTO;
 import sptech.school.Lodgfy.business.dto.ReservaRequestDTO;
 import sptech.school.Lodgfy.business.dto.ReservaResponseDTO;
 import sptech.school.Lodgfy.business.dto.StatusReserva;
@@ -22,6 +37,7 @@ import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +61,36 @@ public class ReservaServiceTest {
     @Mock
     private ReservaMapper mapper;
 
+    @Mock
+    private IndiceDisponibilidade indiceDisponibilidade;
+
+    @Mock
+    private BloqueioPorChale bloqueioPorChale;
+
+    @Mock
+    private CacheCatalogoChales cacheCatalogoChales;
+
+    @Mock
+    private Paginacao paginacao;
+
+    @Mock
+    private ExportadorNdjson exportadorNdjson;
+
+    @Mock
+    private ExportadorCsv exportadorCsv;
+
+    @Mock
+    private ImportadorReservas importadorReservas;
+
+    @Mock
+    private RollupOcupacao rollupOcupacao;
+
+    @Mock
+    private NoitesReservadas noitesReservadas;
+
+    @Mock
+    private ConsultaDisponibilidade consultaDisponibilidade;
+
     @InjectMocks
     private ReservaService service;
 
@@ -108,7 +154,7 @@ public class ReservaServiceTest {
     void testCriarReservaComSucesso() {
         // Arrange
         when(hospedeRepository.findById(1L)).thenReturn(Optional.of(hospedeMock));
-        when(chaleRepository.findById(1L)).thenReturn(Optional.of(chaleMock));
+        when(chaleRepository.findByIdComBloqueio(1L)).thenReturn(Optional.of(chaleMock));
         when(reservaRepository.findReservasConflitantes(anyLong(), any(), any()))
                 .thenReturn(new ArrayList<>());
         when(reservaRepository.save(any(ReservaEntity.class))).thenReturn(reservaMock);
@@ -122,7 +168,9 @@ public class ReservaServiceTest {
         assertEquals(1L, resultado.getIdReserva());
         assertEquals(BigDecimal.valueOf(1050.00), resultado.getValorTotal());
         assertEquals(StatusReserva.PENDENTE, resultado.getStatusReserva());
+        verify(bloqueioPorChale, times(1)).bloquearAteFimDaTransacao(1L);
         verify(reservaRepository, times(1)).save(any(ReservaEntity.class));
+        verify(noitesReservadas).ocupar(reservaMock);
         verify(mapper, times(1)).paraReservaResponseDTO(reservaMock);
     }
 
@@ -130,6 +178,7 @@ public class ReservaServiceTest {
     @DisplayName("Deve lançar exceção quando hóspede não existe")
     void testCriarReservaComHospedeInexistente() {
         // Arrange
+        when(chaleRepository.findByIdComBloqueio(1L)).thenReturn(Optional.of(chaleMock));
         when(hospedeRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -141,11 +190,11 @@ public class ReservaServiceTest {
     @DisplayName("Deve lançar exceção quando chalé não existe")
     void testCriarReservaComChaleInexistente() {
         // Arrange
-        when(hospedeRepository.findById(1L)).thenReturn(Optional.of(hospedeMock));
-        when(chaleRepository.findById(1L)).thenReturn(Optional.empty());
+        when(chaleRepository.findByIdComBloqueio(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> service.criarReserva(requestDTO));
+        verify(hospedeRepository, never()).findById(any());
         verify(reservaRepository, never()).save(any());
     }
 
@@ -155,7 +204,7 @@ public class ReservaServiceTest {
         // Arrange
         chaleMock.setStatus(ChaleEntity.StatusChale.OCUPADO);
         when(hospedeRepository.findById(1L)).thenReturn(Optional.of(hospedeMock));
-        when(chaleRepository.findById(1L)).thenReturn(Optional.of(chaleMock));
+        when(chaleRepository.findByIdComBloqueio(1L)).thenReturn(Optional.of(chaleMock));
 
         // Act & Assert
         assertThrows(ChaleIndisponivelException.class, () -> service.criarReserva(requestDTO));
@@ -169,7 +218,7 @@ public class ReservaServiceTest {
         ReservaEntity reservaConflitante = new ReservaEntity();
         reservaConflitante.setIdReserva(2L);
         when(hospedeRepository.findById(1L)).thenReturn(Optional.of(hospedeMock));
-        when(chaleRepository.findById(1L)).thenReturn(Optional.of(chaleMock));
+        when(chaleRepository.findByIdComBloqueio(1L)).thenReturn(Optional.of(chaleMock));
         when(reservaRepository.findReservasConflitantes(anyLong(), any(), any()))
                 .thenReturn(List.of(reservaConflitante));
 
@@ -208,7 +257,7 @@ public class ReservaServiceTest {
     void testCalculoValorTotal() {
         // Arrange - 3 diárias x 350 = 1050
         when(hospedeRepository.findById(1L)).thenReturn(Optional.of(hospedeMock));
-        when(chaleRepository.findById(1L)).thenReturn(Optional.of(chaleMock));
+        when(chaleRepository.findByIdComBloqueio(1L)).thenReturn(Optional.of(chaleMock));
         when(reservaRepository.findReservasConflitantes(anyLong(), any(), any()))
                 .thenReturn(new ArrayList<>());
         when(reservaRepository.save(any(ReservaEntity.class))).thenAnswer(invocation -> {
@@ -225,40 +274,111 @@ public class ReservaServiceTest {
         verify(reservaRepository, times(1)).save(any(ReservaEntity.class));
     }
 
-    // ======================== TESTES: listarReservas() ========================
+    // ======================== TESTES: criarReservasEmGrupo() ========================
+
+    @Test
+    @DisplayName("Deve criar as reservas do grupo com um bloqueio ordenado e uma consulta de conflitos")
+    void testCriarReservasEmGrupoComSucesso() {
+        // Arrange
+        ChaleEntity outroChale = new ChaleEntity();
+        outroChale.setIdChale(2L);
+        outroChale.setValorDiaria(BigDecimal.valueOf(200.00));
+        outroChale.setStatus(ChaleEntity.StatusChale.DISPONIVEL);
+        ReservaGrupoRequestDTO grupo = new ReservaGrupoRequestDTO(LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(4), 1L, List.of(2L, 1L));
+        when(chaleRepository.findAllByIdComBloqueio(any())).thenReturn(List.of(chaleMock, outroChale));
+        when(hospedeRepository.findById(1L)).thenReturn(Optional.of(hospedeMock));
+        when(reservaRepository.buscarChalesComConflito(any(), any(), any())).thenReturn(List.of());
+        when(reservaRepository.saveAll(anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+        when(mapper.paraReservaResponseDTO(any(ReservaEntity.class))).thenReturn(responseDTO);
+
+        // Act
+        List<ReservaResponseDTO> resultado = service.criarReservasEmGrupo(grupo);
+
+        // Assert
+        assertEquals(2, resultado.size());
+        verify(bloqueioPorChale).bloquearTodosAteFimDaTransacao(argThat(ids -> List.copyOf(ids).equals(List.of(1L, 2L))));
+        verify(reservaRepository, times(1)).buscarChalesComConflito(any(), any(), any());
+        verify(reservaRepository, never()).findReservasConflitantes(anyLong(), any(), any());
+        verify(reservaRepository).saveAll(argThat(reservas -> {
+            List<ReservaEntity> lista = (List<ReservaEntity>) reservas;
+            return lista.size() == 2
+                    && lista.get(0).getValorTotal().compareTo(BigDecimal.valueOf(1050.00)) == 0
+                    && lista.get(1).getValorTotal().compareTo(BigDecimal.valueOf(600.00)) == 0;
+        }));
+        verify(indiceDisponibilidade, times(2)).registrarReserva(any(ReservaEntity.class));
+        verify(noitesReservadas).ocupar(argThat((Collection<ReservaEntity> reservas) -> reservas.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nenhuma reserva do grupo quando um dos chalés tem conflito")
+    void testCriarReservasEmGrupoComConflito() {
+        // Arrange
+        ReservaGrupoRequestDTO grupo = new ReservaGrupoRequestDTO(LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(4), 1L, List.of(1L));
+        when(chaleRepository.findAllByIdComBloqueio(any())).thenReturn(List.of(chaleMock));
+        when(hospedeRepository.findById(1L)).thenReturn(Optional.of(hospedeMock));
+        when(reservaRepository.buscarChalesComConflito(any(), any(), any())).thenReturn(List.of(1L));
+
+        // Act & Assert
+        assertThrows(ReservaConflitanteException.class, () -> service.criarReservasEmGrupo(grupo));
+        verify(reservaRepository, never()).saveAll(any());
+        verify(indiceDisponibilidade, never()).registrarReserva(any(ReservaEntity.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar grupo com chalé repetido ou inexistente")
+    void testCriarReservasEmGrupoInvalido() {
+        // Arrange
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        ReservaGrupoRequestDTO repetido = new ReservaGrupoRequestDTO(checkIn, checkIn.plusDays(2), 1L, List.of(1L, 1L));
+        ReservaGrupoRequestDTO inexistente = new ReservaGrupoRequestDTO(checkIn, checkIn.plusDays(2), 1L, List.of(1L, 9L));
+        when(chaleRepository.findAllByIdComBloqueio(any())).thenReturn(List.of(chaleMock));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.criarReservasEmGrupo(repetido));
+        RuntimeException erro = assertThrows(RuntimeException.class, () -> service.criarReservasEmGrupo(inexistente));
+        assertEquals("Chalé não encontrado", erro.getMessage());
+        verify(hospedeRepository, never()).findById(any());
+        verify(reservaRepository, never()).saveAll(any());
+    }
+
+    // ======================== TESTES: listarReservas(pagina, tamanho) ========================
 
     @Test
-    @DisplayName("Deve retornar lista vazia quando não há reservas")
+    @DisplayName("Deve retornar página vazia quando não há reservas")
     void testListarReservasVazia() {
         // Arrange
-        when(reservaRepository.findAll()).thenReturn(new ArrayList<>());
-        when(mapper.paraListaReservaResponseDTO(new ArrayList<>())).thenReturn(new ArrayList<>());
+        PageRequest pageable = PageRequest.of(0, 100, Sort.by("idReserva"));
+        when(paginacao.pagina(0, null, Sort.by("idReserva"))).thenReturn(pageable);
+        when(reservaRepository.buscarPaginaResponse(pageable)).thenReturn(Page.empty(pageable));
 
         // Act
-        List<ReservaResponseDTO> resultado = service.listarReservas();
+        Page<ReservaResponseDTO> resultado = service.listarReservas(0, null);
 
         // Assert
         assertTrue(resultado.isEmpty());
-        verify(reservaRepository, times(1)).findAll();
+        verify(reservaRepository, times(1)).buscarPaginaResponse(pageable);
     }
 
     @Test
-    @DisplayName("Deve retornar lista com todas as reservas")
+    @DisplayName("Deve retornar a página pedida com as reservas")
     void testListarReservasComDados() {
         // Arrange
-        List<ReservaEntity> reservas = List.of(reservaMock);
-        List<ReservaResponseDTO> responses = List.of(responseDTO);
-
-        when(reservaRepository.findAll()).thenReturn(reservas);
-        when(mapper.paraListaReservaResponseDTO(reservas)).thenReturn(responses);
+        PageRequest pageable = PageRequest.of(2, 1, Sort.by("idReserva"));
+        when(paginacao.pagina(2, 1, Sort.by("idReserva"))).thenReturn(pageable);
+        when(reservaRepository.buscarPaginaResponse(pageable))
+                .thenReturn(new PageImpl<>(List.of(responseDTO), pageable, 4));
 
         // Act
-        List<ReservaResponseDTO> resultado = service.listarReservas();
+        Page<ReservaResponseDTO> resultado = service.listarReservas(2, 1);
 
         // Assert
-        assertEquals(1, resultado.size());
-        assertEquals(responseDTO.getIdReserva(), resultado.get(0).getIdReserva());
-        verify(reservaRepository, times(1)).findAll();
+        assertEquals(1, resultado.getNumberOfElements());
+        assertEquals(4, resultado.getTotalElements());
+        assertEquals(responseDTO.getIdReserva(), resultado.getContent().get(0).getIdReserva());
+        verify(reservaRepository, times(1)).buscarPaginaResponse(pageable);
+        verifyNoInteractions(mapper);
     }
 
     // ======================== TESTES: buscarPorId() ========================
@@ -267,8 +387,7 @@ public class ReservaServiceTest {
     @DisplayName("Deve retornar reserva quando existe")
     void testBuscarPorIdComSucesso() {
         // Arrange
-        when(reservaRepository.findById(1L)).thenReturn(Optional.of(reservaMock));
-        when(mapper.paraReservaResponseDTO(reservaMock)).thenReturn(responseDTO);
+        when(reservaRepository.buscarResponsePorId(1L)).thenReturn(Optional.of(responseDTO));
 
         // Act
         Optional<ReservaResponseDTO> resultado = service.buscarPorId(1L);
@@ -276,21 +395,21 @@ public class ReservaServiceTest {
         // Assert
         assertTrue(resultado.isPresent());
         assertEquals(1L, resultado.get().getIdReserva());
-        verify(reservaRepository, times(1)).findById(1L);
+        verify(reservaRepository, times(1)).buscarResponsePorId(1L);
     }
 
     @Test
     @DisplayName("Deve retornar Optional vazio quando não existe")
     void testBuscarPorIdNaoEncontrado() {
         // Arrange
-        when(reservaRepository.findById(999L)).thenReturn(Optional.empty());
+        when(reservaRepository.buscarResponsePorId(999L)).thenReturn(Optional.empty());
 
         // Act
         Optional<ReservaResponseDTO> resultado = service.buscarPorId(999L);
 
         // Assert
         assertFalse(resultado.isPresent());
-        verify(reservaRepository, times(1)).findById(999L);
+        verify(reservaRepository, times(1)).buscarResponsePorId(999L);
     }
 
     // ======================== TESTES: buscarPorHospede() ========================
@@ -299,11 +418,7 @@ public class ReservaServiceTest {
     @DisplayName("Deve buscar reservas por hóspede")
     void testBuscarPorHospede() {
         // Arrange
-        List<ReservaEntity> reservas = List.of(reservaMock);
-        List<ReservaResponseDTO> responses = List.of(responseDTO);
-
-        when(reservaRepository.findHistoricoByHospede(1L)).thenReturn(reservas);
-        when(mapper.paraListaReservaResponseDTO(reservas)).thenReturn(responses);
+        when(reservaRepository.buscarResponsePorHospede(1L)).thenReturn(List.of(responseDTO));
 
         // Act
         List<ReservaResponseDTO> resultado = service.buscarPorHospede(1L);
@@ -311,7 +426,7 @@ public class ReservaServiceTest {
         // Assert
         assertEquals(1, resultado.size());
         assertEquals(1L, resultado.get(0).getHospedeId());
-        verify(reservaRepository, times(1)).findHistoricoByHospede(1L);
+        verify(reservaRepository, times(1)).buscarResponsePorHospede(1L);
     }
 
     // ======================== TESTES: buscarPorChale() ========================
@@ -320,11 +435,7 @@ public class ReservaServiceTest {
     @DisplayName("Deve buscar reservas por chalé")
     void testBuscarPorChale() {
         // Arrange
-        List<ReservaEntity> reservas = List.of(reservaMock);
-        List<ReservaResponseDTO> responses = List.of(responseDTO);
-
-        when(reservaRepository.findByChaleIdChale(1L)).thenReturn(reservas);
-        when(mapper.paraListaReservaResponseDTO(reservas)).thenReturn(responses);
+        when(reservaRepository.buscarResponsePorChale(1L)).thenReturn(List.of(responseDTO));
 
         // Act
         List<ReservaResponseDTO> resultado = service.buscarPorChale(1L);
@@ -332,7 +443,7 @@ public class ReservaServiceTest {
         // Assert
         assertEquals(1, resultado.size());
         assertEquals(1L, resultado.get(0).getChaleId());
-        verify(reservaRepository, times(1)).findByChaleIdChale(1L);
+        verify(reservaRepository, times(1)).buscarResponsePorChale(1L);
     }
 
     // ======================== TESTES: buscarPorStatus() ========================
@@ -341,11 +452,7 @@ public class ReservaServiceTest {
     @DisplayName("Deve buscar reservas por status")
     void testBuscarPorStatus() {
         // Arrange
-        List<ReservaEntity> reservas = List.of(reservaMock);
-        List<ReservaResponseDTO> responses = List.of(responseDTO);
-
-        when(reservaRepository.findByStatusReserva(StatusReserva.PENDENTE)).thenReturn(reservas);
-        when(mapper.paraListaReservaResponseDTO(reservas)).thenReturn(responses);
+        when(reservaRepository.buscarResponsePorStatus(StatusReserva.PENDENTE)).thenReturn(List.of(responseDTO));
 
         // Act
         List<ReservaResponseDTO> resultado = service.buscarPorStatus(StatusReserva.PENDENTE);
@@ -353,7 +460,7 @@ public class ReservaServiceTest {
         // Assert
         assertEquals(1, resultado.size());
         assertEquals(StatusReserva.PENDENTE, resultado.get(0).getStatusReserva());
-        verify(reservaRepository, times(1)).findByStatusReserva(StatusReserva.PENDENTE);
+        verify(reservaRepository, times(1)).buscarResponsePorStatus(StatusReserva.PENDENTE);
     }
 
     // ======================== TESTES: confirmarReserva() ========================
@@ -376,6 +483,8 @@ public class ReservaServiceTest {
         // Assert
         assertNotNull(resultado);
         verify(reservaRepository, times(1)).save(any(ReservaEntity.class));
+        verify(rollupOcupacao).registrarReserva(reservaMock);
+        verify(consultaDisponibilidade).invalidar();
     }
 
     @Test
@@ -421,6 +530,8 @@ public class ReservaServiceTest {
         // Assert
         assertNotNull(resultado);
         verify(reservaRepository, times(1)).save(any(ReservaEntity.class));
+        verify(rollupOcupacao).removerReserva(1L);
+        verify(noitesReservadas).liberar(1L);
     }
 
     @Test
@@ -468,6 +579,7 @@ public class ReservaServiceTest {
         // Assert
         assertNotNull(resultado);
         verify(reservaRepository, times(1)).save(any(ReservaEntity.class));
+        verify(noitesReservadas).liberar(1L);
     }
 
     @Test
@@ -496,6 +608,7 @@ public class ReservaServiceTest {
         // Assert
         verify(reservaRepository, times(1)).existsById(1L);
         verify(reservaRepository, times(1)).deleteById(1L);
+        verify(consultaDisponibilidade).invalidar();
     }
 
     @Test
@@ -0,0 +1,128 @@
+package sptech.school.Lodgfy.business.analise;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sptech.school.Lodgfy.business.analise.RollupOcupacao.Totais;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RollupOcupacao - Testes Unitários")
+class RollupOcupacaoTest {
+
+    @Mock
+    private ReservaRepository reservaRepository;
+
+    private RollupOcupacao rollup;
+
+    @BeforeEach
+    void setUp() {
+        rollup = new RollupOcupacao(reservaRepository, true);
+    }
+
+    @Test
+    @DisplayName("Deve ratear a receita pelas noites e recortar as reservas que atravessam o período")
+    void testRateioEntreMeses() {
+        // Arrange - 3 noites (30/01, 31/01 e 01/02) por 100,00
+        rollup.reconstruir();
+        rollup.registrarReserva(1L, 7L, StatusReserva.CONFIRMADA,
+                LocalDate.of(2025, 1, 30), LocalDate.of(2025, 2, 2), new BigDecimal("100.00"));
+
+        // Act & Assert
+        assertEquals(new Totais(2, 6667), somar(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1)).get(7L));
+        assertEquals(new Totais(1, 3333), somar(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1)).get(7L));
+        assertEquals(new Totais(3, 10000), somar(LocalDate.of(2024, 1, 1), LocalDate.of(2026, 1, 1)).get(7L));
+        assertTrue(somar(LocalDate.of(2025, 2, 2), LocalDate.of(2025, 3, 1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Só reservas confirmadas ou concluídas entram, uma única vez, e saem ao serem removidas")
+    void testRegistroERemocao() {
+        // Arrange
+        rollup.reconstruir();
+        LocalDate checkIn = LocalDate.of(2025, 3, 10);
+
+        // Act
+        rollup.registrarReserva(1L, 7L, StatusReserva.PENDENTE, checkIn, checkIn.plusDays(2), new BigDecimal("400.00"));
+        rollup.registrarReserva(2L, 7L, StatusReserva.CONCLUIDA, checkIn, checkIn.plusDays(2), new BigDecimal("400.00"));
+        rollup.registrarReserva(2L, 7L, StatusReserva.CONCLUIDA, checkIn, checkIn.plusDays(2), new BigDecimal("400.00"));
+        rollup.registrarReserva(3L, 8L, StatusReserva.CONFIRMADA, checkIn, checkIn.plusDays(1), new BigDecimal("150.00"));
+        rollup.removerReserva(3L);
+        rollup.removerReserva(99L);
+
+        // Assert
+        Map<Long, Totais> totais = somar(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1));
+        assertEquals(Map.of(7L, new Totais(2, 40000)), totais);
+        assertEquals(1, rollup.getEstatisticas().reservas());
+    }
+
+    @Test
+    @DisplayName("Antes da carga deve recusar consultas; a reconstrução lê as reservas faturadas do banco")
+    void testReconstrucao() {
+        // Arrange
+        LocalDate checkIn = LocalDate.of(2024, 12, 31);
+        ReservaRepository.ReservaFaturada faturada = faturada(5L, 7L, checkIn, checkIn.plusDays(2), "300.00");
+        when(reservaRepository.buscarFaturadas(RollupOcupacao.STATUS_FATURADOS)).thenReturn(List.of(faturada));
+
+        // Act & Assert
+        assertTrue(rollup.somarPorChale(checkIn, checkIn.plusDays(2)).isEmpty());
+        rollup.reconstruir();
+        assertEquals(Map.of(7L, new Totais(2, 30000)), somar(checkIn, checkIn.plusDays(2)));
+        assertEquals(1, rollup.getEstatisticas().acertos());
+        assertEquals(1, rollup.getEstatisticas().falhas());
+    }
+
+    @Test
+    @DisplayName("Divergência com as agregações SQL deve tirar o rollup de uso até a reconstrução")
+    void testVerificacaoDivergente() {
+        // Arrange
+        rollup.reconstruir();
+        LocalDate inicio = LocalDate.of(2025, 6, 1);
+        rollup.registrarReserva(1L, 7L, StatusReserva.CONFIRMADA, inicio, inicio.plusDays(3), new BigDecimal("100.00"));
+        when(reservaRepository.agregarPorChale(any(), any(), any()))
+                .thenReturn(List.of(agregado(7L, 3L, "100.0000")))
+                .thenReturn(List.of(agregado(7L, 2L, "66.6667")));
+
+        // Act & Assert - a diferença de arredondamento do rateio é tolerada
+        assertTrue(rollup.verificarConsistencia(inicio, inicio.plusDays(30)));
+        assertFalse(rollup.verificarConsistencia(inicio, inicio.plusDays(30)));
+        assertFalse(rollup.getEstatisticas().pronto());
+        assertTrue(rollup.somarPorChale(inicio, inicio.plusDays(30)).isEmpty());
+    }
+
+    private Map<Long, Totais> somar(LocalDate inicio, LocalDate fim) {
+        return rollup.somarPorChale(inicio, fim).orElseThrow();
+    }
+
+    private static ReservaRepository.ReservaFaturada faturada(Long id, Long chale, LocalDate checkIn,
+                                                              LocalDate checkOut, String valor) {
+        return new ReservaRepository.ReservaFaturada() {
+            public Long getIdReserva() { return id; }
+            public Long getChaleId() { return chale; }
+            public LocalDate getDataCheckIn() { return checkIn; }
+            public LocalDate getDataCheckOut() { return checkOut; }
+            public BigDecimal getValorTotal() { return new BigDecimal(valor); }
+        };
+    }
+
+    private static ReservaRepository.AgregadoChale agregado(Long chale, Long noites, String receita) {
+        return new ReservaRepository.AgregadoChale() {
+            public Long getChaleId() { return chale; }
+            public Long getNoites() { return noites; }
+            public BigDecimal getReceita() { return new BigDecimal(receita); }
+        };
+    }
+}
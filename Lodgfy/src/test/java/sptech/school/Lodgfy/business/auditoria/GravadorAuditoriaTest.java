@@ -0,0 +1,108 @@
+package sptech.school.Lodgfy.business.auditoria;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import sptech.school.Lodgfy.infrastructure.entities.AuditoriaEntity;
+import sptech.school.Lodgfy.infrastructure.repository.AuditoriaRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GravadorAuditoria - Testes Unitários")
+class GravadorAuditoriaTest {
+
+    private static final long UMA_HORA = 3_600_000;
+
+    @Mock
+    private AuditoriaRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve gravar os registros pendentes em lotes do tamanho configurado")
+    void testGravacaoEmLotes() {
+        GravadorAuditoria gravador = new GravadorAuditoria(repository, transactionManager, 1000, 50, UMA_HORA, 1000);
+        List<Integer> tamanhosLotes = new ArrayList<>();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AuditoriaEntity> lote = invocation.getArgument(0);
+            tamanhosLotes.add(lote.size());
+            return lote;
+        });
+
+        gravador.registrar(criarRegistros(120));
+        int gravados = gravador.gravarPendentes();
+
+        assertEquals(120, gravados);
+        assertEquals(List.of(50, 50, 20), tamanhosLotes);
+        GravadorAuditoria.EstatisticasAuditoria estatisticas = gravador.getEstatisticas();
+        assertEquals(0, estatisticas.pendentes());
+        assertEquals(120, estatisticas.gravados());
+        assertEquals(3, estatisticas.lotes());
+    }
+
+    @Test
+    @DisplayName("Deve manter os registros no buffer quando a gravação falhar")
+    void testFalhaNaGravacao() {
+        GravadorAuditoria gravador = new GravadorAuditoria(repository, transactionManager, 1000, 50, UMA_HORA, 1000);
+        when(repository.saveAll(anyList())).thenThrow(new RuntimeException("Banco indisponível"));
+
+        gravador.registrar(criarRegistros(10));
+        int gravados = gravador.gravarPendentes();
+
+        assertEquals(0, gravados);
+        GravadorAuditoria.EstatisticasAuditoria estatisticas = gravador.getEstatisticas();
+        assertEquals(10, estatisticas.pendentes());
+        assertEquals(1, estatisticas.falhas());
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve descartar registros quando o buffer estiver cheio")
+    void testBufferCheio() {
+        GravadorAuditoria gravador = new GravadorAuditoria(repository, transactionManager, 10, 50, UMA_HORA, 1000);
+
+        gravador.registrar(criarRegistros(15));
+
+        GravadorAuditoria.EstatisticasAuditoria estatisticas = gravador.getEstatisticas();
+        assertEquals(10, estatisticas.pendentes());
+        assertEquals(5, estatisticas.descartados());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Deve gravar os registros pendentes no encerramento")
+    void testGravacaoNoEncerramento() {
+        GravadorAuditoria gravador = new GravadorAuditoria(repository, transactionManager, 1000, 50, UMA_HORA, 1000);
+        List<Integer> tamanhosLotes = new ArrayList<>();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AuditoriaEntity> lote = invocation.getArgument(0);
+            tamanhosLotes.add(lote.size());
+            return lote;
+        });
+        gravador.iniciar();
+
+        gravador.registrar(criarRegistros(5));
+        gravador.encerrar();
+
+        assertEquals(List.of(5), tamanhosLotes);
+        assertEquals(0, gravador.getEstatisticas().pendentes());
+    }
+
+    private List<AuditoriaEntity> criarRegistros(int quantidade) {
+        return LongStream.rangeClosed(1, quantidade)
+                .mapToObj(i -> new AuditoriaEntity(null, "CHALE", i, "ATUALIZADO", LocalDateTime.now(), "Chalé atualizado"))
+                .toList();
+    }
+}
@@ -0,0 +1,110 @@
+package sptech.school.Lodgfy.business.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sptech.school.Lodgfy.business.busca.BuscaChales.CampoChale;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndiceTexto - Testes Unitários")
+class IndiceTextoTest {
+
+    private IndiceTexto<CampoChale> indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTexto<>(CampoChale.class);
+        indice.indexar(1, chale("Chalé Família", "CH-01", "Luxo", "Vista para o lago"));
+        indice.indexar(2, chale("Cabana do Lago", "CH-02", "Standard", "Perto da trilha"));
+        indice.indexar(3, chale("Refúgio da Montanha", "CH-03", "Luxo", "Lareira e banheira"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e caixa na consulta e no texto indexado")
+    void testSemAcentos() {
+        assertEquals(List.of(1L), ids("CHALE familia"));
+        assertEquals(List.of(3L), ids("refugio"));
+        assertEquals(List.of(1L), ids("Família"));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar por prefixo e por trecho no meio do termo")
+    void testPrefixoETrecho() {
+        assertEquals(List.of(3L), ids("mont"));
+        assertEquals(List.of(3L), ids("ntanh"));
+        assertEquals(List.of(1L, 2L, 3L), ids("ch"));
+    }
+
+    @Test
+    @DisplayName("Deve tolerar erros de digitação quando não há acerto exato")
+    void testAproximado() {
+        assertEquals(List.of(3L), ids("montnha"));
+        assertEquals(List.of(1L), ids("famlia"));
+        assertEquals(List.of(3L), ids("larira"));
+        assertTrue(ids("xyzw").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve exigir todos os termos e ordenar pelo peso do campo")
+    void testRanking() {
+        // "lago" é nome do chalé 2 e só descrição do chalé 1
+        assertEquals(List.of(2L, 1L), ids("lago"));
+        assertEquals(List.of(3L), ids("luxo lareira"));
+        // Acerto exato vale mais que prefixo no mesmo campo
+        indice.indexar(4, chale("Lagoa Azul", "CH-04", "Standard", null));
+        assertEquals(List.of(2L, 4L, 1L), ids("lago"));
+    }
+
+    @Test
+    @DisplayName("Deve restringir a busca aos campos informados")
+    void testFiltroDeCampos() {
+        assertEquals(List.of(2L), indice.buscar("lago", EnumSet.of(CampoChale.NOME), 10).stream()
+                .map(IndiceTexto.Resultado::id).toList());
+        assertEquals(List.of(1L, 2L, 3L), indice.buscar("ch", EnumSet.of(CampoChale.NUMERO), 10).stream()
+                .map(IndiceTexto.Resultado::id).toList());
+        assertTrue(indice.buscar("luxo", EnumSet.of(CampoChale.NOME), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reindexar e remover devem descartar os termos antigos")
+    void testAtualizacao() {
+        indice.indexar(1, chale("Chalé Pôr do Sol", "CH-01", "Luxo", null));
+
+        assertTrue(ids("familia").isEmpty());
+        assertEquals(List.of(1L), ids("por sol"));
+
+        indice.remover(3);
+
+        assertTrue(ids("montanha").isEmpty());
+        assertEquals(2, indice.getDocumentos());
+    }
+
+    @Test
+    @DisplayName("Distância de edição deve parar ao passar do máximo")
+    void testDistanciaEdicao() {
+        assertEquals(0, IndiceTexto.distanciaEdicao("chale", "chale", 2));
+        assertEquals(1, IndiceTexto.distanciaEdicao("chale", "chalet", 2));
+        assertEquals(2, IndiceTexto.distanciaEdicao("montanha", "motnanha", 2));
+        assertEquals(3, IndiceTexto.distanciaEdicao("chale", "cabana", 2));
+    }
+
+    private List<Long> ids(String consulta) {
+        return indice.buscar(consulta, Set.of(), 10).stream().map(IndiceTexto.Resultado::id).toList();
+    }
+
+    private static Map<CampoChale, String> chale(String nome, String numero, String tipo, String descricao) {
+        Map<CampoChale, String> textos = new EnumMap<>(CampoChale.class);
+        textos.put(CampoChale.NOME, nome);
+        textos.put(CampoChale.NUMERO, numero);
+        textos.put(CampoChale.TIPO, tipo);
+        textos.put(CampoChale.DESCRICAO, descricao);
+        return textos;
+    }
+}
@@ -0,0 +1,153 @@
+package sptech.school.Lodgfy.business.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheCatalogoChales - Testes Unitários")
+class CacheCatalogoChalesTest {
+
+    @Mock
+    private CanalInvalidacaoCache canal;
+
+    private CaffeineCacheManager cacheManager;
+    private CacheCatalogoChales cache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        for (String nome : CacheCatalogoChales.CACHES) {
+            cacheManager.registerCustomCache(nome, Caffeine.newBuilder().recordStats().build());
+        }
+        cache = new CacheCatalogoChales(cacheManager, canal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Evento de chalé deve remover o chalé e todas as listagens, preservando os demais chalés")
+    void testInvalidacaoPorEvento() {
+        popular();
+        ChaleEntity chale = new ChaleEntity();
+        chale.setIdChale(1L);
+
+        cache.onChaleChanged(chale, ChaleObserver.ChaleEventType.PRECO_ALTERADO);
+
+        assertNull(cacheManager.getCache(CacheCatalogoChales.CHALES).get(1L));
+        assertNotNull(cacheManager.getCache(CacheCatalogoChales.CHALES).get(2L));
+        assertNull(cacheManager.getCache(CacheCatalogoChales.LISTAGEM).get("pagina0"));
+        assertNull(cacheManager.getCache(CacheCatalogoChales.POR_PRECO).get("300"));
+        assertNull(cacheManager.getCache(CacheCatalogoChales.BUSCA).get("busca"));
+        verify(canal).publicar(argThat(invalidacao -> Long.valueOf(1L).equals(invalidacao.idChale())));
+        assertTrue(cache.exigeEntregaSincrona());
+    }
+
+    @Test
+    @DisplayName("Dentro de transação, deve remover de novo ao final e publicar somente após o commit")
+    void testInvalidacaoEmTransacao() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidarChale(1L);
+
+        // Leitura concorrente repopula o cache antes do commit
+        popular();
+        verify(canal, never()).publicar(any());
+
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertNull(cacheManager.getCache(CacheCatalogoChales.CHALES).get(1L));
+        assertNull(cacheManager.getCache(CacheCatalogoChales.LISTAGEM).get("pagina0"));
+        verify(canal).publicar(any());
+    }
+
+    @Test
+    @DisplayName("Rollback deve remover novamente sem publicar para as demais instâncias")
+    void testInvalidacaoComRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidarChale(1L);
+        popular();
+
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertNull(cacheManager.getCache(CacheCatalogoChales.CHALES).get(1L));
+        verify(canal, never()).publicar(any());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar invalidações de outras instâncias e ignorar as próprias")
+    void testInvalidacaoRemota() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<CanalInvalidacaoCache.InvalidacaoCache>> ouvinte = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<CanalInvalidacaoCache.InvalidacaoCache> publicada =
+                ArgumentCaptor.forClass(CanalInvalidacaoCache.InvalidacaoCache.class);
+        cache.iniciar();
+        verify(canal).aoReceber(ouvinte.capture());
+
+        // Invalidação própria, recebida de volta pelo canal
+        cache.invalidarChale(3L);
+        verify(canal).publicar(publicada.capture());
+        popular();
+        ouvinte.getValue().accept(publicada.getValue());
+        assertNotNull(cacheManager.getCache(CacheCatalogoChales.LISTAGEM).get("pagina0"));
+
+        // Invalidação de outra instância, para o catálogo inteiro
+        ouvinte.getValue().accept(new CanalInvalidacaoCache.InvalidacaoCache("outra-instancia", null));
+
+        assertNull(cacheManager.getCache(CacheCatalogoChales.CHALES).get(1L));
+        assertNull(cacheManager.getCache(CacheCatalogoChales.CHALES).get(2L));
+        assertNull(cacheManager.getCache(CacheCatalogoChales.LISTAGEM).get("pagina0"));
+        assertEquals(1, cache.getEstatisticas().invalidacoesRemotas());
+        assertEquals(1, cache.getEstatisticas().invalidacoesLocais());
+    }
+
+    @Test
+    @DisplayName("Estatísticas devem refletir acertos e falhas de cada cache")
+    void testEstatisticas() {
+        popular();
+        cacheManager.getCache(CacheCatalogoChales.CHALES).get(1L);
+        cacheManager.getCache(CacheCatalogoChales.CHALES).get(99L);
+
+        CacheCatalogoChales.EstatisticasCatalogo estatisticas = cache.getEstatisticas();
+
+        assertEquals(4, estatisticas.caches().size());
+        CacheCatalogoChales.EstatisticasCache chales = estatisticas.caches().get(0);
+        assertEquals(CacheCatalogoChales.CHALES, chales.nome());
+        assertEquals(2, chales.tamanho());
+        assertEquals(1, chales.acertos());
+        assertEquals(1, chales.falhas());
+    }
+
+    private void popular() {
+        cacheManager.getCache(CacheCatalogoChales.CHALES).put(1L, "chale1");
+        cacheManager.getCache(CacheCatalogoChales.CHALES).put(2L, "chale2");
+        cacheManager.getCache(CacheCatalogoChales.LISTAGEM).put("pagina0", "lista");
+        cacheManager.getCache(CacheCatalogoChales.POR_PRECO).put("300", "lista");
+        cacheManager.getCache(CacheCatalogoChales.BUSCA).put("busca", "lista");
+    }
+}
@@ -0,0 +1,59 @@
+package sptech.school.Lodgfy.business.cadastro;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FiltroBloom - Testes Unitários")
+class FiltroBloomTest {
+
+    private static final int CAPACIDADE = 10_000;
+
+    @Test
+    @DisplayName("Chaves adicionadas nunca devem ser dadas como ausentes")
+    void testSemFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, 0.01);
+        for (int i = 0; i < CAPACIDADE; i++) {
+            filtro.adicionar(cpf(i));
+        }
+
+        for (int i = 0; i < CAPACIDADE; i++) {
+            assertTrue(filtro.talvezContem(cpf(i)), "CPF ausente: " + cpf(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Taxa de falsos positivos deve ficar perto da configurada")
+    void testTaxaDeFalsosPositivos() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, 0.01);
+        for (int i = 0; i < CAPACIDADE; i++) {
+            filtro.adicionar(cpf(i));
+        }
+
+        int falsosPositivos = 0;
+        int consultas = 100_000;
+        for (int i = CAPACIDADE; i < CAPACIDADE + consultas; i++) {
+            if (filtro.talvezContem(cpf(i))) {
+                falsosPositivos++;
+            }
+        }
+
+        // 1% esperado; margem para a variação entre chaves
+        assertTrue(falsosPositivos < consultas * 0.02, "Falsos positivos: " + falsosPositivos);
+        assertEquals(7, filtro.getFuncoes());
+    }
+
+    @Test
+    @DisplayName("Filtro vazio deve dar todas as chaves como ausentes")
+    void testFiltroVazio() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, 0.01);
+
+        assertFalse(filtro.talvezContem("12345678900"));
+        assertFalse(filtro.talvezContem("joao@email.com"));
+    }
+
+    private static String cpf(int indice) {
+        return String.format("%011d", 40_000_000_000L + indice * 7L);
+    }
+}
@@ -0,0 +1,164 @@
+package sptech.school.Lodgfy.business.disponibilidade;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.mapsstruct.ChaleMapper;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultaDisponibilidade - Testes Unitários")
+class ConsultaDisponibilidadeTest {
+
+    @Mock
+    private ChaleRepository chaleRepository;
+
+    @Mock
+    private ChaleMapper chaleMapper;
+
+    private ConsultaDisponibilidade consulta;
+
+    private final LocalDate checkIn = LocalDate.of(2030, 1, 10);
+    private final LocalDate checkOut = LocalDate.of(2030, 1, 12);
+
+    @BeforeEach
+    void setUp() {
+        consulta = new ConsultaDisponibilidade(chaleRepository, chaleMapper, true, 60_000, 100);
+        lenient().when(chaleMapper.paraListaChaleResponseDTO(anyList())).thenAnswer(invocation -> {
+            List<ChaleEntity> chales = invocation.getArgument(0);
+            return chales.stream().map(chale -> {
+                ChaleResponseDTO dto = new ChaleResponseDTO();
+                dto.setIdChale(chale.getIdChale());
+                return dto;
+            }).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Buscas idênticas simultâneas devem compartilhar uma única consulta")
+    void testBuscasSimultaneasCoalescidas() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(chaleRepository.buscarChalesDisponiveis(2, checkIn, checkOut)).thenAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return List.of(chale(1L));
+        });
+        int buscas = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(buscas);
+        List<Future<List<ChaleResponseDTO>>> resultados = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < buscas; i++) {
+                resultados.add(executor.submit(() -> consulta.buscarDisponiveis(2, checkIn, checkOut)));
+            }
+            // Dá tempo para as buscas chegarem enquanto a primeira consulta está bloqueada
+            Thread.sleep(200);
+            liberar.countDown();
+
+            // Assert
+            for (Future<List<ChaleResponseDTO>> resultado : resultados) {
+                assertEquals(1L, resultado.get(5, TimeUnit.SECONDS).get(0).getIdChale());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(chaleRepository, times(1)).buscarChalesDisponiveis(2, checkIn, checkOut);
+        ConsultaDisponibilidade.EstatisticasConsultas estatisticas = consulta.getEstatisticas();
+        assertEquals(1, estatisticas.executadas());
+        assertEquals(buscas - 1, estatisticas.coalescidas() + estatisticas.acertosCache());
+    }
+
+    @Test
+    @DisplayName("Resultado deve ficar em cache até uma alteração de reserva ou chalé")
+    void testCacheInvalidadoPorAlteracao() {
+        // Arrange
+        when(chaleRepository.buscarChalesDisponiveis(any(), any(), any()))
+                .thenReturn(List.of(chale(1L))).thenReturn(List.of());
+
+        // Act & Assert
+        assertEquals(1, consulta.buscarDisponiveis(2, checkIn, checkOut).size());
+        assertEquals(1, consulta.buscarDisponiveis(2, checkIn, checkOut).size());
+        verify(chaleRepository, times(1)).buscarChalesDisponiveis(any(), any(), any());
+
+        consulta.onChaleChanged(chale(1L), ChaleObserver.ChaleEventType.STATUS_ALTERADO);
+        assertTrue(consulta.buscarDisponiveis(2, checkIn, checkOut).isEmpty());
+        verify(chaleRepository, times(2)).buscarChalesDisponiveis(any(), any(), any());
+        assertEquals(1, consulta.getEstatisticas().acertosCache());
+        assertEquals(1, consulta.getEstatisticas().invalidacoes());
+    }
+
+    @Test
+    @DisplayName("Busca iniciada após uma alteração não deve aproveitar a consulta anterior a ela")
+    void testAlteracaoDuranteConsulta() throws Exception {
+        // Arrange
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(chaleRepository.buscarChalesDisponiveis(any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    consultando.countDown();
+                    liberar.await(5, TimeUnit.SECONDS);
+                    return List.of(chale(1L));
+                })
+                .thenReturn(List.of());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<List<ChaleResponseDTO>> anterior =
+                    executor.submit(() -> consulta.buscarDisponiveis(2, checkIn, checkOut));
+            assertTrue(consultando.await(5, TimeUnit.SECONDS));
+
+            // Act
+            consulta.invalidar();
+            List<ChaleResponseDTO> posterior = consulta.buscarDisponiveis(2, checkIn, checkOut);
+            liberar.countDown();
+
+            // Assert
+            assertTrue(posterior.isEmpty());
+            assertEquals(1, anterior.get(5, TimeUnit.SECONDS).size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // O resultado da consulta anterior à alteração não é devolvido pelo cache
+        assertTrue(consulta.buscarDisponiveis(2, checkIn, checkOut).isEmpty());
+        assertEquals(0, consulta.getEstatisticas().coalescidas());
+    }
+
+    @Test
+    @DisplayName("Desabilitada, toda busca deve consultar o banco")
+    void testDesabilitada() {
+        // Arrange
+        consulta = new ConsultaDisponibilidade(chaleRepository, chaleMapper, false, 60_000, 100);
+        when(chaleRepository.buscarChalesDisponiveis(any(), any(), any())).thenReturn(List.of(chale(1L)));
+
+        // Act
+        consulta.buscarDisponiveis(2, checkIn, checkOut);
+        consulta.buscarDisponiveis(2, checkIn, checkOut);
+
+        // Assert
+        verify(chaleRepository, times(2)).buscarChalesDisponiveis(any(), any(), any());
+        assertEquals(2, consulta.getEstatisticas().executadas());
+    }
+
+    private static ChaleEntity chale(Long id) {
+        ChaleEntity chale = new ChaleEntity();
+        chale.setIdChale(id);
+        return chale;
+    }
+}
@@ -0,0 +1,161 @@
+package sptech.school.Lodgfy.business.disponibilidade;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.business.mapsstruct.ChaleMapper;
+import sptech.school.Lodgfy.business.observer.ChaleObserver;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IndiceDisponibilidade - Testes Unitários")
+class IndiceDisponibilidadeTest {
+
+    @Mock
+    private ChaleRepository chaleRepository;
+
+    @Mock
+    private ReservaRepository reservaRepository;
+
+    @Mock
+    private ChaleMapper chaleMapper;
+
+    private IndiceDisponibilidade indice;
+
+    private ChaleEntity chale;
+    private LocalDate hoje;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceDisponibilidade(chaleRepository, reservaRepository, chaleMapper, true, 365, 0.0);
+        hoje = LocalDate.now();
+
+        chale = new ChaleEntity();
+        chale.setIdChale(1L);
+        chale.setNome("Chalé das Montanhas");
+        chale.setNumero("A101");
+        chale.setValorDiaria(BigDecimal.valueOf(350.00));
+        chale.setCapacidade(4);
+        chale.setStatus(ChaleEntity.StatusChale.DISPONIVEL);
+
+        lenient().when(chaleMapper.paraChaleResponseDTO(any(ChaleEntity.class)))
+                .thenAnswer(invocation -> paraDTO(invocation.getArgument(0)));
+        when(chaleRepository.findAll()).thenReturn(List.of(chale));
+        when(reservaRepository.findReservasAtivasAPartirDe(any(), anyList())).thenReturn(List.of());
+
+        indice.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Deve responder pelo índice quando não há reservas no período")
+    void testChaleDisponivelSemReservas() {
+        Optional<List<ChaleResponseDTO>> resultado = indice.buscarDisponiveis(2, hoje.plusDays(1), hoje.plusDays(3));
+
+        assertTrue(resultado.isPresent());
+        assertEquals(1, resultado.get().size());
+        assertEquals(1L, indice.getEstatisticas().acertos());
+        verify(chaleRepository, never()).buscarChalesDisponiveis(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve excluir chalé com reserva sobreposta e liberar após remoção")
+    void testReservaSobrepostaELiberacao() {
+        indice.registrarReserva(reserva(10L, hoje.plusDays(2), hoje.plusDays(5)));
+
+        assertTrue(indice.buscarDisponiveis(2, hoje.plusDays(4), hoje.plusDays(6)).orElseThrow().isEmpty());
+        // Check-out no mesmo dia do check-in seguinte não é conflito
+        assertEquals(1, indice.buscarDisponiveis(2, hoje.plusDays(5), hoje.plusDays(7)).orElseThrow().size());
+
+        indice.removerReserva(10L);
+
+        assertEquals(1, indice.buscarDisponiveis(2, hoje.plusDays(4), hoje.plusDays(6)).orElseThrow().size());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar chalé sem capacidade ou com status diferente de DISPONIVEL")
+    void testFiltroCapacidadeEStatus() {
+        assertTrue(indice.buscarDisponiveis(5, hoje.plusDays(1), hoje.plusDays(2)).orElseThrow().isEmpty());
+
+        chale.setStatus(ChaleEntity.StatusChale.OCUPADO);
+        indice.onChaleChanged(chale, ChaleObserver.ChaleEventType.STATUS_ALTERADO);
+
+        assertTrue(indice.buscarDisponiveis(2, hoje.plusDays(1), hoje.plusDays(2)).orElseThrow().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recorrer ao banco quando o período excede o horizonte do índice")
+    void testForaDoHorizonte() {
+        Optional<List<ChaleResponseDTO>> resultado = indice.buscarDisponiveis(2, hoje.plusDays(400), hoje.plusDays(402));
+
+        assertTrue(resultado.isEmpty());
+        assertEquals(1L, indice.getEstatisticas().falhas());
+    }
+
+    @Test
+    @DisplayName("Deve recorrer ao banco, sem erro, quando o check-in é anterior à data base")
+    void testCheckInAnteriorADataBase() {
+        Optional<List<ChaleResponseDTO>> resultado = indice.buscarDisponiveis(2, hoje.minusDays(1), hoje.plusDays(2));
+
+        assertTrue(resultado.isEmpty());
+        assertTrue(indice.verificarConsistencia(2, hoje.minusDays(1), hoje.plusDays(2)));
+        verify(chaleRepository, never()).buscarChalesDisponiveis(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Ocupação deve limitar à janela as noites consultadas")
+    void testDisponivelForaDaJanela() {
+        IndiceDisponibilidade.OcupacaoChale ocupacao = new IndiceDisponibilidade.OcupacaoChale(10);
+        ocupacao.substituirChale(paraDTO(chale));
+        ocupacao.ocupar(10L, new IndiceDisponibilidade.Periodo(1L, hoje, hoje.plusDays(1)), 0, 1);
+
+        assertFalse(ocupacao.disponivel(2, -1, 2));
+        assertTrue(ocupacao.disponivel(2, 5, 12));
+    }
+
+    @Test
+    @DisplayName("Deve detectar divergência com a consulta SQL e invalidar o índice")
+    void testVerificarConsistenciaComDivergencia() {
+        when(chaleRepository.buscarChalesDisponiveis(any(), any(), any())).thenReturn(List.of());
+
+        assertFalse(indice.verificarConsistencia(2, hoje.plusDays(1), hoje.plusDays(3)));
+        assertEquals(1L, indice.getEstatisticas().divergencias());
+        assertTrue(indice.buscarDisponiveis(2, hoje.plusDays(1), hoje.plusDays(3)).isEmpty());
+    }
+
+    private ReservaEntity reserva(Long id, LocalDate checkIn, LocalDate checkOut) {
+        ReservaEntity reserva = new ReservaEntity();
+        reserva.setIdReserva(id);
+        reserva.setChale(chale);
+        reserva.setDataCheckIn(checkIn);
+        reserva.setDataCheckOut(checkOut);
+        reserva.setStatusReserva(StatusReserva.PENDENTE);
+        return reserva;
+    }
+
+    private ChaleResponseDTO paraDTO(ChaleEntity entity) {
+        ChaleResponseDTO dto = new ChaleResponseDTO();
+        dto.setIdChale(entity.getIdChale());
+        dto.setNome(entity.getNome());
+        dto.setNumero(entity.getNumero());
+        dto.setCapacidade(entity.getCapacidade());
+        dto.setStatus(entity.getStatus());
+        return dto;
+    }
+}
@@ -0,0 +1,153 @@
+package sptech.school.Lodgfy.business.disponibilidade;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+import sptech.school.Lodgfy.business.exceptions.ReservaConflitanteException;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.entities.ReservaEntity;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaNoiteRepository;
+import sptech.school.Lodgfy.infrastructure.repository.ReservaRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NoitesReservadas - Testes Unitários")
+class NoitesReservadasTest {
+
+    @Mock
+    private ReservaNoiteRepository reservaNoiteRepository;
+
+    @Mock
+    private ReservaRepository reservaRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ConsultaDisponibilidade consultaDisponibilidade;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NoitesReservadas noites;
+
+    private final LocalDate checkIn = LocalDate.of(2030, 1, 10);
+
+    @BeforeEach
+    void setUp() {
+        noites = new NoitesReservadas(reservaNoiteRepository, reservaRepository, jdbcTemplate, consultaDisponibilidade,
+                transactionManager, true);
+    }
+
+    @Test
+    @DisplayName("Deve gravar uma noite por dia, do check-in até a véspera do check-out, só de reservas ocupantes")
+    void testOcuparGravaNoites() {
+        // Act
+        noites.ocupar(List.of(
+                reserva(1L, 7L, StatusReserva.PENDENTE, checkIn, checkIn.plusDays(3)),
+                reserva(2L, 8L, StatusReserva.CANCELADA, checkIn, checkIn.plusDays(2)),
+                reserva(3L, 8L, StatusReserva.CONFIRMADA, checkIn, checkIn.plusDays(1))));
+
+        // Assert
+        List<Object[]> gravadas = capturarNoites();
+        assertEquals(4, gravadas.size());
+        assertArrayEquals(new Object[]{7L, checkIn, 1L}, gravadas.get(0));
+        assertArrayEquals(new Object[]{7L, checkIn.plusDays(2), 1L}, gravadas.get(2));
+        assertArrayEquals(new Object[]{8L, checkIn, 3L}, gravadas.get(3));
+        verify(consultaDisponibilidade).invalidar();
+    }
+
+    @Test
+    @DisplayName("Noite já ocupada na chave primária deve virar conflito de reserva")
+    void testNoiteDuplicadaViraConflito() {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DuplicateKeyException("PRIMARY KEY"));
+        ReservaEntity reserva = reserva(1L, 7L, StatusReserva.PENDENTE, checkIn, checkIn.plusDays(2));
+
+        // Act & Assert
+        assertThrows(ReservaConflitanteException.class, () -> noites.ocupar(reserva));
+        verify(consultaDisponibilidade, never()).invalidar();
+    }
+
+    @Test
+    @DisplayName("Reconciliação deve regravar reservas ativas e só liberar as encerradas")
+    void testReconciliarCorrigeDivergencias() {
+        // Arrange
+        when(reservaNoiteRepository.buscarReservasComNoitesFaltando(any())).thenReturn(List.of(1L));
+        when(reservaNoiteRepository.buscarReservasComNoitesSobrando(any())).thenReturn(List.of(2L, 1L));
+        when(reservaRepository.findByIdComBloqueio(1L)).thenReturn(Optional.of(
+                reserva(1L, 7L, StatusReserva.CONFIRMADA, checkIn, checkIn.plusDays(2))));
+        when(reservaRepository.findByIdComBloqueio(2L)).thenReturn(Optional.of(
+                reserva(2L, 7L, StatusReserva.CANCELADA, checkIn, checkIn.plusDays(2))));
+
+        // Act
+        NoitesReservadas.Reconciliacao resultado = noites.reconciliar();
+
+        // Assert
+        assertEquals(2, resultado.reservasDivergentes());
+        assertEquals(2, resultado.reservasCorrigidas());
+        assertTrue(resultado.reservasEmConflito().isEmpty());
+        verify(jdbcTemplate).update(anyString(), eq(1L));
+        verify(jdbcTemplate).update(anyString(), eq(2L));
+        assertEquals(2, capturarNoites().size());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(1, noites.getEstatisticas().reconciliacoes());
+    }
+
+    @Test
+    @DisplayName("Reconciliação deve apontar como conflito a reserva cujas noites já pertencem a outra")
+    void testReconciliarComConflito() {
+        // Arrange
+        when(reservaNoiteRepository.buscarReservasComNoitesFaltando(any())).thenReturn(List.of(1L));
+        when(reservaNoiteRepository.buscarReservasComNoitesSobrando(any())).thenReturn(List.of());
+        when(reservaRepository.findByIdComBloqueio(1L)).thenReturn(Optional.of(
+                reserva(1L, 7L, StatusReserva.PENDENTE, checkIn, checkIn.plusDays(2))));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DuplicateKeyException("PRIMARY KEY"));
+
+        // Act
+        NoitesReservadas.Reconciliacao resultado = noites.reconciliar();
+
+        // Assert
+        assertEquals(0, resultado.reservasCorrigidas());
+        assertEquals(List.of(1L), resultado.reservasEmConflito());
+        verify(transactionManager).rollback(any());
+        assertEquals(1, noites.getEstatisticas().conflitos());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> capturarNoites() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+
+    private static ReservaEntity reserva(Long id, Long idChale, StatusReserva status,
+                                         LocalDate checkIn, LocalDate checkOut) {
+        ChaleEntity chale = new ChaleEntity();
+        chale.setIdChale(idChale);
+        ReservaEntity reserva = new ReservaEntity();
+        reserva.setIdReserva(id);
+        reserva.setChale(chale);
+        reserva.setStatusReserva(status);
+        reserva.setDataCheckIn(checkIn);
+        reserva.setDataCheckOut(checkOut);
+        reserva.setValorTotal(BigDecimal.TEN);
+        return reserva;
+    }
+}
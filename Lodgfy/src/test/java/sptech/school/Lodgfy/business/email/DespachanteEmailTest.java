@@ -0,0 +1,141 @@
+package sptech.school.Lodgfy.business.email;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity.StatusEnvio;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity.TipoEmail;
+import sptech.school.Lodgfy.infrastructure.repository.EmailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DespachanteEmail - Testes Unitários")
+class DespachanteEmailTest {
+
+    private static final long UMA_HORA = 3_600_000;
+
+    @Mock
+    private EmailOutboxRepository repository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Test
+    @DisplayName("Envio bem-sucedido deve marcar o e-mail como ENVIADO")
+    void testEnvioComSucesso() {
+        DespachanteEmail despachante = criarDespachante(3);
+        when(mailSender.createMimeMessage()).thenReturn(novaMensagem());
+        EmailOutboxEntity email = criarEmail(1L);
+
+        despachante.enviar(email);
+
+        verify(mailSender).send(any(MimeMessage.class));
+        verify(repository).save(email);
+        assertEquals(StatusEnvio.ENVIADO, email.getStatus());
+        assertEquals(1, email.getTentativas());
+        assertNotNull(email.getEnviadoEm());
+        assertEquals(1, despachante.getEstatisticas().enviados());
+    }
+
+    @Test
+    @DisplayName("Falha no envio deve reagendar o e-mail com espera")
+    void testFalhaTemporaria() {
+        DespachanteEmail despachante = criarDespachante(3);
+        when(mailSender.createMimeMessage()).thenReturn(novaMensagem());
+        doThrow(new MailSendException("SMTP indisponível")).when(mailSender).send(any(MimeMessage.class));
+        EmailOutboxEntity email = criarEmail(1L);
+
+        despachante.enviar(email);
+
+        assertEquals(StatusEnvio.PENDENTE, email.getStatus());
+        assertEquals(1, email.getTentativas());
+        assertTrue(email.getProximaTentativa().isAfter(LocalDateTime.now().plusSeconds(3)));
+        assertEquals("SMTP indisponível", email.getUltimoErro());
+        assertEquals(1, despachante.getEstatisticas().falhasTemporarias());
+    }
+
+    @Test
+    @DisplayName("Deve desistir do e-mail ao atingir o limite de tentativas")
+    void testFalhaDefinitiva() {
+        DespachanteEmail despachante = criarDespachante(3);
+        when(mailSender.createMimeMessage()).thenReturn(novaMensagem());
+        doThrow(new MailSendException("Destinatário recusado")).when(mailSender).send(any(MimeMessage.class));
+        EmailOutboxEntity email = criarEmail(1L);
+        email.setTentativas(2);
+
+        despachante.enviar(email);
+
+        assertEquals(StatusEnvio.FALHOU, email.getStatus());
+        assertEquals(3, email.getTentativas());
+        assertEquals(1, despachante.getEstatisticas().falhasDefinitivas());
+    }
+
+    @Test
+    @DisplayName("Espera entre tentativas deve dobrar a cada falha, até o limite")
+    void testEsperaExponencial() {
+        DespachanteEmail despachante = criarDespachante(10);
+
+        long primeira = despachante.calcularEspera(1);
+        long terceira = despachante.calcularEspera(3);
+        long vigesima = despachante.calcularEspera(20);
+
+        assertTrue(primeira <= 5_000 && primeira >= 4_000);
+        assertTrue(terceira <= 20_000 && terceira >= 16_000);
+        assertTrue(vigesima <= 60_000 && vigesima >= 48_000);
+    }
+
+    @Test
+    @DisplayName("Não deve enviar e-mails reservados por outra instância")
+    void testReservaConcorrente() {
+        DespachanteEmail despachante = criarDespachante(3);
+        despachante.iniciar();
+        when(repository.buscarProntos(any(), any())).thenReturn(List.of(criarEmail(1L), criarEmail(2L)));
+        when(repository.reservar(eq(1L), any(), any(), eq(StatusEnvio.ENVIANDO))).thenReturn(0);
+        when(repository.reservar(eq(2L), any(), any(), eq(StatusEnvio.ENVIANDO))).thenReturn(1);
+        when(mailSender.createMimeMessage()).thenReturn(novaMensagem());
+
+        int despachados = despachante.despacharProntos();
+        despachante.encerrar();
+
+        assertEquals(1, despachados);
+        verify(mailSender, times(1)).send(any(MimeMessage.class));
+        verify(repository).save(argThat(email -> email.getIdEmail() == 2L && email.getStatus() == StatusEnvio.ENVIADO));
+    }
+
+    private DespachanteEmail criarDespachante(int maxTentativas) {
+        return new DespachanteEmail(repository, mailSender, 2, UMA_HORA, 60_000, maxTentativas, 5_000, 60_000, 5_000);
+    }
+
+    private EmailOutboxEntity criarEmail(Long id) {
+        EmailOutboxEntity email = new EmailOutboxEntity();
+        email.setIdEmail(id);
+        email.setCodigoRastreio("codigo");
+        email.setTipo(TipoEmail.ORCAMENTO_CLIENTE);
+        email.setDestinatario("cliente@test.com");
+        email.setAssunto("Assunto");
+        email.setCorpo("<p>Corpo</p>");
+        email.setStatus(StatusEnvio.PENDENTE);
+        email.setProximaTentativa(LocalDateTime.now());
+        email.setCriadoEm(LocalDateTime.now());
+        return email;
+    }
+
+    private MimeMessage novaMensagem() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
+}
@@ -0,0 +1,108 @@
+package sptech.school.Lodgfy.business.email.template;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MotorTemplates - Testes Unitários")
+class MotorTemplatesTest {
+
+    private MotorTemplates motor;
+
+    @BeforeEach
+    void setUp() {
+        motor = new MotorTemplates();
+        motor.carregar();
+    }
+
+    @Test
+    @DisplayName("Deve escapar caracteres especiais em uma única passada")
+    void testEscapador() {
+        assertEquals("a &amp; b &lt;tag&gt; &quot;c&quot; &#39;d&#39;", EscapadorHtml.escapar("a & b <tag> \"c\" 'd'"));
+        assertEquals("sem especiais", EscapadorHtml.escapar("sem especiais"));
+        assertEquals("", EscapadorHtml.escapar(null));
+    }
+
+    @Test
+    @DisplayName("Deve substituir variáveis, escapando apenas as de chaves duplas")
+    void testCompilacaoERenderizacao() {
+        TemplateCompilado template = TemplateCompilado.compilar("teste", "<p>{{nome}}</p> {{{bruto}}} em {{data}} ({{qtd}})");
+        Map<String, Object> valores = Map.of(
+                "nome", "<João & Cia>",
+                "bruto", "<b>",
+                "data", LocalDate.of(2025, 3, 7),
+                "qtd", 42
+        );
+
+        StringBuilder destino = new StringBuilder();
+        template.renderizar(valores, destino);
+
+        assertEquals("<p>&lt;João &amp; Cia&gt;</p> <b> em 07/03/2025 (42)", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar templates malformados e valores ausentes")
+    void testErros() {
+        assertThrows(IllegalArgumentException.class, () -> TemplateCompilado.compilar("aberto", "Olá {{nome"));
+        assertThrows(IllegalArgumentException.class, () -> TemplateCompilado.compilar("vazio", "Olá {{ }}"));
+
+        TemplateCompilado template = TemplateCompilado.compilar("teste", "Olá {{nome}}");
+        assertThrows(IllegalArgumentException.class, () -> template.renderizar(Map.of(), new StringBuilder()));
+
+        Map<String, Object> comNulo = new HashMap<>();
+        comNulo.put("nome", null);
+        StringBuilder destino = new StringBuilder();
+        template.renderizar(comNulo, destino);
+        assertEquals("Olá ", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Deve renderizar o orçamento com assunto em texto puro e corpo escapado")
+    void testOrcamento() {
+        Map<String, Object> valores = Map.of(
+                "tipoEvento", "Casamento & Festa",
+                "nome", "Maria <Souza>",
+                "data", LocalDate.of(2030, 12, 31),
+                "email", "maria@test.com",
+                "convidados", 80
+        );
+
+        MotorTemplates.EmailRenderizado equipe = motor.renderizar(ModeloEmail.ORCAMENTO_EQUIPE, valores);
+        MotorTemplates.EmailRenderizado cliente = motor.renderizar(ModeloEmail.ORCAMENTO_CLIENTE, valores);
+
+        assertEquals("[Lodgfy] Novo orçamento: Casamento & Festa", equipe.assunto());
+        assertTrue(equipe.corpo().contains("<strong>Tipo:</strong> Casamento &amp; Festa</p>"));
+        assertTrue(equipe.corpo().contains("<strong>Data:</strong> 31/12/2030</p>"));
+        assertTrue(equipe.corpo().contains("<strong>Convidados:</strong> 80</p>"));
+        assertTrue(cliente.corpo().contains("Olá <strong>Maria &lt;Souza&gt;</strong>"));
+        assertFalse(cliente.corpo().contains("{{"));
+    }
+
+    @Test
+    @DisplayName("Deve renderizar os e-mails de reserva")
+    void testReserva() {
+        Map<String, Object> valores = Map.of(
+                "nome", "Carlos",
+                "idReserva", 15L,
+                "chale", "Chalé das Montanhas",
+                "numeroChale", "C01",
+                "checkIn", LocalDate.of(2030, 1, 10),
+                "checkOut", LocalDate.of(2030, 1, 12),
+                "valorTotal", "700.00"
+        );
+
+        MotorTemplates.EmailRenderizado confirmada = motor.renderizar(ModeloEmail.RESERVA_CONFIRMADA, valores);
+        MotorTemplates.EmailRenderizado cancelada = motor.renderizar(ModeloEmail.RESERVA_CANCELADA, valores);
+
+        assertEquals("Reserva confirmada - Chalé das Montanhas - Lodgfy", confirmada.assunto());
+        assertTrue(confirmada.corpo().contains("Reserva nº 15"));
+        assertTrue(confirmada.corpo().contains("R$ 700.00"));
+        assertTrue(cancelada.corpo().contains("<strong>Check-out:</strong> 12/01/2030</p>"));
+    }
+}
@@ -0,0 +1,254 @@
+package sptech.school.Lodgfy.business.idempotencia;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import sptech.school.Lodgfy.business.exceptions.ChaveIdempotenciaReutilizadaException;
+import sptech.school.Lodgfy.business.exceptions.RequisicaoEmAndamentoException;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Idempotencia - Testes Unitários")
+class IdempotenciaTest {
+
+    private static final TypeReference<Map<String, String>> TIPO = new TypeReference<>() {};
+
+    private Idempotencia idempotencia;
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencia = new Idempotencia(new ArmazemIdempotenciaMemoria(1000), new ObjectMapper(), 60_000, 5_000, 10_000);
+    }
+
+    @Test
+    @DisplayName("Repetição com a mesma chave deve devolver a resposta original sem executar de novo")
+    void testRepeticaoDevolveRespostaOriginal() {
+        // Act
+        ResponseEntity<Map<String, String>> primeira = executar("chave-1", "corpo");
+        ResponseEntity<Map<String, String>> repetida = executar("chave-1", "corpo");
+
+        // Assert
+        assertEquals(1, execucoes.get());
+        assertEquals(HttpStatus.ACCEPTED, repetida.getStatusCode());
+        assertEquals(primeira.getBody(), repetida.getBody());
+        assertEquals(primeira.getHeaders().getLocation(), repetida.getHeaders().getLocation());
+        assertEquals("true", repetida.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+        assertNull(primeira.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+        assertEquals(1, idempotencia.getEstatisticas().repetidas());
+    }
+
+    @Test
+    @DisplayName("Chave reutilizada com outro corpo deve ser recusada; sem chave, toda requisição executa")
+    void testChaveReutilizadaComOutroCorpo() {
+        // Arrange
+        executar("chave-1", "corpo");
+
+        // Act & Assert
+        assertThrows(ChaveIdempotenciaReutilizadaException.class, () -> executar("chave-1", "outro corpo"));
+        executar(null, "corpo");
+        executar(null, "corpo");
+        assertEquals(3, execucoes.get());
+        assertEquals(1, idempotencia.getEstatisticas().recusadas());
+    }
+
+    @Test
+    @DisplayName("Repetições simultâneas devem esperar uma única execução")
+    void testRepeticoesSimultaneasExecutamUmaVez() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        int requisicoes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requisicoes);
+        List<Future<ResponseEntity<Map<String, String>>>> respostas = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < requisicoes; i++) {
+                respostas.add(executor.submit(() -> idempotencia.executar("teste", "chave-1", "corpo", TIPO, () -> {
+                    execucoes.incrementAndGet();
+                    aguardar(liberar);
+                    return resposta("codigo-unico");
+                })));
+            }
+            // Dá tempo para as repetições chegarem enquanto a primeira está bloqueada
+            Thread.sleep(200);
+            liberar.countDown();
+
+            // Assert
+            for (Future<ResponseEntity<Map<String, String>>> resposta : respostas) {
+                assertEquals("codigo-unico", resposta.get(5, TimeUnit.SECONDS).getBody().get("codigoRastreio"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, execucoes.get());
+        Idempotencia.EstatisticasIdempotencia estatisticas = idempotencia.getEstatisticas();
+        assertEquals(1, estatisticas.executadas());
+        assertEquals(requisicoes - 1, estatisticas.coalescidas() + estatisticas.repetidas());
+        assertEquals(0, estatisticas.emAndamento());
+    }
+
+    @Test
+    @DisplayName("Falha na execução deve liberar a chave para a próxima tentativa")
+    void testFalhaLiberaChave() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> idempotencia.executar("teste", "chave-1", "corpo", TIPO, () -> {
+            execucoes.incrementAndGet();
+            throw new IllegalStateException("falha");
+        }));
+        ResponseEntity<Map<String, String>> novaTentativa = executar("chave-1", "corpo");
+
+        // Assert
+        assertEquals(2, execucoes.get());
+        assertNull(novaTentativa.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+        assertThrows(IllegalArgumentException.class, () -> executar(" ", "corpo"));
+    }
+
+    @Test
+    @DisplayName("Falha ao guardar a resposta deve liberar a chave em vez de deixá-la em andamento")
+    void testFalhaAoGuardarRespostaLiberaChave() {
+        // Arrange
+        AtomicInteger falhas = new AtomicInteger();
+        idempotencia = new Idempotencia(new ArmazemIdempotenciaMemoria(1000) {
+            @Override
+            public void concluir(String chave, ArmazemIdempotencia.Resposta resposta, LocalDateTime expiraEm) {
+                if (falhas.getAndIncrement() == 0) {
+                    throw new IllegalStateException("armazenamento indisponível");
+                }
+                super.concluir(chave, resposta, expiraEm);
+            }
+        }, new ObjectMapper(), 60_000, 5_000, 10_000);
+
+        // Act
+        ResponseEntity<Map<String, String>> primeira = executar("chave-1", "corpo");
+        long inicio = System.nanoTime();
+        ResponseEntity<Map<String, String>> novaTentativa = executar("chave-1", "corpo");
+
+        // Assert - a primeira resposta chega ao cliente e a repetição executa sem esperar
+        assertEquals("codigo-1", primeira.getBody().get("codigoRastreio"));
+        assertEquals("codigo-2", novaTentativa.getBody().get("codigoRastreio"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 1_000);
+        assertEquals(0, idempotencia.getEstatisticas().emAndamento());
+    }
+
+    @Test
+    @DisplayName("Chave que some do armazenamento a cada consulta deve respeitar o tempo de espera")
+    void testEsperaLimitadaSemRegistro() {
+        // Arrange - reserva sempre recusada e nenhum registro encontrado
+        AtomicInteger reservas = new AtomicInteger();
+        idempotencia = new Idempotencia(new ArmazemIdempotencia() {
+            @Override
+            public boolean reservar(String chave, String impressao, LocalDateTime expiraEm) {
+                reservas.incrementAndGet();
+                return false;
+            }
+
+            @Override
+            public Optional<Registro> buscar(String chave) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void concluir(String chave, Resposta resposta, LocalDateTime expiraEm) {
+            }
+
+            @Override
+            public void liberar(String chave) {
+            }
+        }, new ObjectMapper(), 60_000, 300, 10_000);
+
+        // Act & Assert
+        assertThrows(RequisicaoEmAndamentoException.class, () -> executar("chave-1", "corpo"));
+        assertEquals(0, execucoes.get());
+        assertTrue(reservas.get() <= 10, "tentativas de reserva: " + reservas.get());
+    }
+
+    @Test
+    @DisplayName("Chave em andamento deve valer pelo prazo da execução e a concluída, pela validade da resposta")
+    void testPrazoDaExecucaoEValidadeDaResposta() {
+        // Arrange
+        List<LocalDateTime> reservas = new ArrayList<>();
+        List<LocalDateTime> conclusoes = new ArrayList<>();
+        idempotencia = new Idempotencia(new ArmazemIdempotenciaMemoria(1000) {
+            @Override
+            public boolean reservar(String chave, String impressao, LocalDateTime expiraEm) {
+                reservas.add(expiraEm);
+                return super.reservar(chave, impressao, expiraEm);
+            }
+
+            @Override
+            public void concluir(String chave, ArmazemIdempotencia.Resposta resposta, LocalDateTime expiraEm) {
+                conclusoes.add(expiraEm);
+                super.concluir(chave, resposta, expiraEm);
+            }
+        }, new ObjectMapper(), 86_400_000, 5_000, 10_000);
+
+        // Act
+        LocalDateTime antes = LocalDateTime.now();
+        executar("chave-1", "corpo");
+
+        // Assert
+        assertTrue(reservas.get(0).isBefore(antes.plusSeconds(11)), "reserva até " + reservas.get(0));
+        assertTrue(conclusoes.get(0).isAfter(antes.plusHours(23)), "resposta até " + conclusoes.get(0));
+    }
+
+    @Test
+    @DisplayName("Chave de uma execução interrompida deve ser assumida depois do prazo da execução")
+    void testExecucaoInterrompidaAssumidaAposPrazo() {
+        // Arrange - duas instâncias com o mesmo armazenamento; a primeira para no meio da execução
+        ArmazemIdempotenciaMemoria armazem = new ArmazemIdempotenciaMemoria(1000);
+        Idempotencia interrompida = new Idempotencia(armazem, new ObjectMapper(), 60_000, 5_000, 200);
+        Idempotencia outraInstancia = new Idempotencia(armazem, new ObjectMapper(), 60_000, 5_000, 200);
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch nuncaConclui = new CountDownLatch(1);
+        Thread execucao = Thread.ofVirtual().start(() -> interrompida.executar("teste", "chave-1", "corpo", TIPO, () -> {
+            emExecucao.countDown();
+            aguardar(nuncaConclui);
+            return resposta("nunca-entregue");
+        }));
+        aguardar(emExecucao);
+
+        // Act
+        long inicio = System.nanoTime();
+        ResponseEntity<Map<String, String>> novaTentativa = outraInstancia.executar("teste", "chave-1", "corpo", TIPO,
+                () -> resposta("codigo-assumido"));
+
+        // Assert - executa de novo assim que o prazo vence, sem esperar a validade nem receber 409
+        assertEquals("codigo-assumido", novaTentativa.getBody().get("codigoRastreio"));
+        assertNull(novaTentativa.getHeaders().getFirst(Idempotencia.CABECALHO_REPETIDA));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 2_000);
+        execucao.interrupt();
+    }
+
+    private ResponseEntity<Map<String, String>> executar(String chave, String corpo) {
+        return idempotencia.executar("teste", chave, corpo, TIPO,
+                () -> resposta("codigo-" + execucoes.incrementAndGet()));
+    }
+
+    private static ResponseEntity<Map<String, String>> resposta(String codigo) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orcamentos/envios/" + codigo))
+                .body(Map.of("codigoRastreio", codigo));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
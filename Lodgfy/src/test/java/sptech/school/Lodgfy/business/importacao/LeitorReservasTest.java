@@ -0,0 +1,135 @@
+package sptech.school.Lodgfy.business.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sptech.school.Lodgfy.business.dto.StatusReserva;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LeitorReservas - Testes Unitários")
+class LeitorReservasTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("Deve ler o CSV pelo nome das colunas, com campos entre aspas e colunas extras")
+    void testCsv() throws IOException {
+        List<LeitorReservas.Linha> linhas = ler(FormatoImportacao.CSV, """
+                \uFEFFidReserva,chaleNome,chaleId,hospedeId,dataCheckIn,dataCheckOut,statusReserva,valorTotal
+                1,"Chalé ""Vista"", Lago",7,3,2024-01-10,2024-01-12,CONCLUIDA,700.00
+
+                2,Cabana,8,4,2024-02-01,2024-02-03,,
+                """);
+
+        assertEquals(2, linhas.size());
+        LeitorReservas.Linha primeira = linhas.get(0);
+        assertEquals(2, primeira.numero());
+        assertNull(primeira.erro());
+        assertEquals(7L, primeira.reserva().getChaleId());
+        assertEquals(3L, primeira.reserva().getHospedeId());
+        assertEquals(LocalDate.of(2024, 1, 10), primeira.reserva().getDataCheckIn());
+        assertEquals(StatusReserva.CONCLUIDA, primeira.reserva().getStatusReserva());
+        assertEquals(new BigDecimal("700.00"), primeira.reserva().getValorTotal());
+
+        LeitorReservas.Linha segunda = linhas.get(1);
+        assertEquals(4, segunda.numero());
+        assertNull(segunda.reserva().getStatusReserva());
+        assertNull(segunda.reserva().getValorTotal());
+    }
+
+    @Test
+    @DisplayName("Deve transformar valores ilegíveis em erro da linha e seguir lendo")
+    void testCsvComErros() throws IOException {
+        List<LeitorReservas.Linha> linhas = ler(FormatoImportacao.CSV, """
+                hospedeId,chaleId,dataCheckIn,dataCheckOut,statusReserva
+                1,2,2024-01-10,2024-01-12,RESERVADA
+                1,2,2024-01-10
+                1,2,"2024-01-10,2024-01-12,
+                1,2,2024-01-10,2024-01-12,PENDENTE
+                """);
+
+        assertEquals("Valor inválido na coluna statusReserva: 'RESERVADA'", linhas.get(0).erro());
+        assertEquals("CSV inválido: 3 colunas, o cabeçalho tem 5", linhas.get(1).erro());
+        assertEquals("CSV inválido: Aspas não fechadas", linhas.get(2).erro());
+        assertNull(linhas.get(3).erro());
+        assertEquals(StatusReserva.PENDENTE, linhas.get(3).reserva().getStatusReserva());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o arquivo quando o cabeçalho não tem as colunas obrigatórias")
+    void testCabecalhoIncompleto() {
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> ler(FormatoImportacao.CSV, "hospedeId,dataCheckIn,dataCheckOut\n1,2024-01-10,2024-01-12\n"));
+
+        assertTrue(erro.getMessage().contains("[chaleId]"));
+    }
+
+    @Test
+    @DisplayName("Deve ler uma reserva por linha no NDJSON, ignorando propriedades desconhecidas")
+    void testNdjson() throws IOException {
+        List<LeitorReservas.Linha> linhas = ler(FormatoImportacao.NDJSON, """
+                {"idReserva": 9, "hospedeId": 1, "chaleId": 2, "dataCheckIn": "2024-01-10", "dataCheckOut": "2024-01-12"}
+                {"hospedeId": 1, "chaleId": "dois"}
+                """);
+
+        assertEquals(2L, linhas.get(0).reserva().getChaleId());
+        assertEquals(LocalDate.of(2024, 1, 12), linhas.get(0).reserva().getDataCheckOut());
+        assertEquals(2, linhas.get(1).numero());
+        assertTrue(linhas.get(1).erro().startsWith("JSON inválido"));
+    }
+
+    @Test
+    @DisplayName("Linha NDJSON nula ou que não seja um objeto deve virar erro da linha")
+    void testNdjsonSemObjeto() throws IOException {
+        List<LeitorReservas.Linha> linhas = ler(FormatoImportacao.NDJSON, """
+                null
+                [{"hospedeId": 1, "chaleId": 2}]
+                42
+                {"hospedeId": 1, "chaleId": 2, "dataCheckIn": "2024-01-10", "dataCheckOut": "2024-01-12"}
+                """);
+
+        assertEquals(4, linhas.size());
+        assertEquals("Linha nula: esperado um objeto de reserva", linhas.get(0).erro());
+        assertNull(linhas.get(0).reserva());
+        assertEquals("JSON inválido: esperado um objeto de reserva", linhas.get(1).erro());
+        assertEquals("JSON inválido: esperado um objeto de reserva", linhas.get(2).erro());
+        assertNull(linhas.get(3).erro());
+        assertEquals(2L, linhas.get(3).reserva().getChaleId());
+    }
+
+    @Test
+    @DisplayName("Períodos ocupados devem seguir a regra de conflito com datas inclusivas")
+    void testPeriodosOcupados() {
+        PeriodosOcupados periodos = new PeriodosOcupados();
+        periodos.adicionar(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 12));
+        periodos.adicionar(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 25));
+        // Une os dois períodos anteriores
+        periodos.adicionar(LocalDate.of(2024, 1, 11), LocalDate.of(2024, 1, 21));
+
+        assertTrue(periodos.conflita(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16)));
+        assertTrue(periodos.conflita(LocalDate.of(2024, 1, 25), LocalDate.of(2024, 1, 27)));
+        assertTrue(periodos.conflita(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 10)));
+        assertFalse(periodos.conflita(LocalDate.of(2024, 1, 26), LocalDate.of(2024, 1, 28)));
+        assertFalse(periodos.conflita(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 9)));
+    }
+
+    private List<LeitorReservas.Linha> ler(FormatoImportacao formato, String conteudo) throws IOException {
+        LeitorReservas leitor = new LeitorReservas(new BufferedReader(new StringReader(conteudo)), formato, objectMapper);
+        List<LeitorReservas.Linha> linhas = new ArrayList<>();
+        LeitorReservas.Linha linha;
+        while ((linha = leitor.proxima()) != null) {
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+}
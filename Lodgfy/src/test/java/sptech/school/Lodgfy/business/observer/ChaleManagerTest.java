@@ -0,0 +1,184 @@
+package sptech.school.Lodgfy.business.observer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sptech.school.Lodgfy.business.observer.ChaleManager.ModoDespacho;
+import sptech.school.Lodgfy.business.observer.ChaleManager.PoliticaFilaCheia;
+import sptech.school.Lodgfy.business.observer.ChaleObserver.ChaleEventType;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChaleManager - Testes Unitários")
+class ChaleManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChaleManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar eventos em lote, na ordem de publicação, fora da thread do chamador")
+    void testEntregaAssincronaOrdenada() {
+        manager = new ChaleManager(ModoDespacho.ASSINCRONO, 1000, 10, PoliticaFilaCheia.BLOQUEAR, 5000, meterRegistry);
+        ObserverRegistrador observer = new ObserverRegistrador();
+        manager.registrar(observer);
+
+        ChaleEntity chale = criarChale(1L);
+        for (int i = 0; i < 100; i++) {
+            chale.setNome("Chalé " + i);
+            manager.notificar(chale, ChaleEventType.ATUALIZADO);
+        }
+        manager.encerrar();
+
+        assertEquals(100, observer.eventos.size());
+        for (int i = 0; i < 100; i++) {
+            // Cada evento carrega uma cópia do chalé no momento da publicação
+            assertEquals("Chalé " + i, observer.eventos.get(i).chale().getNome());
+        }
+        assertTrue(observer.maiorLote <= 10);
+        assertFalse(observer.threads.contains(Thread.currentThread().getName()));
+        // Com o despacho encerrado, as métricas da fila saem do registro
+        assertNull(meterRegistry.find("lodgfy.observer.fila").gauge());
+        assertTrue(meterRegistry.get("lodgfy.observer.entrega").tag("entrega", "assincrono").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve notificar na thread do chamador observers que exigem entrega síncrona")
+    void testObserverSincronoEmModoAssincrono() {
+        manager = new ChaleManager(ModoDespacho.ASSINCRONO, 1000, 10, PoliticaFilaCheia.BLOQUEAR, 5000, meterRegistry);
+        List<String> threads = new ArrayList<>();
+        manager.registrar(new ChaleObserver() {
+            @Override
+            public void onChaleChanged(ChaleEntity chale, ChaleEventType eventoTipo) {
+                threads.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public boolean exigeEntregaSincrona() {
+                return true;
+            }
+        });
+
+        manager.notificar(criarChale(1L), ChaleEventType.CRIADO);
+
+        assertEquals(List.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    @DisplayName("Deve descartar eventos quando a fila estiver cheia e a política for DESCARTAR")
+    void testPoliticaDescartar() throws InterruptedException {
+        manager = new ChaleManager(ModoDespacho.ASSINCRONO, 2, 10, PoliticaFilaCheia.DESCARTAR, 5000, meterRegistry);
+        ObserverBloqueado observer = new ObserverBloqueado();
+        manager.registrar(observer);
+
+        ChaleEntity chale = criarChale(1L);
+        manager.notificar(chale, ChaleEventType.ATUALIZADO);
+        assertTrue(observer.iniciou.await(5, TimeUnit.SECONDS));
+
+        // Consumidor ocupado: duas vagas na fila, o restante é descartado
+        for (int i = 0; i < 5; i++) {
+            manager.notificar(chale, ChaleEventType.ATUALIZADO);
+        }
+        ChaleManager.EstatisticasDespacho estatisticas = manager.getEstatisticas().get(0);
+        assertEquals(2, estatisticas.pendentes());
+        assertEquals(3, estatisticas.descartados());
+
+        observer.liberar.countDown();
+        manager.encerrar();
+
+        assertEquals(3, observer.recebidos.size());
+    }
+
+    @Test
+    @DisplayName("Deve entregar na thread do chamador quando a fila estiver cheia e a política for EXECUTAR_NO_CHAMADOR")
+    void testPoliticaExecutarNoChamador() throws InterruptedException {
+        manager = new ChaleManager(ModoDespacho.ASSINCRONO, 1, 10, PoliticaFilaCheia.EXECUTAR_NO_CHAMADOR, 5000, meterRegistry);
+        ObserverBloqueado observer = new ObserverBloqueado();
+        manager.registrar(observer);
+
+        manager.notificar(criarChale(1L), ChaleEventType.ATUALIZADO);
+        assertTrue(observer.iniciou.await(5, TimeUnit.SECONDS));
+        manager.notificar(criarChale(2L), ChaleEventType.ATUALIZADO);
+
+        // Fila cheia: o chamador espera o lote em andamento e entrega a fila junto com o próprio evento
+        Thread chamador = Thread.ofPlatform().start(
+                () -> manager.notificar(criarChale(3L), ChaleEventType.ATUALIZADO));
+        observer.liberar.countDown();
+        chamador.join(5000);
+        manager.encerrar();
+
+        assertEquals(List.of(1L, 2L, 3L), observer.recebidos);
+    }
+
+    @Test
+    @DisplayName("Deve notificar de forma síncrona no modo SINCRONO")
+    void testModoSincrono() {
+        manager = new ChaleManager(ModoDespacho.SINCRONO, 1000, 10, PoliticaFilaCheia.BLOQUEAR, 5000, meterRegistry);
+        ObserverRegistrador observer = new ObserverRegistrador();
+        manager.registrar(observer);
+
+        manager.notificar(criarChale(1L), ChaleEventType.CRIADO);
+
+        assertEquals(1, observer.eventos.size());
+        assertTrue(manager.getEstatisticas().isEmpty());
+        assertEquals(1, meterRegistry.get("lodgfy.observer.entrega")
+                .tags("observer", "ObserverRegistrador", "entrega", "sincrono").timer().count());
+    }
+
+    private ChaleEntity criarChale(Long id) {
+        ChaleEntity chale = new ChaleEntity();
+        chale.setIdChale(id);
+        chale.setNome("Chalé " + id);
+        return chale;
+    }
+
+    private static class ObserverRegistrador implements ChaleObserver {
+        final List<EventoChale> eventos = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        volatile int maiorLote;
+
+        @Override
+        public void onChaleChanged(ChaleEntity chale, ChaleEventType eventoTipo) {
+            eventos.add(new EventoChale(chale, eventoTipo, null));
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void onChalesChanged(List<EventoChale> lote) {
+            maiorLote = Math.max(maiorLote, lote.size());
+            eventos.addAll(lote);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    private static class ObserverBloqueado implements ChaleObserver {
+        final CountDownLatch iniciou = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+        final List<Long> recebidos = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onChaleChanged(ChaleEntity chale, ChaleEventType eventoTipo) {
+            iniciou.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            recebidos.add(chale.getIdChale());
+        }
+    }
+}
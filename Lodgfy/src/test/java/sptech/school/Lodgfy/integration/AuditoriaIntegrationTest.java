@@ -0,0 +1,76 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import sptech.school.Lodgfy.business.AuditoriaService;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.auditoria.GravadorAuditoria;
+import sptech.school.Lodgfy.business.dto.AuditoriaResponseDTO;
+import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sem @Transactional: a gravação da auditoria acontece em transação própria,
+ * como em produção.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Auditoria de Chalés")
+class AuditoriaIntegrationTest {
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private GravadorAuditoria gravadorAuditoria;
+
+    @Test
+    @DisplayName("Alterações no chalé devem gerar histórico paginado, do mais recente ao mais antigo")
+    void historicoDeAuditoriaPaginado() {
+        // Arrange
+        ChaleRequestDTO request = criarChale("AUD01");
+        ChaleResponseDTO chale = chaleService.salvarChale(request);
+        for (int i = 1; i <= 3; i++) {
+            request.setValorDiaria(new BigDecimal(200 + i * 10));
+            chaleService.atualizarChale(chale.getIdChale(), request);
+        }
+
+        // Act
+        gravadorAuditoria.gravarPendentes();
+        Page<AuditoriaResponseDTO> primeiraPagina = auditoriaService.listarHistoricoChale(chale.getIdChale(), 0, 3);
+        Page<AuditoriaResponseDTO> segundaPagina = auditoriaService.listarHistoricoChale(chale.getIdChale(), 1, 3);
+
+        // Assert
+        assertEquals(4, primeiraPagina.getTotalElements());
+        assertEquals(3, primeiraPagina.getContent().size());
+        assertEquals("PRECO_ALTERADO", primeiraPagina.getContent().get(0).getTipoEvento());
+        assertTrue(primeiraPagina.getContent().get(0).getDetalhes().contains("230"));
+        assertEquals(1, segundaPagina.getContent().size());
+        assertEquals("CRIADO", segundaPagina.getContent().get(0).getTipoEvento());
+        assertEquals(0, gravadorAuditoria.getEstatisticas().pendentes());
+    }
+
+    private ChaleRequestDTO criarChale(String numero) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé " + numero);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("200.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para teste de auditoria");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
@@ -0,0 +1,115 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.busca.BuscaChales;
+import sptech.school.Lodgfy.business.busca.BuscaHospedes;
+import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.dto.HospedeResponseDTO;
+import sptech.school.Lodgfy.business.dto.HospedeSignUpRequestDTO;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Índices de busca por texto carregados na subida e mantidos pelas gravações
+ * de chalés (eventos do ChaleManager) e de hóspedes (HospedeService).
+ *
+ * Sem @Transactional: o índice só recebe as alterações confirmadas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Busca por Texto")
+class BuscaTextoIntegrationTest {
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private BuscaChales buscaChales;
+
+    @Autowired
+    private BuscaHospedes buscaHospedes;
+
+    @Test
+    @DisplayName("Índices devem estar prontos após a subida da aplicação")
+    void indicesProntos() {
+        assertTrue(buscaChales.getEstatisticas().pronto());
+        assertTrue(buscaHospedes.getEstatisticas().pronto());
+    }
+
+    @Test
+    @DisplayName("Chalé criado deve ser encontrado por prefixo, sem acento e com erro de digitação")
+    void chaleCriadoEncontrado() {
+        ChaleResponseDTO chale = chaleService.salvarChale(criarChale("Chalé Jabuticabeira", "JAB-1", "Casa na árvore"));
+
+        assertEquals(chale.getIdChale(), chaleService.buscarPorNomeOuNumero("jabuti", null).get(0).getIdChale());
+        assertEquals(chale.getIdChale(), chaleService.pesquisar("jabuticabera", 10).get(0).getIdChale());
+        assertEquals(chale.getIdChale(), chaleService.pesquisar("arvore", 10).get(0).getIdChale());
+        assertTrue(contem(chaleService.buscarPorNomeOuNumero("nada-parecido", "JAB-1"), chale.getIdChale()));
+    }
+
+    @Test
+    @DisplayName("Chalé atualizado deve ser reindexado e chalé removido deve sair do índice")
+    void chaleAtualizadoERemovido() {
+        ChaleResponseDTO chale = chaleService.salvarChale(criarChale("Chalé Ipê Amarelo", "IPE-1", "Vista da serra"));
+        assertTrue(contem(chaleService.pesquisar("ipe amarelo", 10), chale.getIdChale()));
+
+        chaleService.atualizarChale(chale.getIdChale(), criarChale("Chalé Ipê Roxo", "IPE-1", "Vista da serra"));
+
+        assertFalse(contem(chaleService.pesquisar("ipe amarelo", 10), chale.getIdChale()));
+        assertTrue(contem(chaleService.pesquisar("ipe roxo", 10), chale.getIdChale()));
+
+        chaleService.deletarChalePorId(chale.getIdChale());
+
+        assertFalse(contem(chaleService.pesquisar("ipe roxo", 10), chale.getIdChale()));
+    }
+
+    @Test
+    @DisplayName("Hóspede cadastrado deve ser encontrado pelo nome sem acento")
+    void hospedeCadastradoEncontrado() {
+        HospedeResponseDTO hospede = hospedeService.autocadastrar(new HospedeSignUpRequestDTO(
+                "Conceição Araújo Brandão", "conceicao.busca@test.com", "11987654321", "Senha@123",
+                LocalDate.of(1985, 5, 20), "94000000001"));
+
+        List<HospedeResponseDTO> encontrados = hospedeService.buscarPorNome("conceicao brand");
+
+        assertEquals(1, encontrados.size());
+        assertEquals(hospede.getId(), encontrados.get(0).getId());
+
+        hospedeService.deletarHospedePorId(hospede.getId());
+
+        assertTrue(hospedeService.buscarPorNome("conceicao brand").isEmpty());
+    }
+
+    private boolean contem(List<ChaleResponseDTO> chales, Long idChale) {
+        return chales.stream().anyMatch(chale -> chale.getIdChale().equals(idChale));
+    }
+
+    private ChaleRequestDTO criarChale(String nome, String numero, String descricao) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome(nome);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("300.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao(descricao);
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
@@ -0,0 +1,146 @@
+package sptech.school.Lodgfy.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.dto.*;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache do catálogo de chalés: leituras repetidas não vão ao banco
+ * e toda alteração de chalé (ChaleService ou ReservaService) invalida o cache.
+ *
+ * Sem @Transactional: o cache é compartilhado entre transações, como em produção.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Cache do Catálogo de Chalés")
+class CacheCatalogoIntegrationTest {
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private static int sequencia;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Leituras repetidas do catálogo devem ser respondidas pelo cache")
+    void leiturasRepetidasSemConsulta() {
+        ChaleResponseDTO chale = chaleService.salvarChale(criarChale(new BigDecimal("250.00")));
+        chaleService.buscarPorId(chale.getIdChale());
+        chaleService.listarChales(0, 10);
+        chaleService.buscarPorPrecoMaximo(new BigDecimal("300.00"));
+        chaleService.buscarPorNomeOuNumero("Cache", "Cache");
+
+        statistics.clear();
+        chaleService.buscarPorId(chale.getIdChale());
+        chaleService.listarChales(0, 10);
+        chaleService.buscarPorPrecoMaximo(new BigDecimal("300.00"));
+        chaleService.buscarPorNomeOuNumero("Cache", "Cache");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Atualizar um chalé deve invalidar o cache por id e as listagens")
+    void atualizacaoInvalidaCache() {
+        ChaleResponseDTO chale = chaleService.salvarChale(criarChale(new BigDecimal("250.00")));
+        assertTrue(contem(chaleService.buscarPorPrecoMaximo(new BigDecimal("260.00")), chale.getIdChale()));
+        assertEquals(new BigDecimal("250.00"), chaleService.buscarPorId(chale.getIdChale()).orElseThrow().getValorDiaria());
+
+        ChaleRequestDTO alteracao = criarChale(new BigDecimal("400.00"));
+        alteracao.setNumero(chale.getNumero());
+        chaleService.atualizarChale(chale.getIdChale(), alteracao);
+
+        assertEquals(0, new BigDecimal("400.00").compareTo(
+                chaleService.buscarPorId(chale.getIdChale()).orElseThrow().getValorDiaria()));
+        assertFalse(contem(chaleService.buscarPorPrecoMaximo(new BigDecimal("260.00")), chale.getIdChale()));
+    }
+
+    @Test
+    @DisplayName("Remover um chalé deve tirá-lo do cache")
+    void remocaoInvalidaCache() {
+        ChaleResponseDTO chale = chaleService.salvarChale(criarChale(new BigDecimal("250.00")));
+        assertTrue(chaleService.buscarPorId(chale.getIdChale()).isPresent());
+
+        chaleService.deletarChalePorId(chale.getIdChale());
+
+        assertTrue(chaleService.buscarPorId(chale.getIdChale()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Confirmar uma reserva deve refletir o novo status do chalé no cache")
+    void confirmacaoDeReservaInvalidaCache() {
+        ChaleResponseDTO chale = chaleService.salvarChale(criarChale(new BigDecimal("250.00")));
+        HospedeResponseDTO hospede = hospedeService.salvarHospede(criarHospede());
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        ReservaResponseDTO reserva = reservaService.criarReserva(
+                new ReservaRequestDTO(checkIn, checkIn.plusDays(2), hospede.getId(), chale.getIdChale()));
+        assertEquals(StatusChale.DISPONIVEL, chaleService.buscarPorId(chale.getIdChale()).orElseThrow().getStatus());
+
+        reservaService.confirmarReserva(reserva.getIdReserva());
+
+        assertEquals(StatusChale.OCUPADO, chaleService.buscarPorId(chale.getIdChale()).orElseThrow().getStatus());
+    }
+
+    private boolean contem(List<ChaleResponseDTO> chales, Long idChale) {
+        return chales.stream().anyMatch(chale -> chale.getIdChale().equals(idChale));
+    }
+
+    private HospedeRequestDTO criarHospede() {
+        int numero = ++sequencia;
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Cache");
+        hospede.setEmail("cache" + numero + "@test.com");
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf(String.format("941%08d", numero));
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale(BigDecimal valorDiaria) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé Cache");
+        chale.setNumero("CACHE" + (++sequencia));
+        chale.setTipo("Standard");
+        chale.setValorDiaria(valorDiaria);
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para teste de cache");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
@@ -0,0 +1,117 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.dto.HospedeSignUpRequestDTO;
+import sptech.school.Lodgfy.business.exceptions.CpfJaExisteException;
+import sptech.school.Lodgfy.business.exceptions.EmailJaExisteException;
+import sptech.school.Lodgfy.infrastructure.repository.HospedeRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cadastros simultâneos com o mesmo CPF ou e-mail: a restrição única decide
+ * qual deles grava, e os demais recebem a exceção do campo duplicado.
+ *
+ * Sem @Transactional, como na ReservaConcorrenciaIntegrationTest: cada
+ * cadastro precisa ser confirmado para os demais o enxergarem.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Concorrência de Cadastros")
+class CadastroConcorrenciaIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private HospedeRepository hospedeRepository;
+
+    @Test
+    @DisplayName("Cadastros simultâneos com o mesmo CPF devem gravar apenas um hóspede")
+    void cadastrosSimultaneosMesmoCpf() throws Exception {
+        AtomicInteger recusados = new AtomicInteger();
+        int criados = cadastrarEmParalelo(
+                i -> criarCadastro("mesmo.cpf." + i + "@test.com", "91000000001"),
+                CpfJaExisteException.class, recusados);
+
+        assertEquals(1, criados);
+        assertEquals(THREADS - 1, recusados.get());
+        assertTrue(hospedeRepository.existsByCpf("91000000001"));
+    }
+
+    @Test
+    @DisplayName("Cadastros simultâneos com o mesmo e-mail devem gravar apenas um hóspede")
+    void cadastrosSimultaneosMesmoEmail() throws Exception {
+        AtomicInteger recusados = new AtomicInteger();
+        int criados = cadastrarEmParalelo(
+                i -> criarCadastro("mesmo.email@test.com", String.format("92%09d", i)),
+                EmailJaExisteException.class, recusados);
+
+        assertEquals(1, criados);
+        assertEquals(THREADS - 1, recusados.get());
+    }
+
+    @Test
+    @DisplayName("Cadastro repetido depois de confirmado deve ser recusado antes do INSERT")
+    void cadastroRepetidoAposConfirmacao() {
+        hospedeService.autocadastrar(criarCadastro("repetido@test.com", "93000000001"));
+
+        assertThrows(CpfJaExisteException.class,
+                () -> hospedeService.autocadastrar(criarCadastro("outro.repetido@test.com", "93000000001")));
+        assertThrows(EmailJaExisteException.class,
+                () -> hospedeService.autocadastrar(criarCadastro("repetido@test.com", "93000000002")));
+    }
+
+    private int cadastrarEmParalelo(IntFunction<HospedeSignUpRequestDTO> cadastro,
+                                    Class<? extends RuntimeException> recusaEsperada,
+                                    AtomicInteger recusados) throws Exception {
+        AtomicInteger criados = new AtomicInteger();
+        List<Throwable> erros = new CopyOnWriteArrayList<>();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            HospedeSignUpRequestDTO request = cadastro.apply(t);
+            executor.submit(() -> {
+                largada.await();
+                try {
+                    hospedeService.autocadastrar(request);
+                    criados.incrementAndGet();
+                } catch (Throwable e) {
+                    if (recusaEsperada.isInstance(e)) {
+                        recusados.incrementAndGet();
+                    } else {
+                        erros.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertTrue(erros.isEmpty(), () -> "Erros inesperados: " + erros);
+        return criados.get();
+    }
+
+    private HospedeSignUpRequestDTO criarCadastro(String email, String cpf) {
+        return new HospedeSignUpRequestDTO("Hóspede Concorrente", email, "11987654321", "Senha@123",
+                LocalDate.of(1990, 1, 1), cpf);
+    }
+}
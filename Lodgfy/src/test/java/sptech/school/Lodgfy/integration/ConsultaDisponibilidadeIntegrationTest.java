@@ -0,0 +1,112 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.dto.ChaleDisponibilidadeRequestDTO;
+import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
+import sptech.school.Lodgfy.business.dto.ChaleResponseDTO;
+import sptech.school.Lodgfy.business.dto.HospedeRequestDTO;
+import sptech.school.Lodgfy.business.dto.ReservaRequestDTO;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Busca de disponibilidade pelo banco (índice em memória desabilitado): buscas
+ * repetidas usam o cache e alterações de reserva ou de chalé o invalidam.
+ */
+@SpringBootTest(properties = "lodgfy.disponibilidade.indice.habilitado=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Consultas de Disponibilidade")
+class ConsultaDisponibilidadeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Test
+    @DisplayName("Busca em cache deve ser invalidada pela reserva, pelo cancelamento e pela mudança de status do chalé")
+    @WithMockUser(roles = "ADMIN")
+    void cacheInvalidadoPorAlteracoes() throws Exception {
+        // Arrange
+        Long hospede = hospedeService.salvarHospede(criarHospede()).getId();
+        Long chale = chaleService.salvarChale(criarChale()).getIdChale();
+        LocalDate checkIn = LocalDate.now().plusDays(15);
+        ChaleDisponibilidadeRequestDTO busca = new ChaleDisponibilidadeRequestDTO(2, checkIn, checkIn.plusDays(2));
+
+        // Act & Assert - a segunda busca idêntica vem do cache
+        assertTrue(disponivel(busca, chale));
+        assertTrue(disponivel(busca, chale));
+
+        Long reserva = reservaService.criarReserva(
+                new ReservaRequestDTO(checkIn, checkIn.plusDays(2), hospede, chale)).getIdReserva();
+        assertFalse(disponivel(busca, chale));
+
+        reservaService.cancelarReserva(reserva);
+        assertTrue(disponivel(busca, chale));
+
+        chaleService.atualizarStatus(chale, StatusChale.LIMPEZA);
+        assertFalse(disponivel(busca, chale));
+
+        mockMvc.perform(get("/admin/disponibilidade/consultas/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executadas").value(4))
+                .andExpect(jsonPath("$.acertosCache").value(1));
+    }
+
+    private boolean disponivel(ChaleDisponibilidadeRequestDTO busca, Long chale) {
+        return chaleService.buscarChalesDisponiveis(busca).stream()
+                .map(ChaleResponseDTO::getIdChale)
+                .anyMatch(chale::equals);
+    }
+
+    private HospedeRequestDTO criarHospede() {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Consultas");
+        hospede.setEmail("consultas@test.com");
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf("95000000001");
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale() {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé CON-1");
+        chale.setNumero("CON-1");
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("250.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para testes de consultas de disponibilidade");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
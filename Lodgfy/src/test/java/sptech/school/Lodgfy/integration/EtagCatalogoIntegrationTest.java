@@ -0,0 +1,157 @@
+package sptech.school.Lodgfy.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.cache.CacheCatalogoChales;
+import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Requisições condicionais no catálogo: o If-None-Match com o ETag atual recebe
+ * 304 sem carregar chalés, e toda alteração de chalé muda o ETag. O ETag da
+ * listagem vem da página entregue: uma página antiga ainda em cache, como depois
+ * de uma gravação em outra instância, nunca recebe o ETag do banco atual.
+ */
+@SpringBootTest(properties = "lodgfy.catalogo.cache-control.chale=max-age=60")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - ETags do Catálogo de Chalés")
+class EtagCatalogoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ChaleRepository chaleRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Listagem deve responder 304 sem carregar chalés até uma alteração, desta ou de outra instância")
+    void listagemCondicional() throws Exception {
+        // Arrange
+        Long chale = chaleService.salvarChale(criarChale("ETG-1")).getIdChale();
+        String etag = mockMvc.perform(get("/api/chales"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // Act & Assert - mesmo ETag: 304, só com a consulta dos ids e versões da página
+        statistics.clear();
+        mockMvc.perform(get("/api/chales").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // A alteração muda o ETag e a listagem volta a ser entregue
+        ChaleRequestDTO alteracao = criarChale("ETG-1");
+        alteracao.setValorDiaria(new BigDecimal("280.00"));
+        chaleService.atualizarChale(chale, alteracao);
+
+        String novoEtag = mockMvc.perform(get("/api/chales").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, novoEtag);
+
+        // Gravação direto no banco, como a de outra instância: o cache local ainda tem a página
+        // anterior, que sai com o seu próprio ETag, e não com o do banco
+        ChaleEntity outraInstancia = chaleRepository.findById(chale).orElseThrow();
+        outraInstancia.setDescricao("Alterado por outra instância");
+        chaleRepository.save(outraInstancia);
+
+        List<String> etagsEmCache = mockMvc.perform(get("/api/chales").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.idChale == " + chale + ")].descricao").value("Chalé para testes de ETag"))
+                .andReturn().getResponse().getHeaders(HttpHeaders.ETAG);
+        assertEquals(List.of(novoEtag), etagsEmCache);
+
+        // Quando a página sai do cache, a listagem nova chega com outro ETag
+        cacheManager.getCache(CacheCatalogoChales.LISTAGEM).clear();
+        mockMvc.perform(get("/api/chales").header(HttpHeaders.IF_NONE_MATCH, novoEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(novoEtag)))
+                .andExpect(jsonPath("$[?(@.idChale == " + chale + ")].descricao").value("Alterado por outra instância"));
+    }
+
+    @Test
+    @DisplayName("Chalé deve ter ETag pela sua versão e responder 304 sem ser carregado")
+    void chaleCondicional() throws Exception {
+        // Arrange
+        Long chale = chaleService.salvarChale(criarChale("ETG-2")).getIdChale();
+        String etag = "\"chale-" + chale + "-0\"";
+        mockMvc.perform(get("/api/chales/{id}", chale))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"))
+                .andExpect(jsonPath("$.versao").doesNotExist());
+
+        // Act & Assert - mesmo ETag: 304, sem carregar o chalé
+        statistics.clear();
+        mockMvc.perform(get("/api/chales/{id}", chale).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // A mudança de status avança a versão do chalé
+        chaleService.atualizarStatus(chale, StatusChale.LIMPEZA);
+        mockMvc.perform(get("/api/chales/{id}", chale).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"chale-" + chale + "-1\""))
+                .andExpect(jsonPath("$.status").value("LIMPEZA"));
+
+        mockMvc.perform(get("/api/chales/{id}", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+
+    private ChaleRequestDTO criarChale(String numero) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé " + numero);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("250.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para testes de ETag");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
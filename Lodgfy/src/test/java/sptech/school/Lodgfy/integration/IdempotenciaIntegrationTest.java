@@ -0,0 +1,206 @@
+package sptech.school.Lodgfy.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
+import sptech.school.Lodgfy.business.dto.HospedeRequestDTO;
+import sptech.school.Lodgfy.business.dto.OrcamentoEventoDTO;
+import sptech.school.Lodgfy.business.dto.ReservaRequestDTO;
+import sptech.school.Lodgfy.business.idempotencia.ArmazemIdempotenciaBanco;
+import sptech.school.Lodgfy.business.idempotencia.Idempotencia;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Idempotency-Key nos POSTs de reserva e de orçamento, com as respostas guardadas
+ * no banco: a repetição devolve a resposta original sem criar outra reserva nem
+ * enfileirar outros e-mails.
+ */
+@SpringBootTest(properties = "lodgfy.idempotencia.armazenamento=banco")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Chaves de Idempotência")
+class IdempotenciaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ArmazemIdempotenciaBanco armazem;
+
+    @Test
+    @DisplayName("Repetição da criação de reserva deve devolver a mesma reserva sem criar outra")
+    @WithMockUser(username = "idempotencia@test.com", roles = "HOSPEDE")
+    void repeticaoDeReservaDevolveAMesma() throws Exception {
+        // Arrange
+        Long hospede = hospedeService.salvarHospede(criarHospede()).getId();
+        Long chale = chaleService.salvarChale(criarChale()).getIdChale();
+        LocalDate checkIn = LocalDate.now().plusDays(40);
+        String corpo = objectMapper.writeValueAsString(
+                new ReservaRequestDTO(checkIn, checkIn.plusDays(2), hospede, chale));
+
+        // Act
+        MvcResult primeira = mockMvc.perform(post("/api/reservas")
+                        .header(Idempotencia.CABECALHO_CHAVE, "reserva-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(Idempotencia.CABECALHO_REPETIDA))
+                .andReturn();
+        MvcResult repetida = mockMvc.perform(post("/api/reservas")
+                        .header(Idempotencia.CABECALHO_CHAVE, "reserva-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(Idempotencia.CABECALHO_REPETIDA, "true"))
+                .andReturn();
+
+        // Assert
+        assertEquals(idReserva(primeira), idReserva(repetida));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from reservas where chale_id = ?", Integer.class, chale));
+
+        // Mesma chave com outro corpo
+        mockMvc.perform(post("/api/reservas")
+                        .header(Idempotencia.CABECALHO_CHAVE, "reserva-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ReservaRequestDTO(checkIn, checkIn.plusDays(3), hospede, chale))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Repetição da solicitação de orçamento deve devolver o mesmo código sem enfileirar e-mails")
+    void repeticaoDeOrcamentoNaoEnfileiraEmails() throws Exception {
+        // Arrange
+        String corpo = objectMapper.writeValueAsString(new OrcamentoEventoDTO("Aniversário", "João Lima",
+                LocalDate.now().plusMonths(2), "idempotencia.orcamento@test.com", 30));
+        int antes = jdbcTemplate.queryForObject("select count(*) from email_outbox", Integer.class);
+
+        // Act
+        MvcResult primeira = mockMvc.perform(post("/api/orcamentos/eventos")
+                        .header(Idempotencia.CABECALHO_CHAVE, "orcamento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        MvcResult repetida = mockMvc.perform(post("/api/orcamentos/eventos")
+                        .header(Idempotencia.CABECALHO_CHAVE, "orcamento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(Idempotencia.CABECALHO_REPETIDA, "true"))
+                .andReturn();
+
+        // Assert
+        String codigoRastreio = codigoRastreio(primeira);
+        assertEquals(codigoRastreio, codigoRastreio(repetida));
+        assertEquals(primeira.getResponse().getHeader("Location"), repetida.getResponse().getHeader("Location"));
+        assertEquals(antes + 2, jdbcTemplate.queryForObject("select count(*) from email_outbox", Integer.class));
+
+        // Registros expirados são removidos pela limpeza
+        jdbcTemplate.update("update idempotencia_respostas set expira_em = ?", LocalDate.now().minusDays(1));
+        armazem.limparExpiradas();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from idempotencia_respostas", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Chave em andamento com o prazo vencido, de uma instância que caiu, deve ser assumida")
+    void chaveDeExecucaoInterrompidaAssumida() throws Exception {
+        // Arrange
+        String corpo = objectMapper.writeValueAsString(new OrcamentoEventoDTO("Casamento", "Ana Prado",
+                LocalDate.now().plusMonths(3), "idempotencia.interrompida@test.com", 80));
+        MvcResult primeira = mockMvc.perform(post("/api/orcamentos/eventos")
+                        .header(Idempotencia.CABECALHO_CHAVE, "orcamento-interrompido")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String chave = jdbcTemplate.queryForObject(
+                "select chave from idempotencia_respostas where corpo like ?", String.class,
+                "%" + codigoRastreio(primeira) + "%");
+        // A resposta guardada vale pela validade; volta a ficar em andamento com o prazo vencido
+        assertTrue(jdbcTemplate.queryForObject("select expira_em from idempotencia_respostas where chave = ?",
+                LocalDateTime.class, chave).isAfter(LocalDateTime.now().plusHours(23)));
+        jdbcTemplate.update("update idempotencia_respostas set status_http = null, cabecalhos = null, corpo = null, "
+                + "expira_em = ? where chave = ?", LocalDateTime.now().minusSeconds(1), chave);
+
+        // Act & Assert - executa de novo, sem esperar nem responder 409
+        MvcResult novaTentativa = mockMvc.perform(post("/api/orcamentos/eventos")
+                        .header(Idempotencia.CABECALHO_CHAVE, "orcamento-interrompido")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isAccepted())
+                .andExpect(header().doesNotExist(Idempotencia.CABECALHO_REPETIDA))
+                .andReturn();
+        assertNotEquals(codigoRastreio(primeira), codigoRastreio(novaTentativa));
+    }
+
+    private Long idReserva(MvcResult resultado) throws Exception {
+        return objectMapper.readTree(resultado.getResponse().getContentAsString()).get("idReserva").asLong();
+    }
+
+    private String codigoRastreio(MvcResult resultado) throws Exception {
+        return objectMapper.readValue(resultado.getResponse().getContentAsString(), Map.class)
+                .get("codigoRastreio").toString();
+    }
+
+    private HospedeRequestDTO criarHospede() {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Idempotência");
+        hospede.setEmail("idempotencia@test.com");
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf("96000000001");
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale() {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé IDP-1");
+        chale.setNumero("IDP-1");
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("250.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para testes de idempotência");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
@@ -0,0 +1,255 @@
+package sptech.school.Lodgfy.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.dto.*;
+import sptech.school.Lodgfy.business.exceptions.ReservaConflitanteException;
+import sptech.school.Lodgfy.business.importacao.FormatoImportacao;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Importação em massa de reservas e exportação CSV.
+ *
+ * Lotes de 3 linhas, para que conflitos e referências atravessem lotes.
+ * Sem @Transactional: cada lote confirma a própria transação.
+ */
+@SpringBootTest(properties = "lodgfy.reservas.importacao.tamanho-lote=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Importação e Exportação de Reservas")
+class ImportacaoReservasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("CSV deve gravar as linhas válidas e informar o motivo de cada linha rejeitada")
+    void importacaoCsvComErrosPorLinha() {
+        // Arrange
+        Long hospede = hospedeService.salvarHospede(criarHospede("importa.csv@test.com", "95000000001")).getId();
+        Long chale = chaleService.salvarChale(criarChale("IMP-1", "Chalé Importado")).getIdChale();
+        LocalDate base = LocalDate.now().plusDays(60);
+        reservaService.criarReserva(new ReservaRequestDTO(base, base.plusDays(3), hospede, chale));
+
+        // Colunas fora de ordem; datas no passado são aceitas (histórico)
+        String csv = String.join("\n",
+                "chaleId,hospedeId,dataCheckOut,dataCheckIn,statusReserva,valorTotal",
+                linhaCsv(chale, hospede, LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 1), "CONCLUIDA", "1800.00"),
+                linhaCsv(chale, hospede, base.plusDays(12), base.plusDays(10), "", ""),
+                linhaCsv(chale, hospede, base.plusDays(13), base.plusDays(11), "CONFIRMADA", ""),
+                linhaCsv(chale, hospede, base.plusDays(4), base.plusDays(2), "PENDENTE", ""),
+                linhaCsv(chale, hospede, base.plusDays(11), base.plusDays(10), "CANCELADA", ""),
+                linhaCsv(chale, 999_999L, base.plusDays(30), base.plusDays(20), "", ""),
+                linhaCsv(999_999L, hospede, base.plusDays(30), base.plusDays(20), "", ""),
+                "",
+                linhaCsv(chale, hospede, base.plusDays(40), base.plusDays(45), "", ""),
+                chale + "," + hospede + ",31/12/2030,2030-12-20,,",
+                linhaCsv(chale, hospede, base.plusDays(22), base.plusDays(20), "PENDENTE", ""));
+
+        // Act
+        RelatorioImportacaoDTO relatorio = reservaService.importarReservas(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoImportacao.CSV);
+
+        // Assert
+        assertEquals(10, relatorio.getLinhas());
+        assertEquals(4, relatorio.getImportadas());
+        assertEquals(6, relatorio.getRejeitadas());
+        Map<Long, String> erros = relatorio.getErros().stream()
+                .collect(Collectors.toMap(ErroImportacaoDTO::getLinha, ErroImportacaoDTO::getMensagem));
+        assertEquals(List.of(4L, 5L, 7L, 8L, 10L, 11L), erros.keySet().stream().sorted().toList());
+        assertTrue(erros.get(4L).startsWith("Conflito"), erros.get(4L));
+        assertTrue(erros.get(5L).startsWith("Conflito"), erros.get(5L));
+        assertEquals("Hóspede não encontrado: 999999", erros.get(7L));
+        assertEquals("Chalé não encontrado: 999999", erros.get(8L));
+        assertTrue(erros.get(10L).contains("check-out"), erros.get(10L));
+        assertTrue(erros.get(11L).contains("dataCheckOut"), erros.get(11L));
+
+        List<ReservaResponseDTO> reservas = reservaService.buscarPorChale(chale);
+        assertEquals(5, reservas.size());
+        ReservaResponseDTO historica = reservas.stream()
+                .filter(reserva -> reserva.getDataCheckIn().equals(LocalDate.of(2023, 3, 1))).findFirst().orElseThrow();
+        assertEquals(StatusReserva.CONCLUIDA, historica.getStatusReserva());
+        assertEquals(0, new BigDecimal("1800.00").compareTo(historica.getValorTotal()));
+        ReservaResponseDTO padrao = reservas.stream()
+                .filter(reserva -> reserva.getDataCheckIn().equals(base.plusDays(10))
+                        && reserva.getStatusReserva() == StatusReserva.PENDENTE).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("600.00").compareTo(padrao.getValorTotal()));
+
+        // A reserva importada ocupa o chalé para as reservas seguintes
+        assertThrows(ReservaConflitanteException.class, () -> reservaService.criarReserva(
+                new ReservaRequestDTO(base.plusDays(21), base.plusDays(23), hospede, chale)));
+        assertFalse(chaleService.buscarChalesDisponiveis(new ChaleDisponibilidadeRequestDTO(
+                        2, base.plusDays(10), base.plusDays(12))).stream()
+                .anyMatch(disponivel -> disponivel.getIdChale().equals(chale)));
+    }
+
+    @Test
+    @DisplayName("Noite já ocupada fora da verificação do lote deve rejeitar só a linha conflitante")
+    void importacaoSobreNoiteJaOcupada() {
+        // Arrange - noites ocupadas por uma reserva que a verificação do lote não enxerga,
+        // como uma gravada em paralelo entre a verificação e a gravação
+        Long hospede = hospedeService.salvarHospede(criarHospede("importa.noites@test.com", "95000000003")).getId();
+        Long chale = chaleService.salvarChale(criarChale("IMP-3", "Chalé Noites")).getIdChale();
+        LocalDate base = LocalDate.now().plusDays(90);
+        Long paralela = reservaService.criarReserva(new ReservaRequestDTO(base, base.plusDays(3), hospede, chale)).getIdReserva();
+        jdbcTemplate.update("update reservas set status_reserva = 'CANCELADA' where id_reserva = ?", paralela);
+
+        String csv = String.join("\n",
+                "chaleId,hospedeId,dataCheckOut,dataCheckIn,statusReserva,valorTotal",
+                linhaCsv(chale, hospede, base.plusDays(12), base.plusDays(10), "", ""),
+                linhaCsv(chale, hospede, base.plusDays(2), base.plusDays(1), "PENDENTE", ""),
+                linhaCsv(chale, hospede, base.plusDays(22), base.plusDays(20), "CONFIRMADA", ""),
+                linhaCsv(chale, hospede, base.plusDays(32), base.plusDays(30), "", ""));
+
+        // Act
+        RelatorioImportacaoDTO relatorio = reservaService.importarReservas(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoImportacao.CSV);
+
+        // Assert - o lote com a noite ocupada é gravado linha a linha e a importação continua
+        assertEquals(4, relatorio.getLinhas());
+        assertEquals(3, relatorio.getImportadas());
+        assertEquals(1, relatorio.getErros().size());
+        assertEquals(3, relatorio.getErros().get(0).getLinha());
+        assertTrue(relatorio.getErros().get(0).getMensagem().startsWith("Conflito"),
+                relatorio.getErros().get(0).getMensagem());
+        assertEquals(4, reservaService.buscarPorChale(chale).size());
+        assertEquals(Integer.valueOf(2), jdbcTemplate.queryForObject(
+                "select count(*) from reservas_noites where chale_id = ? and noite >= ? and noite < ?",
+                Integer.class, chale, base.plusDays(10), base.plusDays(12)));
+    }
+
+    @Test
+    @DisplayName("NDJSON deve aceitar as linhas da exportação e rejeitar JSON inválido")
+    void importacaoNdjsonDaExportacao() throws Exception {
+        // Arrange
+        Long hospede = hospedeService.salvarHospede(criarHospede("importa.json@test.com", "95000000002")).getId();
+        Long chale = chaleService.salvarChale(criarChale("IMP-2", "Chalé \"Vista\", Lago")).getIdChale();
+        ReservaResponseDTO exportada = new ReservaResponseDTO(77L, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 12),
+                new BigDecimal("700.00"), StatusReserva.CONCLUIDA, hospede, "Outro nome", chale, "IMP-2", "Ignorado");
+        String ndjson = objectMapper.writeValueAsString(exportada) + "\n"
+                + "{\"hospedeId\": " + hospede + ", \"chaleId\": \n"
+                + "{\"hospedeId\": " + hospede + ", \"chaleId\": " + chale
+                + ", \"dataCheckIn\": \"2024-02-01\", \"dataCheckOut\": \"2024-02-03\", \"statusReserva\": \"CANCELADA\"}\n";
+
+        // Act
+        RelatorioImportacaoDTO relatorio = reservaService.importarReservas(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), FormatoImportacao.NDJSON);
+
+        // Assert
+        assertEquals(3, relatorio.getLinhas());
+        assertEquals(2, relatorio.getImportadas());
+        assertEquals(1, relatorio.getErros().size());
+        assertEquals(2, relatorio.getErros().get(0).getLinha());
+        assertTrue(relatorio.getErros().get(0).getMensagem().startsWith("JSON inválido"));
+
+        // Exportação CSV: nome com vírgula e aspas entre aspas, como a importação lê
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        long linhas = reservaService.exportarReservasCsv(saida);
+        String[] csv = saida.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(linhas + 1, csv.length);
+        assertEquals("idReserva,hospedeId,hospedeNome,chaleId,chaleNumero,chaleNome,dataCheckIn,dataCheckOut,"
+                + "valorTotal,statusReserva", csv[0]);
+        assertTrue(List.of(csv).stream().anyMatch(linha -> linha.contains(
+                chale + ",IMP-2,\"Chalé \"\"Vista\"\", Lago\",2024-01-10,2024-01-12,700.00,CONCLUIDA")));
+    }
+
+    @Test
+    @DisplayName("Cabeçalho CSV sem as colunas obrigatórias deve rejeitar o arquivo inteiro")
+    @WithMockUser(roles = "ADMIN")
+    void cabecalhoIncompleto() throws Exception {
+        mockMvc.perform(post("/api/reservas/importar")
+                        .contentType(FormatoImportacao.TEXT_CSV_VALUE)
+                        .content("hospedeId,dataCheckIn\n1,2030-01-01\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("chaleId")));
+    }
+
+    @Test
+    @DisplayName("Importação deve ser restrita a administradores e exportação CSV acessível pelo parâmetro formato")
+    @WithMockUser(roles = "HOSPEDE")
+    void importacaoRestritaAAdministradores() throws Exception {
+        mockMvc.perform(post("/api/reservas/importar")
+                        .contentType(FormatoImportacao.TEXT_CSV_VALUE)
+                        .content("hospedeId,chaleId,dataCheckIn,dataCheckOut\n"))
+                .andExpect(status().isForbidden());
+
+        MvcResult inicio = mockMvc.perform(get("/api/reservas/exportar").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(FormatoImportacao.TEXT_CSV_VALUE));
+    }
+
+    private static String linhaCsv(Long chale, Long hospede, LocalDate checkOut, LocalDate checkIn,
+                                   String status, String valor) {
+        return chale + "," + hospede + "," + checkOut + "," + checkIn + "," + status + "," + valor;
+    }
+
+    private HospedeRequestDTO criarHospede(String email, String cpf) {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Importação");
+        hospede.setEmail(email);
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf(cpf);
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale(String numero, String nome) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome(nome);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("300.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para testes de importação");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
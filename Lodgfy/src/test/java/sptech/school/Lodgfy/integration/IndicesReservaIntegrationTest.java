@@ -0,0 +1,131 @@
+package sptech.school.Lodgfy.integration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere, pelo plano de execução do H2 em modo MySQL, que as consultas de
+ * reservas usam os índices criados pelas migrações em vez de percorrer a
+ * tabela. Os comandos são os mesmos que o Hibernate gera para o ReservaRepository.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Índices de Reservas")
+class IndicesReservaIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Migrações devem ter sido aplicadas pelo Flyway")
+    void migracoesAplicadas() {
+        List<String> versoes = jdbcTemplate.queryForList(
+                "select \"version\" from \"flyway_schema_history\" where \"version\" is not null and \"success\" order by \"installed_rank\"",
+                String.class);
+
+        assertEquals(List.of("1", "1.1", "2", "3", "5", "6", "7"), versoes);
+    }
+
+    @Test
+    @DisplayName("Banco criado pelo ddl-auto deve receber todas as migrações a partir da linha de base")
+    void bancoLegadoMigradoAPartirDaLinhaDeBase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legado-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate legado = new JdbcTemplate(dataSource);
+        // Esquema que o ddl-auto=update criava antes do Flyway: sem auditoria, outbox nem índices
+        legado.execute("create table chale (id_chale bigint not null auto_increment, nome varchar(255) not null, "
+                + "numero varchar(255) unique, tipo varchar(255), valor_diaria decimal(38,2), capacidade integer not null, "
+                + "descricao varchar(255), status enum ('DISPONIVEL','LIMPEZA','OCUPADO'), primary key (id_chale))");
+        legado.execute("create table hospedes (id bigint not null auto_increment, nome varchar(50) not null, "
+                + "email varchar(255) not null unique, telefone varchar(20) not null, senha varchar(60) not null, "
+                + "data_nascimento date not null, cpf varchar(14) not null unique, role enum ('ADMIN','HOSPEDE') not null, "
+                + "primary key (id))");
+        legado.execute("create table reservas (id_reserva bigint not null auto_increment, data_check_in date not null, "
+                + "data_check_out date not null, valor_total decimal(38,2) not null, "
+                + "status_reserva enum ('CANCELADA','CONCLUIDA','CONFIRMADA','PENDENTE') not null, "
+                + "hospede_id bigint not null, chale_id bigint not null, primary key (id_reserva), "
+                + "constraint FKrnvfqbs7qjljsxl9hy0u7nth5 foreign key (hospede_id) references hospedes (id), "
+                + "constraint FKmesoab0bkctdulw4g7ojq0pgm foreign key (chale_id) references chale (id_chale))");
+        legado.update("insert into chale (nome, numero, capacidade, status) values ('Chalé Legado', 'LEG-1', 2, 'DISPONIVEL')");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/comum", "classpath:db/vendor/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertEquals(1, legado.queryForObject("select count(*) from chale where numero = 'LEG-1'", Integer.class));
+        assertEquals(0, legado.queryForObject("select count(*) from auditoria", Integer.class));
+        assertEquals(0, legado.queryForObject("select count(*) from email_outbox", Integer.class));
+        assertEquals(1, legado.queryForObject("select count(*) from information_schema.indexes "
+                + "where table_name = 'RESERVAS' and index_name = 'IDX_RESERVAS_CHECK_IN'", Integer.class));
+        legado.execute("shutdown");
+    }
+
+    @Test
+    @DisplayName("Conflito de período deve usar o índice por chalé e datas")
+    void conflitosUsamIndiceDoPeriodo() {
+        String plano = explicar("select r.id_reserva from reservas r where r.chale_id = 1 "
+                + "and r.status_reserva in ('PENDENTE', 'CONFIRMADA') "
+                + "and r.data_check_in <= date '2025-01-10' and r.data_check_out >= date '2025-01-05'");
+
+        assertTrue(plano.contains("IDX_RESERVAS_CHALE_PERIODO"), plano);
+    }
+
+    @Test
+    @DisplayName("Conflitos e disponibilidade devem consultar as noites reservadas pela chave primária")
+    void noitesUsamChavePrimaria() {
+        String conflito = explicar("select n.reserva_id from reservas_noites n where n.chale_id = 1 "
+                + "and n.noite between date '2025-01-04' and date '2025-01-10'");
+        String disponiveis = explicar("select c.id_chale from chale c where c.capacidade >= 2 and not exists ("
+                + "select 1 from reservas_noites n where n.chale_id = c.id_chale "
+                + "and n.noite >= date '2025-01-05' and n.noite < date '2025-01-10')");
+
+        assertTrue(conflito.contains("PRIMARY_KEY"), conflito);
+        assertTrue(disponiveis.contains("PRIMARY_KEY"), disponiveis);
+    }
+
+    @Test
+    @DisplayName("Reservas ativas e buscas por status devem usar o índice por status e check-out")
+    void ativasUsamIndiceDeStatus() {
+        String ativas = explicar("select r.id_reserva from reservas r join chale c on c.id_chale = r.chale_id "
+                + "where r.status_reserva in ('PENDENTE', 'CONFIRMADA') and r.data_check_out > date '2025-01-05'");
+        String porStatus = explicar("select r.id_reserva from reservas r "
+                + "where r.status_reserva = 'PENDENTE' order by r.id_reserva");
+
+        assertTrue(ativas.contains("IDX_RESERVAS_STATUS_CHECK_OUT"), ativas);
+        assertTrue(porStatus.contains("IDX_RESERVAS_STATUS_CHECK_OUT"), porStatus);
+    }
+
+    @Test
+    @DisplayName("Histórico do hóspede deve partir das reservas pelo índice do hóspede")
+    void historicoPartindoDasReservas() {
+        String plano = explicar("select r.id_reserva from reservas r join hospedes h on h.id = r.hospede_id "
+                + "join chale c on c.id_chale = r.chale_id where r.hospede_id = 1 order by r.data_check_in desc");
+
+        // O H2 mantém um índice próprio para cada chave estrangeira e pode preferi-lo ao composto;
+        // no MySQL a V4 remove esse índice e sobra idx_reservas_hospede_check_in
+        assertTrue(plano.contains("FROM \"PUBLIC\".\"RESERVAS\" \"R\"\n    /* PUBLIC."), plano);
+        assertTrue(plano.contains("HOSPEDE_ID = CAST(1 AS BIGINT) */"), plano);
+        assertTrue(explicar("select r.id_reserva from reservas r where r.hospede_id = 1 order by r.data_check_in desc")
+                .contains("IDX_RESERVAS_HOSPEDE_CHECK_IN"));
+    }
+
+    private String explicar(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class).toUpperCase();
+    }
+}
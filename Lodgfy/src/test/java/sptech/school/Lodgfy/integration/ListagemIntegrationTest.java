@@ -0,0 +1,224 @@
+package sptech.school.Lodgfy.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.auditoria.GravadorAuditoria;
+import sptech.school.Lodgfy.business.dto.*;
+import sptech.school.Lodgfy.business.paginacao.OrdenacaoReserva;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes das listagens paginadas, por cursor e da exportação NDJSON.
+ *
+ * Sem @Transactional: a exportação lê o banco em outra thread e só enxerga
+ * dados confirmados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Listagens Paginadas e Exportação")
+class ListagemIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private GravadorAuditoria gravadorAuditoria;
+
+    @Test
+    @DisplayName("Percorrer os chalés por cursor deve retornar todos, em ordem e sem repetição")
+    void percorrerChalesPorCursor() {
+        // Arrange
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            criados.add(chaleService.salvarChale(criarChale("CUR" + i)).getIdChale());
+        }
+
+        // Act
+        List<Long> percorridos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaCursorDTO<ChaleResponseDTO> pagina = chaleService.listarChalesPorCursor(cursor, 10);
+            pagina.getItens().forEach(chale -> percorridos.add(chale.getIdChale()));
+            cursor = pagina.getProximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        // Assert
+        assertTrue(percorridos.containsAll(criados));
+        assertEquals(percorridos.size(), percorridos.stream().distinct().count());
+        assertEquals(percorridos.stream().sorted().toList(), percorridos);
+        assertEquals((percorridos.size() + 9) / 10, paginas);
+    }
+
+    @Test
+    @DisplayName("Percorrer reservas por data de check-in deve desempatar reservas do mesmo dia pelo id")
+    void percorrerReservasPorDataCheckIn() {
+        // Arrange - três chalés com reservas nas mesmas datas
+        HospedeResponseDTO hospede = hospedeService.salvarHospede(criarHospede("cursor@test.com", "93000000001"));
+        for (int i = 0; i < 3; i++) {
+            Long idChale = chaleService.salvarChale(criarChale("RCUR" + i)).getIdChale();
+            for (int semana = 0; semana < 3; semana++) {
+                LocalDate checkIn = LocalDate.now().plusDays(1 + semana * 7L);
+                reservaService.criarReserva(new ReservaRequestDTO(checkIn, checkIn.plusDays(2), hospede.getId(), idChale));
+            }
+        }
+
+        // Act
+        List<ReservaResponseDTO> percorridas = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaCursorDTO<ReservaResponseDTO> pagina =
+                    reservaService.listarReservasPorCursor(OrdenacaoReserva.DATA_CHECK_IN, cursor, 2);
+            percorridas.addAll(pagina.getItens());
+            cursor = pagina.getProximoCursor();
+        } while (cursor != null);
+
+        // Assert
+        List<ReservaResponseDTO> doHospede = percorridas.stream()
+                .filter(reserva -> reserva.getHospedeId().equals(hospede.getId()))
+                .toList();
+        assertEquals(9, doHospede.size());
+        assertEquals(percorridas.size(), percorridas.stream().map(ReservaResponseDTO::getIdReserva).distinct().count());
+        assertEquals(percorridas.stream()
+                        .sorted(Comparator.comparing(ReservaResponseDTO::getDataCheckIn)
+                                .thenComparing(ReservaResponseDTO::getIdReserva))
+                        .toList(),
+                percorridas);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Listagem de chalés deve respeitar o tamanho de página e informar o total")
+    void listagemDeChalesPaginada() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            chaleService.salvarChale(criarChale("PAG" + i));
+        }
+
+        MvcResult resultado = mockMvc.perform(get("/api/chales").param("tamanho", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count"))
+                .andReturn();
+
+        ChaleResponseDTO[] chales = objectMapper.readValue(resultado.getResponse().getContentAsString(), ChaleResponseDTO[].class);
+        assertEquals(5, chales.length);
+        assertTrue(Long.parseLong(resultado.getResponse().getHeader("X-Total-Count")) >= 6);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Histórico de auditoria deve seguir a mesma paginação das demais listagens")
+    void historicoDeAuditoriaPaginado() throws Exception {
+        ChaleRequestDTO request = criarChale("AUDPAG");
+        Long idChale = chaleService.salvarChale(request).getIdChale();
+        for (int i = 1; i <= 3; i++) {
+            request.setValorDiaria(new BigDecimal(300 + i));
+            chaleService.atualizarChale(idChale, request);
+        }
+        gravadorAuditoria.gravarPendentes();
+
+        mockMvc.perform(get("/admin/auditoria/chales/{idChale}", idChale).param("tamanho", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "4"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].tipoEvento").value("PRECO_ALTERADO"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Exportação de reservas deve gerar uma linha JSON por reserva")
+    void exportacaoNdjsonDeReservas() throws Exception {
+        // Arrange
+        HospedeResponseDTO hospede = hospedeService.salvarHospede(criarHospede("export@test.com", "93000000002"));
+        Long idChale = chaleService.salvarChale(criarChale("EXP01")).getIdChale();
+        for (int i = 0; i < 5; i++) {
+            LocalDate checkIn = LocalDate.now().plusDays(100 + i * 5L);
+            reservaService.criarReserva(new ReservaRequestDTO(checkIn, checkIn.plusDays(2), hospede.getId(), idChale));
+        }
+        long totalReservas = reservaService.listarReservas(0, 1).getTotalElements();
+
+        // Act
+        MvcResult inicio = mockMvc.perform(get("/api/reservas/exportar"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // Assert
+        String[] linhas = resultado.getResponse().getContentAsString().split("\n");
+        assertEquals(totalReservas, linhas.length);
+        long exportadasDoChale = 0;
+        for (String linha : linhas) {
+            ReservaResponseDTO reserva = objectMapper.readValue(linha, ReservaResponseDTO.class);
+            if (idChale.equals(reserva.getChaleId())) {
+                exportadasDoChale++;
+            }
+        }
+        assertEquals(5, exportadasDoChale);
+    }
+
+    private HospedeRequestDTO criarHospede(String email, String cpf) {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Listagem");
+        hospede.setEmail(email);
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf(cpf);
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale(String numero) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé " + numero);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("200.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para teste de listagem");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
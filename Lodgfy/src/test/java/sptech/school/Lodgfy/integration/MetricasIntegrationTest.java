@@ -0,0 +1,99 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.dto.HospedeRequestDTO;
+import sptech.school.Lodgfy.security.enums.Role;
+import sptech.school.Lodgfy.security.jwt.JwtService;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes das métricas expostas em /actuator/prometheus: acesso restrito a
+ * administradores, timers de endpoints, services, repositórios e BCrypt, e
+ * buckets de SLO.
+ */
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus",
+        "management.metrics.distribution.slo.http.server.requests=50ms,250ms"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Testes de Integração - Métricas (Prometheus)")
+class MetricasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Test
+    @DisplayName("Health deve ser público e o Prometheus restrito a administradores")
+    void acessoAosEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + jwtService.generateToken("12345678900", Role.HOSPEDE, 1L)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Deve expor timers de endpoints, services, repositórios e BCrypt")
+    void timersInstrumentados() throws Exception {
+        hospedeService.salvarHospede(criarHospede());
+        mockMvc.perform(get("/api/chales"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + tokenAdmin()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("le=\"0.05\"")))
+                .andExpect(content().string(containsString("lodgfy_servico_seconds_count{application=")))
+                .andExpect(content().string(containsString("class=\"sptech.school.Lodgfy.business.ChaleService\"")))
+                .andExpect(content().string(containsString("method=\"salvarHospede\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("lodgfy_senha_seconds_count{")))
+                .andExpect(content().string(containsString("operacao=\"codificar\"")))
+                .andExpect(content().string(containsString("lodgfy_jwt_cache_total{")))
+                .andExpect(content().string(containsString("lodgfy_jwt_verificacao_seconds_count{")))
+                .andExpect(content().string(containsString("lodgfy_email_envios_total{")));
+    }
+
+    private String tokenAdmin() {
+        return jwtService.generateToken("22222222222", Role.ADMIN, 2L);
+    }
+
+    private HospedeRequestDTO criarHospede() {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Maria Metricas");
+        hospede.setEmail("metricas@test.com");
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf("33333333333");
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+}
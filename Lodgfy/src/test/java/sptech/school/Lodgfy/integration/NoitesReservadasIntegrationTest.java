@@ -0,0 +1,167 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.dto.ChaleRequestDTO;
+import sptech.school.Lodgfy.business.dto.HospedeRequestDTO;
+import sptech.school.Lodgfy.business.dto.ReservaRequestDTO;
+import sptech.school.Lodgfy.business.exceptions.ReservaConflitanteException;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.infrastructure.repository.ChaleRepository;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tabela de noites reservadas: mantida pelas transições das reservas, usada
+ * pelas verificações de conflito e pela busca de disponibilidade, e corrigida
+ * pela reconciliação quando diverge das reservas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Noites Reservadas")
+class NoitesReservadasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private ChaleRepository chaleRepository;
+
+    @Test
+    @DisplayName("Noites devem ser ocupadas na criação, liberadas no cancelamento e manter a regra de conflito")
+    void noitesSeguemAsReservas() {
+        // Arrange
+        Long hospede = hospedeService.salvarHospede(criarHospede("noites.regras@test.com", "97000000001")).getId();
+        Long chale = chaleService.salvarChale(criarChale("NOI-1")).getIdChale();
+        LocalDate base = LocalDate.now().plusDays(30);
+
+        // Act
+        Long primeira = reservaService.criarReserva(new ReservaRequestDTO(base, base.plusDays(3), hospede, chale))
+                .getIdReserva();
+
+        // Assert - datas inclusivas: o check-out de uma reserva não pode ser o check-in de outra
+        assertEquals(3, noites(primeira));
+        assertThrows(ReservaConflitanteException.class, () -> reservaService.criarReserva(
+                new ReservaRequestDTO(base.plusDays(3), base.plusDays(5), hospede, chale)));
+        assertThrows(ReservaConflitanteException.class, () -> reservaService.criarReserva(
+                new ReservaRequestDTO(base.minusDays(2), base, hospede, chale)));
+        Long segunda = reservaService.criarReserva(
+                new ReservaRequestDTO(base.plusDays(4), base.plusDays(6), hospede, chale)).getIdReserva();
+        assertEquals(2, noites(segunda));
+
+        // A busca considera só as noites: a do check-out da primeira reserva está livre
+        assertTrue(disponivel(chale, base.plusDays(3), base.plusDays(4)));
+        assertFalse(disponivel(chale, base.plusDays(2), base.plusDays(4)));
+
+        reservaService.cancelarReserva(primeira);
+        assertEquals(0, noites(primeira));
+        assertTrue(disponivel(chale, base, base.plusDays(3)));
+        assertNotNull(reservaService.criarReserva(new ReservaRequestDTO(base, base.plusDays(2), hospede, chale)));
+    }
+
+    @Test
+    @DisplayName("Reconciliação deve regravar noites perdidas e remover as de reservas encerradas")
+    @WithMockUser(roles = "ADMIN")
+    void reconciliacaoCorrigeDivergencias() throws Exception {
+        // Arrange
+        Long hospede = hospedeService.salvarHospede(criarHospede("noites.reconcilia@test.com", "97000000002")).getId();
+        Long chale = chaleService.salvarChale(criarChale("NOI-2")).getIdChale();
+        LocalDate base = LocalDate.now().plusDays(60);
+        Long perdida = reservaService.criarReserva(new ReservaRequestDTO(base, base.plusDays(2), hospede, chale))
+                .getIdReserva();
+        Long cancelada = reservaService.criarReserva(
+                new ReservaRequestDTO(base.plusDays(10), base.plusDays(12), hospede, chale)).getIdReserva();
+        reservaService.cancelarReserva(cancelada);
+
+        // Divergências gravadas por fora da aplicação
+        jdbcTemplate.update("delete from reservas_noites where reserva_id = ?", perdida);
+        jdbcTemplate.update("insert into reservas_noites (chale_id, noite, reserva_id) values (?, ?, ?)",
+                chale, base.plusDays(10), cancelada);
+        assertTrue(disponivel(chale, base, base.plusDays(2)));
+        assertFalse(disponivel(chale, base.plusDays(10), base.plusDays(11)));
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/disponibilidade/noites/reconciliar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservasDivergentes").value(2))
+                .andExpect(jsonPath("$.reservasCorrigidas").value(2))
+                .andExpect(jsonPath("$.reservasEmConflito").isEmpty());
+
+        assertEquals(2, noites(perdida));
+        assertEquals(0, noites(cancelada));
+        assertFalse(disponivel(chale, base, base.plusDays(2)));
+        assertTrue(disponivel(chale, base.plusDays(10), base.plusDays(11)));
+
+        mockMvc.perform(get("/admin/disponibilidade/noites/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservasCorrigidas").value(2))
+                .andExpect(jsonPath("$.ultimaReconciliacao.reservasDivergentes").value(2));
+    }
+
+    private int noites(Long idReserva) {
+        return jdbcTemplate.queryForObject("select count(*) from reservas_noites where reserva_id = ?",
+                Integer.class, idReserva);
+    }
+
+    private boolean disponivel(Long chale, LocalDate checkIn, LocalDate checkOut) {
+        return chaleRepository.buscarChalesDisponiveis(2, checkIn, checkOut).stream()
+                .map(ChaleEntity::getIdChale)
+                .anyMatch(chale::equals);
+    }
+
+    private HospedeRequestDTO criarHospede(String email, String cpf) {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Noites");
+        hospede.setEmail(email);
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf(cpf);
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale(String numero) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé " + numero);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("250.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para testes de noites reservadas");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
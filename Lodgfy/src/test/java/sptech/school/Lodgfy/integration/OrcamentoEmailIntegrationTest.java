@@ -0,0 +1,154 @@
+package sptech.school.Lodgfy.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import sptech.school.Lodgfy.business.EmailService;
+import sptech.school.Lodgfy.business.dto.EnvioEmailResponseDTO;
+import sptech.school.Lodgfy.business.dto.OrcamentoEventoDTO;
+import sptech.school.Lodgfy.business.exceptions.EnvioEmailNaoEncontradoException;
+import sptech.school.Lodgfy.infrastructure.entities.EmailOutboxEntity.StatusEnvio;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do envio de orçamentos pela outbox, contra um servidor SMTP local (GreenMail).
+ *
+ * Sem @Transactional: o despachante só enxerga e-mails já confirmados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Envio de Orçamentos pela Outbox")
+class OrcamentoEmailIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Solicitação de orçamento deve responder 202 e enviar os e-mails em segundo plano")
+    void solicitacaoDeOrcamentoEnviaEmails() throws Exception {
+        // Act
+        MvcResult resultado = mockMvc.perform(post("/api/orcamentos/eventos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criarOrcamento())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.codigoRastreio").exists())
+                .andReturn();
+        String codigoRastreio = objectMapper.readValue(resultado.getResponse().getContentAsString(), Map.class)
+                .get("codigoRastreio").toString();
+
+        // Assert
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 2));
+        MimeMessage[] recebidos = greenMail.getReceivedMessages();
+        List<String> destinatarios = Arrays.stream(recebidos)
+                .map(mensagem -> {
+                    try {
+                        return mensagem.getRecipients(Message.RecipientType.TO)[0].toString();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        assertTrue(destinatarios.containsAll(List.of("equipe@lodgfy.test", "cliente@test.com")));
+
+        List<EnvioEmailResponseDTO> envios = aguardarEnvios(codigoRastreio);
+        assertEquals(2, envios.size());
+        assertTrue(envios.stream().allMatch(envio -> envio.getStatus() == StatusEnvio.ENVIADO));
+        assertTrue(envios.stream().allMatch(envio -> envio.getTentativas() == 1));
+
+        mockMvc.perform(get("/api/orcamentos/envios/" + codigoRastreio))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("ENVIADO"));
+    }
+
+    @Test
+    @DisplayName("E-mails registrados em transação revertida não devem ser enviados")
+    void orcamentoEmTransacaoRevertidaNaoEnviado() throws Exception {
+        // Arrange - o primeiro registro é desfeito junto com a transação que o chamou
+        String codigoRevertido = transactionTemplate.execute(status -> {
+            String codigo = emailService.enviarOrcamentoEvento(criarOrcamento("revertido@test.com"));
+            status.setRollbackOnly();
+            return codigo;
+        });
+
+        // Act
+        String codigoConfirmado = emailService.enviarOrcamentoEvento(criarOrcamento("confirmado@test.com"));
+
+        // Assert - quando os e-mails confirmados saem, os revertidos já teriam saído antes deles
+        List<EnvioEmailResponseDTO> envios = aguardarEnvios(codigoConfirmado);
+        assertTrue(envios.stream().allMatch(envio -> envio.getStatus() == StatusEnvio.ENVIADO));
+        assertThrows(EnvioEmailNaoEncontradoException.class, () -> emailService.consultarEnvio(codigoRevertido));
+
+        MimeMessage[] recebidos = greenMail.getReceivedMessages();
+        assertEquals(2, recebidos.length);
+        for (MimeMessage mensagem : recebidos) {
+            assertNotEquals("revertido@test.com", mensagem.getRecipients(Message.RecipientType.TO)[0].toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Consulta de código de rastreio inexistente deve retornar 404")
+    void consultaDeCodigoInexistente() throws Exception {
+        mockMvc.perform(get("/api/orcamentos/envios/nao-existe"))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<EnvioEmailResponseDTO> aguardarEnvios(String codigoRastreio) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        List<EnvioEmailResponseDTO> envios = emailService.consultarEnvio(codigoRastreio);
+        while (System.currentTimeMillis() < limite
+                && envios.stream().anyMatch(envio -> envio.getStatus() != StatusEnvio.ENVIADO)) {
+            Thread.sleep(50);
+            envios = emailService.consultarEnvio(codigoRastreio);
+        }
+        return envios;
+    }
+
+    private OrcamentoEventoDTO criarOrcamento() {
+        return criarOrcamento("cliente@test.com");
+    }
+
+    private OrcamentoEventoDTO criarOrcamento(String email) {
+        return new OrcamentoEventoDTO("Casamento", "Maria Souza", LocalDate.now().plusMonths(3),
+                email, 80);
+    }
+}
@@ -0,0 +1,203 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.RelatorioOcupacaoService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.analise.AgrupamentoOcupacao;
+import sptech.school.Lodgfy.business.analise.FonteRelatorio;
+import sptech.school.Lodgfy.business.dto.*;
+import sptech.school.Lodgfy.business.importacao.FormatoImportacao;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Relatórios de ocupação: o rollup em memória deve dar os mesmos números que
+ * as agregações SQL, inclusive com reservas que atravessam meses.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Relatórios de Ocupação")
+class RelatorioOcupacaoIntegrationTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private RelatorioOcupacaoService relatorioService;
+
+    @Test
+    @DisplayName("Rollup e SQL devem concordar por chalé, tipo e mês, seguindo confirmações e cancelamentos")
+    @WithMockUser(roles = "ADMIN")
+    void relatorioPorChaleTipoEMes() throws Exception {
+        // Arrange - histórico importado de 2024, com uma estadia de janeiro a fevereiro
+        Long hospede = hospedeService.salvarHospede(criarHospede()).getId();
+        Long luxo = chaleService.salvarChale(criarChale("REL-1", "Luxo Relatório", "300.00")).getIdChale();
+        Long standard = chaleService.salvarChale(criarChale("REL-2", "Standard Relatório", "200.00")).getIdChale();
+        Long vazio = chaleService.salvarChale(criarChale("REL-3", "Standard Relatório", "200.00")).getIdChale();
+        String ndjson = String.join("\n",
+                linha(hospede, luxo, "2024-01-30", "2024-02-02", "CONCLUIDA", "1000.00"),
+                linha(hospede, standard, "2024-02-10", "2024-02-12", "CONCLUIDA", "400.00"),
+                linha(hospede, standard, "2024-03-01", "2024-03-05", "CANCELADA", "800.00"),
+                linha(hospede, vazio, "2024-12-30", "2025-01-02", "CONCLUIDA", "600.00"));
+        RelatorioImportacaoDTO importacao = reservaService.importarReservas(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), FormatoImportacao.NDJSON);
+        assertEquals(4, importacao.getImportadas());
+
+        // Reservas futuras: só a confirmada (e não cancelada) entra no relatório
+        LocalDate base = LocalDate.now().plusDays(40);
+        ReservaResponseDTO confirmada = reservaService.criarReserva(
+                new ReservaRequestDTO(base, base.plusDays(2), hospede, luxo));
+        reservaService.confirmarReserva(confirmada.getIdReserva());
+        ReservaResponseDTO cancelada = reservaService.criarReserva(
+                new ReservaRequestDTO(base, base.plusDays(3), hospede, standard));
+        reservaService.confirmarReserva(cancelada.getIdReserva());
+        reservaService.cancelarReserva(cancelada.getIdReserva());
+        reservaService.criarReserva(new ReservaRequestDTO(base, base.plusDays(2), hospede, vazio));
+
+        // Act
+        RelatorioOcupacaoDTO porChale = relatorioService.gerarRelatorio(INICIO, FIM, AgrupamentoOcupacao.CHALE, FonteRelatorio.MEMORIA);
+        RelatorioOcupacaoDTO porChaleBanco = relatorioService.gerarRelatorio(INICIO, FIM, AgrupamentoOcupacao.CHALE, FonteRelatorio.BANCO);
+
+        // Assert
+        assertEquals(FonteRelatorio.MEMORIA, porChale.getFonte());
+        assertEquals(FonteRelatorio.BANCO, porChaleBanco.getFonte());
+        assertMesmosNumeros(porChale, porChaleBanco);
+
+        Map<String, IndicadoresOcupacaoDTO> chales = porChave(porChale);
+        IndicadoresOcupacaoDTO linhaLuxo = chales.get(luxo.toString());
+        assertEquals(366, linhaLuxo.getNoitesDisponiveis());
+        assertEquals(3, linhaLuxo.getNoitesOcupadas());
+        assertEquals(new BigDecimal("1000.00"), linhaLuxo.getReceita());
+        assertEquals(new BigDecimal("333.33"), linhaLuxo.getDiariaMedia());
+        assertEquals(3.0 / 366, linhaLuxo.getTaxaOcupacao(), 1e-9);
+        assertEquals(new BigDecimal("400.00"), chales.get(standard.toString()).getReceita());
+        // 30/12 e 31/12 de 2024; a noite de 01/01/2025 fica fora do período
+        assertEquals(2, chales.get(vazio.toString()).getNoitesOcupadas());
+        assertEquals(new BigDecimal("400.00"), chales.get(vazio.toString()).getReceita());
+
+        RelatorioOcupacaoDTO porTipo = relatorioService.gerarRelatorio(INICIO, FIM, AgrupamentoOcupacao.TIPO, FonteRelatorio.MEMORIA);
+        assertMesmosNumeros(porTipo, relatorioService.gerarRelatorio(INICIO, FIM, AgrupamentoOcupacao.TIPO, FonteRelatorio.BANCO));
+        IndicadoresOcupacaoDTO tipoStandard = porChave(porTipo).get("Standard Relatório");
+        assertEquals(2 * 366, tipoStandard.getNoitesDisponiveis());
+        assertEquals(4, tipoStandard.getNoitesOcupadas());
+        assertEquals(new BigDecimal("800.00"), tipoStandard.getReceita());
+        assertEquals(new BigDecimal("200.00"), tipoStandard.getDiariaMedia());
+
+        RelatorioOcupacaoDTO porMes = relatorioService.gerarRelatorio(INICIO, FIM, AgrupamentoOcupacao.MES, FonteRelatorio.MEMORIA);
+        assertMesmosNumeros(porMes, relatorioService.gerarRelatorio(INICIO, FIM, AgrupamentoOcupacao.MES, FonteRelatorio.BANCO));
+        assertEquals(12, porMes.getLinhas().size());
+        Map<String, IndicadoresOcupacaoDTO> meses = porChave(porMes);
+        assertEquals(2, meses.get("2024-01").getNoitesOcupadas());
+        assertEquals(new BigDecimal("666.67"), meses.get("2024-01").getReceita());
+        assertEquals(3 * 31, meses.get("2024-01").getNoitesDisponiveis());
+        assertEquals(3, meses.get("2024-02").getNoitesOcupadas());
+        assertEquals(new BigDecimal("733.33"), meses.get("2024-02").getReceita());
+        assertEquals(0, meses.get("2024-03").getNoitesOcupadas());
+        assertEquals(porChale.getTotal().getReceita(), porMes.getTotal().getReceita());
+
+        // A reserva futura confirmada aparece no período dela; a cancelada não
+        RelatorioOcupacaoDTO futuro = relatorioService.gerarRelatorio(base, base.plusDays(5),
+                AgrupamentoOcupacao.CHALE, FonteRelatorio.MEMORIA);
+        assertEquals(new BigDecimal("600.00"), porChave(futuro).get(luxo.toString()).getReceita());
+        assertEquals(0, porChave(futuro).get(standard.toString()).getNoitesOcupadas());
+        assertEquals(0, porChave(futuro).get(vazio.toString()).getNoitesOcupadas());
+
+        mockMvc.perform(post("/admin/relatorios/ocupacao/verificar")
+                        .param("inicio", "2024-01-01").param("fim", base.plusDays(5).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistente").value(true));
+    }
+
+    @Test
+    @DisplayName("Relatórios devem ser restritos a administradores e recusar período invertido")
+    @WithMockUser(roles = "HOSPEDE")
+    void relatorioRestritoAAdministradores() throws Exception {
+        mockMvc.perform(get("/admin/relatorios/ocupacao").param("inicio", "2024-01-01").param("fim", "2024-12-31"))
+                .andExpect(status().isForbidden());
+        assertThrows(IllegalArgumentException.class, () -> relatorioService.gerarRelatorio(
+                FIM, INICIO, AgrupamentoOcupacao.CHALE, FonteRelatorio.MEMORIA));
+    }
+
+    private static void assertMesmosNumeros(RelatorioOcupacaoDTO memoria, RelatorioOcupacaoDTO banco) {
+        assertEquals(memoria.getLinhas().size(), banco.getLinhas().size());
+        for (int i = 0; i < memoria.getLinhas().size(); i++) {
+            IndicadoresOcupacaoDTO a = memoria.getLinhas().get(i);
+            IndicadoresOcupacaoDTO b = banco.getLinhas().get(i);
+            assertEquals(a.getChave(), b.getChave());
+            assertEquals(a.getNoitesOcupadas(), b.getNoitesOcupadas(), a.getChave());
+            assertEquals(a.getReceita(), b.getReceita(), a.getChave());
+        }
+    }
+
+    private static Map<String, IndicadoresOcupacaoDTO> porChave(RelatorioOcupacaoDTO relatorio) {
+        return relatorio.getLinhas().stream()
+                .collect(Collectors.toMap(IndicadoresOcupacaoDTO::getChave, Function.identity()));
+    }
+
+    private static String linha(Long hospede, Long chale, String checkIn, String checkOut, String status, String valor) {
+        return "{\"hospedeId\": " + hospede + ", \"chaleId\": " + chale + ", \"dataCheckIn\": \"" + checkIn
+                + "\", \"dataCheckOut\": \"" + checkOut + "\", \"statusReserva\": \"" + status
+                + "\", \"valorTotal\": " + valor + "}";
+    }
+
+    private HospedeRequestDTO criarHospede() {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Relatório");
+        hospede.setEmail("relatorio@test.com");
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf("96000000001");
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale(String numero, String tipo, String diaria) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé " + numero);
+        chale.setNumero(numero);
+        chale.setTipo(tipo);
+        chale.setValorDiaria(new BigDecimal(diaria));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para testes de relatório");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
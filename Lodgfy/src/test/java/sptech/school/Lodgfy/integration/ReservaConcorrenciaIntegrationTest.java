@@ -0,0 +1,226 @@
+package sptech.school.Lodgfy.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.dto.*;
+import sptech.school.Lodgfy.business.exceptions.ReservaConflitanteException;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de concorrência da criação de reservas.
+ *
+ * Sem @Transactional: cada reserva precisa ser confirmada no banco para que as
+ * demais threads a enxerguem, como acontece em produção.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Concorrência de Reservas")
+class ReservaConcorrenciaIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int TENTATIVAS_POR_THREAD = 25;
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Test
+    @DisplayName("Reservas simultâneas no mesmo chalé não devem gerar sobreposição")
+    void reservasSimultaneasNoMesmoChaleSemSobreposicao() throws Exception {
+        // Arrange
+        HospedeResponseDTO hospede = hospedeService.salvarHospede(criarHospede("stress@test.com", "90000000001"));
+        ChaleResponseDTO chale = chaleService.salvarChale(criarChale("STRESS01"));
+
+        AtomicInteger criadas = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Throwable> erros = new CopyOnWriteArrayList<>();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act - todas as threads disputam o mesmo intervalo de 30 dias
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TENTATIVAS_POR_THREAD; i++) {
+                    LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(30));
+                    ReservaRequestDTO request = new ReservaRequestDTO(
+                            checkIn, checkIn.plusDays(1 + random.nextInt(3)), hospede.getId(), chale.getIdChale());
+                    try {
+                        reservaService.criarReserva(request);
+                        criadas.incrementAndGet();
+                    } catch (ReservaConflitanteException e) {
+                        conflitos.incrementAndGet();
+                    } catch (Throwable e) {
+                        erros.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        // Assert
+        assertTrue(erros.isEmpty(), () -> "Erros inesperados: " + erros);
+        assertEquals(THREADS * TENTATIVAS_POR_THREAD, criadas.get() + conflitos.get());
+        assertTrue(criadas.get() > 0);
+
+        List<ReservaResponseDTO> reservas = reservaService.buscarPorChale(chale.getIdChale());
+        assertEquals(criadas.get(), reservas.size());
+        for (int i = 0; i < reservas.size(); i++) {
+            for (int j = i + 1; j < reservas.size(); j++) {
+                ReservaResponseDTO a = reservas.get(i);
+                ReservaResponseDTO b = reservas.get(j);
+                boolean sobrepoe = a.getDataCheckIn().isBefore(b.getDataCheckOut())
+                        && b.getDataCheckIn().isBefore(a.getDataCheckOut());
+                assertFalse(sobrepoe, () -> "Reservas sobrepostas: " + a.getIdReserva() + " e " + b.getIdReserva());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Reservas simultâneas em chalés diferentes devem ser todas aceitas")
+    void reservasSimultaneasEmChalesDiferentes() throws Exception {
+        // Arrange
+        HospedeResponseDTO hospede = hospedeService.salvarHospede(criarHospede("paralelo@test.com", "90000000002"));
+        List<Long> chales = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            chales.add(chaleService.salvarChale(criarChale("PAR" + i)).getIdChale());
+        }
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<ReservaResponseDTO>> resultados = new ArrayList<>();
+
+        // Act
+        for (Long idChale : chales) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return reservaService.criarReserva(new ReservaRequestDTO(
+                        LocalDate.now().plusDays(5), LocalDate.now().plusDays(8), hospede.getId(), idChale));
+            }));
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Assert
+        for (Future<ReservaResponseDTO> resultado : resultados) {
+            assertEquals(StatusReserva.PENDENTE, resultado.get().getStatusReserva());
+        }
+    }
+
+    @Test
+    @DisplayName("Grupos simultâneos com chalés em comum não devem travar nem gravar grupos pela metade")
+    void gruposSimultaneosComChalesEmComum() throws Exception {
+        // Arrange
+        HospedeResponseDTO hospede = hospedeService.salvarHospede(criarHospede("grupo@test.com", "90000000003"));
+        List<Long> chales = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            chales.add(chaleService.salvarChale(criarChale("GRP" + i)).getIdChale());
+        }
+
+        AtomicInteger reservasCriadas = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Throwable> erros = new CopyOnWriteArrayList<>();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act - cada grupo pede três dos quatro chalés, em ordem embaralhada, em datas que se cruzam
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TENTATIVAS_POR_THREAD; i++) {
+                    List<Long> grupo = new ArrayList<>(chales);
+                    Collections.shuffle(grupo, random);
+                    LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(30));
+                    try {
+                        reservasCriadas.addAndGet(reservaService.criarReservasEmGrupo(new ReservaGrupoRequestDTO(
+                                checkIn, checkIn.plusDays(1 + random.nextInt(3)), hospede.getId(),
+                                grupo.subList(0, 3))).size());
+                    } catch (ReservaConflitanteException e) {
+                        conflitos.incrementAndGet();
+                    } catch (Throwable e) {
+                        erros.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        // Assert - sem timeouts de bloqueio e só grupos inteiros (3 reservas cada) gravados
+        assertTrue(erros.isEmpty(), () -> "Erros inesperados: " + erros);
+        assertTrue(reservasCriadas.get() > 0);
+        assertEquals(0, reservasCriadas.get() % 3);
+        int gravadas = 0;
+        for (Long idChale : chales) {
+            List<ReservaResponseDTO> reservas = reservaService.buscarPorChale(idChale);
+            gravadas += reservas.size();
+            for (int i = 0; i < reservas.size(); i++) {
+                for (int j = i + 1; j < reservas.size(); j++) {
+                    ReservaResponseDTO a = reservas.get(i);
+                    ReservaResponseDTO b = reservas.get(j);
+                    assertFalse(a.getDataCheckIn().isBefore(b.getDataCheckOut())
+                                    && b.getDataCheckIn().isBefore(a.getDataCheckOut()),
+                            () -> "Reservas sobrepostas: " + a.getIdReserva() + " e " + b.getIdReserva());
+                }
+            }
+        }
+        assertEquals(reservasCriadas.get(), gravadas);
+        assertEquals(THREADS * TENTATIVAS_POR_THREAD, reservasCriadas.get() / 3 + conflitos.get());
+    }
+
+    private HospedeRequestDTO criarHospede(String email, String cpf) {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede Concorrente");
+        hospede.setEmail(email);
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf(cpf);
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale(String numero) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé " + numero);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("200.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para teste de concorrência");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
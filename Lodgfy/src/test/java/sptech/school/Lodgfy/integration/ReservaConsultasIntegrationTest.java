@@ -0,0 +1,148 @@
+package sptech.school.Lodgfy.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import sptech.school.Lodgfy.business.ChaleService;
+import sptech.school.Lodgfy.business.HospedeService;
+import sptech.school.Lodgfy.business.ReservaService;
+import sptech.school.Lodgfy.business.dto.*;
+import sptech.school.Lodgfy.business.paginacao.OrdenacaoReserva;
+import sptech.school.Lodgfy.infrastructure.entities.ChaleEntity.StatusChale;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que as listagens de reservas executam um número fixo de comandos SQL,
+ * independentemente da quantidade de reservas (sem N+1 em hóspede e chalé).
+ *
+ * Sem @Transactional: cada consulta roda em sua própria sessão, sem entidades
+ * já carregadas no contexto de persistência mascarando as consultas extras.
+ * A gravação periódica da auditoria fica fora da janela medida: as estatísticas
+ * do Hibernate contam os comandos de todas as threads.
+ */
+@SpringBootTest(properties = "lodgfy.auditoria.intervalo-ms=600000")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Testes de Integração - Consultas de Reservas sem N+1")
+class ReservaConsultasIntegrationTest {
+
+    @Autowired
+    private HospedeService hospedeService;
+
+    @Autowired
+    private ChaleService chaleService;
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    // Compartilhado entre os testes: os dados persistem no banco durante a classe
+    private static int sequencia;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Listagens de reservas devem executar uma consulta, qualquer que seja o número de linhas")
+    void listagensComNumeroConstanteDeConsultas() {
+        // Arrange - poucas reservas, cada uma com hóspede e chalé próprios
+        Long idChale = criarReservas(2);
+
+        long listarPoucas = contarComandos(() -> reservaService.listarReservasPorCursor(OrdenacaoReserva.ID, null, 500));
+        long statusPoucas = contarComandos(() -> reservaService.buscarPorStatus(StatusReserva.PENDENTE));
+        long chalePoucas = contarComandos(() -> reservaService.buscarPorChale(idChale));
+
+        // Act - muitas reservas
+        criarReservas(20);
+
+        long listarMuitas = contarComandos(() -> reservaService.listarReservasPorCursor(OrdenacaoReserva.ID, null, 500));
+        long statusMuitas = contarComandos(() -> reservaService.buscarPorStatus(StatusReserva.PENDENTE));
+
+        // Assert
+        assertEquals(1, listarPoucas);
+        assertEquals(listarPoucas, listarMuitas);
+        assertEquals(1, statusPoucas);
+        assertEquals(statusPoucas, statusMuitas);
+        assertEquals(1, chalePoucas);
+        assertTrue(reservaService.listarReservasPorCursor(OrdenacaoReserva.ID, null, 500).getItens().size() >= 22);
+    }
+
+    @Test
+    @DisplayName("Listagem paginada de reservas deve executar apenas a consulta e a contagem")
+    void listagemPaginadaSemConsultasExtras() {
+        criarReservas(5);
+
+        long comandos = contarComandos(() -> reservaService.listarReservas(0, 3));
+
+        assertTrue(comandos <= 2, () -> "Comandos executados: " + comandos);
+    }
+
+    private long contarComandos(Supplier<?> consulta) {
+        statistics.clear();
+        Object resultado = consulta.get();
+        assertNotNull(resultado);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Cria reservas com hóspedes e chalés distintos, para que cada linha exigiria
+     * carregar entidades diferentes caso as associações fossem buscadas uma a uma.
+     *
+     * @return id do último chalé criado
+     */
+    private Long criarReservas(int quantidade) {
+        Long idChale = null;
+        for (int i = 0; i < quantidade; i++) {
+            int n = sequencia++;
+            HospedeResponseDTO hospede = hospedeService.salvarHospede(
+                    criarHospede("n1-" + n + "@test.com", String.format("94%09d", n)));
+            idChale = chaleService.salvarChale(criarChale("N1-" + n)).getIdChale();
+            LocalDate checkIn = LocalDate.now().plusDays(10);
+            reservaService.criarReserva(new ReservaRequestDTO(checkIn, checkIn.plusDays(3), hospede.getId(), idChale));
+        }
+        return idChale;
+    }
+
+    private HospedeRequestDTO criarHospede(String email, String cpf) {
+        HospedeRequestDTO hospede = new HospedeRequestDTO();
+        hospede.setNome("Hóspede N+1");
+        hospede.setEmail(email);
+        hospede.setTelefone("11987654321");
+        hospede.setSenha("Senha@123");
+        hospede.setDataNascimento(LocalDate.of(1990, 1, 1));
+        hospede.setCpf(cpf);
+        hospede.setRole(Role.HOSPEDE);
+        return hospede;
+    }
+
+    private ChaleRequestDTO criarChale(String numero) {
+        ChaleRequestDTO chale = new ChaleRequestDTO();
+        chale.setNome("Chalé " + numero);
+        chale.setNumero(numero);
+        chale.setTipo("Standard");
+        chale.setValorDiaria(new BigDecimal("200.00"));
+        chale.setCapacidade(4);
+        chale.setDescricao("Chalé para teste de consultas");
+        chale.setStatus(StatusChale.DISPONIVEL);
+        return chale;
+    }
+}
@@ -0,0 +1,112 @@
+package sptech.school.Lodgfy.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import sptech.school.Lodgfy.security.enums.Role;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService - Testes Unitários")
+class JwtServiceTest {
+
+    private static final String SEGREDO = "test-secret-key-for-jwt-token-generation-in-tests-must-be-at-least-256-bits";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = criarJwtService(86400000);
+    }
+
+    @Test
+    @DisplayName("Deve extrair claims do token em uma única verificação")
+    void testParseToken() {
+        String token = jwtService.generateToken("12345678900", Role.ADMIN, 7L);
+
+        Optional<JwtService.JwtClaims> claims = jwtService.parseToken(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("12345678900", claims.get().cpf());
+        assertEquals(Role.ADMIN, claims.get().role());
+        assertEquals(7L, claims.get().userId());
+    }
+
+    @Test
+    @DisplayName("Deve servir token repetido pelo cache")
+    void testCacheDeTokenVerificado() {
+        String token = jwtService.generateToken("12345678900", Role.HOSPEDE, 1L);
+
+        jwtService.parseToken(token);
+        jwtService.parseToken(token);
+        jwtService.parseToken(token);
+
+        JwtService.EstatisticasJwt estatisticas = jwtService.getEstatisticas();
+        assertEquals(1, estatisticas.verificacoes());
+        assertEquals(2, estatisticas.cacheHits());
+        assertEquals(1, estatisticas.cacheMisses());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token adulterado mesmo após o original estar em cache")
+    void testTokenAdulterado() {
+        String token = jwtService.generateToken("12345678900", Role.HOSPEDE, 1L);
+        assertTrue(jwtService.validateToken(token));
+
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertFalse(jwtService.validateToken(adulterado));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token assinado sem o claim de role")
+    void testTokenSemRole() {
+        String token = Jwts.builder()
+                .setSubject("12345678900")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SEGREDO.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(jwtService.parseToken(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve registrar no timer cada verificação de assinatura, sem contar acertos do cache")
+    void testTimerDeVerificacao() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtService.bindTo(registry);
+        String token = jwtService.generateToken("12345678900", Role.HOSPEDE, 1L);
+
+        jwtService.parseToken(token);
+        jwtService.parseToken(token);
+        jwtService.parseToken("token-invalido");
+
+        assertEquals(2, registry.get("lodgfy.jwt.verificacao").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token expirado")
+    void testTokenExpirado() {
+        JwtService expirando = criarJwtService(-1000);
+        String token = expirando.generateToken("12345678900", Role.HOSPEDE, 1L);
+
+        assertTrue(expirando.parseToken(token).isEmpty());
+    }
+
+    private JwtService criarJwtService(int expiracao) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", SEGREDO);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiracao);
+        ReflectionTestUtils.setField(service, "maxEntradasCache", 100);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,98 @@
+package sptech.school.Lodgfy.security.senha;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import sptech.school.Lodgfy.business.exceptions.SenhasSobrecarregadasException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("HashSenhas - Testes Unitários")
+class HashSenhasTest {
+
+    @Test
+    @DisplayName("Deve codificar e conferir senhas no pool de hash")
+    void testCodificarEConferir() {
+        HashSenhas hashSenhas = new HashSenhas(new BCryptPasswordEncoder(4), new CalibradorBcrypt(CalibradorBcrypt.CUSTO_MINIMO, 100), 1, 4);
+
+        String hash = hashSenhas.codificar("Senha@123");
+
+        assertTrue(hashSenhas.confere("Senha@123", hash));
+        assertFalse(hashSenhas.confere("Outra@123", hash));
+        hashSenhas.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve recusar novos hashes com a fila cheia")
+    void testFilaCheia() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        PasswordEncoder lento = mock(PasswordEncoder.class);
+        when(lento.encode(any())).thenAnswer(invocacao -> {
+            iniciou.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        HashSenhas hashSenhas = new HashSenhas(lento, new CalibradorBcrypt(CalibradorBcrypt.CUSTO_MINIMO, 100), 1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hashSenhas.bindTo(registry);
+
+        ExecutorService clientes = Executors.newFixedThreadPool(2);
+        try {
+            clientes.submit(() -> hashSenhas.codificar("em execução"));
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+            clientes.submit(() -> hashSenhas.codificar("na fila"));
+            while (registry.get("lodgfy.senha.fila").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(SenhasSobrecarregadasException.class, () -> hashSenhas.codificar("recusada"));
+            assertEquals(1.0, registry.get("lodgfy.senha.rejeitadas").functionCounter().count());
+        } finally {
+            liberar.countDown();
+            clientes.shutdown();
+            hashSenhas.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve pedir nova codificação só para hashes com custo menor")
+    void testPrecisaRecodificar() {
+        HashSenhas hashSenhas = new HashSenhas(new BCryptPasswordEncoder(12), new CalibradorBcrypt(12, 100), 1, 4);
+
+        assertTrue(hashSenhas.precisaRecodificar("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+        assertFalse(hashSenhas.precisaRecodificar("$2a$12$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+        assertFalse(hashSenhas.precisaRecodificar("$2a$13$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+        assertFalse(hashSenhas.precisaRecodificar("senha-em-texto-puro"));
+        hashSenhas.encerrar();
+    }
+
+    @Test
+    @DisplayName("Custo fixo fora do intervalo aceito deve falhar na inicialização")
+    void testCustoFixoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> new CalibradorBcrypt(CalibradorBcrypt.CUSTO_MINIMO - 1, 100));
+        assertThrows(IllegalArgumentException.class, () -> new CalibradorBcrypt(32, 100));
+        assertEquals(31, new CalibradorBcrypt(31, 100).getCusto());
+    }
+
+    @Test
+    @DisplayName("Calibração deve escolher o maior custo dentro do alvo")
+    void testEscolherCusto() {
+        // 20 ms no custo 10: 40 ms no 11, 80 ms no 12, 160 ms no 13
+        assertEquals(12, CalibradorBcrypt.escolherCusto(20_000_000, 100));
+        // Máquina lenta: nunca abaixo do mínimo
+        assertEquals(CalibradorBcrypt.CUSTO_MINIMO, CalibradorBcrypt.escolherCusto(300_000_000, 100));
+        // Máquina muito rápida: nunca acima do máximo
+        assertEquals(CalibradorBcrypt.CUSTO_MAXIMO, CalibradorBcrypt.escolherCusto(1_000, 100));
+    }
+}